@@ -0,0 +1,94 @@
+package com.example.paymentservice.event;
+
+import com.example.paymentservice.event.codec.EventCodecRegistry;
+import com.example.paymentservice.event.codec.EventFormat;
+import com.example.paymentservice.event.codec.PaymentEventDeserializer;
+import com.example.paymentservice.event.codec.PaymentEventSerializer;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// KafkaConfig 와 같은 직렬화 구성으로 JSON(타입 헤더 사용)과 바이너리 스키마 비교
+// 실행: ./gradlew jmh -PjmhIncludes=EventSerializationBenchmark (메시지 크기는 setUp 에서 출력)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventSerializationBenchmark {
+
+	private static final String PAYMENT_COMPLETED_TOPIC = "payment-completed-topic";
+	private static final String ORDER_CREATED_TOPIC = "order-created-topic";
+
+	@Param({"JSON", "BINARY"})
+	private EventFormat format;
+
+	private PaymentEventSerializer serializer;
+	private PaymentEventDeserializer deserializer;
+
+	private PaymentCompletedEvent paymentCompletedEvent;
+	private Headers orderCreatedHeaders;
+	private byte[] orderCreatedPayload;
+
+	@Setup
+	public void setUp() {
+		EventCodecRegistry registry = EventCodecRegistry.standard();
+		serializer = new PaymentEventSerializer(registry, format);
+		serializer.configure(Map.of(), false);
+
+		deserializer = new PaymentEventDeserializer(registry);
+		deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES,
+				"com.example.paymentservice.event,com.example.orderservice.event"), false);
+
+		paymentCompletedEvent = new PaymentCompletedEvent("PMT-1a2b3c4d", "ORD-20250101-0001",
+				new BigDecimal("125000.00"), "COMPLETED", LocalDateTime.now());
+
+		OrderCreatedEvent orderCreatedEvent = new OrderCreatedEvent("ORD-20250101-0001", "customer@example.com",
+				new BigDecimal("125000.00"), LocalDateTime.now(), "CARD");
+		orderCreatedHeaders = new RecordHeaders();
+		orderCreatedPayload = serializer.serialize(ORDER_CREATED_TOPIC, orderCreatedHeaders, orderCreatedEvent);
+
+		Headers paymentCompletedHeaders = new RecordHeaders();
+		byte[] paymentCompletedPayload = serializer.serialize(PAYMENT_COMPLETED_TOPIC, paymentCompletedHeaders, paymentCompletedEvent);
+		System.out.printf("%n%s bytes (value + headers): OrderCreatedEvent %d + %d, PaymentCompletedEvent %d + %d%n", format,
+				orderCreatedPayload.length, headerBytes(orderCreatedHeaders),
+				paymentCompletedPayload.length, headerBytes(paymentCompletedHeaders));
+	}
+
+	@TearDown
+	public void tearDown() {
+		serializer.close();
+		deserializer.close();
+	}
+
+	@Benchmark
+	public byte[] serializePaymentCompletedEvent() {
+		return serializer.serialize(PAYMENT_COMPLETED_TOPIC, new RecordHeaders(), paymentCompletedEvent);
+	}
+
+	@Benchmark
+	public Object deserializeOrderCreatedEvent() {
+		return deserializer.deserialize(ORDER_CREATED_TOPIC, orderCreatedHeaders, orderCreatedPayload);
+	}
+
+	private static int headerBytes(Headers headers) {
+		int bytes = 0;
+		for (Header header : headers) {
+			bytes += header.key().length() + header.value().length;
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.paymentservice.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 기존 방식 ("PMT-" + randomUUID 앞 8자리) 과 Snowflake 생성기 비교 (단일 스레드 / 경합 4스레드)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentIdGeneratorBenchmark {
+
+	private final PaymentIdGenerator snowflake = new SnowflakePaymentIdGenerator(1);
+
+	@Benchmark
+	public String randomUuidPrefix() {
+		return "PMT-" + UUID.randomUUID().toString().substring(0, 8);
+	}
+
+	@Benchmark
+	public String snowflake() {
+		return snowflake.nextId();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String randomUuidPrefixContended() {
+		return "PMT-" + UUID.randomUUID().toString().substring(0, 8);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String snowflakeContended() {
+		return snowflake.nextId();
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.paymentservice.model;
+
+import com.example.paymentservice.id.PaymentIdGenerator;
+import com.example.paymentservice.id.SnowflakePaymentIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Payment 생성 비용과 그 구성 요소 (결제 ID 생성, 타임스탬프)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentConstructionBenchmark {
+
+	private final PaymentIdGenerator paymentIdGenerator = new SnowflakePaymentIdGenerator(1);
+
+	@Benchmark
+	public Payment newPayment() {
+		return new Payment(paymentIdGenerator.nextId());
+	}
+
+	@Benchmark
+	public LocalDateTime localDateTimeNow() {
+		return LocalDateTime.now();
+	}
+}
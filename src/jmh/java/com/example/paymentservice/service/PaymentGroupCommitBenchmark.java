@@ -0,0 +1,72 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.PaymentserviceApplication;
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 동시 processPayment 의 최종 상태 저장: 주문 shard 에서 행 단위 반영 + 커밋(groupCommit=false) vs 그룹 커밋(groupCommit=true)
+// H2(test 프로필)는 커밋 비용(fsync)이 거의 없어 차이가 작게 나오므로, 운영 판단은 Postgres 에서 같은 비교로 한다
+// ./gradlew jmh -PjmhIncludes=PaymentGroupCommit
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class PaymentGroupCommitBenchmark {
+
+	@Param({"false", "true"})
+	private boolean groupCommit;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private StubPaymentGateway gateway;
+	private ConfigurableApplicationContext context;
+	private PaymentService paymentService;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		gateway = StubPaymentGateway.start();
+		context = new SpringApplicationBuilder(PaymentserviceApplication.class)
+				.run("--spring.profiles.active=test",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN",
+						"--payment.gateway.base-url=" + gateway.baseUrl(),
+						"--payment.group-commit.enabled=" + groupCommit,
+						// 백그라운드 작업이 측정에 섞이지 않도록 비활성화
+						"--payment.reconciliation.enabled=false",
+						"--payment.outbox.relay.poll-interval-ms=3600000");
+		paymentService = context.getBean(PaymentService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+		gateway.close();
+	}
+
+	@Benchmark
+	public PaymentResponse processPayment() {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber("ORD-GROUP-" + sequence.incrementAndGet());
+		request.setAmount(new BigDecimal("125000.00"));
+		request.setPaymentMethod("CARD");
+		return paymentService.processPayment(request);
+	}
+}
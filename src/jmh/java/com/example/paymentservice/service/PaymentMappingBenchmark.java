@@ -0,0 +1,39 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// 조회 API 마다 호출되는 엔티티/프로젝션 -> 응답 DTO 변환
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentMappingBenchmark {
+
+	private Payment payment;
+
+	@Setup
+	public void setUp() {
+		payment = new Payment("PMT-0000000000000");
+		payment.setId(1L);
+		payment.setOrderNumber("ORD-20250101-0001");
+		payment.setAmount(new BigDecimal("125000.00"));
+		payment.setPaymentMethod("CARD");
+		payment.restoreStatus(PaymentStatus.COMPLETED);
+	}
+
+	@Benchmark
+	public PaymentResponse mapToPaymentResponse() {
+		return PaymentResponseMapper.toResponse(payment);
+	}
+}
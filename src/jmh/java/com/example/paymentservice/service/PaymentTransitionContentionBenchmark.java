@@ -0,0 +1,118 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.PaymentserviceApplication;
+import com.example.paymentservice.id.PaymentIdGenerator;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 같은 주문의 결제에 몰리는 상태 변경: 주문 shard 직렬화 + @Version(PaymentStateMachine) vs SELECT ... FOR UPDATE
+// hotOrders=1 이면 모든 스레드가 한 행을 두고 경합. 끝나면 attemptCount 합계와 수행 횟수를 비교해 유실된 갱신을 출력
+// ./gradlew jmh -PjmhIncludes=PaymentTransitionContention
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class PaymentTransitionContentionBenchmark {
+
+	@Param({"1", "16"})
+	private int hotOrders;
+
+	private final AtomicLong operations = new AtomicLong();
+
+	private ConfigurableApplicationContext context;
+	private PaymentStateMachine stateMachine;
+	private PaymentRepository paymentRepository;
+	private TransactionTemplate transactionTemplate;
+	private EntityManager entityManager;
+	private List<Payment> payments;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(PaymentserviceApplication.class)
+				.run("--spring.profiles.active=test",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN",
+						// 백그라운드 작업이 측정에 섞이지 않도록 비활성화
+						"--payment.reconciliation.enabled=false",
+						"--payment.outbox.relay.poll-interval-ms=3600000");
+		stateMachine = context.getBean(PaymentStateMachine.class);
+		paymentRepository = context.getBean(PaymentRepository.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		entityManager = context.getBean(EntityManager.class);
+
+		PaymentIdGenerator idGenerator = context.getBean(PaymentIdGenerator.class);
+		payments = new ArrayList<>(hotOrders);
+		for (int i = 0; i < hotOrders; i++) {
+			Payment payment = new Payment(idGenerator.nextId());
+			payment.setOrderNumber("ORD-HOT-" + i);
+			payment.setAmount(new BigDecimal("125000.00"));
+			payment.setPaymentMethod("CARD");
+			payments.add(paymentRepository.save(payment));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		long applied = paymentRepository.findAllById(payments.stream().map(Payment::getId).toList()).stream()
+				.mapToLong(Payment::getAttemptCount)
+				.sum();
+		System.out.printf("%n[hotOrders=%d] operations=%d, applied=%d, lost updates=%d%n",
+				hotOrders, operations.get(), applied, operations.get() - applied);
+		context.close();
+	}
+
+	@Benchmark
+	public Payment shardedOptimistic() {
+		Payment hot = pickHotPayment();
+		Payment updated = stateMachine.transitionAndWait(hot.getOrderNumber(), hot.getId(), this::touch);
+		operations.incrementAndGet();
+		return updated;
+	}
+
+	@Benchmark
+	public Payment selectForUpdate() {
+		Payment hot = pickHotPayment();
+		Payment updated = transactionTemplate.execute(status -> {
+			Payment payment = entityManager.find(Payment.class, hot.getId(), LockModeType.PESSIMISTIC_WRITE);
+			touch(payment);
+			entityManager.flush();
+			return payment;
+		});
+		operations.incrementAndGet();
+		return updated;
+	}
+
+	private Payment pickHotPayment() {
+		return payments.get(ThreadLocalRandom.current().nextInt(hotOrders));
+	}
+
+	// 재처리기의 점유/반납과 같은 PENDING <-> PROCESSING 왕복 + 시도 횟수 증가
+	private void touch(Payment payment) {
+		payment.transitionTo(payment.getStatus() == PaymentStatus.PENDING ? PaymentStatus.PROCESSING : PaymentStatus.PENDING);
+		payment.setAttemptCount(payment.getAttemptCount() + 1);
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.PaymentserviceApplication;
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// processPayment 전체 경로: H2(test 프로필) insert -> 로컬 스텁 게이트웨이 호출 -> 상태 갱신 + 아웃박스 기록
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProcessPaymentBenchmark {
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private StubPaymentGateway gateway;
+	private ConfigurableApplicationContext context;
+	private PaymentService paymentService;
+
+	@Setup
+	public void setUp() throws Exception {
+		gateway = StubPaymentGateway.start();
+		context = new SpringApplicationBuilder(PaymentserviceApplication.class)
+				.run("--spring.profiles.active=test",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN",
+						"--payment.gateway.base-url=" + gateway.baseUrl(),
+						// 백그라운드 작업이 측정에 섞이지 않도록 비활성화
+						"--payment.reconciliation.enabled=false",
+						"--payment.outbox.relay.poll-interval-ms=3600000");
+		paymentService = context.getBean(PaymentService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+		gateway.close();
+	}
+
+	@Benchmark
+	public PaymentResponse processPayment() {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber("ORD-BENCH-" + sequence.incrementAndGet());
+		request.setAmount(new BigDecimal("125000.00"));
+		request.setPaymentMethod("CARD");
+		return paymentService.processPayment(request);
+	}
+}
@@ -0,0 +1,185 @@
+package com.example.paymentservice.admission;
+
+import com.example.paymentservice.gateway.GatewayUnavailableAction;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 결제 생성 요청(POST /api/payments, /api/payments/async, /api/payments/bulk) 입장 제어
+// 환불 요청과 통계 재구성 등 다른 POST 는 게이트웨이를 동기로 부르지 않으므로 대상이 아니다.
+// 가상 스레드에서는 스레드 수가 더 이상 동시 처리량의 상한이 아니므로, 대신 동시에 처리 중인 결제 수를 세마포어로 제한한다.
+// - 게이트웨이 서킷이 열렸거나 벌크헤드가 가득 차면 즉시 503 (어차피 실패할 요청으로 DB 커넥션을 쓰지 않음)
+// - 동시 처리 한도를 넘으면 queue-timeout-ms 만큼만 기다렸다가 429
+// 한도는 Hikari 풀 크기 이하로 잡아야 요청이 커넥션 대기열(connection-timeout)에 쌓이지 않는다.
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "payment.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final Set<String> PAYMENT_CREATION_PATHS = Set.of("/api/payments", "/api/payments/async", "/api/payments/bulk");
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final Semaphore permits;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final GatewayUnavailableAction unavailableAction;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${payment.admission.queue-timeout-ms:100}")
+    private long queueTimeoutMs;
+
+    @Value("${payment.admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Autowired
+    public AdmissionControlFilter(@Value("${payment.admission.max-concurrent-payments:16}") int maxConcurrentPayments,
+                                  @Value("${payment.gateway.unavailable-action:FAIL}") GatewayUnavailableAction unavailableAction,
+                                  CircuitBreaker paymentGatewayCircuitBreaker,
+                                  Bulkhead paymentGatewayBulkhead,
+                                  MeterRegistry meterRegistry) {
+        if (maxConcurrentPayments < 1) {
+            throw new IllegalArgumentException("payment.admission.max-concurrent-payments must be positive: " + maxConcurrentPayments);
+        }
+        this.permits = new Semaphore(maxConcurrentPayments, true);
+        this.unavailableAction = unavailableAction;
+        this.circuitBreaker = paymentGatewayCircuitBreaker;
+        this.bulkhead = paymentGatewayBulkhead;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("payment.admission.in-flight", permits, p -> maxConcurrentPayments - p.availablePermits())
+                .description("Payment creation requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !PAYMENT_CREATION_PATHS.contains(paymentPath(request));
+    }
+
+    // 서블릿 컨텍스트 경로와 ;jsessionid 등을 뺀 애플리케이션 내 경로 (끝의 / 는 무시)
+    private static String paymentPath(HttpServletRequest request) {
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // LEAVE_PENDING 이면 게이트웨이 장애 중에도 결제를 PENDING 으로 받아 두고 재처리기가 나중에 보내므로 거절하지 않음
+        if (unavailableAction == GatewayUnavailableAction.FAIL && gatewayUnavailable()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "gateway", "Payment gateway is unavailable");
+            return;
+        }
+
+        if (!tryAcquire()) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "concurrency", "Too many payments in flight");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 비동기 응답 (/async, /bulk) 은 응답이 끝날 때까지 허가를 유지
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(released));
+            } else {
+                release(released);
+            }
+        }
+    }
+
+    private boolean gatewayUnavailable() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN
+                || bulkhead.getMetrics().getAvailableConcurrentCalls() == 0;
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void release(AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String reason, String message) throws IOException {
+        Counter.builder("payment.admission.rejected")
+                .description("Payment creation requests shed by the admission controller, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        logger.debug("Rejecting payment request ({}): {}", reason, message);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\"}");
+    }
+
+    private class ReleaseOnComplete implements AsyncListener {
+
+        private final AtomicBoolean released;
+
+        ReleaseOnComplete(AtomicBoolean released) {
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 재디스패치 후 다시 비동기로 시작하면 리스너를 다시 등록해야 onComplete 를 받음
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.paymentservice.cache;
+
+// 다른 레플리카의 로컬 캐시를 무효화하기 위한 전파 방식 (payment.cache.invalidation.broadcast)
+public interface CacheInvalidationBroadcaster {
+
+    void broadcast(String paymentId, String orderNumber);
+}
@@ -0,0 +1,43 @@
+package com.example.paymentservice.cache;
+
+import com.example.paymentservice.event.PaymentCacheInvalidationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Kafka 토픽으로 무효화 메시지를 전파 (각 레플리카는 고유 그룹으로 모든 메시지를 수신)
+@Component
+@ConditionalOnProperty(name = "payment.cache.invalidation.broadcast", havingValue = "kafka")
+public class KafkaCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    static final String TOPIC = "payment-cache-invalidation-topic";
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaCacheInvalidationBroadcaster.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    public KafkaCacheInvalidationBroadcaster(KafkaTemplate<String, Object> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public void broadcast(String paymentId, String orderNumber) {
+        // 전파 실패는 TTL 로 보정되므로 결과를 기다리지 않음
+        kafkaTemplate.send(TOPIC, orderNumber, new PaymentCacheInvalidationEvent(instanceId, paymentId, orderNumber))
+                .exceptionally(e -> {
+                    logger.warn("Failed to broadcast cache invalidation for payment {}: {}", paymentId, e.getMessage());
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.paymentservice.cache;
+
+import com.example.paymentservice.event.PaymentCacheInvalidationEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+// 다른 레플리카가 보낸 무효화 메시지를 로컬 캐시에 반영
+@Component
+@ConditionalOnProperty(name = "payment.cache.invalidation.broadcast", havingValue = "kafka")
+public class KafkaCacheInvalidationListener {
+
+    private final PaymentResponseCache paymentResponseCache;
+    private final KafkaCacheInvalidationBroadcaster broadcaster;
+
+    @Autowired
+    public KafkaCacheInvalidationListener(PaymentResponseCache paymentResponseCache, KafkaCacheInvalidationBroadcaster broadcaster) {
+        this.paymentResponseCache = paymentResponseCache;
+        this.broadcaster = broadcaster;
+    }
+
+    // 인스턴스마다 고유 그룹 ID 를 사용해 모든 레플리카가 메시지를 받도록 함
+    @KafkaListener(topics = KafkaCacheInvalidationBroadcaster.TOPIC,
+            groupId = "#{'payment-cache-invalidation-' + T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onInvalidation(PaymentCacheInvalidationEvent event) {
+        if (broadcaster.getInstanceId().equals(event.getOriginId())) {
+            return;
+        }
+        paymentResponseCache.evictLocal(event.getPaymentId(), event.getOrderNumber());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.paymentservice.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 단일 인스턴스 또는 TTL 만으로 충분한 경우: 전파하지 않음
+@Component
+@ConditionalOnProperty(name = "payment.cache.invalidation.broadcast", havingValue = "none", matchIfMissing = true)
+public class LocalCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    @Override
+    public void broadcast(String paymentId, String orderNumber) {
+        // 로컬 캐시는 PaymentResponseCache 에서 이미 무효화됨
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.paymentservice.cache;
+
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.event.PaymentChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+// 조회 API 용 PaymentResponse 로컬 캐시 (paymentId / orderNumber 기준, 크기 + TTL 제한)
+// 결제 변경이 커밋되면 해당 키를 무효화하고 다른 레플리카에도 전파한다.
+// 로더(DB 조회)는 AsyncCache 로 별도 가상 스레드에서 실행한다. 동기 Cache.get 은 ConcurrentHashMap.compute 의
+// 버킷 잠금(synchronized) 안에서 로더를 돌리므로, 요청 스레드가 가상 스레드일 때 DB I/O 동안 캐리어 스레드가 고정(pinning)된다.
+@Component
+public class PaymentResponseCache {
+
+    private final AsyncCache<String, PaymentResponse> byPaymentId;
+    private final AsyncCache<String, List<PaymentResponse>> byOrderNumber;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final ExecutorService loaderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public PaymentResponseCache(@Value("${payment.cache.maximum-size:10000}") long maximumSize,
+                                @Value("${payment.cache.ttl-seconds:30}") long ttlSeconds,
+                                CacheInvalidationBroadcaster broadcaster,
+                                MeterRegistry meterRegistry) {
+        this.broadcaster = broadcaster;
+        this.byPaymentId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .executor(loaderExecutor)
+                .buildAsync();
+        this.byOrderNumber = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .executor(loaderExecutor)
+                .buildAsync();
+
+        // cache.gets{result=hit|miss}, cache.evictions 등을 actuator metrics 로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, byPaymentId, "payment.response.by-payment-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byOrderNumber, "payment.response.by-order-number");
+    }
+
+    public PaymentResponse getByPaymentId(String paymentId, Function<String, PaymentResponse> loader) {
+        return join(byPaymentId.get(paymentId, loader));
+    }
+
+    public List<PaymentResponse> getByOrderNumber(String orderNumber, Function<String, List<PaymentResponse>> loader) {
+        return join(byOrderNumber.get(orderNumber, loader));
+    }
+
+    // reactive 스택용: 로더도 논블로킹 (Mono 가 비면 캐시하지 않음)
+    public Mono<PaymentResponse> getByPaymentIdAsync(String paymentId, Function<String, Mono<PaymentResponse>> loader) {
+        return Mono.fromFuture(() -> byPaymentId.get(paymentId, (key, executor) -> loader.apply(key).toFuture()));
+    }
+
+    public Mono<List<PaymentResponse>> getByOrderNumberAsync(String orderNumber, Function<String, Mono<List<PaymentResponse>>> loader) {
+        return Mono.fromFuture(() -> byOrderNumber.get(orderNumber, (key, executor) -> loader.apply(key).toFuture()));
+    }
+
+    // 로더 예외 (PaymentNotFoundException 등) 는 원래 타입으로 다시 던짐. 실패한 값은 Caffeine 이 캐시에서 제거
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 커밋 이후에만 무효화 (트랜잭션 밖 변경은 즉시)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        evictLocal(event.getPaymentId(), event.getOrderNumber());
+        broadcaster.broadcast(event.getPaymentId(), event.getOrderNumber());
+    }
+
+    public void evictLocal(String paymentId, String orderNumber) {
+        if (paymentId != null) {
+            byPaymentId.synchronous().invalidate(paymentId);
+        }
+        if (orderNumber != null) {
+            byOrderNumber.synchronous().invalidate(orderNumber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdown();
+    }
+}
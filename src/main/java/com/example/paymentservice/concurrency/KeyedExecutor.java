@@ -0,0 +1,81 @@
+package com.example.paymentservice.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 키 해시로 lane 을 고르는 실행기: 같은 키의 작업은 항상 같은 단일 스레드 lane 에서 순서대로 실행되고,
+// 다른 키의 작업은 lane 수만큼 병렬로 실행된다.
+public class KeyedExecutor {
+
+    private final ExecutorService[] lanes;
+
+    public KeyedExecutor(String name, int laneCount) {
+        this(name, laneCount, namedThreadFactory(name));
+    }
+
+    public KeyedExecutor(String name, int laneCount, ThreadFactory threadFactory) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount must be positive for " + name + ": " + laneCount);
+        }
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public int laneFor(String key) {
+        if (key == null) {
+            return 0;
+        }
+        // hashCode 하위 비트 편중 완화
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        return submitToLane(laneFor(key), task);
+    }
+
+    public CompletableFuture<Void> submitToLane(int lane, Runnable task) {
+        return CompletableFuture.runAsync(task, lanes[lane]);
+    }
+
+    // 결과가 있는 작업 (submit 과 이름을 달리해 Runnable/Supplier 람다 모호성을 피함)
+    public <T> CompletableFuture<T> supply(String key, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, lanes[laneFor(key)]);
+    }
+
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            try {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                lane.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
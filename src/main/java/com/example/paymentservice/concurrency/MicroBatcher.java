@@ -0,0 +1,183 @@
+package com.example.paymentservice.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// 동시에 들어온 요청을 모아 한 번의 배치 호출로 처리하고 결과를 요청별로 돌려주는 실행기
+// 배치는 maxBatchSize 에 도달하거나 대기 창이 끝나면 보낸다. 대기 창은 요청 도착 간격(EWMA)에 맞춰 조정되어
+// 한가할 때(maxWait 안에 다음 요청이 올 것 같지 않을 때)는 기다리지 않고 바로 보내고,
+// 붐빌 때는 배치를 채우는 데 걸릴 예상 시간만큼(최대 maxWait) 기다린다.
+// handler 는 입력과 같은 순서, 같은 개수의 결과를 돌려줘야 한다. 배치 호출이 실패하면 그 배치의 요청이 모두 실패한다.
+public class MicroBatcher<T, R> {
+
+    // 도착 간격 EWMA 가중치 (최근 요청 비중)
+    private static final double ARRIVAL_GAP_WEIGHT = 0.2;
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Function<List<T>, CompletableFuture<List<R>>> handler;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private List<Entry<T, R>> pending = new ArrayList<>();
+    private Future<?> scheduledFlush;
+    private long lastArrivalNanos;
+    private double meanArrivalGapNanos = Double.MAX_VALUE;
+    private boolean shutdown;
+
+    public MicroBatcher(String name, int maxBatchSize, Duration maxWait,
+                        Function<List<T>, CompletableFuture<List<R>>> handler) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive for " + name + ": " + maxBatchSize);
+        }
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.handler = handler;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<R> submit(T item) {
+        Entry<T, R> entry = new Entry<>(item, new CompletableFuture<>());
+        synchronized (lock) {
+            if (shutdown) {
+                return CompletableFuture.failedFuture(new IllegalStateException(name + " is shut down"));
+            }
+            recordArrival(System.nanoTime());
+            pending.add(entry);
+            if (pending.size() == maxBatchSize) {
+                cancelScheduledFlush();
+                scheduledFlush = flusher.submit(this::flush);
+            } else if (scheduledFlush == null) {
+                scheduleFlush();
+            }
+        }
+        return entry.result();
+    }
+
+    // 현재 부하에서의 대기 창 (테스트와 지표용)
+    public Duration currentWindow() {
+        synchronized (lock) {
+            return Duration.ofNanos(currentWindowNanos());
+        }
+    }
+
+    // 남은 요청을 보낸 뒤 종료
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            cancelScheduledFlush();
+        }
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flusher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void recordArrival(long now) {
+        if (lastArrivalNanos != 0) {
+            double gap = now - lastArrivalNanos;
+            meanArrivalGapNanos = meanArrivalGapNanos == Double.MAX_VALUE ? gap
+                    : ARRIVAL_GAP_WEIGHT * gap + (1 - ARRIVAL_GAP_WEIGHT) * meanArrivalGapNanos;
+        }
+        lastArrivalNanos = now;
+    }
+
+    // 배치를 채우는 데 걸릴 예상 시간 (maxWait 이내에 다음 요청이 오지 않을 부하면 0)
+    private long currentWindowNanos() {
+        if (meanArrivalGapNanos >= maxWaitNanos) {
+            return 0;
+        }
+        double fillNanos = meanArrivalGapNanos * (maxBatchSize - pending.size());
+        return (long) Math.min(fillNanos, maxWaitNanos);
+    }
+
+    private void scheduleFlush() {
+        long window = currentWindowNanos();
+        scheduledFlush = window > 0
+                ? flusher.schedule(this::flush, window, TimeUnit.NANOSECONDS)
+                : flusher.submit(this::flush);
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    // 대기 창이 끝났거나 배치가 찼을 때: 첫 배치와 가득 찬 배치는 보내고, 덜 찬 나머지는 새 대기 창을 기다린다 (종료 중이면 모두 보냄)
+    private void flush() {
+        List<List<Entry<T, R>>> batches = new ArrayList<>();
+        synchronized (lock) {
+            scheduledFlush = null;
+            while (pending.size() >= maxBatchSize || (!pending.isEmpty() && (batches.isEmpty() || shutdown))) {
+                batches.add(takeBatch());
+            }
+            if (!pending.isEmpty()) {
+                scheduleFlush();
+            }
+        }
+        batches.forEach(this::dispatch);
+    }
+
+    private List<Entry<T, R>> takeBatch() {
+        if (pending.size() <= maxBatchSize) {
+            List<Entry<T, R>> batch = pending;
+            pending = new ArrayList<>();
+            return batch;
+        }
+        List<Entry<T, R>> batch = new ArrayList<>(pending.subList(0, maxBatchSize));
+        pending = new ArrayList<>(pending.subList(maxBatchSize, pending.size()));
+        return batch;
+    }
+
+    private void dispatch(List<Entry<T, R>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Entry<T, R> entry : batch) {
+            items.add(entry.item());
+        }
+
+        CompletableFuture<List<R>> results;
+        try {
+            results = handler.apply(items);
+        } catch (RuntimeException e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+        results.whenComplete((values, error) -> {
+            Throwable failure = error;
+            if (failure == null && (values == null || values.size() != batch.size())) {
+                failure = new IllegalStateException(name + " handler returned " + (values == null ? "no" : values.size())
+                        + " results for " + batch.size() + " requests");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failure != null) {
+                    batch.get(i).result().completeExceptionally(failure);
+                } else {
+                    batch.get(i).result().complete(values.get(i));
+                }
+            }
+        });
+    }
+
+    private record Entry<T, R>(T item, CompletableFuture<R> result) {
+    }
+}
@@ -1,42 +1,122 @@
 package com.example.paymentservice.config;
 
+import com.example.paymentservice.event.codec.EventCodecRegistry;
+import com.example.paymentservice.event.codec.EventFormat;
+import com.example.paymentservice.event.codec.PaymentEventDeserializer;
+import com.example.paymentservice.event.codec.PaymentEventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Configuration
 public class KafkaConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(KafkaConfig.class);
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${payment.kafka.producer.linger-ms:5}")
+    private int producerLingerMs;
+
+    @Value("${payment.kafka.producer.batch-size:65536}")
+    private int producerBatchSize;
+
+    @Value("${payment.kafka.producer.compression-type:lz4}")
+    private String producerCompressionType;
+
+    // 이벤트 쓰기 포맷. 컨슈머는 항상 JSON/바이너리를 모두 읽으므로 모든 컨슈머 배포 후 BINARY 로 전환
+    @Value("${payment.kafka.serialization.write-format:JSON}")
+    private EventFormat eventWriteFormat;
+
+    private final EventCodecRegistry eventCodecRegistry = EventCodecRegistry.standard();
+
+    @Value("${payment.kafka.listener.concurrency:1}")
+    private int listenerConcurrency;
+
+    @Value("${payment.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${payment.kafka.consumer.fetch-min-bytes:1}")
+    private int fetchMinBytes;
+
+    @Value("${payment.kafka.consumer.fetch-max-wait-ms:500}")
+    private int fetchMaxWaitMs;
+
+    // 관찰(Observation) 활성화: 송수신 타이머 + 트레이싱이 켜져 있으면 trace/baggage 헤더 전파
+    @Value("${payment.kafka.observation-enabled:true}")
+    private boolean observationEnabled;
+
+    // 가상 스레드 모드: 컨슈머 스레드를 가상 스레드로 실행 (리스너 안의 DB/게이트웨이 블로킹이 캐리어 스레드를 점유하지 않음)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    // 리스너 지연 시작: 컨테이너를 컨텍스트 refresh 중에 시작하지 않고 애플리케이션이 준비된 뒤 백그라운드에서 시작
+    // (컨슈머 생성/그룹 합류가 기동 시간과 readiness 에 포함되지 않음)
+    @Value("${payment.kafka.listener.deferred-startup:false}")
+    private boolean deferredListenerStartup;
+
+    @Value("${payment.kafka.listener.start-delay-ms:0}")
+    private long listenerStartDelayMs;
+
+    private final List<MessageListenerContainer> deferredListenerContainers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public KafkaConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     // 프로듀서 구성
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        // 아웃박스 릴레이용: 재시도 시 중복 없는 멱등 프로듀서 + linger 로 배치 전송
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, producerLingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        // 배치 단위 압축 (linger 로 모인 배치가 클수록 효과가 큼). lz4 는 CPU 부담이 작고 zstd 는 압축률이 높음
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producerCompressionType);
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(configProps,
+                new StringSerializer(), new PaymentEventSerializer(eventCodecRegistry, eventWriteFormat));
+        // kafka.producer.* 클라이언트 지표 (배치 크기, 요청 지연, 재시도 등)
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory());
+        template.setObservationEnabled(observationEnabled);
+        return template;
     }
 
     // 컨슈머 구성
@@ -45,16 +125,84 @@ public class KafkaConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.example.paymentservice.event,com.example.orderservice.event");
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        // poll 당 가져올 레코드 수와 대기 조건 (배치 리스너의 배치 크기를 결정)
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+        // 값은 JSON/바이너리 이중 읽기 (JSON 설정은 위 TRUSTED_PACKAGES 를 그대로 사용)
+        // 역직렬화 실패는 poll 전체를 막지 않도록 값을 null + 예외 헤더로 전달 (레코드 리스너는 오류 처리기가 건너뛰고,
+        // 배치 리스너는 값이 null 인 레코드를 직접 건너뜀)
+        DefaultKafkaConsumerFactory<String, Object> factory = new DefaultKafkaConsumerFactory<>(configProps,
+                new StringDeserializer(), new ErrorHandlingDeserializer<>(new PaymentEventDeserializer(eventCodecRegistry)));
+        // kafka.consumer.* 클라이언트 지표 (파티션별 records-lag, fetch 지연 등)
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // 파드당 컨슈머 스레드 수 (토픽 파티션 수 / 레플리카 수 이하로 설정)
+        factory.setConcurrency(listenerConcurrency);
+        factory.getContainerProperties().setObservationEnabled(observationEnabled);
+        applyListenerTaskExecutor(factory, "kafka-listener-");
+        factory.setContainerCustomizer(this::deferStartup);
+        return factory;
+    }
+
+    // 배치 리스너 구성 (poll 한 번의 레코드 목록을 한 번에 전달)
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        // 배치 리스너는 Observation 을 지원하지 않음 (spring.kafka.listener 타이머는 기본으로 기록됨)
+        applyListenerTaskExecutor(factory, "kafka-batch-listener-");
+        factory.setContainerCustomizer(this::deferStartup);
         return factory;
     }
+
+    // 리스너의 autoStartup 설정이 반영된 뒤 호출됨. 자동 시작 대상만 기록해 두고 refresh 에서는 시작하지 않음
+    private void deferStartup(MessageListenerContainer container) {
+        if (deferredListenerStartup && container.isAutoStartup()) {
+            container.setAutoStartup(false);
+            deferredListenerContainers.add(container);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDeferredListenerContainers() {
+        if (deferredListenerContainers.isEmpty()) {
+            return;
+        }
+        Thread.ofPlatform().name("kafka-listener-startup").daemon().start(() -> {
+            try {
+                Thread.sleep(listenerStartDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (MessageListenerContainer container : deferredListenerContainers) {
+                try {
+                    container.start();
+                } catch (Exception e) {
+                    logger.error("Error starting deferred Kafka listener container {}: ", container.getListenerId(), e);
+                }
+            }
+            logger.info("Started {} deferred Kafka listener containers", deferredListenerContainers.size());
+        });
+    }
+
+    // 팩토리를 직접 만들기 때문에 Boot 의 spring.threads.virtual.enabled 자동 설정이 적용되지 않아 여기서 지정
+    private void applyListenerTaskExecutor(ConcurrentKafkaListenerContainerFactory<String, Object> factory, String threadNamePrefix) {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.paymentservice.config;
+
+import com.example.paymentservice.gateway.PaymentGateway;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// 결제 게이트웨이 호출 보호: 벌크헤드 -> 서킷 브레이커 -> 재시도 순으로 감싼다 (PaymentGateway 참고)
+@Configuration
+public class PaymentGatewayResilienceConfig {
+
+    private static final String INSTANCE_NAME = "paymentGateway";
+
+    @Value("${payment.gateway.bulkhead.max-concurrent-calls:100}")
+    private int maxConcurrentCalls;
+
+    @Value("${payment.gateway.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${payment.gateway.circuit-breaker.minimum-number-of-calls:20}")
+    private int minimumNumberOfCalls;
+
+    @Value("${payment.gateway.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${payment.gateway.circuit-breaker.slow-call-duration-ms:2000}")
+    private long slowCallDurationMs;
+
+    @Value("${payment.gateway.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${payment.gateway.circuit-breaker.wait-in-open-state-ms:10000}")
+    private long waitInOpenStateMs;
+
+    @Value("${payment.gateway.circuit-breaker.permitted-calls-in-half-open-state:5}")
+    private int permittedCallsInHalfOpenState;
+
+    @Value("${payment.gateway.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${payment.gateway.retry.initial-backoff-ms:100}")
+    private long retryInitialBackoffMs;
+
+    @Bean
+    public Bulkhead paymentGatewayBulkhead(MeterRegistry meterRegistry) {
+        // 대기 없이 즉시 거절. 초과 요청은 게이트웨이로 나가지 않고 UNAVAILABLE 처리
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(INSTANCE_NAME);
+    }
+
+    @Bean
+    public CircuitBreaker paymentGatewayCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenStateMs))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(PaymentGateway::isGatewayFault)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(INSTANCE_NAME);
+    }
+
+    @Bean
+    public Retry paymentGatewayRetry(MeterRegistry meterRegistry) {
+        // 지수 백오프 + 지터 (±50%) 로 레플리카들이 동시에 재시도하지 않도록 분산
+        RetryConfig config = RetryConfig.custom()
+                .maxAttempts(retryMaxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        Duration.ofMillis(retryInitialBackoffMs), 2.0, 0.5))
+                .retryOnException(PaymentGateway::isSafeToRetry)
+                .build();
+        RetryRegistry registry = RetryRegistry.of(config);
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry.retry(INSTANCE_NAME);
+    }
+}
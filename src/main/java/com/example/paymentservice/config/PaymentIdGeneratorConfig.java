@@ -0,0 +1,36 @@
+package com.example.paymentservice.config;
+
+import com.example.paymentservice.id.PaymentIdGenerator;
+import com.example.paymentservice.id.SnowflakePaymentIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class PaymentIdGeneratorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIdGeneratorConfig.class);
+
+    // 0 이상이면 고정 노드 ID 사용 (예: StatefulSet 순번), 음수면 DB 시퀀스에서 할당
+    @Value("${payment.id.node-id:-1}")
+    private int configuredNodeId;
+
+    @Bean
+    @ConditionalOnMissingBean(PaymentIdGenerator.class)
+    public PaymentIdGenerator paymentIdGenerator(JdbcTemplate jdbcTemplate) {
+        int nodeId = configuredNodeId >= 0 ? configuredNodeId : allocateNodeId(jdbcTemplate);
+        logger.info("Payment ID generator using node id {}", nodeId);
+        return new SnowflakePaymentIdGenerator(nodeId);
+    }
+
+    // 기동할 때마다 시퀀스에서 새 값을 받으므로 동시에 살아 있는 인스턴스끼리는 노드 ID 가 겹치지 않음
+    // (1024 번 재기동되는 동안 계속 살아 있는 인스턴스가 없는 한)
+    private int allocateNodeId(JdbcTemplate jdbcTemplate) {
+        Long value = jdbcTemplate.queryForObject("SELECT nextval('payment_id_node_seq')", Long.class);
+        return (int) Math.floorMod(value, SnowflakePaymentIdGenerator.MAX_NODE_ID + 1L);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.paymentservice.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+// reactive 프로필 (spring.main.web-application-type=reactive): Netty + WebFlux + R2DBC 로 결제 API 경로를 처리
+// Kafka 컨슈머, 아웃박스 릴레이, 재처리기 등 백그라운드 작업은 두 스택 모두 JPA 로 동작한다.
+//
+// R2DBC 커넥션 풀과 트랜잭션 매니저는 일부러 빈으로 노출하지 않는다.
+// ConnectionFactory 빈이 있으면 DataSource 자동 구성이, TransactionManager 빈이 하나 더 있으면 JPA 트랜잭션 매니저가 빠지기 때문.
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStackConfig implements DisposableBean {
+
+    // r2dbc-postgresql 이 이벤트 루프를 공유하도록 넘기는 드라이버 옵션
+    private static final Option<LoopResources> LOOP_RESOURCES = Option.valueOf("loopResources");
+
+    private final LoopResources eventLoop;
+    private final ConnectionPool connectionPool;
+
+    public ReactiveStackConfig(@Value("${payment.reactive.event-loop-threads:2}") int eventLoopThreads,
+                               @Value("${payment.reactive.r2dbc.url}") String url,
+                               @Value("${payment.reactive.r2dbc.username:}") String username,
+                               @Value("${payment.reactive.r2dbc.password:}") String password,
+                               @Value("${payment.reactive.r2dbc.pool.initial-size:5}") int initialSize,
+                               @Value("${payment.reactive.r2dbc.pool.max-size:20}") int maxSize,
+                               @Value("${payment.reactive.r2dbc.pool.max-acquire-time-ms:2000}") long maxAcquireTimeMs) {
+        // HTTP 서버, 게이트웨이 WebClient, Postgres 드라이버가 같은 소수의 이벤트 루프 스레드를 사용 (파드 CPU 500m 기준 2개)
+        this.eventLoop = LoopResources.create("payment-event-loop", eventLoopThreads, true);
+
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        if (url.startsWith("r2dbc:postgresql:")) {
+            options.option(LOOP_RESOURCES, eventLoop);
+        }
+
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("payment-r2dbc")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .build());
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        // spring-boot-starter-web 이 함께 있으면 리액티브 서버로 Tomcat 이 먼저 선택되므로 Netty 를 직접 지정
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(eventLoop));
+        return factory;
+    }
+
+    @Bean
+    public LoopResources paymentEventLoop() {
+        return eventLoop;
+    }
+
+    @Bean
+    public DatabaseClient paymentDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator paymentTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+        eventLoop.dispose();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.paymentservice.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 빠른 기동 (spring.main.lazy-initialization): 요청이 올 때 만들어도 되는 빈(컨트롤러, 조회/통계/환불 서비스 등)만 지연 생성
+// @Scheduled/@KafkaListener 빈은 생성될 때 등록되므로 지연시키면 스케줄과 리스너가 아예 시작되지 않음 -> 항상 즉시 생성
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && runsBackgroundWork(beanType);
+    }
+
+    private static boolean runsBackgroundWork(Class<?> beanType) {
+        if (AnnotatedElementUtils.hasAnnotation(beanType, KafkaListener.class)) {
+            return true;
+        }
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType,
+                method -> found.set(true),
+                method -> !found.get() && (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, KafkaListener.class)));
+        return found.get();
+    }
+}
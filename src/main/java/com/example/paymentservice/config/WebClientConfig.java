@@ -1,22 +1,81 @@
 package com.example.paymentservice.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${payment.gateway.base-url:https://api.payment-gateway.example.com}")
+    private String paymentGatewayBaseUrl;
+
+    @Value("${payment.gateway.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${payment.gateway.response-timeout-ms:3000}")
+    private long responseTimeoutMs;
+
+    @Value("${payment.gateway.pool.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${payment.gateway.pool.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${payment.gateway.pool.pending-acquire-timeout-ms:1000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${payment.gateway.pool.max-idle-seconds:30}")
+    private long maxIdleSeconds;
+
+    @Value("${payment.gateway.pool.max-life-seconds:300}")
+    private long maxLifeSeconds;
+
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider paymentGatewayConnectionProvider() {
+        // 게이트웨이 전용 커넥션 풀. metrics(true) 로 reactor.netty.connection.provider.* 지표 (active/idle/pending) 노출
+        return ConnectionProvider.builder("payment-gateway")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient paymentGatewayClient(WebClient.Builder builder) {
-        // 실제 프로젝트에서는 외부 결제 게이트웨이 URL 설정 필요
+    public WebClient paymentGatewayClient(WebClient.Builder builder, ConnectionProvider paymentGatewayConnectionProvider,
+                                          ObjectProvider<LoopResources> paymentEventLoop) {
+        HttpClient httpClient = HttpClient.create(paymentGatewayConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        // reactive 프로필에서는 HTTP 서버와 같은 이벤트 루프 사용 (ReactiveStackConfig)
+        LoopResources eventLoop = paymentEventLoop.getIfAvailable();
+        if (eventLoop != null) {
+            httpClient = httpClient.runOn(eventLoop);
+        }
+
+        // 게이트웨이 URL은 payment.gateway.base-url 로 설정
         return builder
-                .baseUrl("https://api.payment-gateway.example.com")
+                .baseUrl(paymentGatewayBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
-}
\ No newline at end of file
+}
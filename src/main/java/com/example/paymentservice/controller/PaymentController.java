@@ -2,37 +2,121 @@ package com.example.paymentservice.controller;
 
 import com.example.paymentservice.dto.PaymentRequest;
 import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.PaymentSearchCriteria;
+import com.example.paymentservice.dto.PaymentSearchPage;
+import com.example.paymentservice.dto.PaymentStatsReport;
+import com.example.paymentservice.service.BulkPaymentService;
+import com.example.paymentservice.service.IdempotencyService;
+import com.example.paymentservice.service.PaymentSearchService;
+import com.example.paymentservice.service.PaymentSearchService.ExportFormat;
 import com.example.paymentservice.service.PaymentService;
+import com.example.paymentservice.stats.PaymentStatsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PaymentController {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
 
     private final PaymentService paymentService;
+    private final BulkPaymentService bulkPaymentService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentSearchService paymentSearchService;
+    private final PaymentStatsService paymentStatsService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, BulkPaymentService bulkPaymentService,
+                             IdempotencyService idempotencyService, PaymentSearchService paymentSearchService,
+                             PaymentStatsService paymentStatsService, ObjectMapper objectMapper) {
         this.paymentService = paymentService;
+        this.bulkPaymentService = bulkPaymentService;
+        this.idempotencyService = idempotencyService;
+        this.paymentSearchService = paymentSearchService;
+        this.paymentStatsService = paymentStatsService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
-    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest paymentRequest) {
+    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest paymentRequest,
+                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         logger.info("Received request to process payment for order: {}", paymentRequest.getOrderNumber());
-        PaymentResponse response = paymentService.processPayment(paymentRequest);
+        // Idempotency-Key 가 있으면 재시도 요청에 저장된 응답을 반환
+        PaymentResponse response = idempotencyKey == null
+                ? paymentService.processPayment(paymentRequest)
+                : idempotencyService.execute(idempotencyKey, paymentRequest);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // 비동기 결제 처리: 202 Accepted 와 상태 조회 URL 반환
+    @PostMapping("/async")
+    public Mono<ResponseEntity<PaymentResponse>> processPaymentAsync(@Valid @RequestBody PaymentRequest paymentRequest) {
+        logger.info("Received request to process payment asynchronously for order: {}", paymentRequest.getOrderNumber());
+        return paymentService.processPaymentAsync(paymentRequest)
+                .map(response -> ResponseEntity.accepted()
+                        .location(UriComponentsBuilder.fromPath("/api/payments/{paymentId}")
+                                .buildAndExpand(response.getPaymentId())
+                                .toUri())
+                        .body(response));
+    }
+
+    // 대량 결제: JSON 배열 입력, 처리 완료 순서대로 NDJSON 으로 항목별 결과 스트리밍
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PaymentResponse> processPaymentsBulk(InputStream body) throws IOException {
+        List<PaymentRequest> paymentRequests = readBulkRequests(body);
+        logger.info("Received bulk payment request with {} items", paymentRequests.size());
+        return bulkPaymentService.processPayments(paymentRequests);
+    }
+
+    // 대량 결제: NDJSON 입력 (한 줄에 PaymentRequest 하나)
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PaymentResponse> processPaymentsBulkNdjson(InputStream body) throws IOException {
+        List<PaymentRequest> paymentRequests = readBulkRequests(body);
+        logger.info("Received NDJSON bulk payment request with {} items", paymentRequests.size());
+        return bulkPaymentService.processPayments(paymentRequests);
+    }
+
+    // 루트 JSON 배열의 원소 또는 NDJSON 의 줄을 하나씩 읽고, max-items 를 넘는 항목을 만나면 나머지를 읽지 않고 거절
+    private List<PaymentRequest> readBulkRequests(InputStream body) throws IOException {
+        List<PaymentRequest> paymentRequests = new ArrayList<>();
+        try (MappingIterator<PaymentRequest> iterator = objectMapper.readerFor(PaymentRequest.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                bulkPaymentService.checkItemCount(paymentRequests.size() + 1);
+                paymentRequests.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Malformed bulk payment item " + (paymentRequests.size() + 1) + ": " + e.getOriginalMessage());
+        }
+        return paymentRequests;
+    }
+
     @GetMapping("/{paymentId}")
     public ResponseEntity<PaymentResponse> getPayment(@PathVariable String paymentId) {
         logger.info("Retrieving payment with ID: {}", paymentId);
@@ -47,6 +131,48 @@ public class PaymentController {
         return ResponseEntity.ok(responses);
     }
 
+    // 결제 검색: status, paymentMethod, createdFrom(포함) ~ createdTo(미포함), (createdAt, id) 순 커서 페이지네이션
+    @GetMapping("/search")
+    public ResponseEntity<PaymentSearchPage> searchPayments(@ModelAttribute PaymentSearchCriteria criteria,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(paymentSearchService.search(criteria, cursor, limit));
+    }
+
+    // 검색 조건에 맞는 전체 결과를 스트리밍으로 내보냄 (format=ndjson|csv)
+    // 요청 스레드에서 직접 써서 비동기 요청 타임아웃의 영향을 받지 않음
+    @GetMapping("/export")
+    public void exportPayments(@ModelAttribute PaymentSearchCriteria criteria,
+                               @RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        logger.info("Exporting payments as {}", exportFormat);
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        if (exportFormat == ExportFormat.CSV) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payments.csv\"");
+        }
+        paymentSearchService.export(criteria, exportFormat, response.getOutputStream());
+    }
+
+    // 상태/결제 수단/시간별 건수, 금액 합계, 실패율 (시 단위 롤업 조회, from 포함 ~ to 미포함)
+    @GetMapping("/stats")
+    public ResponseEntity<PaymentStatsReport> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(paymentStatsService.getStats(from, to));
+    }
+
+    // 기간 내 통계 롤업을 payments 에서 다시 계산
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<PaymentStatsReport> rebuildStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Rebuilding payment stats for [{}, {})", from, to);
+        return ResponseEntity.ok(paymentStatsService.rebuild(from, to));
+    }
+
     // 헬스 체크 엔드포인트
     @GetMapping("/health")
     public ResponseEntity<String> health() {
@@ -0,0 +1,136 @@
+package com.example.paymentservice.controller;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.PaymentSearchCriteria;
+import com.example.paymentservice.dto.PaymentSearchPage;
+import com.example.paymentservice.dto.PaymentStatsReport;
+import com.example.paymentservice.service.BulkPaymentService;
+import com.example.paymentservice.service.IdempotencyService;
+import com.example.paymentservice.service.PaymentSearchService;
+import com.example.paymentservice.service.ReactivePaymentService;
+import com.example.paymentservice.stats.PaymentStatsService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// reactive 프로필의 WebFlux 컨트롤러 (PaymentController 와 같은 경로/응답)
+// 결제 생성과 조회는 R2DBC 로 이벤트 루프에서 처리하고, JPA 기반 기능(Idempotency-Key 결제, 검색, 통계)은 boundedElastic 으로 넘긴다.
+// 내보내기(/export)는 JPA 스트리밍 트랜잭션에 묶여 있어 서블릿 스택에서만 제공한다.
+@RestController
+@RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePaymentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentController.class);
+
+    private final ReactivePaymentService paymentService;
+    private final BulkPaymentService bulkPaymentService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentSearchService paymentSearchService;
+    private final PaymentStatsService paymentStatsService;
+
+    @Autowired
+    public ReactivePaymentController(ReactivePaymentService paymentService, BulkPaymentService bulkPaymentService,
+                                     IdempotencyService idempotencyService, PaymentSearchService paymentSearchService,
+                                     PaymentStatsService paymentStatsService) {
+        this.paymentService = paymentService;
+        this.bulkPaymentService = bulkPaymentService;
+        this.idempotencyService = idempotencyService;
+        this.paymentSearchService = paymentSearchService;
+        this.paymentStatsService = paymentStatsService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PaymentResponse>> processPayment(@Valid @RequestBody PaymentRequest paymentRequest,
+                                                                @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        logger.info("Received request to process payment for order: {}", paymentRequest.getOrderNumber());
+        // 키가 있는 요청은 키 선점과 결제 insert 를 한 트랜잭션으로 커밋해야 하므로 R2DBC 경로 대신
+        // 서블릿 스택과 같은 JPA 경로(IdempotencyService → PaymentService)로 boundedElastic 에서 처리
+        Mono<PaymentResponse> response = idempotencyKey == null
+                ? paymentService.processPayment(paymentRequest)
+                : Mono.fromCallable(() -> idempotencyService.execute(idempotencyKey, paymentRequest))
+                        .subscribeOn(Schedulers.boundedElastic());
+        return response.map(body -> new ResponseEntity<>(body, HttpStatus.CREATED));
+    }
+
+    // 비동기 결제 처리: 202 Accepted 와 상태 조회 URL 반환
+    @PostMapping("/async")
+    public Mono<ResponseEntity<PaymentResponse>> processPaymentAsync(@Valid @RequestBody PaymentRequest paymentRequest) {
+        logger.info("Received request to process payment asynchronously for order: {}", paymentRequest.getOrderNumber());
+        return paymentService.processPaymentAsync(paymentRequest)
+                .map(response -> ResponseEntity.accepted()
+                        .location(UriComponentsBuilder.fromPath("/api/payments/{paymentId}")
+                                .buildAndExpand(response.getPaymentId())
+                                .toUri())
+                        .body(response));
+    }
+
+    // 대량 결제: JSON 배열 또는 NDJSON 입력, 처리 완료 순서대로 NDJSON 으로 항목별 결과 스트리밍
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PaymentResponse> processPaymentsBulk(@RequestBody Flux<PaymentRequest> paymentRequests) {
+        logger.info("Received bulk payment request");
+        return bulkPaymentService.processPayments(paymentRequests);
+    }
+
+    @GetMapping("/{paymentId}")
+    public Mono<PaymentResponse> getPayment(@PathVariable String paymentId) {
+        logger.info("Retrieving payment with ID: {}", paymentId);
+        return paymentService.getPayment(paymentId);
+    }
+
+    @GetMapping("/order/{orderNumber}")
+    public Mono<List<PaymentResponse>> getPaymentsByOrderNumber(@PathVariable String orderNumber) {
+        logger.info("Retrieving payments for order: {}", orderNumber);
+        return paymentService.getPaymentsByOrderNumber(orderNumber);
+    }
+
+    // 결제 검색: status, paymentMethod, createdFrom(포함) ~ createdTo(미포함), (createdAt, id) 순 커서 페이지네이션
+    @GetMapping("/search")
+    public Mono<PaymentSearchPage> searchPayments(@ModelAttribute PaymentSearchCriteria criteria,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        return Mono.fromCallable(() -> paymentSearchService.search(criteria, cursor, limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 상태/결제 수단/시간별 건수, 금액 합계, 실패율 (시 단위 롤업 조회, from 포함 ~ to 미포함)
+    @GetMapping("/stats")
+    public Mono<PaymentStatsReport> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return Mono.fromCallable(() -> paymentStatsService.getStats(from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 기간 내 통계 롤업을 payments 에서 다시 계산
+    @PostMapping("/stats/rebuild")
+    public Mono<PaymentStatsReport> rebuildStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Rebuilding payment stats for [{}, {})", from, to);
+        return Mono.fromCallable(() -> paymentStatsService.rebuild(from, to))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 헬스 체크 엔드포인트
+    @GetMapping("/health")
+    public Mono<String> health() {
+        return Mono.just("Payment Service is up and running!");
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.paymentservice.controller;
+
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.dto.RefundResponse;
+import com.example.paymentservice.service.IdempotencyService;
+import com.example.paymentservice.service.RefundService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+// reactive 프로필의 환불 API (RefundController 와 같은 경로/응답)
+// 환불 예약은 JPA 와 주문 shard 의 상태 전이 엔진을 쓰므로 boundedElastic 에서 처리한다. 정산은 두 스택 모두 RefundSettlementService 가 담당
+@RestController
+@RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRefundController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRefundController.class);
+
+    private final RefundService refundService;
+    private final IdempotencyService idempotencyService;
+
+    @Autowired
+    public ReactiveRefundController(RefundService refundService, IdempotencyService idempotencyService) {
+        this.refundService = refundService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    @PostMapping("/{paymentId}/refunds")
+    public Mono<ResponseEntity<RefundResponse>> requestRefund(@PathVariable String paymentId,
+                                                              @Valid @RequestBody RefundRequest refundRequest,
+                                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        logger.info("Received refund request for payment: {}", paymentId);
+        return Mono.fromCallable(() -> idempotencyKey == null
+                        ? refundService.requestRefund(paymentId, refundRequest)
+                        : idempotencyService.executeRefund(paymentId, idempotencyKey, refundRequest,
+                                complete -> refundService.requestRefund(paymentId, refundRequest, complete)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(response -> ResponseEntity.accepted()
+                        .location(UriComponentsBuilder.fromPath("/api/payments/refunds/{refundId}")
+                                .buildAndExpand(response.getRefundId())
+                                .toUri())
+                        .body(response));
+    }
+
+    @GetMapping("/{paymentId}/refunds")
+    public Mono<List<RefundResponse>> getRefunds(@PathVariable String paymentId) {
+        return Mono.fromCallable(() -> refundService.getRefunds(paymentId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/refunds/{refundId}")
+    public Mono<RefundResponse> getRefund(@PathVariable String refundId) {
+        return Mono.fromCallable(() -> refundService.getRefund(refundId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.paymentservice.controller;
+
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.dto.RefundResponse;
+import com.example.paymentservice.service.IdempotencyService;
+import com.example.paymentservice.service.RefundService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+// 환불 (부분 환불 포함). 요청은 금액만 예약하고 202 를 반환하며, 게이트웨이 환불은 정산 작업이 묶어서 처리
+@RestController
+@RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RefundController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefundController.class);
+
+    private final RefundService refundService;
+    private final IdempotencyService idempotencyService;
+
+    @Autowired
+    public RefundController(RefundService refundService, IdempotencyService idempotencyService) {
+        this.refundService = refundService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    // amount 를 비우면 남은 환불 가능 금액 전체. 완료되지 않은 결제, 환불 가능 금액 초과, 보관된(환불 기간이 지난) 결제면 409
+    // Idempotency-Key 가 있으면 같은 결제에 대한 재시도 요청에 처음 만든 환불을 반환
+    @PostMapping("/{paymentId}/refunds")
+    public ResponseEntity<RefundResponse> requestRefund(@PathVariable String paymentId,
+                                                        @Valid @RequestBody RefundRequest refundRequest,
+                                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        logger.info("Received refund request for payment: {}", paymentId);
+        RefundResponse response = idempotencyKey == null
+                ? refundService.requestRefund(paymentId, refundRequest)
+                : idempotencyService.executeRefund(paymentId, idempotencyKey, refundRequest,
+                        complete -> refundService.requestRefund(paymentId, refundRequest, complete));
+        return ResponseEntity.accepted()
+                .location(UriComponentsBuilder.fromPath("/api/payments/refunds/{refundId}")
+                        .buildAndExpand(response.getRefundId())
+                        .toUri())
+                .body(response);
+    }
+
+    @GetMapping("/{paymentId}/refunds")
+    public ResponseEntity<List<RefundResponse>> getRefunds(@PathVariable String paymentId) {
+        return ResponseEntity.ok(refundService.getRefunds(paymentId));
+    }
+
+    @GetMapping("/refunds/{refundId}")
+    public ResponseEntity<RefundResponse> getRefund(@PathVariable String refundId) {
+        return ResponseEntity.ok(refundService.getRefund(refundId));
+    }
+}
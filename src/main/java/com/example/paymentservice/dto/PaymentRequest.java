@@ -1,11 +1,21 @@
 package com.example.paymentservice.dto;
 
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
 import java.math.BigDecimal;
 
 public class PaymentRequest {
 
+    @NotBlank
     private String orderNumber;
+
+    @NotNull
+    @DecimalMin(value = "0", inclusive = false)
     private BigDecimal amount;
+
+    @NotBlank
     private String paymentMethod;
 
     // 생성자, 게터, 세터
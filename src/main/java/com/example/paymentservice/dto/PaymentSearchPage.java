@@ -0,0 +1,35 @@
+package com.example.paymentservice.dto;
+
+import java.util.List;
+
+// 키셋 페이지: 다음 페이지가 없으면 nextCursor 는 null
+public class PaymentSearchPage {
+
+    private List<PaymentResponse> items;
+    private String nextCursor;
+
+    // 생성자, 게터, 세터
+    public PaymentSearchPage() {
+    }
+
+    public PaymentSearchPage(List<PaymentResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PaymentResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<PaymentResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
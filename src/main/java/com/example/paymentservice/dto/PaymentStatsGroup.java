@@ -0,0 +1,57 @@
+package com.example.paymentservice.dto;
+
+import java.math.BigDecimal;
+
+// 통계 집계 단위 하나: 건수, 금액 합계, 실패율 (FAILED / (COMPLETED + FAILED), 완료/실패 결제가 없으면 null)
+public class PaymentStatsGroup {
+
+    private long count;
+    private BigDecimal amount;
+    private long completedCount;
+    private long failedCount;
+    private Double failureRate;
+
+    // 생성자, 게터, 세터
+    public PaymentStatsGroup() {
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public Double getFailureRate() {
+        return failureRate;
+    }
+
+    public void setFailureRate(Double failureRate) {
+        this.failureRate = failureRate;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.paymentservice.dto;
+
+import com.example.paymentservice.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// GET /api/payments/stats 응답: [from, to) 에 생성된 결제의 현재 상태 기준 집계 (시 단위 버킷, 플러시 주기만큼 지연)
+public class PaymentStatsReport {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private PaymentStatsGroup total;
+    private Map<PaymentStatus, PaymentStatsGroup> byStatus;
+    private Map<String, PaymentStatsGroup> byMethod;
+    private Map<LocalDateTime, PaymentStatsGroup> byHour;
+
+    // 생성자, 게터, 세터
+    public PaymentStatsReport() {
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public PaymentStatsGroup getTotal() {
+        return total;
+    }
+
+    public void setTotal(PaymentStatsGroup total) {
+        this.total = total;
+    }
+
+    public Map<PaymentStatus, PaymentStatsGroup> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<PaymentStatus, PaymentStatsGroup> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, PaymentStatsGroup> getByMethod() {
+        return byMethod;
+    }
+
+    public void setByMethod(Map<String, PaymentStatsGroup> byMethod) {
+        this.byMethod = byMethod;
+    }
+
+    public Map<LocalDateTime, PaymentStatsGroup> getByHour() {
+        return byHour;
+    }
+
+    public void setByHour(Map<LocalDateTime, PaymentStatsGroup> byHour) {
+        this.byHour = byHour;
+    }
+}
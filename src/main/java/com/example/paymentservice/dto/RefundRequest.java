@@ -0,0 +1,36 @@
+package com.example.paymentservice.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class RefundRequest {
+
+    // 비우면 남은 환불 가능 금액 전체
+    @DecimalMin(value = "0", inclusive = false)
+    private BigDecimal amount;
+
+    @Size(max = 255)
+    private String reason;
+
+    // 생성자, 게터, 세터
+    public RefundRequest() {
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
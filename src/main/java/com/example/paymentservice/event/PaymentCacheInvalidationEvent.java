@@ -0,0 +1,43 @@
+package com.example.paymentservice.event;
+
+// 레플리카 간 캐시 무효화 메시지
+public class PaymentCacheInvalidationEvent {
+
+    private String originId;
+    private String paymentId;
+    private String orderNumber;
+
+    // 기본 생성자 (JSON 변환을 위해 필요)
+    public PaymentCacheInvalidationEvent() {
+    }
+
+    public PaymentCacheInvalidationEvent(String originId, String paymentId, String orderNumber) {
+        this.originId = originId;
+        this.paymentId = paymentId;
+        this.orderNumber = orderNumber;
+    }
+
+    public String getOriginId() {
+        return originId;
+    }
+
+    public void setOriginId(String originId) {
+        this.originId = originId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.paymentservice.event;
+
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 결제 행이 insert/update 될 때 발행되는 애플리케이션 내부 이벤트 (캐시 무효화, 통계 롤업 등에서 사용)
+// previousStatus 는 직전에 저장되어 있던 상태 (새 결제면 null)
+public class PaymentChangedEvent {
+
+    private final String paymentId;
+    private final String orderNumber;
+    private final PaymentStatus previousStatus;
+    private final PaymentStatus status;
+    private final BigDecimal amount;
+    private final String paymentMethod;
+    private final LocalDateTime createdAt;
+
+    public PaymentChangedEvent(String paymentId, String orderNumber, PaymentStatus previousStatus, PaymentStatus status,
+                               BigDecimal amount, String paymentMethod, LocalDateTime createdAt) {
+        this.paymentId = paymentId;
+        this.orderNumber = orderNumber;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.amount = amount;
+        this.paymentMethod = paymentMethod;
+        this.createdAt = createdAt;
+    }
+
+    // 호출자는 발행 후 payment.markPersisted() 로 이전 상태를 갱신 (엔티티 리스너 경로는 JPA 콜백이 처리)
+    public static PaymentChangedEvent of(Payment payment) {
+        return new PaymentChangedEvent(payment.getPaymentId(), payment.getOrderNumber(), payment.getPersistedStatus(),
+                payment.getStatus(), payment.getAmount(), payment.getPaymentMethod(), payment.getCreatedAt());
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public PaymentStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
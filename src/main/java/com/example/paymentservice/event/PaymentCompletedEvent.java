@@ -1,5 +1,8 @@
 package com.example.paymentservice.event;
 
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.PaymentSummary;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -23,6 +26,11 @@ public class PaymentCompletedEvent {
         this.completedAt = completedAt;
     }
 
+    public static PaymentCompletedEvent of(PaymentSummary payment) {
+        return new PaymentCompletedEvent(payment.getPaymentId(), payment.getOrderNumber(), payment.getAmount(),
+                PaymentStatus.COMPLETED.name(), payment.getUpdatedAt());
+    }
+
     public String getPaymentId() {
         return paymentId;
     }
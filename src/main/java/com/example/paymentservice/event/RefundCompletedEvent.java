@@ -0,0 +1,96 @@
+package com.example.paymentservice.event;
+
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.Refund;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 환불 정산 완료 (payment-refunded-topic, 키는 주문번호)
+// refundedAmount 는 이 환불을 포함한 결제의 누적 환불 금액, paymentStatus 는 전액 환불이면 REFUNDED
+public class RefundCompletedEvent {
+
+    private String refundId;
+    private String paymentId;
+    private String orderNumber;
+    private BigDecimal amount;
+    private BigDecimal refundedAmount;
+    private String paymentStatus;
+    private LocalDateTime completedAt;
+
+    // 생성자, 게터, 세터
+    public RefundCompletedEvent() {
+    }
+
+    public RefundCompletedEvent(String refundId, String paymentId, String orderNumber, BigDecimal amount,
+                                BigDecimal refundedAmount, String paymentStatus, LocalDateTime completedAt) {
+        this.refundId = refundId;
+        this.paymentId = paymentId;
+        this.orderNumber = orderNumber;
+        this.amount = amount;
+        this.refundedAmount = refundedAmount;
+        this.paymentStatus = paymentStatus;
+        this.completedAt = completedAt;
+    }
+
+    public static RefundCompletedEvent of(Refund refund, Payment payment) {
+        return new RefundCompletedEvent(refund.getRefundId(), refund.getPaymentId(), refund.getOrderNumber(),
+                refund.getAmount(), payment.getRefundedAmount(), payment.getStatus().name(), refund.getSettledAt());
+    }
+
+    public String getRefundId() {
+        return refundId;
+    }
+
+    public void setRefundId(String refundId) {
+        this.refundId = refundId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getRefundedAmount() {
+        return refundedAmount;
+    }
+
+    public void setRefundedAmount(BigDecimal refundedAmount) {
+        this.refundedAmount = refundedAmount;
+    }
+
+    public String getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(String paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.paymentservice.event.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// BinaryEventWriter 로 쓴 값을 같은 순서로 읽는다. 잘린 메시지는 SerializationException
+public final class BinaryEventReader {
+
+    private final byte[] data;
+    private int position;
+
+    public BinaryEventReader(byte[] data, int offset) {
+        this.data = data;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varint at offset " + position);
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value >>> 32 != 0) {
+            throw new SerializationException("Varint out of int range at offset " + position);
+        }
+        return (int) value;
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public byte[] readBytes() {
+        int length = readVarInt();
+        require(length);
+        byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        require(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public BigDecimal readDecimal() {
+        long scale = readSignedVarLong();
+        if (scale != (int) scale) {
+            throw new SerializationException("Decimal scale out of int range at offset " + position + ": " + scale);
+        }
+        return new BigDecimal(new BigInteger(readBytes()), (int) scale);
+    }
+
+    public LocalDateTime readDateTime() {
+        long epochSecond = readSignedVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(), ZoneOffset.UTC);
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > data.length) {
+            throw new SerializationException("Truncated event payload: need " + length + " bytes at offset " + position
+                    + ", have " + (data.length - position));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.paymentservice.event.codec;
+
+// 이벤트 타입 하나의 바이너리 스키마 (EventCodecRegistry 에 schemaId 로 등록)
+// 레코드 = presence 비트맵(varint) + 존재하는 필드 값들을 필드 번호 순서로 나열
+//
+// 스키마 진화 규칙: 새 버전은 필드를 끝에 추가만 한다 (필드 번호 재사용/재배치 금지).
+// - 이전 버전 메시지: 없는 필드는 비트가 꺼져 있으므로 null 로 읽힌다
+// - 새 버전 메시지: 이전 리더는 아는 필드까지만 읽고 나머지 비트/바이트는 무시한다
+// 필드의 타입이나 의미를 바꿔야 하면 새 schemaId 를 가진 코덱을 추가한다.
+public interface EventCodec<T> {
+
+    int schemaId();
+
+    // 이 코덱이 쓰는 스키마 버전 (읽기는 모든 버전 가능)
+    int version();
+
+    Class<T> type();
+
+    void write(T event, BinaryEventWriter out);
+
+    T read(BinaryEventReader in, int version);
+
+    static long presence(Object... fields) {
+        long bits = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                bits |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    static boolean has(long presence, int field) {
+        return (presence & (1L << field)) != 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.paymentservice.event.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 바이너리 이벤트 스키마 목록. 메시지 = MAGIC(1) + schemaId(varint) + version(varint) + 레코드
+// MAGIC 은 JSON 텍스트의 첫 바이트가 될 수 없는 값이라 한 토픽에 JSON 과 바이너리가 섞여 있어도 구분된다.
+public final class EventCodecRegistry {
+
+    public static final int MAGIC = 0xCE;
+
+    private final Map<Class<?>, EventCodec<?>> byType = new HashMap<>();
+    private final Map<Integer, EventCodec<?>> bySchemaId = new HashMap<>();
+
+    public EventCodecRegistry(List<EventCodec<?>> codecs) {
+        for (EventCodec<?> codec : codecs) {
+            if (bySchemaId.put(codec.schemaId(), codec) != null) {
+                throw new IllegalArgumentException("Duplicate event schema id " + codec.schemaId());
+            }
+            byType.put(codec.type(), codec);
+        }
+    }
+
+    // 결제 서비스가 주고받는 이벤트 스키마 (schemaId 는 한 번 배포되면 바꾸지 않음)
+    public static EventCodecRegistry standard() {
+        return new EventCodecRegistry(List.of(
+                new OrderCreatedEventCodec(),
+                new PaymentCompletedEventCodec(),
+                new PaymentCacheInvalidationEventCodec(),
+                new RefundCompletedEventCodec()));
+    }
+
+    public boolean supports(Class<?> type) {
+        return byType.containsKey(type);
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && (data[0] & 0xFF) == MAGIC;
+    }
+
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object event) {
+        EventCodec<Object> codec = (EventCodec<Object>) byType.get(event.getClass());
+        if (codec == null) {
+            throw new SerializationException("No binary schema for " + event.getClass().getName());
+        }
+        BinaryEventWriter out = new BinaryEventWriter(128)
+                .writeByte(MAGIC)
+                .writeVarInt(codec.schemaId())
+                .writeVarInt(codec.version());
+        codec.write(event, out);
+        return out.toByteArray();
+    }
+
+    public Object decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new SerializationException("Not a binary event payload");
+        }
+        BinaryEventReader in = new BinaryEventReader(data, 1);
+        int schemaId = in.readVarInt();
+        int version = in.readVarInt();
+        EventCodec<?> codec = bySchemaId.get(schemaId);
+        if (codec == null) {
+            throw new SerializationException("Unknown event schema id " + schemaId + " (version " + version + ")");
+        }
+        return codec.read(in, version);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.paymentservice.event.codec;
+
+// 프로듀서가 쓰는 이벤트 포맷 (컨슈머는 항상 두 포맷을 모두 읽음)
+public enum EventFormat {
+    JSON,
+    BINARY
+}
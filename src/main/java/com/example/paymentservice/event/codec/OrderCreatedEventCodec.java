@@ -0,0 +1,60 @@
+package com.example.paymentservice.event.codec;
+
+import com.example.paymentservice.event.OrderCreatedEvent;
+
+import static com.example.paymentservice.event.codec.EventCodec.has;
+import static com.example.paymentservice.event.codec.EventCodec.presence;
+
+// schema 1, v1: 0 orderNumber, 1 customerEmail, 2 totalAmount, 3 createdAt, 4 paymentMethod
+public class OrderCreatedEventCodec implements EventCodec<OrderCreatedEvent> {
+
+    public static final int SCHEMA_ID = 1;
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<OrderCreatedEvent> type() {
+        return OrderCreatedEvent.class;
+    }
+
+    @Override
+    public void write(OrderCreatedEvent event, BinaryEventWriter out) {
+        out.writeVarLong(presence(event.getOrderNumber(), event.getCustomerEmail(), event.getTotalAmount(),
+                event.getCreatedAt(), event.getPaymentMethod()));
+        if (event.getOrderNumber() != null) {
+            out.writeString(event.getOrderNumber());
+        }
+        if (event.getCustomerEmail() != null) {
+            out.writeString(event.getCustomerEmail());
+        }
+        if (event.getTotalAmount() != null) {
+            out.writeDecimal(event.getTotalAmount());
+        }
+        if (event.getCreatedAt() != null) {
+            out.writeDateTime(event.getCreatedAt());
+        }
+        if (event.getPaymentMethod() != null) {
+            out.writeString(event.getPaymentMethod());
+        }
+    }
+
+    @Override
+    public OrderCreatedEvent read(BinaryEventReader in, int version) {
+        long presence = in.readVarLong();
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderNumber(has(presence, 0) ? in.readString() : null);
+        event.setCustomerEmail(has(presence, 1) ? in.readString() : null);
+        event.setTotalAmount(has(presence, 2) ? in.readDecimal() : null);
+        event.setCreatedAt(has(presence, 3) ? in.readDateTime() : null);
+        event.setPaymentMethod(has(presence, 4) ? in.readString() : null);
+        return event;
+    }
+}
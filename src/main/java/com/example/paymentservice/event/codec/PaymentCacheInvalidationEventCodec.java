@@ -0,0 +1,51 @@
+package com.example.paymentservice.event.codec;
+
+import com.example.paymentservice.event.PaymentCacheInvalidationEvent;
+
+import static com.example.paymentservice.event.codec.EventCodec.has;
+import static com.example.paymentservice.event.codec.EventCodec.presence;
+
+// schema 3, v1: 0 originId, 1 paymentId, 2 orderNumber
+public class PaymentCacheInvalidationEventCodec implements EventCodec<PaymentCacheInvalidationEvent> {
+
+    public static final int SCHEMA_ID = 3;
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<PaymentCacheInvalidationEvent> type() {
+        return PaymentCacheInvalidationEvent.class;
+    }
+
+    @Override
+    public void write(PaymentCacheInvalidationEvent event, BinaryEventWriter out) {
+        out.writeVarLong(presence(event.getOriginId(), event.getPaymentId(), event.getOrderNumber()));
+        if (event.getOriginId() != null) {
+            out.writeString(event.getOriginId());
+        }
+        if (event.getPaymentId() != null) {
+            out.writeString(event.getPaymentId());
+        }
+        if (event.getOrderNumber() != null) {
+            out.writeString(event.getOrderNumber());
+        }
+    }
+
+    @Override
+    public PaymentCacheInvalidationEvent read(BinaryEventReader in, int version) {
+        long presence = in.readVarLong();
+        PaymentCacheInvalidationEvent event = new PaymentCacheInvalidationEvent();
+        event.setOriginId(has(presence, 0) ? in.readString() : null);
+        event.setPaymentId(has(presence, 1) ? in.readString() : null);
+        event.setOrderNumber(has(presence, 2) ? in.readString() : null);
+        return event;
+    }
+}
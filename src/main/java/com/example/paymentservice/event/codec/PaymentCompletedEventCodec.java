@@ -0,0 +1,60 @@
+package com.example.paymentservice.event.codec;
+
+import com.example.paymentservice.event.PaymentCompletedEvent;
+
+import static com.example.paymentservice.event.codec.EventCodec.has;
+import static com.example.paymentservice.event.codec.EventCodec.presence;
+
+// schema 2, v1: 0 paymentId, 1 orderNumber, 2 amount, 3 status, 4 completedAt
+public class PaymentCompletedEventCodec implements EventCodec<PaymentCompletedEvent> {
+
+    public static final int SCHEMA_ID = 2;
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<PaymentCompletedEvent> type() {
+        return PaymentCompletedEvent.class;
+    }
+
+    @Override
+    public void write(PaymentCompletedEvent event, BinaryEventWriter out) {
+        out.writeVarLong(presence(event.getPaymentId(), event.getOrderNumber(), event.getAmount(),
+                event.getStatus(), event.getCompletedAt()));
+        if (event.getPaymentId() != null) {
+            out.writeString(event.getPaymentId());
+        }
+        if (event.getOrderNumber() != null) {
+            out.writeString(event.getOrderNumber());
+        }
+        if (event.getAmount() != null) {
+            out.writeDecimal(event.getAmount());
+        }
+        if (event.getStatus() != null) {
+            out.writeString(event.getStatus());
+        }
+        if (event.getCompletedAt() != null) {
+            out.writeDateTime(event.getCompletedAt());
+        }
+    }
+
+    @Override
+    public PaymentCompletedEvent read(BinaryEventReader in, int version) {
+        long presence = in.readVarLong();
+        PaymentCompletedEvent event = new PaymentCompletedEvent();
+        event.setPaymentId(has(presence, 0) ? in.readString() : null);
+        event.setOrderNumber(has(presence, 1) ? in.readString() : null);
+        event.setAmount(has(presence, 2) ? in.readDecimal() : null);
+        event.setStatus(has(presence, 3) ? in.readString() : null);
+        event.setCompletedAt(has(presence, 4) ? in.readDateTime() : null);
+        return event;
+    }
+}
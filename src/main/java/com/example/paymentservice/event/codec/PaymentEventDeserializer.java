@@ -0,0 +1,39 @@
+package com.example.paymentservice.event.codec;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+// 이중 읽기: 첫 바이트가 MAGIC 이면 바이너리 스키마로, 아니면 기존 JsonDeserializer 로 역직렬화
+// 프로듀서 포맷을 바꾸기 전에 모든 컨슈머가 이 디시리얼라이저로 배포되어 있어야 무중단 전환이 가능하다.
+public class PaymentEventDeserializer implements Deserializer<Object> {
+
+    private final EventCodecRegistry registry;
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    public PaymentEventDeserializer(EventCodecRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return EventCodecRegistry.isBinary(data) ? registry.decode(data) : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        return EventCodecRegistry.isBinary(data) ? registry.decode(data) : jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
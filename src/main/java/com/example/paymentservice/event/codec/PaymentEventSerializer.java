@@ -0,0 +1,46 @@
+package com.example.paymentservice.event.codec;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+// BINARY 포맷이면 스키마가 등록된 이벤트를 바이너리로, 나머지는 기존 JsonSerializer(타입 헤더 포함)로 직렬화
+public class PaymentEventSerializer implements Serializer<Object> {
+
+    private final EventCodecRegistry registry;
+    private final EventFormat format;
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    public PaymentEventSerializer(EventCodecRegistry registry, EventFormat format) {
+        this.registry = registry;
+        this.format = format;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (format == EventFormat.BINARY && registry.supports(data.getClass())) {
+            return registry.encode(data);
+        }
+        return headers != null ? jsonSerializer.serialize(topic, headers, data) : jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
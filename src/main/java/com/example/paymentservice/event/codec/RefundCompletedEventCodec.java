@@ -0,0 +1,68 @@
+package com.example.paymentservice.event.codec;
+
+import com.example.paymentservice.event.RefundCompletedEvent;
+
+import static com.example.paymentservice.event.codec.EventCodec.has;
+import static com.example.paymentservice.event.codec.EventCodec.presence;
+
+// schema 4, v1: 0 refundId, 1 paymentId, 2 orderNumber, 3 amount, 4 refundedAmount, 5 paymentStatus, 6 completedAt
+public class RefundCompletedEventCodec implements EventCodec<RefundCompletedEvent> {
+
+    public static final int SCHEMA_ID = 4;
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<RefundCompletedEvent> type() {
+        return RefundCompletedEvent.class;
+    }
+
+    @Override
+    public void write(RefundCompletedEvent event, BinaryEventWriter out) {
+        out.writeVarLong(presence(event.getRefundId(), event.getPaymentId(), event.getOrderNumber(), event.getAmount(),
+                event.getRefundedAmount(), event.getPaymentStatus(), event.getCompletedAt()));
+        if (event.getRefundId() != null) {
+            out.writeString(event.getRefundId());
+        }
+        if (event.getPaymentId() != null) {
+            out.writeString(event.getPaymentId());
+        }
+        if (event.getOrderNumber() != null) {
+            out.writeString(event.getOrderNumber());
+        }
+        if (event.getAmount() != null) {
+            out.writeDecimal(event.getAmount());
+        }
+        if (event.getRefundedAmount() != null) {
+            out.writeDecimal(event.getRefundedAmount());
+        }
+        if (event.getPaymentStatus() != null) {
+            out.writeString(event.getPaymentStatus());
+        }
+        if (event.getCompletedAt() != null) {
+            out.writeDateTime(event.getCompletedAt());
+        }
+    }
+
+    @Override
+    public RefundCompletedEvent read(BinaryEventReader in, int version) {
+        long presence = in.readVarLong();
+        RefundCompletedEvent event = new RefundCompletedEvent();
+        event.setRefundId(has(presence, 0) ? in.readString() : null);
+        event.setPaymentId(has(presence, 1) ? in.readString() : null);
+        event.setOrderNumber(has(presence, 2) ? in.readString() : null);
+        event.setAmount(has(presence, 3) ? in.readDecimal() : null);
+        event.setRefundedAmount(has(presence, 4) ? in.readDecimal() : null);
+        event.setPaymentStatus(has(presence, 5) ? in.readString() : null);
+        event.setCompletedAt(has(presence, 6) ? in.readDateTime() : null);
+        return event;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.paymentservice.exception;
+
+import com.example.paymentservice.model.PaymentStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 현재 상태에서 허용되지 않는 상태 전이 (예: FAILED -> COMPLETED). 요청과 결제 상태가 충돌하므로 409
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IllegalPaymentTransitionException extends RuntimeException {
+
+    private final PaymentStatus from;
+    private final PaymentStatus to;
+
+    public IllegalPaymentTransitionException(String paymentId, PaymentStatus from, PaymentStatus to) {
+        super("Payment " + paymentId + " cannot transition from " + from + " to " + to);
+        this.from = from;
+        this.to = to;
+    }
+
+    public PaymentStatus getFrom() {
+        return from;
+    }
+
+    public PaymentStatus getTo() {
+        return to;
+    }
+}
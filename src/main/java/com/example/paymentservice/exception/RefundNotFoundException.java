@@ -0,0 +1,8 @@
+package com.example.paymentservice.exception;
+
+public class RefundNotFoundException extends RuntimeException {
+
+    public RefundNotFoundException(String message) {
+        super(message);
+    }
+}
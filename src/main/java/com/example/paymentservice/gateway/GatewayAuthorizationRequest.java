@@ -0,0 +1,54 @@
+package com.example.paymentservice.gateway;
+
+import java.math.BigDecimal;
+
+public class GatewayAuthorizationRequest {
+
+    private String paymentId;
+    private String orderNumber;
+    private BigDecimal amount;
+    private String paymentMethod;
+
+    // 생성자, 게터, 세터
+    public GatewayAuthorizationRequest() {
+    }
+
+    public GatewayAuthorizationRequest(String paymentId, String orderNumber, BigDecimal amount, String paymentMethod) {
+        this.paymentId = paymentId;
+        this.orderNumber = orderNumber;
+        this.amount = amount;
+        this.paymentMethod = paymentMethod;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+}
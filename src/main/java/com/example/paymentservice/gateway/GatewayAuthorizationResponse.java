@@ -0,0 +1,77 @@
+package com.example.paymentservice.gateway;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class GatewayAuthorizationResponse {
+
+    // 배치 승인 응답에서 결과가 어느 결제의 것인지 (단건 응답에는 없음)
+    private String paymentId;
+    private boolean approved;
+    private String transactionId;
+    private String message;
+
+    // 서킷 오픈/벌크헤드 포화로 게이트웨이에 요청을 보내지 않은 경우 (게이트웨이 응답 필드 아님)
+    @JsonIgnore
+    private boolean unavailable;
+
+    // 생성자, 게터, 세터
+    public GatewayAuthorizationResponse() {
+    }
+
+    public GatewayAuthorizationResponse(boolean approved, String transactionId, String message) {
+        this.approved = approved;
+        this.transactionId = transactionId;
+        this.message = message;
+    }
+
+    public static GatewayAuthorizationResponse approved(String message) {
+        return new GatewayAuthorizationResponse(true, null, message);
+    }
+
+    public static GatewayAuthorizationResponse declined(String message) {
+        return new GatewayAuthorizationResponse(false, null, message);
+    }
+
+    public static GatewayAuthorizationResponse unavailable(String message) {
+        GatewayAuthorizationResponse response = new GatewayAuthorizationResponse(false, null, message);
+        response.unavailable = true;
+        return response;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public boolean isApproved() {
+        return approved;
+    }
+
+    public void setApproved(boolean approved) {
+        this.approved = approved;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @JsonIgnore
+    public boolean isUnavailable() {
+        return unavailable;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.paymentservice.gateway;
+
+import java.util.List;
+
+// POST /v1/payments/authorize/batch 요청 본문. 게이트웨이는 항목별 paymentId 로 중복 승인을 막는다
+public class GatewayBatchAuthorizationRequest {
+
+    private List<GatewayAuthorizationRequest> payments;
+
+    // 생성자, 게터, 세터
+    public GatewayBatchAuthorizationRequest() {
+    }
+
+    public GatewayBatchAuthorizationRequest(List<GatewayAuthorizationRequest> payments) {
+        this.payments = payments;
+    }
+
+    public List<GatewayAuthorizationRequest> getPayments() {
+        return payments;
+    }
+
+    public void setPayments(List<GatewayAuthorizationRequest> payments) {
+        this.payments = payments;
+    }
+}
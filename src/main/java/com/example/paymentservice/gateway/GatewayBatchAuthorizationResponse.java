@@ -0,0 +1,25 @@
+package com.example.paymentservice.gateway;
+
+import java.util.List;
+
+// 배치 승인 응답. 결과 순서는 요청과 다를 수 있으므로 paymentId 로 맞춘다
+public class GatewayBatchAuthorizationResponse {
+
+    private List<GatewayAuthorizationResponse> results;
+
+    // 생성자, 게터, 세터
+    public GatewayBatchAuthorizationResponse() {
+    }
+
+    public GatewayBatchAuthorizationResponse(List<GatewayAuthorizationResponse> results) {
+        this.results = results;
+    }
+
+    public List<GatewayAuthorizationResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<GatewayAuthorizationResponse> results) {
+        this.results = results;
+    }
+}
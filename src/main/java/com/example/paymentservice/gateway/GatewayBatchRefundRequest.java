@@ -0,0 +1,35 @@
+package com.example.paymentservice.gateway;
+
+import java.util.List;
+
+// POST /v1/refunds/batch 요청 본문. 한 배치는 같은 결제 수단의 환불만 담고, 게이트웨이는 항목별 refundId 로 중복 환불을 막는다
+public class GatewayBatchRefundRequest {
+
+    private String paymentMethod;
+    private List<GatewayRefundRequest> refunds;
+
+    // 생성자, 게터, 세터
+    public GatewayBatchRefundRequest() {
+    }
+
+    public GatewayBatchRefundRequest(String paymentMethod, List<GatewayRefundRequest> refunds) {
+        this.paymentMethod = paymentMethod;
+        this.refunds = refunds;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public List<GatewayRefundRequest> getRefunds() {
+        return refunds;
+    }
+
+    public void setRefunds(List<GatewayRefundRequest> refunds) {
+        this.refunds = refunds;
+    }
+}
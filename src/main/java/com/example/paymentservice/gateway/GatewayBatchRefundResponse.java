@@ -0,0 +1,25 @@
+package com.example.paymentservice.gateway;
+
+import java.util.List;
+
+// 배치 환불 응답. 결과 순서는 요청과 다를 수 있으므로 refundId 로 맞춘다
+public class GatewayBatchRefundResponse {
+
+    private List<GatewayRefundResponse> results;
+
+    // 생성자, 게터, 세터
+    public GatewayBatchRefundResponse() {
+    }
+
+    public GatewayBatchRefundResponse(List<GatewayRefundResponse> results) {
+        this.results = results;
+    }
+
+    public List<GatewayRefundResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<GatewayRefundResponse> results) {
+        this.results = results;
+    }
+}
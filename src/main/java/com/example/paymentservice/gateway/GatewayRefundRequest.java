@@ -0,0 +1,54 @@
+package com.example.paymentservice.gateway;
+
+import java.math.BigDecimal;
+
+public class GatewayRefundRequest {
+
+    private String refundId;
+    private String paymentId;
+    private BigDecimal amount;
+    private String reason;
+
+    // 생성자, 게터, 세터
+    public GatewayRefundRequest() {
+    }
+
+    public GatewayRefundRequest(String refundId, String paymentId, BigDecimal amount, String reason) {
+        this.refundId = refundId;
+        this.paymentId = paymentId;
+        this.amount = amount;
+        this.reason = reason;
+    }
+
+    public String getRefundId() {
+        return refundId;
+    }
+
+    public void setRefundId(String refundId) {
+        this.refundId = refundId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
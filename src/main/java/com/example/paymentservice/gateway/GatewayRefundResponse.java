@@ -0,0 +1,73 @@
+package com.example.paymentservice.gateway;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class GatewayRefundResponse {
+
+    private String refundId;
+    private boolean approved;
+    private String transactionId;
+    private String message;
+
+    // 서킷 오픈/벌크헤드 포화로 게이트웨이에 요청을 보내지 않은 경우 (게이트웨이 응답 필드 아님)
+    @JsonIgnore
+    private boolean unavailable;
+
+    // 생성자, 게터, 세터
+    public GatewayRefundResponse() {
+    }
+
+    public GatewayRefundResponse(String refundId, boolean approved, String transactionId, String message) {
+        this.refundId = refundId;
+        this.approved = approved;
+        this.transactionId = transactionId;
+        this.message = message;
+    }
+
+    public static GatewayRefundResponse declined(String refundId, String message) {
+        return new GatewayRefundResponse(refundId, false, null, message);
+    }
+
+    public static GatewayRefundResponse unavailable(String refundId, String message) {
+        GatewayRefundResponse response = new GatewayRefundResponse(refundId, false, null, message);
+        response.unavailable = true;
+        return response;
+    }
+
+    public String getRefundId() {
+        return refundId;
+    }
+
+    public void setRefundId(String refundId) {
+        this.refundId = refundId;
+    }
+
+    public boolean isApproved() {
+        return approved;
+    }
+
+    public void setApproved(boolean approved) {
+        this.approved = approved;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @JsonIgnore
+    public boolean isUnavailable() {
+        return unavailable;
+    }
+}
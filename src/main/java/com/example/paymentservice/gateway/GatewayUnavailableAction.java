@@ -0,0 +1,7 @@
+package com.example.paymentservice.gateway;
+
+// 게이트웨이 호출이 로컬에서 거절됐을 때 (서킷 오픈, 벌크헤드 포화) 결제 처리 방식
+public enum GatewayUnavailableAction {
+    FAIL,
+    LEAVE_PENDING
+}
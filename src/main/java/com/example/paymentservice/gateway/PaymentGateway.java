@@ -0,0 +1,224 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.Refund;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 외부 결제 게이트웨이 호출을 담당하는 논블로킹 클라이언트
+@Component
+public class PaymentGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGateway.class);
+
+    private static final String AUTHORIZE_PATH = "/v1/payments/authorize";
+    private static final String AUTHORIZE_BATCH_PATH = "/v1/payments/authorize/batch";
+    private static final String REFUND_BATCH_PATH = "/v1/refunds/batch";
+
+    private final WebClient paymentGatewayClient;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final String paymentGatewayApiKey;
+    private final Duration callTimeout;
+
+    @Autowired
+    public PaymentGateway(WebClient paymentGatewayClient, Bulkhead paymentGatewayBulkhead,
+                          CircuitBreaker paymentGatewayCircuitBreaker, Retry paymentGatewayRetry,
+                          @Value("${payment.gateway.api-key}") String paymentGatewayApiKey,
+                          @Value("${payment.gateway.call-timeout-ms:8000}") long callTimeoutMs) {
+        this.paymentGatewayClient = paymentGatewayClient;
+        this.bulkhead = paymentGatewayBulkhead;
+        this.circuitBreaker = paymentGatewayCircuitBreaker;
+        this.retry = paymentGatewayRetry;
+        this.paymentGatewayApiKey = paymentGatewayApiKey;
+        this.callTimeout = Duration.ofMillis(callTimeoutMs);
+    }
+
+    /**
+     * 결제 승인 요청. 서킷이 열려 있거나 벌크헤드가 가득 차면 게이트웨이를 호출하지 않고
+     * {@link GatewayAuthorizationResponse#unavailable(String)} 응답을 돌려준다.
+     * 재시도 포함 전체 호출 시간은 payment.gateway.call-timeout-ms 로 제한된다.
+     */
+    public Mono<GatewayAuthorizationResponse> authorize(Payment payment) {
+        return protect(paymentGatewayClient.post()
+                .uri(AUTHORIZE_PATH)
+                .header("X-API-KEY", paymentGatewayApiKey)
+                // 재시도된 요청을 게이트웨이가 중복 승인하지 않도록 결제 ID를 멱등 키로 전달
+                .header("Idempotency-Key", payment.getPaymentId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(toRequest(payment))
+                .retrieve()
+                .bodyToMono(GatewayAuthorizationResponse.class))
+                .onErrorResume(PaymentGateway::isRejectedLocally, e -> {
+                    logger.warn("Payment gateway call rejected locally for payment {}: {}",
+                            payment.getPaymentId(), e.getMessage());
+                    return Mono.just(GatewayAuthorizationResponse.unavailable("Payment gateway unavailable: " + e.getMessage()));
+                });
+    }
+
+    /**
+     * 여러 결제를 한 번의 요청으로 승인. 결과는 입력과 같은 순서로 돌려주며, 게이트웨이 응답에 빠진 결제는 거절로 본다.
+     * 배치 전체가 벌크헤드/서킷 브레이커/재시도의 호출 한 번으로 계산되고, 로컬 거절 시 모든 결제가
+     * {@link GatewayAuthorizationResponse#unavailable(String)} 응답을 받는다.
+     */
+    public Mono<List<GatewayAuthorizationResponse>> authorizeBatch(List<Payment> payments) {
+        List<GatewayAuthorizationRequest> requests = payments.stream().map(PaymentGateway::toRequest).toList();
+
+        return protect(paymentGatewayClient.post()
+                .uri(AUTHORIZE_BATCH_PATH)
+                .header("X-API-KEY", paymentGatewayApiKey)
+                // 같은 배치를 재시도하면 같은 키 (항목별 중복 승인은 게이트웨이가 paymentId 로 막음)
+                .header("Idempotency-Key", idempotencyKey(payments.stream().map(Payment::getPaymentId).toList()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new GatewayBatchAuthorizationRequest(requests))
+                .retrieve()
+                .bodyToMono(GatewayBatchAuthorizationResponse.class))
+                .map(response -> matchResults(payments, response))
+                .onErrorResume(PaymentGateway::isRejectedLocally, e -> {
+                    logger.warn("Payment gateway batch call rejected locally for {} payments: {}",
+                            payments.size(), e.getMessage());
+                    return Mono.just(payments.stream()
+                            .map(payment -> GatewayAuthorizationResponse.unavailable("Payment gateway unavailable: " + e.getMessage()))
+                            .toList());
+                });
+    }
+
+    /**
+     * 같은 결제 수단의 환불 여러 건을 한 번의 요청으로 보냄. 결과는 입력과 같은 순서로 돌려주며, 게이트웨이 응답에 빠진 환불은 거절로 본다.
+     * 승인과 같은 벌크헤드/서킷 브레이커/재시도를 거치고, 로컬 거절 시 모든 환불이
+     * {@link GatewayRefundResponse#unavailable(String, String)} 응답을 받는다.
+     */
+    public Mono<List<GatewayRefundResponse>> refundBatch(String paymentMethod, List<Refund> refunds) {
+        List<GatewayRefundRequest> requests = refunds.stream()
+                .map(refund -> new GatewayRefundRequest(refund.getRefundId(), refund.getPaymentId(), refund.getAmount(), refund.getReason()))
+                .toList();
+
+        return protect(paymentGatewayClient.post()
+                .uri(REFUND_BATCH_PATH)
+                .header("X-API-KEY", paymentGatewayApiKey)
+                // 같은 배치를 재시도하면 같은 키 (항목별 중복 환불은 게이트웨이가 refundId 로 막음)
+                .header("Idempotency-Key", idempotencyKey(refunds.stream().map(Refund::getRefundId).toList()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new GatewayBatchRefundRequest(paymentMethod, requests))
+                .retrieve()
+                .bodyToMono(GatewayBatchRefundResponse.class))
+                .map(response -> matchRefundResults(refunds, response))
+                .onErrorResume(PaymentGateway::isRejectedLocally, e -> {
+                    logger.warn("Payment gateway refund batch rejected locally for {} refunds: {}",
+                            refunds.size(), e.getMessage());
+                    return Mono.just(refunds.stream()
+                            .map(refund -> GatewayRefundResponse.unavailable(refund.getRefundId(),
+                                    "Payment gateway unavailable: " + e.getMessage()))
+                            .toList());
+                });
+    }
+
+    // 재시도 포함 전체 호출 시간은 payment.gateway.call-timeout-ms 로 제한
+    private <T> Mono<T> protect(Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .timeout(callTimeout);
+    }
+
+    private static GatewayAuthorizationRequest toRequest(Payment payment) {
+        return new GatewayAuthorizationRequest(
+                payment.getPaymentId(),
+                payment.getOrderNumber(),
+                payment.getAmount(),
+                payment.getPaymentMethod()
+        );
+    }
+
+    // 배치 멱등 키: 항목 ID 목록에서 만든 이름 기반 UUID
+    private static String idempotencyKey(List<String> ids) {
+        return UUID.nameUUIDFromBytes(String.join(",", ids).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static List<GatewayAuthorizationResponse> matchResults(List<Payment> payments,
+                                                                   GatewayBatchAuthorizationResponse response) {
+        Map<String, GatewayAuthorizationResponse> byPaymentId = new HashMap<>();
+        if (response != null && response.getResults() != null) {
+            for (GatewayAuthorizationResponse result : response.getResults()) {
+                byPaymentId.putIfAbsent(result.getPaymentId(), result);
+            }
+        }
+
+        List<GatewayAuthorizationResponse> results = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            GatewayAuthorizationResponse result = byPaymentId.get(payment.getPaymentId());
+            results.add(result != null ? result
+                    : GatewayAuthorizationResponse.declined("Payment gateway returned no result for the payment"));
+        }
+        return results;
+    }
+
+    private static List<GatewayRefundResponse> matchRefundResults(List<Refund> refunds, GatewayBatchRefundResponse response) {
+        Map<String, GatewayRefundResponse> byRefundId = new HashMap<>();
+        if (response != null && response.getResults() != null) {
+            for (GatewayRefundResponse result : response.getResults()) {
+                byRefundId.putIfAbsent(result.getRefundId(), result);
+            }
+        }
+
+        List<GatewayRefundResponse> results = new ArrayList<>(refunds.size());
+        for (Refund refund : refunds) {
+            GatewayRefundResponse result = byRefundId.get(refund.getRefundId());
+            results.add(result != null ? result
+                    : GatewayRefundResponse.declined(refund.getRefundId(), "Payment gateway returned no result for the refund"));
+        }
+        return results;
+    }
+
+    // 요청이 게이트웨이에 도달하지 않았음이 확실한 오류만 재시도 (연결 실패, 503/429 거절)
+    public static boolean isSafeToRetry(Throwable e) {
+        if (e instanceof WebClientRequestException) {
+            return e.getCause() instanceof ConnectException;
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+
+    // 4xx 는 요청 자체의 문제이므로 서킷 브레이커 실패율에 포함하지 않음
+    public static boolean isGatewayFault(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return !responseException.getStatusCode().is4xxClientError();
+        }
+        return true;
+    }
+
+    private static boolean isRejectedLocally(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+    }
+}
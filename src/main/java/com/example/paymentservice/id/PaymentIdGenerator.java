@@ -0,0 +1,7 @@
+package com.example.paymentservice.id;
+
+// 결제 ID(paymentId) 생성 전략. 구현체는 스레드 안전해야 한다
+public interface PaymentIdGenerator {
+
+    String nextId();
+}
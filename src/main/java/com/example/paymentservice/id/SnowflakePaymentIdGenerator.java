@@ -0,0 +1,103 @@
+package com.example.paymentservice.id;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간 순서 + 노드 구분 결제 ID 생성기 (Snowflake 방식).
+ * <p>
+ * 64비트 = 타임스탬프 41비트 (EPOCH 이후 ms, 약 69년) | 노드 10비트 (0~1023) | 시퀀스 12비트 (ms 당 4096개).
+ * "PMT-" 뒤에 Crockford base32 13자리 고정 길이로 인코딩하므로 문자열 정렬 순서가 생성 순서와 같고,
+ * paymentId 인덱스에는 항상 오른쪽 끝에 insert 된다.
+ * <p>
+ * 타임스탬프와 시퀀스를 하나의 AtomicLong 에 담아 CAS 로 갱신하므로 락이 없다. 같은 ms 에 시퀀스가 넘치면
+ * 다음 ms 로 올라가고, 시계가 뒤로 가도 마지막 값보다 작은 ID 는 만들지 않으므로 한 노드 안에서 중복이 없다.
+ * 노드 간 중복은 노드 ID 가 겹치지 않는 것으로 보장한다 (PaymentIdGeneratorConfig 참고).
+ */
+public class SnowflakePaymentIdGenerator implements PaymentIdGenerator {
+
+    public static final String PREFIX = "PMT-";
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (EPOCH 이후 ms << SEQUENCE_BITS) | 시퀀스
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakePaymentIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakePaymentIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    long nextLong() {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            // 새 ms 면 시퀀스 0 부터, 아니면 +1 (시퀀스가 넘치면 타임스탬프로 올림)
+            next = now > current ? now : current + 1;
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    // ID 에 담긴 생성 시각 (파티션 프루닝용). 이 형식이 아닌 이전 ID 는 empty
+    public static Optional<Instant> timestampOf(String paymentId) {
+        if (paymentId == null || paymentId.length() != PREFIX.length() + ENCODED_LENGTH || !paymentId.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < paymentId.length(); i++) {
+            int digit = decode(paymentId.charAt(i));
+            if (digit < 0) {
+                return Optional.empty();
+            }
+            value = (value << 5) | digit;
+        }
+        return Optional.of(Instant.ofEpochMilli((value >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS));
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < CROCKFORD_BASE32.length; i++) {
+            if (CROCKFORD_BASE32[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 64비트를 5비트씩 13자리로 (첫 자리는 상위 4비트). 문자 배열 하나와 결과 문자열만 할당
+    static String encode(long value) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.paymentservice.metrics;
+
+import io.micrometer.tracing.BaggageInScope;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// 현재 span 에 orderNumber 를 baggage 로 붙인다. management.tracing.baggage.remote-fields 에 포함되어 있어
+// 관찰이 켜진 KafkaTemplate 이 헤더로 전파하고, correlation-fields 로 로그 MDC 에도 남는다
+// 트레이싱이 꺼져 있으면 (Tracer 빈 없음) 아무 것도 하지 않는다
+@Component
+public class OrderNumberBaggage {
+
+    public static final String FIELD = "orderNumber";
+
+    private final ObjectProvider<Tracer> tracer;
+
+    @Autowired
+    public OrderNumberBaggage(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    public BaggageInScope open(String orderNumber) {
+        Tracer current = tracer.getIfAvailable();
+        if (current == null || orderNumber == null || current.currentSpan() == null) {
+            return BaggageInScope.NOOP;
+        }
+        return current.createBaggageInScope(FIELD, orderNumber);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.paymentservice.metrics;
+
+import com.example.paymentservice.model.PaymentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 결제 처리 단계별 타이머와 결과 카운터
+// 태그 값은 고정된 단계/상태 enum 과 허용 목록의 결제 수단으로만 구성해 시계열 수가 늘어나지 않도록 한다
+@Component
+public class PaymentMetrics {
+
+    public enum Stage {
+        PERSIST("persist"),
+        GATEWAY("gateway"),
+        OUTBOX_APPEND("outbox-append"),
+        ORDER_EVENT_INSERT("order-event-insert");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    static final String OTHER_PAYMENT_METHOD = "OTHER";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> knownPaymentMethods;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<String, Counter> outcomeCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PaymentMetrics(MeterRegistry meterRegistry,
+                          @Value("${payment.metrics.known-payment-methods:CARD,BANK_TRANSFER,VIRTUAL_ACCOUNT,MOBILE,EASY_PAY}") String[] knownPaymentMethods) {
+        this.meterRegistry = meterRegistry;
+        this.knownPaymentMethods = Arrays.stream(knownPaymentMethods)
+                .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("payment.stage.latency")
+                    .description("Time spent in one stage of payment processing")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        return stageTimers.get(stage).record(work);
+    }
+
+    public void time(Stage stage, Runnable work) {
+        stageTimers.get(stage).record(work);
+    }
+
+    // 구독 시점부터 완료/오류/취소까지 측정
+    public <T> Mono<T> time(Stage stage, Mono<T> work) {
+        Timer timer = stageTimers.get(stage);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return work.doFinally(signal -> timer.record(Duration.ofNanos(System.nanoTime() - start)));
+        });
+    }
+
+    public void recordOutcome(PaymentStatus status, String paymentMethod) {
+        String method = normalizePaymentMethod(paymentMethod);
+        outcomeCounters.computeIfAbsent(status.name() + '|' + method, key -> Counter.builder("payment.outcomes")
+                        .description("Payments reaching a status, by payment method")
+                        .tag("status", status.name())
+                        .tag("method", method)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    // 결제 수단은 클라이언트 입력이므로 허용 목록 밖의 값은 OTHER 로 묶음
+    String normalizePaymentMethod(String paymentMethod) {
+        if (paymentMethod == null) {
+            return OTHER_PAYMENT_METHOD;
+        }
+        String normalized = paymentMethod.trim().toUpperCase(Locale.ROOT);
+        return knownPaymentMethods.contains(normalized) ? normalized : OTHER_PAYMENT_METHOD;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.paymentservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Idempotency-Key 기록. responsePayload 가 null 이면 처리 중(선점됨), 값이 있으면 완료된 응답
+// 결제 키는 선점할 때 paymentId 가 함께 기록된다 (환불 키는 완료할 때)
+@Entity
+@Table(name = "payment_idempotency_keys")
+public class IdempotencyRecord {
+
+    @Id
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private String paymentId;
+
+    @Column(length = 4000)
+    private String responsePayload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 생성자, 게터, 세터
+    public IdempotencyRecord() {
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getResponsePayload() {
+        return responsePayload;
+    }
+
+    public void setResponsePayload(String responsePayload) {
+        this.responsePayload = responsePayload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isCompleted() {
+        return responsePayload != null;
+    }
+}
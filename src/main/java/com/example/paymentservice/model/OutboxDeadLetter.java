@@ -0,0 +1,115 @@
+package com.example.paymentservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// 릴레이가 읽을 수 없는 아웃박스 행 (알 수 없는 이벤트 타입, 깨진 페이로드)
+// 원래 행을 그대로 옮겨 두고 payment_outbox 에서는 지워서 뒤의 행 발행을 막지 않게 한다
+@Entity
+@Table(name = "payment_outbox_dead_letter")
+public class OutboxDeadLetter {
+
+    // payment_outbox 의 id 를 그대로 사용
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    private String messageKey;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt;
+
+    @Column(length = 1000)
+    private String error;
+
+    // 생성자, 게터, 세터
+    public OutboxDeadLetter() {
+    }
+
+    public OutboxDeadLetter(OutboxEvent event, String error) {
+        this.id = event.getId();
+        this.topic = event.getTopic();
+        this.messageKey = event.getMessageKey();
+        this.eventType = event.getEventType();
+        this.payload = event.getPayload();
+        this.createdAt = event.getCreatedAt();
+        this.failedAt = LocalDateTime.now();
+        this.error = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public void setMessageKey(String messageKey) {
+        this.messageKey = messageKey;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(LocalDateTime failedAt) {
+        this.failedAt = failedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -1,17 +1,31 @@
 package com.example.paymentservice.model;
 
+import com.example.paymentservice.exception.IllegalPaymentTransitionException;
+import com.example.paymentservice.gateway.GatewayAuthorizationResponse;
+import com.example.paymentservice.gateway.GatewayUnavailableAction;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
+// payments 는 created_at 월 단위 파티션 테이블 (V13, 기본 키는 (id, created_at)). 유니크 인덱스는 파티션 키를 포함해야 하므로
+// 주문번호당 이벤트 생성 결제 하나 제약은 payment_order_event_keys(PaymentOrderEventKey)로 옮겼고,
+// payment_id 는 Snowflake ID 자체가 전역 유일하므로 (payment_id, created_at) 로 보장
+// 재처리 대상 스캔용 부분 인덱스(ix_payments_reconcile)는 V8 마이그레이션에서 생성
 @Entity
-@Table(name = "payments")
-public class Payment {
-
+@Table(name = "payments", indexes = {
+        @Index(name = "ux_payments_payment_id_created_at", columnList = "paymentId, createdAt", unique = true),
+        @Index(name = "ix_payments_order_number_status", columnList = "orderNumber, status"),
+        @Index(name = "ix_payments_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "ix_payments_status_created_at_id", columnList = "status, createdAt, id")
+})
+@EntityListeners(PaymentEntityListener.class)
+public class Payment implements PaymentSummary {
+
+    // IDENTITY 는 JDBC 배치 insert 가 불가능하므로 allocationSize 를 둔 시퀀스 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq_generator")
+    @SequenceGenerator(name = "payments_seq_generator", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     private String paymentId;
@@ -25,18 +39,49 @@ public class Payment {
 
     private String paymentMethod;
 
+    @Enumerated(EnumType.STRING)
+    private PaymentSource source;
+
     private String paymentGatewayResponse;
 
+    // 재처리(PaymentReconciler) 시도 횟수와 다음 시도 가능 시각 (지수 백오프)
+    @Column(nullable = false)
+    private int attemptCount;
+
+    private LocalDateTime nextAttemptAt;
+
+    // 환불 금액 (V15). 정산을 기다리는 금액을 따로 예약해 두어 동시에 들어온 환불 요청이 결제 금액을 넘지 않게 한다
+    @Column(nullable = false)
+    private BigDecimal refundedAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private BigDecimal pendingRefundAmount = BigDecimal.ZERO;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
 
+    // 낙관적 잠금 (V14). 다른 트랜잭션/인스턴스가 먼저 갱신했으면 저장 시 OptimisticLockingFailureException
+    @Version
+    private Long version;
+
+    // 마지막으로 DB 에서 읽었거나 DB 에 쓴 상태 (PaymentChangedEvent 의 이전 상태). 아직 저장되지 않은 결제는 null
+    @Transient
+    private PaymentStatus persistedStatus;
+
     // 생성자, 게터, 세터
-    public Payment() {
-        this.paymentId = "PMT-" + UUID.randomUUID().toString().substring(0, 8);
+    // JPA 전용
+    protected Payment() {
+    }
+
+    // paymentId 는 PaymentIdGenerator 로 생성
+    public Payment(String paymentId) {
+        LocalDateTime now = LocalDateTime.now();
+        this.paymentId = paymentId;
         this.status = PaymentStatus.PENDING;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.source = PaymentSource.API;
+        this.createdAt = now;
+        this.updatedAt = now;
     }
 
     public Long getId() {
@@ -75,9 +120,21 @@ public class Payment {
         return status;
     }
 
-    public void setStatus(PaymentStatus status) {
+    // 저장소에서 읽은 상태 복원 전용 (전이 검증 없음). 상태 변경은 transitionTo
+    public void restoreStatus(PaymentStatus status) {
         this.status = status;
+    }
+
+    // 허용되지 않는 전이면 IllegalPaymentTransitionException. 상태가 실제로 바뀌었으면 true
+    // 같은 상태로의 전이도 updatedAt 은 갱신한다 (재처리기가 PROCESSING 을 다시 점유할 때 기준 시각)
+    public boolean transitionTo(PaymentStatus target) {
+        if (status != null && !status.canTransitionTo(target)) {
+            throw new IllegalPaymentTransitionException(paymentId, status, target);
+        }
+        boolean changed = status != target;
+        this.status = target;
         this.updatedAt = LocalDateTime.now();
+        return changed;
     }
 
     public String getPaymentMethod() {
@@ -88,6 +145,14 @@ public class Payment {
         this.paymentMethod = paymentMethod;
     }
 
+    public PaymentSource getSource() {
+        return source;
+    }
+
+    public void setSource(PaymentSource source) {
+        this.source = source;
+    }
+
     public String getPaymentGatewayResponse() {
         return paymentGatewayResponse;
     }
@@ -96,6 +161,22 @@ public class Payment {
         this.paymentGatewayResponse = paymentGatewayResponse;
     }
 
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -112,15 +193,99 @@ public class Payment {
         this.updatedAt = updatedAt;
     }
 
+    public BigDecimal getRefundedAmount() {
+        return refundedAmount;
+    }
+
+    public void setRefundedAmount(BigDecimal refundedAmount) {
+        this.refundedAmount = refundedAmount;
+    }
+
+    public BigDecimal getPendingRefundAmount() {
+        return pendingRefundAmount;
+    }
+
+    public void setPendingRefundAmount(BigDecimal pendingRefundAmount) {
+        this.pendingRefundAmount = pendingRefundAmount;
+    }
+
+    // 아직 요청할 수 있는 환불 금액 (결제 금액 - 환불 완료 - 정산 대기)
+    public BigDecimal getRefundableAmount() {
+        return amount.subtract(refundedAmount).subtract(pendingRefundAmount);
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public PaymentStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    // 엔티티 리스너(PaymentEntityListener)가 변경 이벤트를 발행한 뒤에 호출됨
+    // JDBC/R2DBC 로 직접 읽고 쓰는 경로는 변경 이벤트 발행 후 직접 호출
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    public void markPersisted() {
+        this.persistedStatus = status;
+    }
+
     // 비즈니스 메소드
     public void markAsCompleted() {
-        this.status = PaymentStatus.COMPLETED;
-        this.updatedAt = LocalDateTime.now();
+        transitionTo(PaymentStatus.COMPLETED);
     }
 
     public void markAsFailed(String errorMessage) {
-        this.status = PaymentStatus.FAILED;
+        transitionTo(PaymentStatus.FAILED);
         this.paymentGatewayResponse = errorMessage;
+    }
+
+    // 게이트웨이 승인 결과 반영 (서블릿/JPA 와 리액티브/R2DBC 스택 공통)
+    // 서킷 오픈/벌크헤드 포화로 요청이 전달되지 않았고 LEAVE_PENDING 이면 재처리 대상으로 PENDING 유지
+    public void applyAuthorization(GatewayAuthorizationResponse result, GatewayUnavailableAction unavailableAction) {
+        if (result.isApproved()) {
+            markAsCompleted();
+            this.paymentGatewayResponse = result.getMessage();
+        } else if (result.isUnavailable() && unavailableAction == GatewayUnavailableAction.LEAVE_PENDING) {
+            transitionTo(PaymentStatus.PENDING);
+            this.paymentGatewayResponse = result.getMessage();
+        } else {
+            markAsFailed(result.getMessage());
+        }
+    }
+
+    // 환불 요청: 완료된 결제에서만, 남은 환불 가능 금액 이내로 정산 대기 금액을 예약
+    public void reserveRefund(BigDecimal refundAmount) {
+        if (status != PaymentStatus.COMPLETED) {
+            throw new IllegalPaymentTransitionException(paymentId, status, PaymentStatus.REFUNDED);
+        }
+        if (refundAmount.signum() <= 0 || refundAmount.compareTo(getRefundableAmount()) > 0) {
+            throw new IllegalArgumentException("Refund amount " + refundAmount + " exceeds refundable amount "
+                    + getRefundableAmount() + " of payment " + paymentId);
+        }
+        this.pendingRefundAmount = pendingRefundAmount.add(refundAmount);
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // 환불 정산 완료: 예약을 환불 완료 금액으로 옮기고, 전액 환불되면 REFUNDED
+    public void settleRefund(BigDecimal refundAmount) {
+        this.pendingRefundAmount = pendingRefundAmount.subtract(refundAmount);
+        this.refundedAmount = refundedAmount.add(refundAmount);
+        if (refundedAmount.compareTo(amount) >= 0) {
+            transitionTo(PaymentStatus.REFUNDED);
+        } else {
+            this.updatedAt = LocalDateTime.now();
+        }
+    }
+
+    // 환불 거절: 예약만 풀어 다시 요청할 수 있게 함
+    public void releaseRefund(BigDecimal refundAmount) {
+        this.pendingRefundAmount = pendingRefundAmount.subtract(refundAmount);
         this.updatedAt = LocalDateTime.now();
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.paymentservice.model;
+
+import com.example.paymentservice.event.PaymentChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Payment 가 DB 에 반영될 때마다 PaymentChangedEvent 발행
+// (transitionTo / markAsCompleted / markAsFailed 등 경로와 무관하게 영속화된 변경을 모두 감지)
+// 엔티티 자신의 콜백(Payment.markPersisted)보다 먼저 호출되므로 이벤트에는 직전에 저장된 상태가 담긴다
+public class PaymentEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public PaymentEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onPaymentWritten(Payment payment) {
+        eventPublisher.publishEvent(PaymentChangedEvent.of(payment));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.paymentservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// order-created 이벤트로 생성된 결제의 주문번호 키 (주문번호당 결제 하나)
+// payments 는 created_at 으로 파티션되어 주문번호만으로 유니크 인덱스를 만들 수 없으므로 별도 테이블의 기본 키로 보장한다 (V13)
+// PaymentJdbcRepository 가 insert-on-conflict 로 선점하며, 엔티티로는 읽고 쓰지 않는다
+@Entity
+@Table(name = "payment_order_event_keys")
+public class PaymentOrderEventKey {
+
+    @Id
+    private String orderNumber;
+
+    @Column(nullable = false)
+    private String paymentId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // JPA 전용
+    protected PaymentOrderEventKey() {
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.paymentservice.model;
+
+// 결제 생성 경로 (order-created 이벤트로 생성된 결제는 주문번호당 하나만 허용)
+public enum PaymentSource {
+    API,
+    ORDER_EVENT
+}
@@ -0,0 +1,96 @@
+package com.example.paymentservice.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// 결제 통계 시간 버킷 롤업: 생성 시각(시 단위) x 현재 상태 x 결제 수단별 건수와 금액 합계
+// PaymentStatsAggregator 가 상태 전이 증감분을 주기적으로 더하고, PaymentStatsService.rebuild 로 payments 에서 다시 계산할 수 있다
+@Entity
+@Table(name = "payment_stats_hourly")
+@IdClass(PaymentStatsRollup.Key.class)
+public class PaymentStatsRollup {
+
+    @Id
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus status;
+
+    @Id
+    private String paymentMethod;
+
+    @Column(nullable = false)
+    private long paymentCount;
+
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal amountSum;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // JPA 전용
+    protected PaymentStatsRollup() {
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public BigDecimal getAmountSum() {
+        return amountSum;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public static class Key implements Serializable {
+
+        private LocalDateTime bucketStart;
+        private PaymentStatus status;
+        private String paymentMethod;
+
+        public Key() {
+        }
+
+        public Key(LocalDateTime bucketStart, PaymentStatus status, String paymentMethod) {
+            this.bucketStart = bucketStart;
+            this.status = status;
+            this.paymentMethod = paymentMethod;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(bucketStart, key.bucketStart) && status == key.status
+                    && Objects.equals(paymentMethod, key.paymentMethod);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bucketStart, status, paymentMethod);
+        }
+    }
+}
@@ -1,10 +1,36 @@
 package com.example.paymentservice.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+// 결제 상태와 허용되는 전이
+// PENDING -> PROCESSING -> COMPLETED / FAILED, COMPLETED -> REFUNDED
+// PROCESSING -> PENDING 은 게이트웨이에 요청이 전달되지 않은 경우 (LEAVE_PENDING), PENDING -> FAILED 는 재처리 포기
+// 같은 상태로의 전이는 멱등 (재처리기의 PROCESSING 재점유, 같은 게이트웨이 결과의 중복 반영)
 public enum PaymentStatus {
     PENDING,
     PROCESSING,
     COMPLETED,
     FAILED,
     REFUNDED,
-    CANCELLED
-}
\ No newline at end of file
+    CANCELLED;
+
+    private Set<PaymentStatus> next;
+
+    static {
+        PENDING.next = EnumSet.of(PROCESSING, FAILED, CANCELLED);
+        PROCESSING.next = EnumSet.of(COMPLETED, FAILED, PENDING);
+        COMPLETED.next = EnumSet.of(REFUNDED);
+        FAILED.next = EnumSet.noneOf(PaymentStatus.class);
+        REFUNDED.next = EnumSet.noneOf(PaymentStatus.class);
+        CANCELLED.next = EnumSet.noneOf(PaymentStatus.class);
+    }
+
+    public boolean canTransitionTo(PaymentStatus target) {
+        return target == this || next.contains(target);
+    }
+
+    public boolean isTerminal() {
+        return next.isEmpty();
+    }
+}
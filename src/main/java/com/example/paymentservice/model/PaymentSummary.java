@@ -0,0 +1,22 @@
+package com.example.paymentservice.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 조회 API 용 프로젝션: PaymentResponse 에 필요한 컬럼만 select (paymentGatewayResponse 제외)
+public interface PaymentSummary {
+
+    String getPaymentId();
+
+    String getOrderNumber();
+
+    BigDecimal getAmount();
+
+    PaymentStatus getStatus();
+
+    String getPaymentMethod();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,155 @@
+package com.example.paymentservice.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 결제 환불 (부분 환불 포함). payments 는 기본 키가 (id, created_at) 인 파티션 테이블이라 외래 키 대신 결제 ID(paymentId)로 연결하고,
+// 정산(결제 수단별 묶음)과 환불 이벤트에 필요한 주문번호/결제 수단은 환불 생성 시 결제에서 복사해 둔다
+// 미정산 환불 스캔용 부분 인덱스(ix_payment_refunds_settlement)는 V15 마이그레이션에서 생성
+@Entity
+@Table(name = "payment_refunds", indexes = {
+        @Index(name = "ux_payment_refunds_refund_id", columnList = "refundId", unique = true),
+        @Index(name = "ix_payment_refunds_payment_id", columnList = "paymentId")
+})
+public class Refund {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_refunds_seq_generator")
+    @SequenceGenerator(name = "payment_refunds_seq_generator", sequenceName = "payment_refunds_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String refundId;
+
+    @Column(nullable = false)
+    private String paymentId;
+
+    private String orderNumber;
+
+    @Column(nullable = false)
+    private String paymentMethod;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RefundStatus status;
+
+    private String gatewayResponse;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime settledAt;
+
+    // 정산 점유가 오래되어 다른 인스턴스가 다시 점유했으면 먼저 점유한 쪽의 결과 반영이 충돌로 실패
+    @Version
+    private Long version;
+
+    // 생성자, 게터, 세터
+    // JPA 전용
+    protected Refund() {
+    }
+
+    // refundId 는 RefundService 가 생성
+    public Refund(String refundId, Payment payment, BigDecimal amount, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        this.refundId = refundId;
+        this.paymentId = payment.getPaymentId();
+        this.orderNumber = payment.getOrderNumber();
+        this.paymentMethod = payment.getPaymentMethod();
+        this.amount = amount;
+        this.reason = reason;
+        this.status = RefundStatus.PENDING;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRefundId() {
+        return refundId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public RefundStatus getStatus() {
+        return status;
+    }
+
+    public String getGatewayResponse() {
+        return gatewayResponse;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getSettledAt() {
+        return settledAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    // 비즈니스 메소드
+    // 정산기가 점유 (updatedAt 이 점유 시각, 오래되면 다른 인스턴스가 다시 점유할 수 있음)
+    public void markAsProcessing() {
+        this.status = RefundStatus.PROCESSING;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void markAsCompleted(String gatewayResponse) {
+        LocalDateTime now = LocalDateTime.now();
+        this.status = RefundStatus.COMPLETED;
+        this.gatewayResponse = gatewayResponse;
+        this.settledAt = now;
+        this.updatedAt = now;
+    }
+
+    public void markAsFailed(String gatewayResponse) {
+        this.status = RefundStatus.FAILED;
+        this.gatewayResponse = gatewayResponse;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // 게이트웨이에 요청이 전달되지 않은 경우: 다음 정산에서 다시 보냄
+    public void release(String gatewayResponse) {
+        this.status = RefundStatus.PENDING;
+        this.gatewayResponse = gatewayResponse;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
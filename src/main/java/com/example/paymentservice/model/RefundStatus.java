@@ -0,0 +1,11 @@
+package com.example.paymentservice.model;
+
+// 환불 정산 상태
+// PENDING -> PROCESSING(정산기가 점유) -> COMPLETED / FAILED
+// 게이트웨이에 요청이 전달되지 않았으면 PROCESSING -> PENDING 으로 돌아가 다음 정산에서 다시 보낸다
+public enum RefundStatus {
+    PENDING,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
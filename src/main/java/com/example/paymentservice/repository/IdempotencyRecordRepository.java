@@ -0,0 +1,52 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 키 선점: insert 되면 1, 이미 다른 요청이 선점했으면 0 (유니크 제약으로 레플리카 간 경쟁 해결)
+    @Modifying
+    @Query(value = "INSERT INTO payment_idempotency_keys (idempotency_key, request_hash, created_at, updated_at) " +
+            "VALUES (:key, :requestHash, :now, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash, @Param("now") LocalDateTime now);
+
+    // 처리 중 상태로 오래 남은 키(처리 도중 종료된 인스턴스) 인수
+    @Modifying
+    @Query("update IdempotencyRecord r set r.updatedAt = :now " +
+            "where r.idempotencyKey = :key and r.requestHash = :requestHash and r.responsePayload is null and r.updatedAt < :staleBefore")
+    int takeOverStale(@Param("key") String key, @Param("requestHash") String requestHash,
+                      @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // 키 선점과 같은 트랜잭션에서 새 결제를 연결 (재시도는 연결된 결제를 이어서 처리)
+    @Modifying
+    @Query("update IdempotencyRecord r set r.paymentId = :paymentId where r.idempotencyKey = :key")
+    int bind(@Param("key") String key, @Param("paymentId") String paymentId);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.paymentId = :paymentId, r.responsePayload = :payload, r.updatedAt = :now " +
+            "where r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("paymentId") String paymentId, @Param("payload") String payload,
+                 @Param("now") LocalDateTime now);
+
+    // 결제가 연결되지 않은 미완료 키만 삭제
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.paymentId is null and r.responsePayload is null")
+    int release(@Param("key") String key);
+
+    // 결제가 연결된 미완료 키는 남겨 두고 선점 시각만 과거로 돌려 재시도가 바로 인수하게 함 (takeOverStale)
+    @Modifying
+    @Query("update IdempotencyRecord r set r.updatedAt = :expiredAt where r.idempotencyKey = :key and r.responsePayload is null")
+    int expireClaim(@Param("key") String key, @Param("expiredAt") LocalDateTime expiredAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
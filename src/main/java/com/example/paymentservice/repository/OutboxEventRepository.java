@@ -0,0 +1,21 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // 다른 레플리카가 잠근 행은 건너뛰고 다음 배치를 잠금
+    @Query(value = "SELECT * FROM payment_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Query("select min(o.createdAt) from OutboxEvent o")
+    LocalDateTime findOldestCreatedAt();
+}
@@ -0,0 +1,104 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.PaymentSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// 보관 파티션(payments_archive) 조회: PaymentPartitionMaintenance 가 옮긴 완료/실패 결제를 조회 API 에서 계속 찾을 수 있게 한다
+// payments 에서 찾지 못했을 때만 호출된다
+@Repository
+@ConditionalOnProperty(name = "payment.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentArchiveRepository {
+
+    private static final String SELECT_SUMMARY = """
+            SELECT payment_id, order_number, amount, status, payment_method, created_at, updated_at
+            FROM payments_archive
+            """;
+
+    private static final RowMapper<PaymentSummary> SUMMARY_MAPPER = (rs, rowNum) -> new ArchivedPayment(
+            rs.getString("payment_id"),
+            rs.getString("order_number"),
+            rs.getBigDecimal("amount"),
+            rs.getString("status") != null ? PaymentStatus.valueOf(rs.getString("status")) : null,
+            rs.getString("payment_method"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PaymentArchiveRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // createdFrom 이 있으면 보관 파티션도 프루닝
+    public Optional<PaymentSummary> findSummaryByPaymentId(String paymentId, LocalDateTime createdFrom) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("paymentId", paymentId);
+        String sql = SELECT_SUMMARY + "WHERE payment_id = :paymentId";
+        if (createdFrom != null) {
+            sql += " AND created_at >= :createdFrom";
+            parameters.addValue("createdFrom", createdFrom);
+        }
+        return jdbcTemplate.query(sql, parameters, SUMMARY_MAPPER).stream().findFirst();
+    }
+
+    public List<PaymentSummary> findSummariesByOrderNumber(String orderNumber) {
+        return jdbcTemplate.query(SELECT_SUMMARY + "WHERE order_number = :orderNumber ORDER BY created_at, id",
+                new MapSqlParameterSource("orderNumber", orderNumber), SUMMARY_MAPPER);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record ArchivedPayment(String paymentId, String orderNumber, BigDecimal amount, PaymentStatus status,
+                                   String paymentMethod, LocalDateTime createdAt, LocalDateTime updatedAt)
+            implements PaymentSummary {
+
+        @Override
+        public String getPaymentId() {
+            return paymentId;
+        }
+
+        @Override
+        public String getOrderNumber() {
+            return orderNumber;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        @Override
+        public PaymentStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public String getPaymentMethod() {
+            return paymentMethod;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
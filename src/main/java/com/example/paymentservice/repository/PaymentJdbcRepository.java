@@ -0,0 +1,111 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.Payment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// JPA 로 표현하기 어려운 insert-on-conflict 경로와 그룹 커밋 update 배치 (호출자의 트랜잭션에 참여)
+@Repository
+public class PaymentJdbcRepository {
+
+    // 동시 insert 경쟁은 주문번호 키 테이블의 기본 키 + ON CONFLICT 로 처리 (payments 는 파티션 테이블이라 주문번호 유니크 인덱스가 없음)
+    // VALUES 대신 SELECT 형태: reWriteBatchedInserts 가 배치를 다중 VALUES 로 합치면 행별 결과를 알 수 없음
+    private static final String CLAIM_ORDER_EVENT_KEY = """
+            INSERT INTO payment_order_event_keys (order_number, payment_id, created_at)
+            SELECT :orderNumber, :paymentId, :createdAt
+            ON CONFLICT DO NOTHING
+            """;
+
+    // 키를 선점한 주문 중 API 로 만든 결제도 없을 때만 insert
+    // version 과 환불 금액은 명시적으로 0 (Hibernate 스키마의 H2 에는 컬럼 기본값이 없고, null 버전 행은 낙관적 잠금 갱신이 실패함)
+    private static final String INSERT_EVENT_PAYMENT_IF_ABSENT = """
+            INSERT INTO payments (id, payment_id, order_number, amount, status, payment_method, source, attempt_count, version,
+                                  refunded_amount, pending_refund_amount, created_at, updated_at)
+            SELECT nextval('payments_seq'), :paymentId, :orderNumber, :amount, :status, :paymentMethod, :source, :attemptCount, 0,
+                   0, 0, :createdAt, :updatedAt
+            WHERE NOT EXISTS (SELECT 1 FROM payments WHERE order_number = :orderNumber)
+            """;
+
+    // 그룹 커밋(PaymentStatusGroupCommitter)의 최종 상태 반영. created_at 으로 파티션 하나만 보고, version 으로 그사이 다른 변경을 감지
+    private static final String UPDATE_FINAL_STATUS = """
+            UPDATE payments
+            SET status = :status, payment_gateway_response = :paymentGatewayResponse, updated_at = :updatedAt,
+                version = version + 1
+            WHERE id = :id AND created_at = :createdAt AND version = :version
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PaymentJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // insert 되었으면 true, 이미 결제가 있으면 false
+    public boolean insertIfOrderHasNoPayment(Payment payment) {
+        SqlParameterSource parameters = parameters(payment);
+        return jdbcTemplate.update(CLAIM_ORDER_EVENT_KEY, parameters) > 0
+                && jdbcTemplate.update(INSERT_EVENT_PAYMENT_IF_ABSENT, parameters) > 0;
+    }
+
+    // 키 선점과 insert 를 각각 하나의 JDBC 배치로 전송, 실제로 insert 된 결제만 반환
+    public List<Payment> insertIfOrderHasNoPayment(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return payments;
+        }
+        List<Payment> claimed = applied(payments, jdbcTemplate.batchUpdate(CLAIM_ORDER_EVENT_KEY, parameters(payments)));
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        return applied(claimed, jdbcTemplate.batchUpdate(INSERT_EVENT_PAYMENT_IF_ABSENT, parameters(claimed)));
+    }
+
+    // 여러 결제의 최종 상태를 하나의 JDBC 배치로 반영. 결과는 입력과 같은 순서의 행 수 (0 이면 version 충돌)
+    public int[] updateFinalStatuses(List<Payment> payments) {
+        SqlParameterSource[] parameters = payments.stream()
+                .map(payment -> new MapSqlParameterSource()
+                        .addValue("id", payment.getId())
+                        .addValue("createdAt", payment.getCreatedAt())
+                        .addValue("version", payment.getVersion())
+                        .addValue("status", payment.getStatus().name())
+                        .addValue("paymentGatewayResponse", payment.getPaymentGatewayResponse())
+                        .addValue("updatedAt", payment.getUpdatedAt()))
+                .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(UPDATE_FINAL_STATUS, parameters);
+    }
+
+    private static List<Payment> applied(List<Payment> payments, int[] counts) {
+        List<Payment> applied = new ArrayList<>(payments.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                applied.add(payments.get(i));
+            }
+        }
+        return applied;
+    }
+
+    private static SqlParameterSource[] parameters(List<Payment> payments) {
+        return payments.stream()
+                .map(PaymentJdbcRepository::parameters)
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    private static SqlParameterSource parameters(Payment payment) {
+        return new MapSqlParameterSource()
+                .addValue("paymentId", payment.getPaymentId())
+                .addValue("orderNumber", payment.getOrderNumber())
+                .addValue("amount", payment.getAmount())
+                .addValue("status", payment.getStatus().name())
+                .addValue("paymentMethod", payment.getPaymentMethod())
+                .addValue("source", payment.getSource().name())
+                .addValue("attemptCount", payment.getAttemptCount())
+                .addValue("createdAt", payment.getCreatedAt())
+                .addValue("updatedAt", payment.getUpdatedAt());
+    }
+}
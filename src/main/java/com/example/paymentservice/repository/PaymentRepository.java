@@ -1,18 +1,66 @@
 package com.example.paymentservice.repository;
 
 import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentSearchRepository {
 
     Optional<Payment> findByPaymentId(String paymentId);
 
     List<Payment> findByOrderNumber(String orderNumber);
 
     List<Payment> findByOrderNumberAndStatus(String orderNumber, String status);
-}
\ No newline at end of file
+
+    // 환불 정산 청크의 결제를 한 번의 IN 쿼리로 조회
+    List<Payment> findByPaymentIdIn(Collection<String> paymentIds);
+
+    // 조회 API 용 프로젝션 (필요한 컬럼만 select)
+    Optional<PaymentSummary> findSummaryByPaymentId(String paymentId);
+
+    // createdAt 하한으로 created_at 파티션을 프루닝 (결제 ID 에서 생성 시각을 알 수 있을 때)
+    Optional<PaymentSummary> findSummaryByPaymentIdAndCreatedAtGreaterThanEqual(String paymentId, LocalDateTime createdFrom);
+
+    List<PaymentSummary> findSummariesByOrderNumber(String orderNumber);
+
+    // 배치 중복 검사용: 이미 결제가 존재하는 주문번호만 한 번의 IN 쿼리로 조회
+    @Query("select distinct p.orderNumber from Payment p where p.orderNumber in :orderNumbers")
+    Set<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    // 재처리 대상 (오래된 PENDING / 멈춘 PROCESSING) 을 id 키셋 순서로 잠금, 다른 레플리카가 잠근 행은 건너뜀
+    @Query(value = """
+            SELECT * FROM payments
+            WHERE id > :afterId
+              AND ((status = 'PENDING' AND updated_at < :pendingBefore)
+                OR (status = 'PROCESSING' AND updated_at < :processingBefore))
+              AND (next_attempt_at IS NULL OR next_attempt_at <= :now)
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Payment> lockReconcileBatch(@Param("afterId") long afterId,
+                                     @Param("pendingBefore") LocalDateTime pendingBefore,
+                                     @Param("processingBefore") LocalDateTime processingBefore,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT count(*) FROM payments
+            WHERE ((status = 'PENDING' AND updated_at < :pendingBefore)
+                OR (status = 'PROCESSING' AND updated_at < :processingBefore))
+              AND (next_attempt_at IS NULL OR next_attempt_at <= :now)
+            """, nativeQuery = true)
+    long countReconcileBacklog(@Param("pendingBefore") LocalDateTime pendingBefore,
+                               @Param("processingBefore") LocalDateTime processingBefore,
+                               @Param("now") LocalDateTime now);
+}
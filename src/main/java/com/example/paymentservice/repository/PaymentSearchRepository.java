@@ -0,0 +1,18 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.dto.PaymentSearchCriteria;
+import com.example.paymentservice.model.Payment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// 조건이 선택적인 검색은 Criteria API 로 구현 (PaymentRepository 의 커스텀 프래그먼트)
+public interface PaymentSearchRepository {
+
+    // (createdAt, id) 오름차순 키셋 페이지. afterCreatedAt/afterId 가 null 이면 첫 페이지
+    List<Payment> searchAfter(PaymentSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    // 내보내기용 커서 스트림. 호출자의 (읽기 전용) 트랜잭션 안에서 사용하고 반드시 close 해야 한다
+    Stream<Payment> streamForExport(PaymentSearchCriteria criteria, int fetchSize);
+}
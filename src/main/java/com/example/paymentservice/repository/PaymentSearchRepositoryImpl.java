@@ -0,0 +1,87 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.dto.PaymentSearchCriteria;
+import com.example.paymentservice.model.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// 인덱스: ix_payments_created_at_id (기간 조건), ix_payments_status_created_at_id (상태 + 기간 조건)
+public class PaymentSearchRepositoryImpl implements PaymentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Payment> searchAfter(PaymentSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Payment> query = cb.createQuery(Payment.class);
+        Root<Payment> payment = query.from(Payment.class);
+
+        List<Predicate> predicates = filters(cb, payment, criteria);
+        if (afterCreatedAt != null && afterId != null) {
+            Path<LocalDateTime> createdAt = payment.get("createdAt");
+            Path<Long> id = payment.get("id");
+            predicates.add(cb.or(
+                    cb.greaterThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.greaterThan(id, afterId))));
+        }
+
+        return entityManager.createQuery(ordered(cb, query, payment, predicates))
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Payment> streamForExport(PaymentSearchCriteria criteria, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Payment> query = cb.createQuery(Payment.class);
+        Root<Payment> payment = query.from(Payment.class);
+
+        // fetch size 만큼씩 서버 커서로 읽고, 읽은 엔티티는 바로 detach 해 영속성 컨텍스트가 커지지 않도록 함
+        return entityManager.createQuery(ordered(cb, query, payment, filters(cb, payment, criteria)))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Payment> payment, PaymentSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(payment.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getPaymentMethod() != null) {
+            predicates.add(cb.equal(payment.get("paymentMethod"), criteria.getPaymentMethod()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(payment.get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(payment.get("createdAt"), criteria.getCreatedTo()));
+        }
+        return predicates;
+    }
+
+    private static CriteriaQuery<Payment> ordered(CriteriaBuilder cb, CriteriaQuery<Payment> query,
+                                                  Root<Payment> payment, List<Predicate> predicates) {
+        return query.select(payment)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(payment.get("createdAt")), cb.asc(payment.get("id")));
+    }
+}
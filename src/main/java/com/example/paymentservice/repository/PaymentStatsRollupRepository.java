@@ -0,0 +1,63 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.PaymentStatsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentStatsRollupRepository extends JpaRepository<PaymentStatsRollup, PaymentStatsRollup.Key> {
+
+    @Query("select r from PaymentStatsRollup r where r.bucketStart >= :from and r.bucketStart < :to")
+    List<PaymentStatsRollup> findBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 증감분 반영: 행이 없으면 0 을 반환하므로 호출자가 insertIfAbsent 후 다시 시도 (레플리카 간 경쟁은 기본 키로 해결)
+    @Modifying
+    @Query(value = "UPDATE payment_stats_hourly SET payment_count = payment_count + :countDelta, " +
+            "amount_sum = amount_sum + :amountDelta, updated_at = :now " +
+            "WHERE bucket_start = :bucketStart AND status = :status AND payment_method = :paymentMethod", nativeQuery = true)
+    int addDelta(@Param("bucketStart") LocalDateTime bucketStart, @Param("status") String status,
+                 @Param("paymentMethod") String paymentMethod, @Param("countDelta") long countDelta,
+                 @Param("amountDelta") BigDecimal amountDelta, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO payment_stats_hourly (bucket_start, status, payment_method, payment_count, amount_sum, updated_at) " +
+            "VALUES (:bucketStart, :status, :paymentMethod, :count, :amount, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("bucketStart") LocalDateTime bucketStart, @Param("status") String status,
+                       @Param("paymentMethod") String paymentMethod, @Param("count") long count,
+                       @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from PaymentStatsRollup r where r.bucketStart >= :from and r.bucketStart < :to")
+    int deleteBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // payments 에서 기간 내 버킷을 다시 계산 (created_at 범위는 ix_payments_created_at_id 로 스캔)
+    @Modifying
+    @Query(value = "INSERT INTO payment_stats_hourly (bucket_start, status, payment_method, payment_count, amount_sum, updated_at) " +
+            "SELECT date_trunc('hour', created_at), status, COALESCE(payment_method, :unknownMethod), COUNT(*), " +
+            "COALESCE(SUM(amount), 0), :now " +
+            "FROM payments WHERE created_at >= :from AND created_at < :to AND status IS NOT NULL " +
+            "GROUP BY date_trunc('hour', created_at), status, COALESCE(payment_method, :unknownMethod)", nativeQuery = true)
+    int rebuildBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                       @Param("unknownMethod") String unknownMethod, @Param("now") LocalDateTime now);
+
+    // 보관 파티션(payments_archive)으로 옮겨진 결제도 같은 버킷에 더함 (rebuildBuckets 이후 호출)
+    @Modifying
+    @Query(value = "INSERT INTO payment_stats_hourly (bucket_start, status, payment_method, payment_count, amount_sum, updated_at) " +
+            "SELECT date_trunc('hour', created_at), status, COALESCE(payment_method, :unknownMethod), COUNT(*), " +
+            "COALESCE(SUM(amount), 0), :now " +
+            "FROM payments_archive WHERE created_at >= :from AND created_at < :to AND status IS NOT NULL " +
+            "GROUP BY date_trunc('hour', created_at), status, COALESCE(payment_method, :unknownMethod) " +
+            "ON CONFLICT (bucket_start, status, payment_method) DO UPDATE SET " +
+            "payment_count = payment_stats_hourly.payment_count + EXCLUDED.payment_count, " +
+            "amount_sum = payment_stats_hourly.amount_sum + EXCLUDED.amount_sum, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int rebuildArchivedBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                               @Param("unknownMethod") String unknownMethod, @Param("now") LocalDateTime now);
+}
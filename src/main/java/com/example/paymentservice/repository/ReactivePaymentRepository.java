@@ -0,0 +1,141 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentSource;
+import com.example.paymentservice.model.PaymentStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// reactive 프로필의 R2DBC 결제 저장소: PaymentRepository 중 API 경로가 쓰는 조회/저장을 같은 테이블과 컬럼으로 구현
+// 호출자가 TransactionalOperator 로 감싸면 그 트랜잭션에 참여한다.
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePaymentRepository {
+
+    private static final String SELECT_PAYMENT = """
+            SELECT id, payment_id, order_number, amount, status, payment_method, source, payment_gateway_response,
+                   attempt_count, next_attempt_at, created_at, updated_at, version
+            FROM payments
+            """;
+
+    // id 는 JPA 와 같은 시퀀스에서 할당 (PaymentJdbcRepository 와 동일)
+    private static final String INSERT_PAYMENT = """
+            INSERT INTO payments (id, payment_id, order_number, amount, status, payment_method, source, attempt_count, created_at, updated_at)
+            VALUES (nextval('payments_seq'), :paymentId, :orderNumber, :amount, :status, :paymentMethod, :source, :attemptCount, :createdAt, :updatedAt)
+            RETURNING id
+            """;
+
+    private static final String UPDATE_PAYMENT = """
+            UPDATE payments
+            SET status = :status, payment_gateway_response = :paymentGatewayResponse, attempt_count = :attemptCount,
+                next_attempt_at = :nextAttemptAt, updated_at = :updatedAt, version = version + 1
+            WHERE id = :id AND version = :version
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactivePaymentRepository(DatabaseClient paymentDatabaseClient) {
+        this.databaseClient = paymentDatabaseClient;
+    }
+
+    public Mono<Payment> findById(Long id) {
+        return databaseClient.sql(SELECT_PAYMENT + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactivePaymentRepository::toPayment)
+                .one();
+    }
+
+    public Mono<Payment> findByPaymentId(String paymentId) {
+        return databaseClient.sql(SELECT_PAYMENT + "WHERE payment_id = :paymentId")
+                .bind("paymentId", paymentId)
+                .map(ReactivePaymentRepository::toPayment)
+                .one();
+    }
+
+    public Flux<Payment> findByOrderNumber(String orderNumber) {
+        return databaseClient.sql(SELECT_PAYMENT + "WHERE order_number = :orderNumber ORDER BY id")
+                .bind("orderNumber", orderNumber)
+                .map(ReactivePaymentRepository::toPayment)
+                .all();
+    }
+
+    // 새 결제 insert 후 할당된 id 를 채워서 반환 (version 은 컬럼 기본값 0)
+    public Mono<Payment> insert(Payment payment) {
+        return databaseClient.sql(INSERT_PAYMENT)
+                .bind("paymentId", payment.getPaymentId())
+                .bind("orderNumber", payment.getOrderNumber())
+                .bind("amount", payment.getAmount())
+                .bind("status", payment.getStatus().name())
+                .bind("paymentMethod", payment.getPaymentMethod())
+                .bind("source", payment.getSource().name())
+                .bind("attemptCount", payment.getAttemptCount())
+                .bind("createdAt", payment.getCreatedAt())
+                .bind("updatedAt", payment.getUpdatedAt())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    payment.setId(id);
+                    payment.setVersion(0L);
+                    return payment;
+                });
+    }
+
+    // 상태 변경 반영 (생성 시 정해지는 컬럼은 갱신하지 않음)
+    // 읽은 뒤 다른 쓰기가 먼저 반영됐으면 JPA @Version 과 같이 OptimisticLockingFailureException
+    public Mono<Payment> update(Payment payment) {
+        GenericExecuteSpec spec = databaseClient.sql(UPDATE_PAYMENT)
+                .bind("id", payment.getId())
+                .bind("version", payment.getVersion())
+                .bind("status", payment.getStatus().name())
+                .bind("attemptCount", payment.getAttemptCount())
+                .bind("updatedAt", payment.getUpdatedAt());
+        spec = bindNullable(spec, "paymentGatewayResponse", payment.getPaymentGatewayResponse(), String.class);
+        spec = bindNullable(spec, "nextAttemptAt", payment.getNextAttemptAt(), LocalDateTime.class);
+
+        return spec.fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    if (updated != 1) {
+                        return Mono.error(new OptimisticLockingFailureException("Payment " + payment.getPaymentId()
+                                + " was updated concurrently (version " + payment.getVersion() + ")"));
+                    }
+                    payment.setVersion(payment.getVersion() + 1);
+                    return Mono.just(payment);
+                });
+    }
+
+    private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static Payment toPayment(Readable row) {
+        Payment payment = new Payment(row.get("payment_id", String.class));
+        payment.setId(row.get("id", Long.class));
+        payment.setOrderNumber(row.get("order_number", String.class));
+        payment.setAmount(row.get("amount", BigDecimal.class));
+        payment.restoreStatus(PaymentStatus.valueOf(row.get("status", String.class)));
+        payment.setPaymentMethod(row.get("payment_method", String.class));
+        String source = row.get("source", String.class);
+        payment.setSource(source != null ? PaymentSource.valueOf(source) : PaymentSource.API);
+        payment.setPaymentGatewayResponse(row.get("payment_gateway_response", String.class));
+        Integer attemptCount = row.get("attempt_count", Integer.class);
+        payment.setAttemptCount(attemptCount != null ? attemptCount : 0);
+        payment.setNextAttemptAt(row.get("next_attempt_at", LocalDateTime.class));
+        payment.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        payment.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        payment.setVersion(row.get("version", Long.class));
+        payment.markPersisted();
+        return payment;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.Refund;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefundRepository extends JpaRepository<Refund, Long> {
+
+    Optional<Refund> findByRefundId(String refundId);
+
+    List<Refund> findByPaymentIdOrderById(String paymentId);
+
+    // 정산할 환불이 있는 결제 수단 (ix_payment_refunds_settlement 만 읽음)
+    @Query(value = "SELECT DISTINCT payment_method FROM payment_refunds WHERE status IN ('PENDING', 'PROCESSING')",
+            nativeQuery = true)
+    List<String> findPaymentMethodsAwaitingSettlement();
+
+    // 결제 수단 하나의 정산 대상 (PENDING / 점유가 오래된 PROCESSING) 을 id 키셋 순서로 잠금, 다른 레플리카가 잠근 행은 건너뜀
+    @Query(value = """
+            SELECT * FROM payment_refunds
+            WHERE payment_method = :paymentMethod
+              AND id > :afterId
+              AND (status = 'PENDING' OR (status = 'PROCESSING' AND updated_at < :processingBefore))
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Refund> lockSettlementBatch(@Param("paymentMethod") String paymentMethod,
+                                     @Param("afterId") long afterId,
+                                     @Param("processingBefore") LocalDateTime processingBefore,
+                                     @Param("limit") int limit);
+}
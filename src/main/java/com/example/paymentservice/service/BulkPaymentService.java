@@ -0,0 +1,113 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.repository.PaymentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 대량 결제 요청 처리: 전체 검증 → PROCESSING 행을 청크 단위 JDBC 배치로 저장 → 게이트웨이 호출을 동시성 제한 하에 병렬 수행
+// 청크마다 별도 트랜잭션, 항목마다 별도 결과 트랜잭션이므로 일부 실패가 성공한 항목을 롤백하지 않는다
+@Service
+public class BulkPaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkPaymentService.class);
+
+    private final PaymentService paymentService;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${payment.bulk.max-items:1000}")
+    private int maxItems;
+
+    @Value("${payment.bulk.insert-chunk-size:50}")
+    private int insertChunkSize;
+
+    @Value("${payment.bulk.gateway-concurrency:16}")
+    private int gatewayConcurrency;
+
+    @Autowired
+    public BulkPaymentService(PaymentService paymentService, PaymentRepository paymentRepository,
+                              TransactionTemplate transactionTemplate, Validator validator) {
+        this.paymentService = paymentService;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+    }
+
+    // 게이트웨이 결과가 나오는 순서대로 항목별 PaymentResponse 를 방출
+    public Flux<PaymentResponse> processPayments(List<PaymentRequest> paymentRequests) {
+        validate(paymentRequests);
+        logger.info("Processing bulk payment request with {} items", paymentRequests.size());
+
+        return Flux.fromIterable(chunks(paymentRequests))
+                .concatMap(chunk -> Mono.fromCallable(() -> insertProcessingPayments(chunk))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMapIterable(payments -> payments)
+                .flatMap(paymentService::authorizeAndComplete, gatewayConcurrency);
+    }
+
+    // 스트리밍 입력: max-items + 1 번째 항목을 받으면 구독을 취소하므로 본문을 끝까지 읽거나 버퍼링하지 않는다
+    public Flux<PaymentResponse> processPayments(Flux<PaymentRequest> paymentRequests) {
+        return paymentRequests.take(maxItems + 1L)
+                .collectList()
+                .flatMapMany(this::processPayments);
+    }
+
+    // 본문을 직접 읽는 호출자가 count 번째 항목을 읽기 전에 호출
+    public void checkItemCount(int count) {
+        if (count > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Bulk payment request has more than " + maxItems + " items");
+        }
+    }
+
+    private void validate(List<PaymentRequest> paymentRequests) {
+        if (paymentRequests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk payment request is empty");
+        }
+        checkItemCount(paymentRequests.size());
+
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < paymentRequests.size(); i++) {
+            for (ConstraintViolation<PaymentRequest> violation : validator.validate(paymentRequests.get(i))) {
+                errors.add("[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.join("; ", errors));
+        }
+    }
+
+    private List<List<PaymentRequest>> chunks(List<PaymentRequest> paymentRequests) {
+        List<List<PaymentRequest>> chunks = new ArrayList<>();
+        for (int from = 0; from < paymentRequests.size(); from += insertChunkSize) {
+            chunks.add(paymentRequests.subList(from, Math.min(from + insertChunkSize, paymentRequests.size())));
+        }
+        return chunks;
+    }
+
+    // 시퀀스 ID + hibernate.jdbc.batch_size 로 청크 하나가 하나의 JDBC 배치 insert 가 됨
+    private List<Payment> insertProcessingPayments(List<PaymentRequest> chunk) {
+        return transactionTemplate.execute(status -> paymentRepository.saveAll(chunk.stream()
+                .map(paymentService::createProcessingPayment)
+                .collect(Collectors.toList())));
+    }
+}
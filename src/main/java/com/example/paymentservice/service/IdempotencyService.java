@@ -0,0 +1,282 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.dto.RefundResponse;
+import com.example.paymentservice.model.IdempotencyRecord;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Idempotency-Key 처리: 로컬 메모리 계층(진행 중/완료 결과) + DB 테이블(유니크 키로 레플리카 간 선점)
+// 같은 키의 재시도는 저장된 응답을 반환하고 게이트웨이를 다시 호출하지 않는다 (환불 요청은 결제마다 별도의 키 공간).
+// 결제는 키 선점, 키→결제 ID 연결, PROCESSING insert 를 한 트랜잭션으로 먼저 커밋하고 게이트웨이는 트랜잭션 밖에서 호출한다.
+// 키 완료는 최종 상태와 같은 트랜잭션에서 기록하므로, 승인 후 최종 상태 커밋이 실패해도 키는 그 결제에 묶여 남고
+// 재시도는 같은 결제(게이트웨이 멱등 키도 같은 결제 ID)를 이어서 처리해 이중 승인이 생기지 않는다.
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private static final String REFUND_KEY_PREFIX = "refund:";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, InFlight> localResults;
+
+    @Value("${payment.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    @Value("${payment.idempotency.stale-after-seconds:120}")
+    private long staleAfterSeconds;
+
+    @Value("${payment.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository, PaymentService paymentService,
+                              TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                              @Value("${payment.idempotency.local-cache-size:100000}") long localCacheSize,
+                              @Value("${payment.idempotency.local-ttl-minutes:10}") long localTtlMinutes) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.localResults = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterWrite(Duration.ofMinutes(localTtlMinutes))
+                .build();
+    }
+
+    // 처음 선점하면 PROCESSING 결제를 만들어 키에 연결하고, 연결된 결제가 있는 키를 인수했으면(이전 시도가 실패/중단) 그 결제를 이어서 처리
+    public PaymentResponse execute(String key, PaymentRequest request) {
+        validateKey(key);
+        return execute(key, hash(request), PaymentResponse.class, PaymentResponse::getPaymentId,
+                boundPaymentId -> {
+                    if (boundPaymentId != null) {
+                        return paymentService.findPayment(boundPaymentId);
+                    }
+                    Payment payment = paymentService.insertProcessingPayment(request);
+                    idempotencyRecordRepository.bind(key, payment.getPaymentId());
+                    return payment;
+                },
+                (payment, complete) -> payment.getStatus() == PaymentStatus.PROCESSING
+                        ? paymentService.authorizeProcessingPayment(payment, complete)
+                        : completeWithCurrentState(payment, complete));
+    }
+
+    // 환불 요청: 키는 결제 ID 와 묶어 저장하므로 다른 결제의 환불과 충돌하지 않는다.
+    // action 은 환불 예약과 같은 트랜잭션(주문 shard)에서 complete 를 호출해야 한다 (RefundService.requestRefund)
+    public RefundResponse executeRefund(String paymentId, String key, RefundRequest request,
+                                        Function<Consumer<RefundResponse>, RefundResponse> action) {
+        validateKey(key);
+        return execute(REFUND_KEY_PREFIX + sha256(paymentId + "|" + key), hash(request), RefundResponse.class,
+                RefundResponse::getPaymentId, boundPaymentId -> null, (ignored, complete) -> action.apply(complete));
+    }
+
+    // 재처리기가 먼저 최종 상태로 만든 결제: 게이트웨이를 다시 부르지 않고 현재 상태로 키를 완료
+    private PaymentResponse completeWithCurrentState(Payment payment, Consumer<PaymentResponse> complete) {
+        logger.info("Payment {} bound to Idempotency-Key is already {}, completing key", payment.getPaymentId(), payment.getStatus());
+        PaymentResponse response = paymentService.mapToPaymentResponse(payment);
+        transactionTemplate.executeWithoutResult(status -> complete.accept(response));
+        return response;
+    }
+
+    // onClaim 은 키 선점과 같은 트랜잭션에서 실행되어 그 결과가 action 에 전달된다 (인수한 키면 연결된 결제 ID 를 받음).
+    // action 은 결과를 만든 트랜잭션 안에서 complete 로 키 완료를 기록해야 한다 (결과와 키가 함께 커밋)
+    private <C, T> T execute(String key, String requestHash, Class<T> responseType, Function<T, String> paymentIdOf,
+                             Function<String, C> onClaim, BiFunction<C, Consumer<T>, T> action) {
+        // 같은 인스턴스의 동시 중복 요청은 진행 중인 결과를 기다림
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight existing = localResults.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            verifySameRequest(key, existing.requestHash(), requestHash);
+            return responseType.cast(await(existing.result()));
+        }
+
+        try {
+            T response = executeOnce(key, requestHash, responseType, paymentIdOf, onClaim, action);
+            mine.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // 실패한 요청은 재시도가 다시 실행될 수 있도록 로컬 기록 제거
+            localResults.asMap().remove(key, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <C, T> T executeOnce(String key, String requestHash, Class<T> responseType, Function<T, String> paymentIdOf,
+                                 Function<String, C> onClaim, BiFunction<C, Consumer<T>, T> action) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        Claimed<C> claimed;
+        while ((claimed = tryClaim(key, requestHash, onClaim)) == null) {
+            IdempotencyRecord record = idempotencyRecordRepository.findById(key).orElse(null);
+            if (record != null) {
+                verifySameRequest(key, record.getRequestHash(), requestHash);
+                if (record.isCompleted()) {
+                    logger.info("Replaying stored response for Idempotency-Key {}", key);
+                    return readResponse(record, responseType);
+                }
+            }
+            // 다른 레플리카가 처리 중: 완료될 때까지 대기
+            if (System.nanoTime() > deadline) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+            }
+            sleep();
+        }
+
+        try {
+            return action.apply(claimed.state(), response ->
+                    idempotencyRecordRepository.complete(key, paymentIdOf.apply(response), writeResponse(response), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            // 결제가 연결되지 않은 키는 지워 재시도가 처음부터 실행하게 하고, 연결된 키는 선점만 만료시켜
+            // 재시도가 기다리지 않고 같은 결제를 이어받게 한다 (게이트웨이가 이미 승인했을 수 있음)
+            LocalDateTime expired = LocalDateTime.now().minusSeconds(staleAfterSeconds + 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (idempotencyRecordRepository.release(key) == 0) {
+                    idempotencyRecordRepository.expireClaim(key, expired);
+                }
+            });
+            throw e;
+        }
+    }
+
+    // 선점하지 못했으면 null. 새로 선점했거나 오래된 선점을 인수했으면 같은 트랜잭션에서 onClaim 을 실행
+    private <C> Claimed<C> tryClaim(String key, String requestHash, Function<String, C> onClaim) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (idempotencyRecordRepository.claim(key, requestHash, now) == 1) {
+                return new Claimed<>(onClaim.apply(null));
+            }
+            if (idempotencyRecordRepository.takeOverStale(key, requestHash, now, now.minusSeconds(staleAfterSeconds)) == 1) {
+                String boundPaymentId = idempotencyRecordRepository.findById(key).map(IdempotencyRecord::getPaymentId).orElse(null);
+                logger.info("Took over stale Idempotency-Key {} (payment {})", key, boundPaymentId);
+                return new Claimed<>(onClaim.apply(boundPaymentId));
+            }
+            return null;
+        });
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for in-flight request");
+        }
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank() || key.length() > 255) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1-255 characters");
+        }
+    }
+
+    private void verifySameRequest(String key, String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key " + key + " was already used with a different request");
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for in-flight request");
+        }
+    }
+
+    // 보존 기간이 지난 키 정리
+    @Scheduled(fixedDelayString = "${payment.idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpiredKeys() {
+        Integer deleted = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private String writeResponse(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private <T> T readResponse(IdempotencyRecord record, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(record.getResponsePayload(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored response for Idempotency-Key " + record.getIdempotencyKey(), e);
+        }
+    }
+
+    // 요청 본문 지문 (같은 키로 다른 요청을 보내는 경우 감지)
+    private static String hash(PaymentRequest request) {
+        String amount = request.getAmount() == null ? "" : request.getAmount().stripTrailingZeros().toPlainString();
+        return sha256(request.getOrderNumber() + "|" + amount + "|" + request.getPaymentMethod());
+    }
+
+    private static String hash(RefundRequest request) {
+        String amount = request.getAmount() == null ? "" : request.getAmount().stripTrailingZeros().toPlainString();
+        return sha256(amount + "|" + request.getReason());
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<Object> result) {
+    }
+
+    private record Claimed<C>(C state) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.concurrency.KeyedExecutor;
+import com.example.paymentservice.event.OrderCreatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// order-created-topic 배치 리스너
+// 파티션 내에서도 주문번호별로 lane 을 나눠 병렬 처리하되, 같은 주문번호의 이벤트는 같은 lane 에서 순서대로 처리한다.
+// lane 마다 자기 하위 배치를 별도 트랜잭션으로 커밋하고, 모든 lane 작업이 끝난 뒤에 리스너가 반환하므로
+// 오프셋은 작업 완료 후에만 커밋된다 (AckMode.BATCH).
+// 하위 배치가 실패하면 그 lane 의 이벤트를 하나씩 다시 처리해 처음 실패한 레코드를 찾고, 그 인덱스로 BatchListenerFailedException 을 던진다.
+// DefaultErrorHandler 는 그 앞의 오프셋을 커밋하고 실패한 레코드부터 다시 받아 재시도하며, 재시도가 소진되면 그 레코드만 건너뛴다
+// (다시 받은 뒤쪽 레코드 중 이미 커밋된 것은 중복 검사로 걸러짐).
+@Component
+public class OrderCreatedEventBatchListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCreatedEventBatchListener.class);
+
+    private final PaymentService paymentService;
+    private final KeyedExecutor workers; // worker-lanes 가 1 이하이면 null (컨슈머 스레드에서 직접 처리)
+
+    @Autowired
+    public OrderCreatedEventBatchListener(PaymentService paymentService,
+                                          @Value("${payment.kafka.order-created.worker-lanes:0}") int workerLanes,
+                                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.paymentService = paymentService;
+        if (workerLanes <= 1) {
+            this.workers = null;
+        } else if (virtualThreadsEnabled) {
+            // lane 은 순서 보장용 직렬 큐일 뿐이므로 가상 스레드면 lane 수를 늘려도 플랫폼 스레드가 늘지 않음
+            this.workers = new KeyedExecutor("order-created-worker", workerLanes,
+                    Thread.ofVirtual().name("order-created-worker-", 1).factory());
+        } else {
+            this.workers = new KeyedExecutor("order-created-worker", workerLanes);
+        }
+    }
+
+    @KafkaListener(topics = "order-created-topic", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${payment.kafka.order-created.batch-enabled:false}")
+    public void onOrderCreatedEvents(List<ConsumerRecord<String, OrderCreatedEvent>> records) {
+        // 톰스톤과 역직렬화에 실패한 레코드(ErrorHandlingDeserializer 가 값을 null 로 전달)는 건너뜀
+        List<IndexedEvent> events = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, OrderCreatedEvent> record = records.get(i);
+            if (record.value() == null) {
+                logger.warn("Skipping order created record without value: {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            events.add(new IndexedEvent(i, record.key(), record.value()));
+        }
+
+        if (workers == null) {
+            RecordFailure failure = process(events);
+            if (failure != null) {
+                throw failure.toException();
+            }
+            return;
+        }
+
+        // 레코드 키(주문번호) 기준으로 lane 별 하위 배치 구성 (lane 안에서는 원래 순서 유지)
+        Map<Integer, List<IndexedEvent>> eventsByLane = new HashMap<>();
+        for (IndexedEvent event : events) {
+            String key = event.key() != null ? event.key() : event.event().getOrderNumber();
+            eventsByLane.computeIfAbsent(workers.laneFor(key), lane -> new ArrayList<>()).add(event);
+        }
+
+        Queue<RecordFailure> failures = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(eventsByLane.size());
+        eventsByLane.forEach((lane, laneEvents) -> futures.add(workers.submitToLane(lane, () -> {
+            RecordFailure failure = process(laneEvents);
+            if (failure != null) {
+                failures.add(failure);
+            }
+        })));
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        // 여러 lane 이 실패했으면 가장 앞의 레코드부터 다시 받음
+        failures.stream()
+                .min(Comparator.comparingInt(RecordFailure::index))
+                .ifPresent(failure -> {
+                    throw failure.toException();
+                });
+        logger.debug("Processed {} order created records across {} lanes", records.size(), eventsByLane.size());
+    }
+
+    // 하위 배치를 한 트랜잭션으로 처리하고, 실패하면 이벤트마다 별도 트랜잭션으로 다시 처리해 처음 실패한 이벤트를 돌려준다
+    private RecordFailure process(List<IndexedEvent> events) {
+        if (events.isEmpty()) {
+            return null;
+        }
+        try {
+            paymentService.handleOrderCreatedEvents(events.stream().map(IndexedEvent::event).toList());
+            return null;
+        } catch (RuntimeException e) {
+            logger.warn("Batch of {} order created events failed ({}), processing them one by one", events.size(), e.getMessage());
+        }
+
+        for (IndexedEvent event : events) {
+            try {
+                paymentService.handleOrderCreatedEvents(List.of(event.event()));
+            } catch (RuntimeException e) {
+                logger.error("Error handling order created event for order {}: ", event.event().getOrderNumber(), e);
+                return new RecordFailure(event.index(), e);
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    // index 는 리스너가 받은 레코드 목록에서의 위치
+    private record IndexedEvent(int index, String key, OrderCreatedEvent event) {
+    }
+
+    private record RecordFailure(int index, RuntimeException cause) {
+
+        BatchListenerFailedException toException() {
+            return new BatchListenerFailedException("Failed to handle order created record at index " + index, cause, index);
+        }
+    }
+}
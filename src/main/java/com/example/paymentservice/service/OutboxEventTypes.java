@@ -0,0 +1,46 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.event.PaymentCompletedEvent;
+import com.example.paymentservice.event.RefundCompletedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// payment_outbox.event_type 에 저장하는 논리 이벤트 이름 (한 번 배포되면 바꾸지 않음)
+// 클래스 이름 대신 저장하므로 이벤트 클래스를 옮기거나 이름을 바꿔도 남아 있는 행을 읽을 수 있다.
+// V16 이전에 기록된 행은 클래스 이름이 들어 있어 등록된 클래스의 이름도 함께 받아준다
+final class OutboxEventTypes {
+
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            "PaymentCompleted", PaymentCompletedEvent.class,
+            "RefundCompleted", RefundCompletedEvent.class);
+
+    private static final Map<Class<?>, String> NAMES = new HashMap<>();
+    private static final Map<String, Class<?>> LEGACY_NAMES = new HashMap<>();
+
+    static {
+        TYPES.forEach((name, type) -> {
+            NAMES.put(type, name);
+            LEGACY_NAMES.put(type.getName(), type);
+        });
+    }
+
+    private OutboxEventTypes() {
+    }
+
+    static String nameOf(Object event) {
+        String name = NAMES.get(event.getClass());
+        if (name == null) {
+            throw new IllegalArgumentException("Unregistered outbox event type: " + event.getClass().getName());
+        }
+        return name;
+    }
+
+    static Class<?> typeOf(String name) {
+        Class<?> type = TYPES.getOrDefault(name, LEGACY_NAMES.get(name));
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown outbox event type: " + name);
+        }
+        return type;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.metrics.OrderNumberBaggage;
+import com.example.paymentservice.model.OutboxDeadLetter;
+import com.example.paymentservice.model.OutboxEvent;
+import com.example.paymentservice.repository.OutboxDeadLetterRepository;
+import com.example.paymentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.BaggageInScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 아웃박스 릴레이: FOR UPDATE SKIP LOCKED 로 배치를 잠그고 Kafka 로 발행한 뒤 삭제
+// 여러 레플리카가 동시에 돌아도 서로 다른 배치를 가져간다. 발행 실패 시 롤백되어 다음 주기에 재시도 (at-least-once)
+// 읽을 수 없는 행(알 수 없는 이벤트 타입, 깨진 페이로드)은 재시도해도 성공하지 않으므로 같은 트랜잭션에서
+// payment_outbox_dead_letter 로 옮긴다. 그대로 두면 매번 배치 맨 앞에 잠겨 뒤의 이벤트 발행을 막는다
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeadLetterRepository outboxDeadLetterRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderNumberBaggage orderNumberBaggage;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary batchSizeSummary;
+    private final Timer publishTimer;
+    private final Counter deadLetterCounter;
+
+    @Value("${payment.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payment.outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxDeadLetterRepository outboxDeadLetterRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate, TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper, OrderNumberBaggage orderNumberBaggage, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDeadLetterRepository = outboxDeadLetterRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.orderNumberBaggage = orderNumberBaggage;
+
+        Gauge.builder("payment.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("payment.outbox.batch.size")
+                .description("Number of outbox events published per relay batch")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("payment.outbox.publish.latency")
+                .description("Time to publish one outbox batch and receive all broker acks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("payment.outbox.dead.letter")
+                .description("Outbox events moved to the dead-letter table because they could not be read")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> publishNextBatch());
+            } while (published == batchSize);
+        } catch (Exception e) {
+            logger.error("Error relaying outbox events: ", e);
+        } finally {
+            updateLag();
+        }
+    }
+
+    private int publishNextBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        List<OutboxDeadLetter> deadLetters = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            Object payload;
+            try {
+                payload = toEvent(event);
+            } catch (Exception e) {
+                logger.error("Moving unreadable outbox event {} ({}) to the dead-letter table: ", event.getId(), event.getEventType(), e);
+                deadLetters.add(new OutboxDeadLetter(event, e.getMessage()));
+                continue;
+            }
+            sends.add(send(event, payload));
+        }
+
+        // 모든 ack 를 받은 뒤에만 삭제 (실패하면 예외로 트랜잭션 롤백)
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to publish outbox batch of " + batch.size() + " events", e);
+        }
+
+        publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(sends.size());
+
+        if (!deadLetters.isEmpty()) {
+            outboxDeadLetterRepository.saveAll(deadLetters);
+            deadLetterCounter.increment(deadLetters.size());
+        }
+        outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        logger.debug("Published {} outbox events", sends.size());
+        return batch.size();
+    }
+
+    // 결제 이벤트의 메시지 키는 주문번호이므로 baggage 로 붙여 컨슈머 쪽 trace 에서도 주문을 식별
+    private CompletableFuture<?> send(OutboxEvent event, Object payload) {
+        try (BaggageInScope ignored = orderNumberBaggage.open(event.getMessageKey())) {
+            return kafkaTemplate.send(event.getTopic(), event.getMessageKey(), payload);
+        }
+    }
+
+    private Object toEvent(OutboxEvent outboxEvent) throws Exception {
+        return objectMapper.readValue(outboxEvent.getPayload(), OutboxEventTypes.typeOf(outboxEvent.getEventType()));
+    }
+
+    private void updateLag() {
+        try {
+            LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt();
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        } catch (Exception e) {
+            logger.warn("Could not compute outbox lag: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.concurrency.MicroBatcher;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.gateway.GatewayAuthorizationResponse;
+import com.example.paymentservice.model.Payment;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// 게이트웨이 승인 요청 묶음 처리 (payment.gateway.batch.enabled, 게이트웨이가 /v1/payments/authorize/batch 를 지원할 때)
+// 동시에 들어온 승인 요청을 MicroBatcher 로 모아 배치 호출 한 번으로 보내고, 비동기 경로(authorizeAndComplete)의 결과는
+// 한 트랜잭션의 update 배치로 반영한다. 동기 경로(authorize)는 게이트웨이 호출만 묶고 반영은 호출자의 트랜잭션에서 한다.
+@Component
+@ConditionalOnProperty(name = "payment.gateway.batch.enabled", havingValue = "true")
+public class PaymentAuthorizationBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentAuthorizationBatcher.class);
+
+    private final PaymentService paymentService;
+    private final MicroBatcher<Authorization, Outcome> batcher;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public PaymentAuthorizationBatcher(PaymentService paymentService, MeterRegistry meterRegistry,
+                                       @Value("${payment.gateway.batch.max-size:50}") int maxBatchSize,
+                                       @Value("${payment.gateway.batch.max-wait-ms:10}") long maxWaitMs) {
+        this.paymentService = paymentService;
+        this.batcher = new MicroBatcher<>("payment-gateway-batch", maxBatchSize, Duration.ofMillis(maxWaitMs), this::dispatch);
+        this.batchSizes = DistributionSummary.builder("payment.gateway.batch.size")
+                .description("Payments per gateway authorization call")
+                .register(meterRegistry);
+        Gauge.builder("payment.gateway.batch.window", batcher, b -> b.currentWindow().toNanos() / 1_000_000.0)
+                .description("Current adaptive flush window in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    // 게이트웨이 응답만 필요할 때 (결과 반영은 호출자가 함)
+    public Mono<GatewayAuthorizationResponse> authorize(Payment payment) {
+        return Mono.fromFuture(() -> batcher.submit(new Authorization(payment, false)))
+                .map(Outcome::gatewayResponse);
+    }
+
+    // 커밋된 PROCESSING 결제를 승인하고 결과를 반영한 최종 상태를 반환 (반영 실패 시 마지막으로 커밋된 상태)
+    public Mono<PaymentResponse> authorizeAndComplete(Payment payment) {
+        return Mono.fromFuture(() -> batcher.submit(new Authorization(payment, true)))
+                .map(Outcome::payment)
+                .onErrorResume(e -> {
+                    logger.error("Error completing batched authorization for payment {}: ", payment.getPaymentId(), e);
+                    return Mono.just(paymentService.mapToPaymentResponse(payment));
+                });
+    }
+
+    private CompletableFuture<List<Outcome>> dispatch(List<Authorization> batch) {
+        batchSizes.record(batch.size());
+        List<Payment> payments = batch.stream().map(Authorization::payment).toList();
+
+        return paymentService.authorizeAll(payments)
+                .publishOn(Schedulers.boundedElastic())
+                .map(results -> complete(batch, results))
+                .toFuture();
+    }
+
+    private List<Outcome> complete(List<Authorization> batch, List<GatewayAuthorizationResponse> results) {
+        List<Payment> toPersist = new ArrayList<>();
+        List<GatewayAuthorizationResponse> persistResults = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).persist()) {
+                toPersist.add(batch.get(i).payment());
+                persistResults.add(results.get(i));
+            }
+        }
+
+        List<PaymentResponse> persisted = null;
+        if (!toPersist.isEmpty()) {
+            try {
+                persisted = paymentService.applyGatewayAuthorizations(toPersist, persistResults);
+            } catch (Exception e) {
+                // 롤백됐으므로 PROCESSING 으로 남고 재처리기가 다시 시도 (게이트웨이는 결제 ID 로 중복 승인을 막음)
+                logger.error("Error persisting gateway results for batch of {} payments: ", toPersist.size(), e);
+            }
+        }
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        int persistedIndex = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Authorization authorization = batch.get(i);
+            PaymentResponse payment = null;
+            if (authorization.persist()) {
+                payment = persisted != null ? persisted.get(persistedIndex)
+                        : paymentService.mapToPaymentResponse(authorization.payment());
+                persistedIndex++;
+            }
+            outcomes.add(new Outcome(results.get(i), payment));
+        }
+        return outcomes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batcher.shutdown();
+    }
+
+    private record Authorization(Payment payment, boolean persist) {
+    }
+
+    private record Outcome(GatewayAuthorizationResponse gatewayResponse, PaymentResponse payment) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.model.OutboxEvent;
+import com.example.paymentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 이벤트를 호출자의 트랜잭션 안에서 아웃박스 테이블에 기록 (Kafka 발행은 OutboxRelay 가 담당)
+@Component
+public class PaymentEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public PaymentEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, Object event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            outboxEventRepository.save(new OutboxEvent(topic, key, OutboxEventTypes.nameOf(event), payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox event " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
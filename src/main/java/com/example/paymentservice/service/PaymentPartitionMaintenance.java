@@ -0,0 +1,240 @@
+package com.example.paymentservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// payments 월 파티션 관리 (V13): 앞으로 쓸 파티션을 미리 만들고, hot-months 보다 오래된 파티션은 payments_archive 로 옮긴다
+// 옮기기는 DETACH/ATTACH 만 하는 메타데이터 작업이라 행을 복사하지 않고, 한 트랜잭션이라 조회 중에 결제가 사라지지 않는다
+// 여러 레플리카가 동시에 실행해도 advisory lock 을 잡은 하나만 진행
+@Component
+@ConditionalOnProperty(name = "payment.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentPartitionMaintenance.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x7061796d656e7473L; // "payments"
+
+    private static final String HOT_TABLE = "payments";
+    private static final String ARCHIVE_TABLE = "payments_archive";
+    private static final String BOUND_CHECK = "payments_partition_bound_check";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern BOUND_PATTERN =
+            Pattern.compile("FROM \\((MINVALUE|'([^']+)')\\) TO \\((MAXVALUE|'([^']+)')\\)");
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ? AND p.relnamespace = current_schema()::regnamespace
+            """;
+
+    // 보관 파티션 인덱스(부모에서 상속)와 제약 조건 인덱스를 제외한, hot 조회 전용 인덱스
+    private static final String STANDALONE_INDEXES = """
+            SELECT ic.relname
+            FROM pg_index x
+            JOIN pg_class ic ON ic.oid = x.indexrelid
+            WHERE x.indrelid = ?::regclass
+              AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = x.indexrelid)
+              AND NOT EXISTS (SELECT 1 FROM pg_constraint k WHERE k.conindid = x.indexrelid)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Counter archivedCounter;
+
+    @Value("${payment.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${payment.partitioning.hot-months:3}")
+    private int hotMonths;
+
+    @Value("${payment.partitioning.lock-timeout-ms:2000}")
+    private long lockTimeoutMs;
+
+    @Value("${payment.partitioning.archive-tablespace:}")
+    private String archiveTablespace;
+
+    @Value("${payment.partitioning.startup-delay-ms:5000}")
+    private long startupDelayMs;
+
+    @Autowired
+    public PaymentPartitionMaintenance(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskScheduler = taskScheduler;
+        this.archivedCounter = Counter.builder("payment.partition.archived")
+                .description("Payment partitions moved to payments_archive")
+                .register(meterRegistry);
+    }
+
+    // 기동 직후 한 번 (배포가 월말에 오래 멈춰 있었어도 다음 달 파티션이 없어 insert 가 실패하지 않게)
+    // 보관 검사와 잠금 대기로 길어질 수 있으므로 기동 스레드가 아닌 스케줄러에서 실행해 readiness 를 늦추지 않는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        taskScheduler.schedule(this::maintain, Instant.now().plusMillis(startupDelayMs));
+    }
+
+    @Scheduled(cron = "${payment.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            createFuturePartitions();
+            archiveColdPartitions();
+        } catch (Exception e) {
+            logger.error("Error maintaining payment partitions: ", e);
+        }
+    }
+
+    private void createFuturePartitions() {
+        LocalDateTime target = LocalDate.now().withDayOfMonth(1).plusMonths(premakeMonths + 1L).atStartOfDay();
+        LocalDateTime next = partitions(HOT_TABLE).stream()
+                .map(Partition::to)
+                .max(LocalDateTime::compareTo)
+                .orElseThrow(() -> new IllegalStateException("payments has no partitions, run migration V13 first"));
+
+        while (next.isBefore(target)) {
+            LocalDateTime from = next;
+            LocalDateTime to = from.plusMonths(1);
+            String name = HOT_TABLE + "_p" + from.format(PARTITION_SUFFIX);
+            // CREATE ... PARTITION OF 는 부모 전체를 잠그므로 빈 테이블을 만든 뒤 ATTACH (SHARE UPDATE EXCLUSIVE)
+            boolean created = inMaintenanceTransaction(() -> {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " (LIKE " + HOT_TABLE + " INCLUDING DEFAULTS)");
+                jdbcTemplate.execute("ALTER TABLE " + HOT_TABLE + " ATTACH PARTITION " + name + " FOR VALUES " + bound(from, to));
+            });
+            if (!created) {
+                return;
+            }
+            logger.info("Created payment partition {} for [{}, {})", name, from, to);
+            next = to;
+        }
+    }
+
+    private void archiveColdPartitions() {
+        LocalDateTime hotFrom = LocalDate.now().withDayOfMonth(1).minusMonths(hotMonths).atStartOfDay();
+        for (Partition partition : partitions(HOT_TABLE)) {
+            if (partition.to().isAfter(hotFrom)) {
+                continue;
+            }
+            // 재처리기가 아직 다룰 결제나 정산을 기다리는 환불이 남아 있으면 다음 실행까지 hot 에 둔다
+            // (두 조건 모두 부분 인덱스 ix_payments_reconcile, ix_payments_pending_refund 로 확인)
+            Boolean unfinished = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition.name()
+                    + " WHERE status IN ('PENDING', 'PROCESSING') OR pending_refund_amount > 0)", Boolean.class);
+            if (Boolean.TRUE.equals(unfinished)) {
+                logger.info("Payment partition {} still has unfinished payments, keeping it hot", partition.name());
+                continue;
+            }
+            archive(partition);
+        }
+    }
+
+    private void archive(Partition partition) {
+        String name = partition.name();
+        // ATTACH 가 배타 잠금 안에서 범위 검증 스캔을 하지 않도록 CHECK 제약을 먼저 약한 잠금으로 검증해 둔다
+        boolean validated = inMaintenanceTransaction(() -> {
+            jdbcTemplate.execute("ALTER TABLE " + name + " DROP CONSTRAINT IF EXISTS " + BOUND_CHECK);
+            jdbcTemplate.execute("ALTER TABLE " + name + " ADD CONSTRAINT " + BOUND_CHECK
+                    + " CHECK (" + partition.checkExpression() + ") NOT VALID");
+        }) && inMaintenanceTransaction(() ->
+                jdbcTemplate.execute("ALTER TABLE " + name + " VALIDATE CONSTRAINT " + BOUND_CHECK));
+        if (!validated) {
+            return;
+        }
+
+        boolean moved = inMaintenanceTransaction(() -> {
+            jdbcTemplate.execute("ALTER TABLE " + HOT_TABLE + " DETACH PARTITION " + name);
+            jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " ATTACH PARTITION " + name + " FOR VALUES " + partition.bound());
+            jdbcTemplate.execute("ALTER TABLE " + name + " DROP CONSTRAINT " + BOUND_CHECK);
+            for (String index : jdbcTemplate.queryForList(STANDALONE_INDEXES, String.class, name)) {
+                jdbcTemplate.execute("DROP INDEX " + index);
+            }
+        });
+        if (!moved) {
+            return;
+        }
+        archivedCounter.increment();
+        logger.info("Archived payment partition {} [{}, {})", name, partition.from(), partition.to());
+
+        // 테이블스페이스 이동은 파일을 복사하는 동안 해당 파티션만 잠근다 (hot 테이블과 무관)
+        if (!archiveTablespace.isBlank()) {
+            inMaintenanceTransaction(() ->
+                    jdbcTemplate.execute("ALTER TABLE " + name + " SET TABLESPACE " + archiveTablespace));
+        }
+    }
+
+    // 다른 레플리카가 작업 중이면 false. lock_timeout 을 넘기면 예외로 롤백되고 다음 실행에서 다시 시도
+    private boolean inMaintenanceTransaction(Runnable work) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                logger.info("Payment partition maintenance is running on another instance, skipping");
+                return false;
+            }
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeoutMs + "ms'");
+            work.run();
+            return true;
+        }));
+    }
+
+    private List<Partition> partitions(String parent) {
+        return jdbcTemplate.query(LIST_PARTITIONS, (rs, rowNum) -> Partition.parse(rs.getString("relname"), rs.getString("bound")), parent)
+                .stream()
+                .filter(partition -> partition.to() != null)
+                .toList();
+    }
+
+    private static String bound(LocalDateTime from, LocalDateTime to) {
+        return "FROM ('" + from.format(BOUND_FORMAT) + "') TO ('" + to.format(BOUND_FORMAT) + "')";
+    }
+
+    // from 이 null 이면 MINVALUE (V13 에서 붙인 payments_legacy), to 가 null 이면 MAXVALUE
+    record Partition(String name, LocalDateTime from, LocalDateTime to) {
+
+        static Partition parse(String name, String bound) {
+            Matcher matcher = BOUND_PATTERN.matcher(bound);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Unexpected partition bound for " + name + ": " + bound);
+            }
+            return new Partition(name, parseBound(matcher.group(2)), parseBound(matcher.group(4)));
+        }
+
+        private static LocalDateTime parseBound(String value) {
+            return value != null ? LocalDateTime.parse(value, BOUND_FORMAT) : null;
+        }
+
+        String bound() {
+            String lower = from != null ? "'" + from.format(BOUND_FORMAT) + "'" : "MINVALUE";
+            return "FROM (" + lower + ") TO ('" + to.format(BOUND_FORMAT) + "')";
+        }
+
+        String checkExpression() {
+            String upper = "created_at < '" + to.format(BOUND_FORMAT) + "'";
+            return from != null ? "created_at >= '" + from.format(BOUND_FORMAT) + "' AND " + upper
+                    : "created_at IS NOT NULL AND " + upper;
+        }
+    }
+}
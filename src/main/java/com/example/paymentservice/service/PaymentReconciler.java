@@ -0,0 +1,182 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 재처리 엔진: 오래된 PENDING 과 멈춘 PROCESSING 결제를 id 키셋 순서로 청크 단위로 잠가(SKIP LOCKED) 게이트웨이 경로로 다시 보낸다
+// 잠금은 청크를 점유하는 짧은 트랜잭션 동안만 유지되고, 그 이후의 중복 처리는 next_attempt_at 리스로 막는다
+// 게이트웨이에는 결제 ID가 멱등 키로 전달되므로 PROCESSING 결제를 다시 보내도 중복 승인되지 않는다
+@Component
+@ConditionalOnProperty(name = "payment.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciler.class);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter claimedCounter;
+
+    @Value("${payment.reconciliation.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${payment.reconciliation.max-chunks-per-run:50}")
+    private int maxChunksPerRun;
+
+    @Value("${payment.reconciliation.parallelism:16}")
+    private int parallelism;
+
+    @Value("${payment.reconciliation.pending-stale-seconds:60}")
+    private long pendingStaleSeconds;
+
+    @Value("${payment.reconciliation.processing-stale-seconds:300}")
+    private long processingStaleSeconds;
+
+    @Value("${payment.reconciliation.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${payment.reconciliation.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${payment.reconciliation.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${payment.reconciliation.chunk-timeout-ms:120000}")
+    private long chunkTimeoutMs;
+
+    @Autowired
+    public PaymentReconciler(PaymentRepository paymentRepository, PaymentService paymentService,
+                             TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("payment.reconciliation.backlog", backlog, AtomicLong::get)
+                .description("Stale PENDING/PROCESSING payments due for reconciliation")
+                .register(meterRegistry);
+        this.claimedCounter = Counter.builder("payment.reconciliation.claimed")
+                .description("Payments claimed by the reconciler")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.reconciliation.poll-interval-ms:30000}",
+            initialDelayString = "${payment.reconciliation.initial-delay-ms:30000}")
+    public void reconcile() {
+        try {
+            updateBacklog();
+
+            long afterId = 0;
+            for (int i = 0; i < maxChunksPerRun; i++) {
+                long lastId = afterId;
+                ClaimedChunk chunk = transactionTemplate.execute(status -> claimChunk(lastId));
+                if (chunk.scanned() == 0) {
+                    break;
+                }
+
+                redrive(chunk.redrive());
+                afterId = chunk.lastId();
+                if (chunk.scanned() < chunkSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error reconciling payments: ", e);
+        } finally {
+            updateBacklog();
+        }
+    }
+
+    private ClaimedChunk claimChunk(long afterId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> batch = paymentRepository.lockReconcileBatch(afterId,
+                now.minusSeconds(pendingStaleSeconds), now.minusSeconds(processingStaleSeconds), now, chunkSize);
+        if (batch.isEmpty()) {
+            return new ClaimedChunk(afterId, 0, List.of());
+        }
+
+        List<Payment> redrive = new ArrayList<>(batch.size());
+        for (Payment payment : batch) {
+            if (payment.getAttemptCount() >= maxAttempts) {
+                payment.markAsFailed("Reconciliation gave up after " + payment.getAttemptCount() + " attempts");
+                drained("exhausted");
+                continue;
+            }
+            // 다음 시도 시각을 먼저 기록해 두면 이 인스턴스가 도중에 죽어도 백오프 이후 다른 레플리카가 인수
+            int attempt = payment.getAttemptCount() + 1;
+            payment.setAttemptCount(attempt);
+            payment.setNextAttemptAt(now.plus(backoff(attempt)));
+            payment.transitionTo(PaymentStatus.PROCESSING);
+            redrive.add(payment);
+        }
+        paymentRepository.saveAll(batch);
+        claimedCounter.increment(batch.size());
+
+        return new ClaimedChunk(batch.get(batch.size() - 1).getId(), batch.size(), redrive);
+    }
+
+    private void redrive(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return;
+        }
+        logger.info("Re-driving {} payments through the gateway", payments.size());
+
+        // authorizeAndComplete 는 오류를 결과로 바꿔 돌려주므로 청크 하나의 실패가 나머지를 막지 않음
+        Flux.fromIterable(payments)
+                .flatMap(paymentService::authorizeAndComplete, parallelism)
+                .map(PaymentResponse::getStatus)
+                .doOnNext(status -> drained(status.name().toLowerCase()))
+                .then()
+                .block(Duration.ofMillis(chunkTimeoutMs));
+    }
+
+    // 시도 횟수에 따른 지수 백오프 (최대값으로 제한)
+    private Duration backoff(int attempt) {
+        long seconds = initialBackoffSeconds << Math.min(attempt - 1, 30);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoffSeconds));
+    }
+
+    private void drained(String outcome) {
+        Counter.builder("payment.reconciliation.drained")
+                .description("Payments resolved or rescheduled by the reconciler, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void updateBacklog() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            backlog.set(paymentRepository.countReconcileBacklog(
+                    now.minusSeconds(pendingStaleSeconds), now.minusSeconds(processingStaleSeconds), now));
+        } catch (Exception e) {
+            logger.warn("Could not compute reconciliation backlog: {}", e.getMessage());
+        }
+    }
+
+    private record ClaimedChunk(long lastId, int scanned, List<Payment> redrive) {
+    }
+}
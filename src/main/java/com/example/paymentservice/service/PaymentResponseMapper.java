@@ -0,0 +1,23 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.model.PaymentSummary;
+
+// 엔티티/프로젝션 -> 응답 DTO 변환. 협력 객체가 필요 없으므로 서비스 생성 없이 호출 가능 (벤치마크에서 직접 사용)
+final class PaymentResponseMapper {
+
+    private PaymentResponseMapper() {
+    }
+
+    static PaymentResponse toResponse(PaymentSummary payment) {
+        PaymentResponse response = new PaymentResponse();
+        response.setPaymentId(payment.getPaymentId());
+        response.setOrderNumber(payment.getOrderNumber());
+        response.setAmount(payment.getAmount());
+        response.setStatus(payment.getStatus());
+        response.setPaymentMethod(payment.getPaymentMethod());
+        response.setCreatedAt(payment.getCreatedAt());
+        response.setUpdatedAt(payment.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.PaymentSearchCriteria;
+import com.example.paymentservice.dto.PaymentSearchPage;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// 재무용 결제 검색 (키셋 페이지네이션) 과 스트리밍 내보내기 (NDJSON / CSV)
+@Service
+public class PaymentSearchService {
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        ExportFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static ExportFormat from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "paymentId,orderNumber,amount,status,paymentMethod,createdAt,updatedAt\n";
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.search.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${payment.search.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${payment.search.export-fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Autowired
+    public PaymentSearchService(PaymentRepository paymentRepository, PaymentService paymentService,
+                                PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public PaymentSearchPage search(PaymentSearchCriteria criteria, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+        // 한 건 더 읽어서 다음 페이지 존재 여부 확인
+        List<Payment> payments = paymentRepository.searchAfter(criteria,
+                after == null ? null : after.createdAt(), after == null ? null : after.id(), pageSize + 1);
+
+        boolean hasMore = payments.size() > pageSize;
+        List<Payment> page = hasMore ? payments.subList(0, pageSize) : payments;
+        String nextCursor = null;
+        if (hasMore) {
+            Payment last = page.get(page.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<PaymentResponse> items = page.stream()
+                .map(paymentService::mapToPaymentResponse)
+                .toList();
+        return new PaymentSearchPage(items, nextCursor);
+    }
+
+    // 조건에 맞는 결제를 한 행씩 써 내려감. 결과 크기와 관계없이 메모리 사용량은 fetch size 수준으로 유지
+    public void export(PaymentSearchCriteria criteria, ExportFormat format, OutputStream out) {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<Payment> payments = paymentRepository.streamForExport(criteria, exportFetchSize)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                }
+                Iterator<Payment> iterator = payments.iterator();
+                while (iterator.hasNext()) {
+                    PaymentResponse response = paymentService.mapToPaymentResponse(iterator.next());
+                    writer.write(format == ExportFormat.CSV ? toCsvRow(response) : objectMapper.writeValueAsString(response) + "\n");
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write payment export", e);
+            }
+        });
+    }
+
+    private static String toCsvRow(PaymentResponse response) {
+        return String.join(",",
+                csv(response.getPaymentId()),
+                csv(response.getOrderNumber()),
+                csv(response.getAmount() == null ? null : response.getAmount().toPlainString()),
+                csv(response.getStatus() == null ? null : response.getStatus().name()),
+                csv(response.getPaymentMethod()),
+                csv(response.getCreatedAt() == null ? null : response.getCreatedAt().toString()),
+                csv(response.getUpdatedAt() == null ? null : response.getUpdatedAt().toString())) + "\n";
+    }
+
+    // RFC 4180 이스케이프. 스프레드시트에서 수식으로 해석되지 않도록 =,+,-,@ 로 시작하는 문자열 값은 ' 를 붙임
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        String escaped = value;
+        if (!escaped.isEmpty() && "=+-@".indexOf(escaped.charAt(0)) >= 0 && !isNumeric(escaped)) {
+            escaped = "'" + escaped;
+        }
+        if (escaped.contains(",") || escaped.contains("\"") || escaped.contains("\n") || escaped.contains("\r")) {
+            escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+        }
+        return escaped;
+    }
+
+    private static boolean isNumeric(String value) {
+        try {
+            new BigDecimal(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // 커서 = base64url("createdAt|id"), 클라이언트에는 불투명한 문자열
+    private record Cursor(LocalDateTime createdAt, long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+}
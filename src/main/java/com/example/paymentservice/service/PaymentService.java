@@ -1,27 +1,63 @@
 package com.example.paymentservice.service;
 
+import com.example.paymentservice.cache.PaymentResponseCache;
 import com.example.paymentservice.dto.PaymentRequest;
 import com.example.paymentservice.dto.PaymentResponse;
 import com.example.paymentservice.event.OrderCreatedEvent;
+import com.example.paymentservice.event.PaymentChangedEvent;
 import com.example.paymentservice.event.PaymentCompletedEvent;
+import com.example.paymentservice.exception.IllegalPaymentTransitionException;
 import com.example.paymentservice.exception.PaymentNotFoundException;
+import com.example.paymentservice.gateway.GatewayAuthorizationResponse;
+import com.example.paymentservice.gateway.GatewayUnavailableAction;
+import com.example.paymentservice.gateway.PaymentGateway;
+import com.example.paymentservice.id.PaymentIdGenerator;
+import com.example.paymentservice.id.SnowflakePaymentIdGenerator;
+import com.example.paymentservice.metrics.OrderNumberBaggage;
+import com.example.paymentservice.metrics.PaymentMetrics;
+import com.example.paymentservice.metrics.PaymentMetrics.Stage;
 import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentSource;
 import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.PaymentSummary;
+import com.example.paymentservice.repository.PaymentArchiveRepository;
+import com.example.paymentservice.repository.PaymentJdbcRepository;
 import com.example.paymentservice.repository.PaymentRepository;
+import io.micrometer.tracing.BaggageInScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.core.env.Environment;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,44 +65,224 @@ public class PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
 
+    // 결제 ID 의 생성 시각과 createdAt 사이 허용 오차 (파티션 프루닝 하한을 이만큼 앞당김)
+    private static final Duration PAYMENT_ID_CLOCK_SKEW = Duration.ofHours(1);
+
     private final PaymentRepository paymentRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final WebClient paymentGatewayClient;
+    private final PaymentJdbcRepository paymentJdbcRepository;
+    private final ObjectProvider<PaymentArchiveRepository> paymentArchiveRepository;
+    private final PaymentEventOutbox paymentEventOutbox;
+    private final PaymentGateway paymentGateway;
+    private final ObjectProvider<PaymentAuthorizationBatcher> authorizationBatcher;
+    private final PaymentStateMachine paymentStateMachine;
+    private final ObjectProvider<PaymentStatusGroupCommitter> groupCommitter;
+    private final PaymentIdGenerator paymentIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentResponseCache paymentResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaymentMetrics paymentMetrics;
+    private final OrderNumberBaggage orderNumberBaggage;
     private final Environment environment; // Environment 객체 추가
 
-    @Value("${payment.gateway.api-key}")
-    private String paymentGatewayApiKey;
+    @Value("${payment.gateway.unavailable-action:FAIL}")
+    private GatewayUnavailableAction gatewayUnavailableAction;
 
     @Autowired
-    public PaymentService(PaymentRepository paymentRepository, KafkaTemplate<String, Object> kafkaTemplate, WebClient paymentGatewayClient, Environment environment) {
+    public PaymentService(PaymentRepository paymentRepository, PaymentJdbcRepository paymentJdbcRepository,
+                          ObjectProvider<PaymentArchiveRepository> paymentArchiveRepository, PaymentEventOutbox paymentEventOutbox,
+                          PaymentGateway paymentGateway, ObjectProvider<PaymentAuthorizationBatcher> authorizationBatcher,
+                          PaymentStateMachine paymentStateMachine, ObjectProvider<PaymentStatusGroupCommitter> groupCommitter,
+                          PaymentIdGenerator paymentIdGenerator,
+                          TransactionTemplate transactionTemplate, PaymentResponseCache paymentResponseCache,
+                          ApplicationEventPublisher eventPublisher, PaymentMetrics paymentMetrics,
+                          OrderNumberBaggage orderNumberBaggage, Environment environment) {
         this.paymentRepository = paymentRepository;
-        this.kafkaTemplate = kafkaTemplate;
-        this.paymentGatewayClient = paymentGatewayClient;
+        this.paymentJdbcRepository = paymentJdbcRepository;
+        this.paymentArchiveRepository = paymentArchiveRepository;
+        this.paymentEventOutbox = paymentEventOutbox;
+        this.paymentGateway = paymentGateway;
+        this.authorizationBatcher = authorizationBatcher;
+        this.paymentStateMachine = paymentStateMachine;
+        this.groupCommitter = groupCommitter;
+        this.paymentIdGenerator = paymentIdGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentResponseCache = paymentResponseCache;
+        this.eventPublisher = eventPublisher;
+        this.paymentMetrics = paymentMetrics;
+        this.orderNumberBaggage = orderNumberBaggage;
         this.environment = environment;
     }
 
-    @Transactional
+    // PROCESSING insert 를 먼저 커밋하고, 최종 상태는 주문 shard(PaymentStateMachine)에서 다시 읽어 반영한 뒤 응답
+    // (그룹 커밋 모드면 writer 가 다른 결제와 묶어 커밋)
     public PaymentResponse processPayment(PaymentRequest paymentRequest) {
         logger.info("Processing payment for order: {}", paymentRequest.getOrderNumber());
 
-        // 새 결제 생성
-        Payment payment = new Payment();
+        try (BaggageInScope ignored = orderNumberBaggage.open(paymentRequest.getOrderNumber())) {
+            // 새 결제 생성
+            Payment savedPayment = paymentMetrics.time(Stage.PERSIST, () -> transactionTemplate.execute(status ->
+                    insertProcessingPayment(paymentRequest)));
+
+            return mapToPaymentResponse(authorizeAndPersist(savedPayment, payment -> { }));
+        }
+    }
+
+    // Idempotency-Key 경로: IdempotencyService 가 키 선점과 같은 트랜잭션에서 insert 한(또는 재시도가 이어받은) PROCESSING 결제를
+    // processPayment 와 같은 경로로 처리한다. inTransaction 은 최종 상태를 저장하는 트랜잭션 안에서 실행 (키 완료 기록)
+    PaymentResponse authorizeProcessingPayment(Payment payment, Consumer<PaymentResponse> inTransaction) {
+        try (BaggageInScope ignored = orderNumberBaggage.open(payment.getOrderNumber())) {
+            return mapToPaymentResponse(authorizeAndPersist(payment,
+                    processed -> inTransaction.accept(mapToPaymentResponse(processed))));
+        }
+    }
+
+    // 호출자의 트랜잭션에 참여
+    Payment insertProcessingPayment(PaymentRequest paymentRequest) {
+        return paymentRepository.save(createProcessingPayment(paymentRequest));
+    }
+
+    Payment findPayment(String paymentId) {
+        return paymentRepository.findByPaymentId(paymentId)
+                .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + paymentId));
+    }
+
+    // 개발 환경인 경우 모의 결제 처리, 아니면 실제 결제 게이트웨이 호출
+    private Payment authorizeAndPersist(Payment payment, Consumer<Payment> inTransaction) {
+        return isDevelopmentEnvironment()
+                ? mockPaymentProcessing(payment, inTransaction)
+                : processPaymentWithGateway(payment, inTransaction);
+    }
+
+    // 비동기 결제 처리: PROCESSING 상태를 먼저 커밋하고, 게이트웨이 호출은 트랜잭션과 요청 스레드 밖에서 수행
+    public Mono<PaymentResponse> processPaymentAsync(PaymentRequest paymentRequest) {
+        logger.info("Accepting payment for async processing, order: {}", paymentRequest.getOrderNumber());
+
+        return Mono.fromCallable(() -> transactionTemplate.execute(status ->
+                        paymentRepository.save(createProcessingPayment(paymentRequest))))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(this::dispatchGatewayAuthorization)
+                .map(this::mapToPaymentResponse);
+    }
+
+    Payment createProcessingPayment(PaymentRequest paymentRequest) {
+        Payment payment = new Payment(paymentIdGenerator.nextId());
         payment.setOrderNumber(paymentRequest.getOrderNumber());
         payment.setAmount(paymentRequest.getAmount());
         payment.setPaymentMethod(paymentRequest.getPaymentMethod());
-        payment.setStatus(PaymentStatus.PROCESSING);
+        payment.transitionTo(PaymentStatus.PROCESSING);
+        return payment;
+    }
 
-        Payment savedPayment = paymentRepository.save(payment);
+    private void dispatchGatewayAuthorization(Payment payment) {
+        authorizeAndComplete(payment).subscribe();
+    }
 
-        // 개발 환경인 경우 모의 결제 처리
-        if (isDevelopmentEnvironment()) {
-            mockPaymentProcessing(savedPayment);
-        } else {
-            // 실제 결제 게이트웨이 호출
-            processPaymentWithGateway(savedPayment);
+    // 커밋된 PROCESSING 결제에 대해 게이트웨이를 호출하고 결과를 반영한 최종 상태를 반환
+    // 결과 반영에 실패하면 마지막으로 커밋된 상태(PROCESSING)를 반환한다
+    // 배치 승인이 켜져 있으면 동시에 들어온 결제와 함께 한 번의 게이트웨이 호출/한 번의 update 배치로 처리
+    Mono<PaymentResponse> authorizeAndComplete(Payment payment) {
+        PaymentAuthorizationBatcher batcher = authorizationBatcher.getIfAvailable();
+        if (batcher != null) {
+            return batcher.authorizeAndComplete(payment);
         }
+        return authorize(payment)
+                .flatMap(result -> Mono.fromFuture(() -> applyGatewayAuthorization(payment, result)))
+                .map(this::mapToPaymentResponse)
+                .onErrorResume(e -> {
+                    logger.error("Error persisting gateway result for payment {}: ", payment.getPaymentId(), e);
+                    return Mono.just(mapToPaymentResponse(payment));
+                });
+    }
 
-        return mapToPaymentResponse(savedPayment);
+    // 게이트웨이 호출 (개발 환경은 모의 응답). 오류와 빈 응답은 거절 결과로 바꿔 항상 하나의 결과를 방출
+    Mono<GatewayAuthorizationResponse> authorize(Payment payment) {
+        Mono<GatewayAuthorizationResponse> authorization = paymentMetrics.time(Stage.GATEWAY, isDevelopmentEnvironment()
+                ? mockGatewayAuthorization()
+                : paymentGateway.authorize(payment));
+
+        return authorization
+                .defaultIfEmpty(GatewayAuthorizationResponse.declined("Payment gateway returned an empty response"))
+                .onErrorResume(e -> {
+                    logger.error("Error calling payment gateway for payment {}: ", payment.getPaymentId(), e);
+                    return Mono.just(GatewayAuthorizationResponse.declined("Payment processing error: " + e.getMessage()));
+                });
+    }
+
+    // 배치 게이트웨이 호출. 결과는 입력과 같은 순서이며, 오류는 authorize 와 같이 결제마다 거절 결과로 바꾼다
+    Mono<List<GatewayAuthorizationResponse>> authorizeAll(List<Payment> payments) {
+        Mono<List<GatewayAuthorizationResponse>> authorization = paymentMetrics.time(Stage.GATEWAY, isDevelopmentEnvironment()
+                ? Flux.fromIterable(payments).flatMapSequential(payment -> mockGatewayAuthorization()).collectList()
+                : paymentGateway.authorizeBatch(payments));
+
+        return authorization
+                .onErrorResume(e -> {
+                    logger.error("Error calling payment gateway for batch of {} payments: ", payments.size(), e);
+                    return Mono.just(payments.stream()
+                            .map(payment -> GatewayAuthorizationResponse.declined("Payment processing error: " + e.getMessage()))
+                            .toList());
+                });
+    }
+
+    private Mono<GatewayAuthorizationResponse> mockGatewayAuthorization() {
+        // 개발 환경에서 스레드를 점유하지 않고 처리 시간 시뮬레이션
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMillis = random.nextInt(1000);
+        boolean isSuccessful = random.nextDouble() > 0.1;
+
+        return Mono.delay(Duration.ofMillis(delayMillis))
+                .map(tick -> isSuccessful
+                        ? GatewayAuthorizationResponse.approved("SANDBOX: Payment processed successfully")
+                        : GatewayAuthorizationResponse.declined("SANDBOX: Payment gateway declined the transaction"));
+    }
+
+    // 게이트웨이 결과를 짧은 두 번째 트랜잭션으로 반영 (주문 shard 에서 다시 읽어 전이하므로 같은 주문의 다른 변경과 경합하지 않음)
+    private CompletableFuture<Payment> applyGatewayAuthorization(Payment processing, GatewayAuthorizationResponse result) {
+        return paymentStateMachine.transition(processing.getOrderNumber(), processing.getId(),
+                payment -> applyAuthorizationResult(payment, result));
+    }
+
+    // 배치 게이트웨이 결과를 한 트랜잭션에서 반영: IN 조회 한 번 + JDBC update 배치 (hibernate.jdbc.batch_size)
+    // 결과는 입력과 같은 순서. 같은 결제가 그사이 다른 경로로 바뀌었으면(@Version 충돌, 허용되지 않는 전이)
+    // 배치를 롤백하고 결제마다 상태 전이 엔진으로 다시 반영한다
+    List<PaymentResponse> applyGatewayAuthorizations(List<Payment> payments, List<GatewayAuthorizationResponse> results) {
+        try {
+            return applyGatewayAuthorizationsInOneTransaction(payments, results);
+        } catch (OptimisticLockingFailureException | IllegalPaymentTransitionException e) {
+            logger.info("Batched gateway results conflicted ({}), applying {} payments one by one", e.getMessage(), payments.size());
+        }
+
+        List<CompletableFuture<PaymentResponse>> applied = new ArrayList<>(payments.size());
+        for (int i = 0; i < payments.size(); i++) {
+            Payment payment = payments.get(i);
+            applied.add(applyGatewayAuthorization(payment, results.get(i))
+                    .thenApply(this::mapToPaymentResponse)
+                    .exceptionally(e -> {
+                        logger.error("Error persisting gateway result for payment {}: ", payment.getPaymentId(), e);
+                        return mapToPaymentResponse(payment);
+                    }));
+        }
+        return applied.stream().map(CompletableFuture::join).toList();
+    }
+
+    private List<PaymentResponse> applyGatewayAuthorizationsInOneTransaction(List<Payment> payments,
+                                                                             List<GatewayAuthorizationResponse> results) {
+        List<Payment> updated = transactionTemplate.execute(status -> {
+            Map<Long, Payment> current = paymentRepository.findAllById(payments.stream().map(Payment::getId).toList()).stream()
+                    .collect(Collectors.toMap(Payment::getId, Function.identity()));
+
+            List<Payment> changed = new ArrayList<>(payments.size());
+            for (int i = 0; i < payments.size(); i++) {
+                Long id = payments.get(i).getId();
+                Payment payment = current.get(id);
+                if (payment == null) {
+                    throw new PaymentNotFoundException("Payment not found with ID: " + id);
+                }
+                applyAuthorizationResult(payment, results.get(i));
+                changed.add(payment);
+            }
+            return paymentMetrics.time(Stage.PERSIST, () -> paymentRepository.saveAllAndFlush(changed));
+        });
+        return updated.stream().map(this::mapToPaymentResponse).toList();
     }
 
     // 현재 환경이 개발 환경인지 확인하는 메소드
@@ -77,8 +293,9 @@ public class PaymentService {
                         Arrays.asList(activeProfiles).contains("local"));
     }
 
-    private void mockPaymentProcessing(Payment payment) {
+    private Payment mockPaymentProcessing(Payment payment, Consumer<Payment> inTransaction) {
         // 개발 환경에서 결제 처리 시뮬레이션
+        GatewayAuthorizationResponse result;
         try {
             // 처리 시간 시뮬레이션
             Thread.sleep(new Random().nextInt(1000));
@@ -86,85 +303,109 @@ public class PaymentService {
             // 90%의 확률로 성공
             boolean isSuccessful = new Random().nextDouble() > 0.1;
 
+            result = isSuccessful
+                    ? GatewayAuthorizationResponse.approved("SANDBOX: Payment processed successfully")
+                    : GatewayAuthorizationResponse.declined("SANDBOX: Payment gateway declined the transaction");
+            payment.applyAuthorization(result, gatewayUnavailableAction);
             if (isSuccessful) {
-                payment.markAsCompleted();
-                payment.setPaymentGatewayResponse("SANDBOX: Payment processed successfully");
-
-                // 결제 완료 이벤트 발행
-                PaymentCompletedEvent event = new PaymentCompletedEvent(
-                        payment.getPaymentId(),
-                        payment.getOrderNumber(),
-                        payment.getAmount(),
-                        PaymentStatus.COMPLETED.name(),
-                        payment.getUpdatedAt()
-                );
-
-                kafkaTemplate.send("payment-completed-topic", event);
                 logger.info("SANDBOX: Payment completed for order: {}", payment.getOrderNumber());
             } else {
-                payment.markAsFailed("SANDBOX: Payment gateway declined the transaction");
                 logger.warn("SANDBOX: Payment failed for order: {}", payment.getOrderNumber());
             }
 
-            paymentRepository.save(payment);
+            paymentMetrics.recordOutcome(payment.getStatus(), payment.getPaymentMethod());
         } catch (Exception e) {
-            payment.markAsFailed("SANDBOX: Payment processing error: " + e.getMessage());
-            paymentRepository.save(payment);
             logger.error("SANDBOX: Error processing payment: ", e);
+            return failAfterError(payment, "SANDBOX: Payment processing error: " + e.getMessage(), e, inTransaction);
         }
+        return persistFinalStatus(payment, result, inTransaction);
     }
 
-    @Transactional(readOnly = true)
+    // 캐시 hit 시에는 트랜잭션/커넥션을 열지 않음 (miss 시 리포지토리의 read-only 트랜잭션으로 조회)
     public PaymentResponse getPayment(String paymentId) {
-        Payment payment = paymentRepository.findByPaymentId(paymentId)
-                .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + paymentId));
+        return paymentResponseCache.getByPaymentId(paymentId, id -> {
+            PaymentSummary payment = findSummary(id)
+                    .or(() -> findArchivedSummary(id))
+                    .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + id));
 
-        return mapToPaymentResponse(payment);
+            return mapToPaymentResponse(payment);
+        });
     }
 
-    @Transactional(readOnly = true)
+    // 최근 파티션에 결제가 없는 주문만 보관 파티션 조회
     public List<PaymentResponse> getPaymentsByOrderNumber(String orderNumber) {
-        List<Payment> payments = paymentRepository.findByOrderNumber(orderNumber);
+        return paymentResponseCache.getByOrderNumber(orderNumber, number -> {
+            List<PaymentSummary> payments = paymentRepository.findSummariesByOrderNumber(number);
+            if (payments.isEmpty()) {
+                payments = findArchivedSummaries(number);
+            }
 
-        return payments.stream()
-                .map(this::mapToPaymentResponse)
-                .collect(Collectors.toList());
+            return payments.stream()
+                    .map(this::mapToPaymentResponse)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    // 결제 ID 에 생성 시각이 담겨 있으면 그 이전 파티션은 건너뜀
+    private Optional<PaymentSummary> findSummary(String paymentId) {
+        LocalDateTime createdFrom = createdAtLowerBound(paymentId);
+        return createdFrom != null
+                ? paymentRepository.findSummaryByPaymentIdAndCreatedAtGreaterThanEqual(paymentId, createdFrom)
+                : paymentRepository.findSummaryByPaymentId(paymentId);
+    }
+
+    // 보관 파티션 조회 (파티셔닝을 끈 환경에서는 항상 empty). 리액티브 스택도 payments 에서 못 찾았을 때 사용
+    Optional<PaymentSummary> findArchivedSummary(String paymentId) {
+        PaymentArchiveRepository archive = paymentArchiveRepository.getIfAvailable();
+        return archive != null ? archive.findSummaryByPaymentId(paymentId, createdAtLowerBound(paymentId)) : Optional.empty();
+    }
+
+    List<PaymentSummary> findArchivedSummaries(String orderNumber) {
+        PaymentArchiveRepository archive = paymentArchiveRepository.getIfAvailable();
+        return archive != null ? archive.findSummariesByOrderNumber(orderNumber) : List.of();
+    }
+
+    // createdAt 은 시스템 시간대의 LocalDateTime 이므로 같은 시간대로 변환
+    private static LocalDateTime createdAtLowerBound(String paymentId) {
+        return SnowflakePaymentIdGenerator.timestampOf(paymentId)
+                .map(timestamp -> LocalDateTime.ofInstant(timestamp.minus(PAYMENT_ID_CLOCK_SKEW), ZoneId.systemDefault()))
+                .orElse(null);
     }
 
     @Transactional
-    @KafkaListener(topics = "order-created-topic", groupId = "${spring.kafka.consumer.group-id}")
+    @KafkaListener(topics = "order-created-topic", groupId = "${spring.kafka.consumer.group-id}",
+            autoStartup = "#{!${payment.kafka.order-created.batch-enabled:false}}")
     public void handleOrderCreatedEvent(OrderCreatedEvent event) {
         logger.info("Received order created event: {}", event);
 
-        try {
-            // 이미 이 주문에 대한 결제가 있는지 확인
-            List<Payment> existingPayments = paymentRepository.findByOrderNumber(event.getOrderNumber());
-            if (!existingPayments.isEmpty()) {
+        try (BaggageInScope ignored = orderNumberBaggage.open(event.getOrderNumber())) {
+            // 이 주문에 대한 결제가 없을 때만 생성 (중복 검사와 insert 를 하나의 insert-on-conflict 로 처리)
+            Payment pendingPayment = createPendingPayment(event);
+            boolean inserted = paymentMetrics.time(Stage.ORDER_EVENT_INSERT,
+                    () -> paymentJdbcRepository.insertIfOrderHasNoPayment(pendingPayment));
+            if (!inserted) {
                 logger.warn("Payment for order {} already exists. Ignoring duplicate event.", event.getOrderNumber());
                 return;
             }
-
-            // 새 결제 생성
-            Payment payment = new Payment();
-            payment.setOrderNumber(event.getOrderNumber());
-            payment.setAmount(event.getTotalAmount());
-            payment.setPaymentMethod(event.getPaymentMethod() != null ? event.getPaymentMethod() : "CARD"); // 기본값 설정
-            payment.setStatus(PaymentStatus.PENDING);
-
-            Payment savedPayment = paymentRepository.save(payment);
-            logger.info("Created new pending payment: {} for order: {}", savedPayment.getPaymentId(), event.getOrderNumber());
+            publishPaymentChanged(pendingPayment);
+            paymentMetrics.recordOutcome(pendingPayment.getStatus(), pendingPayment.getPaymentMethod());
+            logger.info("Created new pending payment: {} for order: {}", pendingPayment.getPaymentId(), event.getOrderNumber());
 
             // 자동 결제 처리 (옵션)
             // 실제 구현에서는 자동으로 결제를 진행하지 않고 사용자가 명시적으로 결제를 진행하도록 할 수도 있음
             if (shouldAutoProcessPayment(event)) {
                 logger.info("Auto-processing payment for order: {}", event.getOrderNumber());
+                Payment savedPayment = paymentRepository.findByPaymentId(pendingPayment.getPaymentId())
+                        .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + pendingPayment.getPaymentId()));
+                savedPayment.transitionTo(PaymentStatus.PROCESSING);
+                // 리스너 트랜잭션 안이므로 최종 상태도 그 트랜잭션에서 저장된다 (주문 shard 미경유)
 
                 // 개발 환경인 경우 모의 결제 처리
                 if (isDevelopmentEnvironment()) {
-                    mockPaymentProcessing(savedPayment);
+                    mockPaymentProcessing(savedPayment, payment -> { });
                 } else {
                     // 실제 결제 게이트웨이 호출
-                    processPaymentWithGateway(savedPayment);
+                    processPaymentWithGateway(savedPayment, payment -> { });
                 }
             }
         } catch (Exception e) {
@@ -172,6 +413,62 @@ public class PaymentService {
         }
     }
 
+    // 배치 모드: OrderCreatedEventBatchListener 가 전달한 이벤트 묶음을 한 트랜잭션에서 처리
+    // (실패하면 리스너가 이벤트마다 다시 호출해 실패한 레코드만 재시도 대상으로 보고)
+    @Transactional
+    public void handleOrderCreatedEvents(List<OrderCreatedEvent> events) {
+        logger.info("Received batch of {} order created events", events.size());
+
+        // 배치 내 중복 제거 (같은 주문번호는 첫 번째 이벤트만 사용)
+        Map<String, OrderCreatedEvent> uniqueEvents = new LinkedHashMap<>();
+        for (OrderCreatedEvent event : events) {
+            if (event == null || event.getOrderNumber() == null) {
+                logger.warn("Skipping order created event without order number: {}", event);
+                continue;
+            }
+            uniqueEvents.putIfAbsent(event.getOrderNumber(), event);
+        }
+
+        if (uniqueEvents.isEmpty()) {
+            return;
+        }
+
+        // 이미 결제가 있는 주문을 한 번의 IN 쿼리로 걸러냄
+        Set<String> existingOrderNumbers = paymentRepository.findExistingOrderNumbers(uniqueEvents.keySet());
+
+        List<Payment> candidates = uniqueEvents.values().stream()
+                .filter(event -> !existingOrderNumbers.contains(event.getOrderNumber()))
+                .map(this::createPendingPayment)
+                .collect(Collectors.toList());
+
+        // 하나의 JDBC 배치로 insert-on-conflict (IN 조회 이후 다른 컨슈머가 만든 결제는 여기서 걸러짐)
+        List<Payment> newPayments = paymentMetrics.time(Stage.ORDER_EVENT_INSERT,
+                () -> paymentJdbcRepository.insertIfOrderHasNoPayment(candidates));
+        for (Payment payment : newPayments) {
+            publishPaymentChanged(payment);
+            paymentMetrics.recordOutcome(payment.getStatus(), payment.getPaymentMethod());
+        }
+
+        logger.info("Created {} pending payments, ignored {} duplicate events",
+                newPayments.size(), events.size() - newPayments.size());
+    }
+
+    // 새 결제는 PENDING 으로 시작
+    private Payment createPendingPayment(OrderCreatedEvent event) {
+        Payment payment = new Payment(paymentIdGenerator.nextId());
+        payment.setOrderNumber(event.getOrderNumber());
+        payment.setAmount(event.getTotalAmount());
+        payment.setPaymentMethod(event.getPaymentMethod() != null ? event.getPaymentMethod() : "CARD"); // 기본값 설정
+        payment.setSource(PaymentSource.ORDER_EVENT);
+        return payment;
+    }
+
+    // JDBC 로 직접 쓴 결제는 엔티티 리스너를 거치지 않으므로 변경 이벤트를 직접 발행
+    private void publishPaymentChanged(Payment payment) {
+        eventPublisher.publishEvent(PaymentChangedEvent.of(payment));
+        payment.markPersisted();
+    }
+
     // 자동 결제 처리 여부 결정 메소드
     private boolean shouldAutoProcessPayment(OrderCreatedEvent event) {
         // 여기에 비즈니스 로직 구현
@@ -188,48 +485,113 @@ public class PaymentService {
     }
 
     // 결제 게이트웨이 호출 (예시)
-    private void processPaymentWithGateway(Payment payment) {
+    private Payment processPaymentWithGateway(Payment payment, Consumer<Payment> inTransaction) {
+        GatewayAuthorizationResponse result;
         try {
-            // 실제 결제 게이트웨이 호출 대신 성공/실패를 랜덤하게 시뮬레이션
-            boolean isSuccessful = new Random().nextDouble() > 0.1; // 90% 확률로 성공
+            // 타임아웃/서킷 브레이커가 적용된 게이트웨이 호출이므로 대기 시간이 제한됨
+            // 배치 승인이 켜져 있으면 게이트웨이 호출만 다른 결제와 묶고, 결과는 호출자의 트랜잭션에서 반영
+            PaymentAuthorizationBatcher batcher = authorizationBatcher.getIfAvailable();
+            result = (batcher != null
+                    ? batcher.authorize(payment)
+                    : paymentMetrics.time(Stage.GATEWAY, paymentGateway.authorize(payment)))
+                    .defaultIfEmpty(GatewayAuthorizationResponse.declined("Payment gateway returned an empty response"))
+                    .block();
+
+            recordAuthorizationResult(payment, result);
+        } catch (Exception e) {
+            logger.error("Error processing payment: ", e);
+            return failAfterError(payment, "Payment processing error: " + e.getMessage(), e, inTransaction);
+        }
+        // 최종 상태 저장 실패(그룹 커밋 롤백, DB 오류)는 그대로 전파: 메모리의 결과는 커밋되지 않았으므로 응답하면 안 되고,
+        // 행은 PROCESSING 으로 남아 재처리기(또는 같은 Idempotency-Key 의 재시도)가 이어받는다
+        return persistFinalStatus(payment, result, inTransaction);
+    }
 
-            if (isSuccessful) {
-                payment.markAsCompleted();
-                payment.setPaymentGatewayResponse("Payment processed successfully");
-
-                // 결제 완료 이벤트 발행
-                PaymentCompletedEvent event = new PaymentCompletedEvent(
-                        payment.getPaymentId(),
-                        payment.getOrderNumber(),
-                        payment.getAmount(),
-                        PaymentStatus.COMPLETED.name(),
-                        payment.getUpdatedAt()
-                );
-
-                kafkaTemplate.send("payment-completed-topic", event);
-                logger.info("Payment completed for order: {}", payment.getOrderNumber());
-            } else {
-                payment.markAsFailed("Payment gateway declined the transaction");
-                logger.warn("Payment failed for order: {}", payment.getOrderNumber());
+    // 게이트웨이 결과를 얻기 전의 오류는 FAILED 로 저장. 결과가 이미 반영되어 최종 상태라면
+    // 저장되지 않은 그 상태를 응답하지 않도록 오류를 그대로 전파
+    private Payment failAfterError(Payment payment, String message, Exception error, Consumer<Payment> inTransaction) {
+        if (!payment.getStatus().canTransitionTo(PaymentStatus.FAILED)) {
+            throw error instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(message, error);
+        }
+        payment.markAsFailed(message);
+        paymentMetrics.recordOutcome(payment.getStatus(), payment.getPaymentMethod());
+        return persistFinalStatus(payment, GatewayAuthorizationResponse.declined(message), inTransaction);
+    }
+
+    // 결과가 반영된 결제의 최종 상태 저장 (완료면 결제 완료 이벤트를 같은 트랜잭션에서 아웃박스에 기록)
+    // 기본은 주문 shard 에서 커밋된 행을 다시 읽어 같은 결과를 반영하므로 같은 주문의 환불/재처리와 직렬화된다.
+    // 그룹 커밋 모드면 writer 의 그룹 트랜잭션이 커밋될 때까지 기다리고, 그사이 다른 경로가 결제를 바꿨거나(@Version 충돌)
+    // 대기열이 가득 차면 shard 로 반영. 호출자의 트랜잭션 안이면 행이 아직 커밋 전이라 shard 가 읽을 수 없으므로 그 트랜잭션에서 저장
+    // inTransaction 은 어느 경로든 최종 상태와 같은 트랜잭션에서 실행된다 (shard 경로는 충돌 재시도 시 다시 호출될 수 있음)
+    private Payment persistFinalStatus(Payment payment, GatewayAuthorizationResponse result, Consumer<Payment> inTransaction) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            publishIfCompleted(payment);
+            paymentMetrics.time(Stage.PERSIST, () -> paymentRepository.save(payment));
+            inTransaction.accept(payment);
+            return payment;
+        }
+
+        PaymentStatusGroupCommitter committer = groupCommitter.getIfAvailable();
+        if (committer != null) {
+            try {
+                paymentMetrics.time(Stage.PERSIST, () -> committer.submit(payment, () -> {
+                    publishIfCompleted(payment);
+                    inTransaction.accept(payment);
+                }).join());
+                return payment;
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof OptimisticLockingFailureException || e.getCause() instanceof RejectedExecutionException)) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+                logger.info("Group commit of payment {} not applied ({}), persisting it on its own", payment.getPaymentId(),
+                        e.getCause().getMessage());
             }
+        }
+        return paymentMetrics.time(Stage.PERSIST, () -> paymentStateMachine.transitionAndWait(payment.getOrderNumber(),
+                payment.getId(), current -> {
+                    current.applyAuthorization(result, gatewayUnavailableAction);
+                    publishIfCompleted(current);
+                    inTransaction.accept(current);
+                }));
+    }
 
-            paymentRepository.save(payment);
-        } catch (Exception e) {
-            payment.markAsFailed("Payment processing error: " + e.getMessage());
-            paymentRepository.save(payment);
-            logger.error("Error processing payment: ", e);
+    // 게이트웨이 응답을 결제에 반영 (호출자의 트랜잭션 안에서 실행)
+    private void applyAuthorizationResult(Payment payment, GatewayAuthorizationResponse result) {
+        recordAuthorizationResult(payment, result);
+        publishIfCompleted(payment);
+    }
+
+    // 아웃박스 기록 없이 응답 반영 + 로그/지표 (아웃박스는 최종 상태를 저장하는 트랜잭션에서 기록)
+    private void recordAuthorizationResult(Payment payment, GatewayAuthorizationResponse result) {
+        payment.applyAuthorization(result, gatewayUnavailableAction);
+        logAuthorizationOutcome(payment);
+        paymentMetrics.recordOutcome(payment.getStatus(), payment.getPaymentMethod());
+    }
+
+    // 결제 완료 이벤트는 최종 상태와 같은 트랜잭션에서 아웃박스에 기록
+    private void publishIfCompleted(Payment payment) {
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            publishPaymentCompleted(payment);
         }
     }
 
-    private PaymentResponse mapToPaymentResponse(Payment payment) {
-        PaymentResponse response = new PaymentResponse();
-        response.setPaymentId(payment.getPaymentId());
-        response.setOrderNumber(payment.getOrderNumber());
-        response.setAmount(payment.getAmount());
-        response.setStatus(payment.getStatus());
-        response.setPaymentMethod(payment.getPaymentMethod());
-        response.setCreatedAt(payment.getCreatedAt());
-        response.setUpdatedAt(payment.getUpdatedAt());
-        return response;
+    static void logAuthorizationOutcome(Payment payment) {
+        switch (payment.getStatus()) {
+            case COMPLETED -> logger.info("Payment completed for order: {}", payment.getOrderNumber());
+            // 게이트웨이에 요청이 전달되지 않았으므로 재처리 대상으로 PENDING 유지
+            case PENDING -> logger.warn("Payment gateway unavailable, leaving payment pending for order: {}", payment.getOrderNumber());
+            default -> logger.warn("Payment failed for order: {}", payment.getOrderNumber());
+        }
+    }
+
+    private void publishPaymentCompleted(Payment payment) {
+        PaymentCompletedEvent event = PaymentCompletedEvent.of(payment);
+
+        paymentMetrics.time(Stage.OUTBOX_APPEND,
+                () -> paymentEventOutbox.append("payment-completed-topic", payment.getOrderNumber(), event));
+    }
+
+    PaymentResponse mapToPaymentResponse(PaymentSummary payment) {
+        return PaymentResponseMapper.toResponse(payment);
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.concurrency.KeyedExecutor;
+import com.example.paymentservice.exception.PaymentNotFoundException;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.repository.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 결제 상태 전이 엔진: 같은 주문번호의 상태 변경은 주문번호 해시로 고른 단일 writer shard(KeyedExecutor lane)에서
+// 순서대로 실행해 인스턴스 안의 경합을 잠금 없이 없애고, 다른 인스턴스와의 경합은 @Version 낙관적 잠금으로 감지해 다시 읽고 재시도한다.
+// 전이 자체의 허용 여부는 Payment.transitionTo / PaymentStatus.canTransitionTo 가 검증한다.
+// shard 를 거치지 않는 쓰기는 @Version 으로만 경합을 감지한다: 호출자의 트랜잭션 안에서 커밋 전 행을 쓰는 경로
+// (주문 이벤트 자동 처리, 주문 이벤트 insert), 배치 승인 결과 반영(충돌 시 shard 로 재반영), reactive 프로필의 키 없는 결제.
+@Component
+public class PaymentStateMachine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentStateMachine.class);
+
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final KeyedExecutor shards;
+    private final Counter conflicts;
+    private final int maxConflictRetries;
+
+    @Autowired
+    public PaymentStateMachine(PaymentRepository paymentRepository, TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${payment.transition.shards:8}") int shardCount,
+                               @Value("${payment.transition.max-conflict-retries:3}") int maxConflictRetries,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxConflictRetries = maxConflictRetries;
+        // shard 는 순서 보장용 직렬 큐이므로 가상 스레드면 shard 수를 늘려도 플랫폼 스레드가 늘지 않음
+        this.shards = virtualThreadsEnabled
+                ? new KeyedExecutor("payment-transition", shardCount, Thread.ofVirtual().name("payment-transition-", 1).factory())
+                : new KeyedExecutor("payment-transition", shardCount);
+        this.conflicts = Counter.builder("payment.transition.conflicts")
+                .description("Optimistic lock conflicts retried by the payment state machine")
+                .register(meterRegistry);
+    }
+
+    // 주문의 shard 에서 결제를 다시 읽고 mutation 을 적용해 한 트랜잭션으로 저장한 뒤 저장된 결제를 돌려준다
+    // mutation 은 충돌 시 새로 읽은 결제로 다시 호출될 수 있으므로 결제 외의 부수 효과는 같은 트랜잭션 안의 것만 둔다
+    public CompletableFuture<Payment> transition(String orderNumber, Long paymentId, Consumer<Payment> mutation) {
+        return execute(orderNumber, () -> {
+            Payment payment = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + paymentId));
+            mutation.accept(payment);
+            return paymentRepository.saveAndFlush(payment);
+        });
+    }
+
+    // 주문 단위로 직렬화할 임의의 트랜잭션 작업 (낙관적 잠금 충돌 시 재시도)
+    public <T> CompletableFuture<T> execute(String orderNumber, Supplier<T> work) {
+        return shards.supply(orderNumber, () -> executeWithRetry(orderNumber, work));
+    }
+
+    // 블로킹 호출자용. CompletionException 은 원인 예외로 풀어서 던진다
+    public Payment transitionAndWait(String orderNumber, Long paymentId, Consumer<Payment> mutation) {
+        return await(transition(orderNumber, paymentId, mutation));
+    }
+
+    public <T> T executeAndWait(String orderNumber, Supplier<T> work) {
+        return await(execute(orderNumber, work));
+    }
+
+    private <T> T executeWithRetry(String orderNumber, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt > maxConflictRetries) {
+                    throw e;
+                }
+                conflicts.increment();
+                logger.debug("Concurrent update on order {}, retrying transition (attempt {})", orderNumber, attempt);
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shards.shutdown();
+    }
+}
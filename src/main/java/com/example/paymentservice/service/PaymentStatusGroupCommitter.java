@@ -0,0 +1,183 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.event.PaymentChangedEvent;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.repository.PaymentJdbcRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// 최종 상태 그룹 커밋 (payment.group-commit.enabled): 결제마다 따로 하던 최종 상태 update + 커밋을
+// 단일 writer 스레드가 max-delay-ms 동안(또는 max-group-size 까지) 모아 한 트랜잭션의 JDBC update 배치로 커밋한다.
+// 호출자의 future 는 그룹이 커밋된 뒤에 완료되므로 응답 시점의 내구성은 행 단위 저장과 같다.
+// 그룹 트랜잭션이 롤백되면 모든 future 를 그 예외로 완료하고, 호출자(PaymentService)는 완료 응답 대신 오류를 전파한다.
+// 대기열은 queue-capacity 로 제한되며, offer-timeout-ms 안에 자리가 나지 않으면 RejectedExecutionException 으로 완료한다.
+@Component
+@ConditionalOnProperty(name = "payment.group-commit.enabled", havingValue = "true")
+public class PaymentStatusGroupCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentStatusGroupCommitter.class);
+
+    private final PaymentJdbcRepository paymentJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<Entry> queue;
+    private final int maxGroupSize;
+    private final long maxDelayNanos;
+    private final long offerTimeoutMs;
+    private final DistributionSummary groupSizes;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public PaymentStatusGroupCommitter(PaymentJdbcRepository paymentJdbcRepository, TransactionTemplate transactionTemplate,
+                                       ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                       @Value("${payment.group-commit.max-group-size:100}") int maxGroupSize,
+                                       @Value("${payment.group-commit.max-delay-ms:5}") long maxDelayMs,
+                                       @Value("${payment.group-commit.queue-capacity:1000}") int queueCapacity,
+                                       @Value("${payment.group-commit.offer-timeout-ms:100}") long offerTimeoutMs) {
+        if (maxGroupSize < 1) {
+            throw new IllegalArgumentException("payment.group-commit.max-group-size must be positive: " + maxGroupSize);
+        }
+        this.paymentJdbcRepository = paymentJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxGroupSize = maxGroupSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.groupSizes = DistributionSummary.builder("payment.group-commit.size")
+                .description("Final status updates committed per transaction")
+                .register(meterRegistry);
+        Gauge.builder("payment.group-commit.queue", queue, BlockingQueue::size)
+                .description("Final status updates waiting for the group commit writer")
+                .register(meterRegistry);
+        this.writer = new Thread(this::run, "payment-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // 상태가 반영된(아직 저장되지 않은) 결제를 다음 그룹에 넣는다. inTransaction 은 그룹 트랜잭션 안에서 실행 (아웃박스 기록 등)
+    // 저장된 version 이 결제의 version 과 다르면 OptimisticLockingFailureException 으로 완료하고 나머지 그룹은 커밋한다
+    public CompletableFuture<Void> submit(Payment payment, Runnable inTransaction) {
+        Entry entry = new Entry(payment, inTransaction, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Group commit queue is full or shut down"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Interrupted while queueing final status", e));
+        }
+        return entry.result();
+    }
+
+    // 첫 항목이 들어오면 max-delay-ms 까지 기다리며 그룹을 채운다 (종료 중이면 남은 항목을 모두 커밋)
+    private void run() {
+        List<Entry> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (group.size() < maxGroupSize) {
+                    Entry next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error in group commit writer: ", e);
+                group.forEach(entry -> entry.result().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+
+        Entry abandoned;
+        while ((abandoned = queue.poll()) != null) {
+            abandoned.result().completeExceptionally(new RejectedExecutionException("Group commit writer stopped"));
+        }
+    }
+
+    private void commit(List<Entry> group) {
+        groupSizes.record(group.size());
+        List<Payment> payments = group.stream().map(Entry::payment).toList();
+
+        boolean[] applied;
+        try {
+            applied = transactionTemplate.execute(status -> {
+                int[] counts = paymentJdbcRepository.updateFinalStatuses(payments);
+                boolean[] updated = new boolean[group.size()];
+                for (int i = 0; i < group.size(); i++) {
+                    if (counts[i] == 0) {
+                        continue;
+                    }
+                    updated[i] = true;
+                    group.get(i).inTransaction().run();
+                    // JDBC 로 쓴 결제는 엔티티 리스너를 거치지 않으므로 변경 이벤트를 직접 발행 (리스너는 커밋 후 실행)
+                    eventPublisher.publishEvent(PaymentChangedEvent.of(payments.get(i)));
+                }
+                return updated;
+            });
+        } catch (RuntimeException e) {
+            // 롤백됐으므로 PROCESSING 으로 남고 재처리기가 다시 시도
+            logger.error("Error committing group of {} final status updates: ", group.size(), e);
+            group.forEach(entry -> entry.result().completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            Entry entry = group.get(i);
+            Payment payment = entry.payment();
+            if (applied[i]) {
+                payment.setVersion(payment.getVersion() + 1);
+                payment.markPersisted();
+                entry.result().complete(null);
+            } else {
+                entry.result().completeExceptionally(new OptimisticLockingFailureException(
+                        "Payment " + payment.getPaymentId() + " was updated concurrently"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Entry(Payment payment, Runnable inTransaction, CompletableFuture<Void> result) {
+    }
+}
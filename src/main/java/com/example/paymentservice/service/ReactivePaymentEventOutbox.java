@@ -0,0 +1,89 @@
+package com.example.paymentservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// reactive 프로필의 아웃박스: 이벤트를 결제 변경과 같은 R2DBC 트랜잭션에서 payment_outbox 에 기록하고,
+// 커밋 후 바로 Kafka 로 논블로킹 전송한 뒤 ack 를 받으면 행을 지운다.
+// 전송이 실패하거나 인스턴스가 도중에 죽으면 행이 남아 OutboxRelay 가 재전송하므로 서블릿 스택과 같은 at-least-once 보장
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePaymentEventOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentEventOutbox.class);
+
+    private static final String INSERT_OUTBOX_EVENT = """
+            INSERT INTO payment_outbox (id, topic, message_key, event_type, payload, created_at)
+            VALUES (nextval('payment_outbox_seq'), :topic, :messageKey, :eventType, :payload, :createdAt)
+            RETURNING id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${payment.outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Autowired
+    public ReactivePaymentEventOutbox(DatabaseClient paymentDatabaseClient, KafkaTemplate<String, Object> kafkaTemplate,
+                                      ObjectMapper objectMapper) {
+        this.databaseClient = paymentDatabaseClient;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    // 호출자의 트랜잭션 안에서 기록하고 커밋 후 publish 에 넘길 항목을 반환
+    public Mono<PendingEvent> append(String topic, String key, Object event) {
+        String eventType;
+        String payload;
+        try {
+            eventType = OutboxEventTypes.nameOf(event);
+            payload = objectMapper.writeValueAsString(event);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new IllegalStateException("Failed to serialize outbox event " + event.getClass().getSimpleName(), e));
+        }
+
+        return databaseClient.sql(INSERT_OUTBOX_EVENT)
+                .bind("topic", topic)
+                .bind("messageKey", key)
+                .bind("eventType", eventType)
+                .bind("payload", payload)
+                .bind("createdAt", LocalDateTime.now())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> new PendingEvent(id, topic, key, event));
+    }
+
+    // 커밋 이후 호출. 실패는 로그만 남기고 삼킴 (릴레이가 이어받음)
+    public Mono<Void> publish(PendingEvent pending) {
+        return Mono.fromFuture(() -> kafkaTemplate.send(pending.topic(), pending.key(), pending.event()))
+                .timeout(Duration.ofMillis(sendTimeoutMs))
+                .then(databaseClient.sql("DELETE FROM payment_outbox WHERE id = :id")
+                        .bind("id", pending.id())
+                        .fetch()
+                        .rowsUpdated())
+                .then()
+                .onErrorResume(e -> {
+                    logger.warn("Direct publish of outbox event {} failed, leaving it for the relay: {}", pending.id(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public record PendingEvent(Long id, String topic, String key, Object event) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.cache.PaymentResponseCache;
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.event.PaymentChangedEvent;
+import com.example.paymentservice.event.PaymentCompletedEvent;
+import com.example.paymentservice.exception.PaymentNotFoundException;
+import com.example.paymentservice.gateway.GatewayAuthorizationResponse;
+import com.example.paymentservice.gateway.GatewayUnavailableAction;
+import com.example.paymentservice.metrics.PaymentMetrics;
+import com.example.paymentservice.metrics.PaymentMetrics.Stage;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.ReactivePaymentRepository;
+import com.example.paymentservice.service.ReactivePaymentEventOutbox.PendingEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+
+// reactive 프로필의 결제 API 처리 (R2DBC + 논블로킹 게이트웨이 호출 + Kafka 직접 전송)
+// 결제 생성/게이트웨이 호출/결과 판정은 PaymentService 와 Payment 의 로직을 그대로 사용하므로 두 스택의 결과가 같다.
+// 흐름은 PaymentService.processPaymentAsync 와 같다: PROCESSING 을 먼저 커밋 → 게이트웨이 → 결과와 아웃박스를 한 트랜잭션으로 반영
+// 단, 최종 상태는 PaymentStateMachine 의 주문번호 shard 를 거치지 않고 Payment.applyAuthorization 을 직접 적용한다 (shard 는 블로킹 JPA 기반).
+// 같은 주문의 다른 변경(환불, 재처리기)과는 직렬화되지 않으며, 경합은 update 의 version 조건으로만 감지되어
+// OptimisticLockingFailureException 이면 PROCESSING 응답 후 재처리기가 이어받는다.
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentService.class);
+
+    private final PaymentService paymentService;
+    private final ReactivePaymentRepository paymentRepository;
+    private final ReactivePaymentEventOutbox paymentEventOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final PaymentResponseCache paymentResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaymentMetrics paymentMetrics;
+
+    @Value("${payment.gateway.unavailable-action:FAIL}")
+    private GatewayUnavailableAction gatewayUnavailableAction;
+
+    @Autowired
+    public ReactivePaymentService(PaymentService paymentService, ReactivePaymentRepository paymentRepository,
+                                  ReactivePaymentEventOutbox paymentEventOutbox,
+                                  TransactionalOperator paymentTransactionalOperator,
+                                  PaymentResponseCache paymentResponseCache, ApplicationEventPublisher eventPublisher,
+                                  PaymentMetrics paymentMetrics) {
+        this.paymentService = paymentService;
+        this.paymentRepository = paymentRepository;
+        this.paymentEventOutbox = paymentEventOutbox;
+        this.transactionalOperator = paymentTransactionalOperator;
+        this.paymentResponseCache = paymentResponseCache;
+        this.eventPublisher = eventPublisher;
+        this.paymentMetrics = paymentMetrics;
+    }
+
+    // 게이트웨이 결과까지 반영한 최종 상태를 반환
+    public Mono<PaymentResponse> processPayment(PaymentRequest paymentRequest) {
+        logger.info("Processing payment for order: {}", paymentRequest.getOrderNumber());
+
+        return insertProcessingPayment(paymentRequest)
+                .flatMap(this::authorizeAndComplete);
+    }
+
+    // PROCESSING 커밋 직후 응답하고 게이트웨이 호출은 요청과 분리해서 진행
+    public Mono<PaymentResponse> processPaymentAsync(PaymentRequest paymentRequest) {
+        logger.info("Accepting payment for async processing, order: {}", paymentRequest.getOrderNumber());
+
+        return insertProcessingPayment(paymentRequest)
+                .doOnNext(payment -> authorizeAndComplete(payment).subscribe())
+                .map(paymentService::mapToPaymentResponse);
+    }
+
+    // payments 에 없으면 보관 파티션을 JDBC 로 조회 (boundedElastic)
+    public Mono<PaymentResponse> getPayment(String paymentId) {
+        return paymentResponseCache.getByPaymentIdAsync(paymentId, id -> paymentRepository.findByPaymentId(id)
+                .map(paymentService::mapToPaymentResponse)
+                .switchIfEmpty(Mono.fromCallable(() -> paymentService.findArchivedSummary(id))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(Mono::justOrEmpty)
+                        .map(paymentService::mapToPaymentResponse))
+                .switchIfEmpty(Mono.error(() -> new PaymentNotFoundException("Payment not found with ID: " + id))));
+    }
+
+    public Mono<List<PaymentResponse>> getPaymentsByOrderNumber(String orderNumber) {
+        return paymentResponseCache.getByOrderNumberAsync(orderNumber, number -> paymentRepository.findByOrderNumber(number)
+                .map(paymentService::mapToPaymentResponse)
+                .collectList()
+                .flatMap(payments -> payments.isEmpty()
+                        ? Mono.fromCallable(() -> paymentService.findArchivedSummaries(number))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .map(archived -> archived.stream().map(paymentService::mapToPaymentResponse).toList())
+                        : Mono.just(payments)));
+    }
+
+    private Mono<Payment> insertProcessingPayment(PaymentRequest paymentRequest) {
+        Payment payment = paymentService.createProcessingPayment(paymentRequest);
+        return paymentMetrics.time(Stage.PERSIST, paymentRepository.insert(payment))
+                .doOnNext(this::publishPaymentChanged);
+    }
+
+    // 결과 반영에 실패하면 마지막으로 커밋된 상태(PROCESSING)를 반환 (재처리기가 이어받음)
+    private Mono<PaymentResponse> authorizeAndComplete(Payment payment) {
+        return paymentService.authorize(payment)
+                .flatMap(result -> applyGatewayAuthorization(payment, result))
+                .map(paymentService::mapToPaymentResponse)
+                .onErrorResume(e -> {
+                    logger.error("Error persisting gateway result for payment {}: ", payment.getPaymentId(), e);
+                    return Mono.just(paymentService.mapToPaymentResponse(payment));
+                });
+    }
+
+    // 서블릿 스택과 같이 트랜잭션 안에서 커밋된 행을 다시 읽어 그 위에 결과와 아웃박스 이벤트를 반영
+    // 상태 전이 엔진을 우회하는 지점: 충돌 시 재시도하지 않고 실패로 끝낸다 (authorizeAndComplete 가 PROCESSING 을 반환)
+    private Mono<Payment> applyGatewayAuthorization(Payment processing, GatewayAuthorizationResponse result) {
+        return paymentRepository.findById(processing.getId())
+                .switchIfEmpty(Mono.error(() -> new PaymentNotFoundException("Payment not found with ID: " + processing.getId())))
+                .flatMap(payment -> {
+                    payment.applyAuthorization(result, gatewayUnavailableAction);
+                    Mono<Optional<PendingEvent>> completedEvent = payment.getStatus() == PaymentStatus.COMPLETED
+                            ? paymentMetrics.time(Stage.OUTBOX_APPEND, paymentEventOutbox.append("payment-completed-topic",
+                                    payment.getOrderNumber(), PaymentCompletedEvent.of(payment))).map(Optional::of)
+                            : Mono.just(Optional.empty());
+
+                    return paymentMetrics.time(Stage.PERSIST, paymentRepository.update(payment))
+                            .then(completedEvent)
+                            .map(pending -> new AppliedResult(payment, pending));
+                })
+                .as(transactionalOperator::transactional)
+                .flatMap(applied -> afterCommit(applied.payment(), applied.completedEvent()));
+    }
+
+    private Mono<Payment> afterCommit(Payment payment, Optional<PendingEvent> completedEvent) {
+        PaymentService.logAuthorizationOutcome(payment);
+        paymentMetrics.recordOutcome(payment.getStatus(), payment.getPaymentMethod());
+        publishPaymentChanged(payment);
+
+        // 이벤트는 이미 아웃박스에 커밋되었으므로 Kafka ack 를 기다리지 않고 응답
+        completedEvent.ifPresent(pending -> paymentEventOutbox.publish(pending).subscribe());
+        return Mono.just(payment);
+    }
+
+    // R2DBC 로 쓴 결제는 JPA 엔티티 리스너를 거치지 않으므로 (캐시 무효화, 통계 롤업용) 변경 이벤트를 커밋 후 직접 발행
+    private void publishPaymentChanged(Payment payment) {
+        eventPublisher.publishEvent(PaymentChangedEvent.of(payment));
+        payment.markPersisted();
+    }
+
+    private record AppliedResult(Payment payment, Optional<PendingEvent> completedEvent) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.dto.RefundResponse;
+import com.example.paymentservice.exception.PaymentNotFoundException;
+import com.example.paymentservice.exception.RefundNotFoundException;
+import com.example.paymentservice.id.PaymentIdGenerator;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.Refund;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.example.paymentservice.repository.RefundRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 환불 요청 접수와 조회. 요청은 결제 금액에서 정산 대기 금액으로 예약만 하고, 게이트웨이 환불은 RefundSettlementService 가 묶어서 보낸다
+// 예약은 주문 shard(PaymentStateMachine)에서 하므로 같은 결제에 동시에 들어온 환불 요청이 결제 금액을 넘지 않는다
+// 환불 기간은 결제가 payments 에 남아 있는 동안(payment.partitioning.hot-months)이며, payments_archive 로 옮겨진 결제는 409
+@Service
+public class RefundService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefundService.class);
+
+    static final String REFUND_ID_PREFIX = "RFD-";
+
+    private final PaymentRepository paymentRepository;
+    private final RefundRepository refundRepository;
+    private final PaymentStateMachine paymentStateMachine;
+    private final PaymentService paymentService;
+    private final PaymentIdGenerator paymentIdGenerator;
+
+    @Autowired
+    public RefundService(PaymentRepository paymentRepository, RefundRepository refundRepository,
+                         PaymentStateMachine paymentStateMachine, PaymentService paymentService,
+                         PaymentIdGenerator paymentIdGenerator) {
+        this.paymentRepository = paymentRepository;
+        this.refundRepository = refundRepository;
+        this.paymentStateMachine = paymentStateMachine;
+        this.paymentService = paymentService;
+        this.paymentIdGenerator = paymentIdGenerator;
+    }
+
+    // 완료되지 않은 결제면 IllegalPaymentTransitionException (409), 환불 가능 금액을 넘으면 409
+    public RefundResponse requestRefund(String paymentId, RefundRequest request) {
+        return requestRefund(paymentId, request, response -> { });
+    }
+
+    // inTransaction 은 환불 예약과 같은 트랜잭션에서 실행 (Idempotency-Key 완료 기록)
+    public RefundResponse requestRefund(String paymentId, RefundRequest request, Consumer<RefundResponse> inTransaction) {
+        Payment payment = paymentRepository.findByPaymentId(paymentId)
+                .orElseThrow(() -> paymentService.findArchivedSummary(paymentId).isPresent()
+                        ? new ResponseStatusException(HttpStatus.CONFLICT, "Payment " + paymentId + " is archived, refund window closed")
+                        : new PaymentNotFoundException("Payment not found with ID: " + paymentId));
+
+        Refund refund = paymentStateMachine.executeAndWait(payment.getOrderNumber(), () -> {
+            Payment current = paymentRepository.findById(payment.getId())
+                    .orElseThrow(() -> new PaymentNotFoundException("Payment not found with ID: " + paymentId));
+            BigDecimal amount = request.getAmount() != null ? request.getAmount() : current.getRefundableAmount();
+            try {
+                current.reserveRefund(amount);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+            }
+            paymentRepository.saveAndFlush(current);
+            Refund saved = refundRepository.save(new Refund(nextRefundId(), current, amount, request.getReason()));
+            inTransaction.accept(mapToRefundResponse(saved));
+            return saved;
+        });
+
+        logger.info("Refund {} of {} requested for payment {}", refund.getRefundId(), refund.getAmount(), paymentId);
+        return mapToRefundResponse(refund);
+    }
+
+    public RefundResponse getRefund(String refundId) {
+        return refundRepository.findByRefundId(refundId)
+                .map(this::mapToRefundResponse)
+                .orElseThrow(() -> new RefundNotFoundException("Refund not found with ID: " + refundId));
+    }
+
+    public List<RefundResponse> getRefunds(String paymentId) {
+        return refundRepository.findByPaymentIdOrderById(paymentId).stream()
+                .map(this::mapToRefundResponse)
+                .toList();
+    }
+
+    // 결제 ID 와 같은 Snowflake ID 에 환불 접두사를 붙임
+    private String nextRefundId() {
+        String id = paymentIdGenerator.nextId();
+        return REFUND_ID_PREFIX + id.substring(id.indexOf('-') + 1);
+    }
+
+    RefundResponse mapToRefundResponse(Refund refund) {
+        RefundResponse response = new RefundResponse();
+        response.setRefundId(refund.getRefundId());
+        response.setPaymentId(refund.getPaymentId());
+        response.setOrderNumber(refund.getOrderNumber());
+        response.setAmount(refund.getAmount());
+        response.setStatus(refund.getStatus());
+        response.setReason(refund.getReason());
+        response.setCreatedAt(refund.getCreatedAt());
+        response.setSettledAt(refund.getSettledAt());
+        return response;
+    }
+}
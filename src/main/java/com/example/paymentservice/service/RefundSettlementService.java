@@ -0,0 +1,246 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.event.RefundCompletedEvent;
+import com.example.paymentservice.exception.IllegalPaymentTransitionException;
+import com.example.paymentservice.gateway.GatewayRefundResponse;
+import com.example.paymentservice.gateway.PaymentGateway;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.Refund;
+import com.example.paymentservice.model.RefundStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.example.paymentservice.repository.RefundRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 환불 정산 엔진: 정산 대기 환불을 결제 수단별로 id 키셋 순서의 청크로 잠가(SKIP LOCKED) PROCESSING 으로 점유하고,
+// 청크 하나를 게이트웨이 배치 환불 한 번으로 보낸 뒤 결과를 한 트랜잭션에서 반영한다.
+// 청크는 게이트웨이 호출 쪽의 요청(backpressure)만큼만 점유하므로 한 번의 실행에서 수십만 건을 처리해도
+// 메모리에는 batch-size x concurrency 건만 올라온다. 점유가 오래된 PROCESSING 환불은 다른 실행/레플리카가 다시 보내며,
+// 게이트웨이에는 환불 ID 가 멱등 키로 전달되므로 중복 환불되지 않는다.
+@Component
+@ConditionalOnProperty(name = "payment.refund.settlement.enabled", havingValue = "true", matchIfMissing = true)
+public class RefundSettlementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefundSettlementService.class);
+
+    private static final String REFUNDED_TOPIC = "payment-refunded-topic";
+
+    private final RefundRepository refundRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final PaymentStateMachine paymentStateMachine;
+    private final PaymentEventOutbox paymentEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${payment.refund.settlement.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payment.refund.settlement.concurrency:4}")
+    private int concurrency;
+
+    @Value("${payment.refund.settlement.processing-stale-seconds:600}")
+    private long processingStaleSeconds;
+
+    @Value("${payment.refund.settlement.run-timeout-ms:3600000}")
+    private long runTimeoutMs;
+
+    @Autowired
+    public RefundSettlementService(RefundRepository refundRepository, PaymentRepository paymentRepository,
+                                   PaymentGateway paymentGateway, PaymentStateMachine paymentStateMachine,
+                                   PaymentEventOutbox paymentEventOutbox, TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.refundRepository = refundRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.paymentStateMachine = paymentStateMachine;
+        this.paymentEventOutbox = paymentEventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(cron = "${payment.refund.settlement.cron:0 */5 * * * *}")
+    public void settle() {
+        try {
+            List<String> paymentMethods = refundRepository.findPaymentMethodsAwaitingSettlement();
+            if (paymentMethods.isEmpty()) {
+                return;
+            }
+
+            // 결제 수단마다 청크를 차례로 만들고, 게이트웨이 호출은 최대 concurrency 개까지 동시에 진행
+            Long settled = Flux.fromIterable(paymentMethods)
+                    .concatMap(this::claimedChunks)
+                    .flatMap(this::settleChunk, concurrency, 1)
+                    .reduce(0L, Long::sum)
+                    .block(Duration.ofMillis(runTimeoutMs));
+            logger.info("Settled {} refunds for payment methods {}", settled, paymentMethods);
+        } catch (Exception e) {
+            logger.error("Error settling refunds: ", e);
+        }
+    }
+
+    // 결제 수단 하나의 정산 대상을 요청이 올 때마다 한 청크씩 점유
+    private Flux<Chunk> claimedChunks(String paymentMethod) {
+        return Flux.<Chunk, Long>generate(() -> 0L, (afterId, sink) -> {
+            List<Refund> refunds = transactionTemplate.execute(status -> claimChunk(paymentMethod, afterId));
+            if (refunds.isEmpty()) {
+                sink.complete();
+                return afterId;
+            }
+            sink.next(new Chunk(paymentMethod, refunds));
+            if (refunds.size() < batchSize) {
+                sink.complete();
+            }
+            return refunds.get(refunds.size() - 1).getId();
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private List<Refund> claimChunk(String paymentMethod, long afterId) {
+        LocalDateTime processingBefore = LocalDateTime.now().minusSeconds(processingStaleSeconds);
+        List<Refund> refunds = refundRepository.lockSettlementBatch(paymentMethod, afterId, processingBefore, batchSize);
+        refunds.forEach(Refund::markAsProcessing);
+        // flush 로 version 을 올려 두면 결과 반영 시 다른 인스턴스의 재점유를 감지할 수 있음
+        refundRepository.saveAllAndFlush(refunds);
+        return refunds;
+    }
+
+    // 게이트웨이 오류(재시도 소진, 타임아웃)면 PROCESSING 으로 남겨 점유가 오래된 뒤 다시 보냄
+    private Mono<Long> settleChunk(Chunk chunk) {
+        return paymentGateway.refundBatch(chunk.paymentMethod(), chunk.refunds())
+                .publishOn(Schedulers.boundedElastic())
+                .map(results -> (long) applyResults(chunk.refunds(), results))
+                .onErrorResume(e -> {
+                    logger.error("Error settling {} {} refunds: ", chunk.refunds().size(), chunk.paymentMethod(), e);
+                    settled("error", chunk.refunds().size());
+                    return Mono.just(0L);
+                });
+    }
+
+    // 청크 결과를 한 트랜잭션에서 반영: 환불/결제 IN 조회 한 번 + update 배치
+    // 같은 결제가 그사이 다른 경로로 바뀌었으면(@Version 충돌, 허용되지 않는 전이) 롤백하고 환불마다 주문 shard 에서 다시 반영
+    int applyResults(List<Refund> claimed, List<GatewayRefundResponse> results) {
+        try {
+            return applyResultsInOneTransaction(claimed, results);
+        } catch (OptimisticLockingFailureException | IllegalPaymentTransitionException e) {
+            logger.info("Batched refund results conflicted ({}), applying {} refunds one by one", e.getMessage(), claimed.size());
+        }
+
+        List<CompletableFuture<Outcome>> outcomes = new ArrayList<>(claimed.size());
+        for (int i = 0; i < claimed.size(); i++) {
+            Refund refund = claimed.get(i);
+            GatewayRefundResponse result = results.get(i);
+            outcomes.add(paymentStateMachine.execute(refund.getOrderNumber(), () -> {
+                Outcome outcome = apply(refund, refundRepository.findById(refund.getId()).orElse(null),
+                        paymentRepository.findByPaymentId(refund.getPaymentId()).orElse(null), result);
+                refundRepository.flush();
+                return outcome;
+            }).exceptionally(e -> {
+                logger.error("Error applying gateway result for refund {}: ", refund.getRefundId(), e);
+                return Outcome.ERROR;
+            }));
+        }
+        return record(outcomes.stream().map(CompletableFuture::join).toList());
+    }
+
+    private int applyResultsInOneTransaction(List<Refund> claimed, List<GatewayRefundResponse> results) {
+        List<Outcome> outcomes = transactionTemplate.execute(status -> {
+            Map<Long, Refund> refunds = refundRepository.findAllById(claimed.stream().map(Refund::getId).toList()).stream()
+                    .collect(Collectors.toMap(Refund::getId, Function.identity()));
+            Map<String, Payment> payments = paymentRepository.findByPaymentIdIn(
+                            claimed.stream().map(Refund::getPaymentId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Payment::getPaymentId, Function.identity()));
+
+            List<Outcome> applied = new ArrayList<>(claimed.size());
+            for (int i = 0; i < claimed.size(); i++) {
+                Refund refund = claimed.get(i);
+                applied.add(apply(refund, refunds.get(refund.getId()), payments.get(refund.getPaymentId()), results.get(i)));
+            }
+            refundRepository.flush();
+            return applied;
+        });
+        return record(outcomes);
+    }
+
+    // 호출자의 트랜잭션 안에서 환불 하나의 결과를 반영 (결제와 환불은 호출자가 flush)
+    private Outcome apply(Refund claimed, Refund refund, Payment payment, GatewayRefundResponse result) {
+        // 점유가 오래되어 다른 실행이 다시 점유했으면 그쪽이 반영
+        if (refund == null || refund.getStatus() != RefundStatus.PROCESSING
+                || !Objects.equals(refund.getVersion(), claimed.getVersion())) {
+            return Outcome.SUPERSEDED;
+        }
+        if (result.isUnavailable()) {
+            refund.release(result.getMessage());
+            return Outcome.DEFERRED;
+        }
+        if (payment == null) {
+            throw new IllegalStateException("Payment " + refund.getPaymentId() + " of refund " + refund.getRefundId() + " not found");
+        }
+
+        if (result.isApproved()) {
+            refund.markAsCompleted(result.getMessage());
+            payment.settleRefund(refund.getAmount());
+            // 환불 완료 이벤트는 같은 트랜잭션에서 아웃박스에 기록
+            paymentEventOutbox.append(REFUNDED_TOPIC, refund.getOrderNumber(), RefundCompletedEvent.of(refund, payment));
+            return Outcome.COMPLETED;
+        }
+        refund.markAsFailed(result.getMessage());
+        payment.releaseRefund(refund.getAmount());
+        logger.warn("Refund {} declined for payment {}: {}", refund.getRefundId(), refund.getPaymentId(), result.getMessage());
+        return Outcome.FAILED;
+    }
+
+    // 커밋된 결과만 집계. 완료/거절로 정산이 끝난 환불 수를 반환
+    private int record(List<Outcome> outcomes) {
+        int settled = 0;
+        for (Outcome outcome : outcomes) {
+            settled(outcome.name().toLowerCase(), 1);
+            if (outcome == Outcome.COMPLETED || outcome == Outcome.FAILED) {
+                settled++;
+            }
+        }
+        return settled;
+    }
+
+    private void settled(String outcome, int count) {
+        Counter.builder("payment.refund.settled")
+                .description("Refunds resolved by the settlement engine, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private enum Outcome {
+        COMPLETED,
+        FAILED,
+        // 게이트웨이에 전달되지 않아 다음 정산으로 미룸
+        DEFERRED,
+        // 점유가 오래되어 다른 실행이 다시 점유함
+        SUPERSEDED,
+        ERROR
+    }
+
+    private record Chunk(String paymentMethod, List<Refund> refunds) {
+    }
+}
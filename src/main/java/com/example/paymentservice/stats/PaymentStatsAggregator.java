@@ -0,0 +1,172 @@
+package com.example.paymentservice.stats;
+
+import com.example.paymentservice.event.PaymentChangedEvent;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.PaymentStatsRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 결제 상태 전이를 메모리 카운터(LongAdder)에 누적하고 주기적으로 payment_stats_hourly 에 증감분으로 더한다
+// 버킷 키는 (생성 시각의 시, 상태, 결제 수단): 전이 시 이전 상태 버킷에서 빼고 새 상태 버킷에 더하므로
+// 롤업은 항상 "해당 시간에 생성된 결제의 현재 상태 분포"이고 payments 를 GROUP BY 한 결과와 같다 (rebuild 로 검증/복구 가능)
+// 정상 종료 시에는 남은 증감분을 마지막으로 플러시하고, 프로세스가 죽으면 최대 한 주기(flush-interval-ms)분이 유실된다 (rebuild 로 복구)
+@Component
+public class PaymentStatsAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentStatsAggregator.class);
+
+    static final String UNKNOWN_METHOD = "UNKNOWN";
+
+    // amount 컬럼은 NUMERIC(38, 2) 이므로 금액은 최소 단위(소수 둘째 자리) long 으로 누적
+    private static final int AMOUNT_SCALE = 2;
+
+    // 플러시 후에도 0 인 카운터를 남겨 둘 기간 (그보다 오래된 버킷의 전이는 드물어 카운터를 새로 만든다)
+    private static final long IDLE_BUCKET_HOURS = 2;
+
+    private final PaymentStatsRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<BucketKey, BucketCounter> pending = new ConcurrentHashMap<>();
+    private final Counter flushFailures;
+
+    @Autowired
+    public PaymentStatsAggregator(PaymentStatsRollupRepository rollupRepository, TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushFailures = Counter.builder("payment.stats.flush.failures")
+                .description("Stats rollup flushes that failed and were retried on the next cycle")
+                .register(meterRegistry);
+    }
+
+    // 커밋된 변경만 반영 (트랜잭션 밖에서 발행된 R2DBC 경로는 즉시)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        PaymentStatus previous = event.getPreviousStatus();
+        PaymentStatus current = event.getStatus();
+        if (previous == current || event.getCreatedAt() == null) {
+            return;
+        }
+
+        LocalDateTime bucketStart = event.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+        String method = event.getPaymentMethod() != null ? event.getPaymentMethod() : UNKNOWN_METHOD;
+        long amount = toMinorUnits(event.getAmount());
+        if (previous != null) {
+            counter(bucketStart, previous, method).add(-1, -amount);
+        }
+        if (current != null) {
+            counter(bucketStart, current, method).add(1, amount);
+        }
+    }
+
+    // 레플리카마다 자기 증감분만 더하므로 여러 인스턴스가 동시에 플러시해도 합계가 맞다
+    @Scheduled(fixedDelayString = "${payment.stats.flush-interval-ms:1000}")
+    public void flush() {
+        List<Delta> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::apply));
+            logger.debug("Flushed {} payment stats deltas", deltas.size());
+        } catch (RuntimeException e) {
+            // 롤백된 증감분은 카운터에 되돌려 다음 주기에 다시 반영
+            deltas.forEach(delta -> counter(delta.key().bucketStart(), delta.key().status(), delta.key().paymentMethod())
+                    .add(delta.count(), delta.amount()));
+            flushFailures.increment();
+            logger.warn("Failed to flush {} payment stats deltas, retrying next cycle", deltas.size(), e);
+        }
+    }
+
+    // 스케줄러가 멈춘 뒤 남은 증감분을 반영 (트랜잭션 매니저/데이터소스보다 먼저 소멸되므로 아직 쓸 수 있음)
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<Delta> drain() {
+        LocalDateTime idleBefore = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(IDLE_BUCKET_HOURS);
+        List<Delta> deltas = new ArrayList<>();
+        pending.forEach((key, counter) -> {
+            long count = counter.count.sumThenReset();
+            long amount = counter.amount.sumThenReset();
+            if (count != 0 || amount != 0) {
+                deltas.add(new Delta(key, count, amount));
+            } else if (key.bucketStart().isBefore(idleBefore)) {
+                // 제거 직전에 카운터를 잡은 전이는 유실될 수 있음 (오래된 버킷이라 드물고 rebuild 로 복구)
+                pending.remove(key, counter);
+            }
+        });
+        // 여러 레플리카가 같은 행을 갱신할 때 교착을 피하도록 항상 같은 순서로 반영
+        deltas.sort(Comparator.comparing(Delta::key, BucketKey.ORDER));
+        return deltas;
+    }
+
+    private void apply(Delta delta) {
+        BucketKey key = delta.key();
+        String status = key.status().name();
+        BigDecimal amount = BigDecimal.valueOf(delta.amount(), AMOUNT_SCALE);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (rollupRepository.addDelta(key.bucketStart(), status, key.paymentMethod(), delta.count(), amount, now) > 0) {
+            return;
+        }
+        if (rollupRepository.insertIfAbsent(key.bucketStart(), status, key.paymentMethod(), delta.count(), amount, now) > 0) {
+            return;
+        }
+        // 다른 레플리카가 먼저 행을 만들었음
+        rollupRepository.addDelta(key.bucketStart(), status, key.paymentMethod(), delta.count(), amount, now);
+    }
+
+    private BucketCounter counter(LocalDateTime bucketStart, PaymentStatus status, String method) {
+        return pending.computeIfAbsent(new BucketKey(bucketStart, status, method), key -> new BucketCounter());
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    record BucketKey(LocalDateTime bucketStart, PaymentStatus status, String paymentMethod) {
+
+        static final Comparator<BucketKey> ORDER = Comparator.comparing(BucketKey::bucketStart)
+                .thenComparing(BucketKey::status)
+                .thenComparing(BucketKey::paymentMethod);
+    }
+
+    record Delta(BucketKey key, long count, long amount) {
+    }
+
+    // 같은 버킷에 동시에 몰리는 전이도 셀 단위로 분산되어 경합하지 않음
+    private static final class BucketCounter {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder amount = new LongAdder();
+
+        void add(long countDelta, long amountDelta) {
+            count.add(countDelta);
+            amount.add(amountDelta);
+        }
+    }
+}
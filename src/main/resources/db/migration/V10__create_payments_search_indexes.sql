@@ -0,0 +1,4 @@
+-- 검색/내보내기 키셋 페이지네이션 (created_at, id) 용. 결제 수단 조건은 이 인덱스 위에서 필터로 처리
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_created_at_id ON payments (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_status_created_at_id ON payments (status, created_at, id);
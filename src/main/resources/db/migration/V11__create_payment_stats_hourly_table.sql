@@ -0,0 +1,11 @@
+-- 결제 통계 시간 버킷 롤업 (/api/payments/stats). 기본 키가 bucket_start 로 시작하므로 기간 조회는 기본 키 범위 스캔
+-- 기존 결제는 배포 후 POST /api/payments/stats/rebuild 로 채움
+CREATE TABLE IF NOT EXISTS payment_stats_hourly (
+    bucket_start   TIMESTAMP(6)   NOT NULL,
+    status         VARCHAR(255)   NOT NULL,
+    payment_method VARCHAR(255)   NOT NULL,
+    payment_count  BIGINT         NOT NULL,
+    amount_sum     NUMERIC(38, 2) NOT NULL,
+    updated_at     TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (bucket_start, status, payment_method)
+);
@@ -0,0 +1,5 @@
+-- 파티션 전환(V13) 준비: 파티션 테이블의 기본 키와 유니크 제약은 파티션 키(created_at)를 포함해야 한다
+-- 같은 정의의 인덱스를 기존 테이블에 미리 CONCURRENTLY 로 만들어 두면 V13 이 잠금 상태에서 인덱스를 새로 만들지 않는다
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_payments_id_created_at ON payments (id, created_at);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_payments_payment_id_created_at ON payments (payment_id, created_at);
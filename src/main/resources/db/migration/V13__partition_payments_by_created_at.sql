@@ -0,0 +1,93 @@
+-- payments 를 created_at 기준 월 단위 RANGE 파티션 테이블로 전환 (데이터 복사 없음)
+-- 기존 테이블은 payments_legacy 로 이름을 바꿔 (MINVALUE ~ 다음 달 1일) 파티션으로 붙이고, 이후 월 파티션은
+-- PaymentPartitionMaintenance 가 미리 만든다. 보관 기간이 지난 파티션은 payments_archive 로 옮겨진다.
+-- ATTACH 시 payments_legacy 전체를 한 번 스캔해 범위를 검증하므로 트래픽이 적은 시간에 배포한다.
+
+-- order-created 이벤트 결제의 주문번호당 하나 제약: 파티션 테이블에서는 created_at 없는 유니크 인덱스를 만들 수 없으므로
+-- 파티션되지 않는 키 테이블로 옮긴다 (PaymentJdbcRepository 가 먼저 키를 선점한 뒤 결제를 insert)
+CREATE TABLE IF NOT EXISTS payment_order_event_keys (
+    order_number VARCHAR(255) PRIMARY KEY,
+    payment_id   VARCHAR(255) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO payment_order_event_keys (order_number, payment_id, created_at)
+SELECT order_number, payment_id, COALESCE(created_at, updated_at, now())
+FROM payments
+WHERE source = 'ORDER_EVENT' AND order_number IS NOT NULL AND payment_id IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+-- 파티션 키는 NOT NULL
+UPDATE payments SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+ALTER TABLE payments ALTER COLUMN created_at SET NOT NULL;
+
+-- 기존 테이블 정리: 인덱스 이름을 비워 주고 V12 인덱스를 기본 키/유니크 제약으로 승격
+ALTER TABLE payments RENAME TO payments_legacy;
+ALTER TABLE payments_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE payments_legacy DROP CONSTRAINT IF EXISTS payments_pkey;
+ALTER TABLE payments_legacy ADD CONSTRAINT payments_legacy_pkey PRIMARY KEY USING INDEX ux_payments_id_created_at;
+ALTER TABLE payments_legacy ADD CONSTRAINT payments_legacy_payment_id_created_at_key UNIQUE USING INDEX ux_payments_payment_id_created_at;
+DROP INDEX IF EXISTS ux_payments_payment_id;
+DROP INDEX IF EXISTS ux_payments_order_number_event;
+ALTER INDEX IF EXISTS ix_payments_order_number_status RENAME TO payments_legacy_order_number_status_idx;
+ALTER INDEX IF EXISTS ix_payments_created_at_id RENAME TO payments_legacy_created_at_id_idx;
+ALTER INDEX IF EXISTS ix_payments_status_created_at_id RENAME TO payments_legacy_status_created_at_id_idx;
+ALTER INDEX IF EXISTS ix_payments_reconcile RENAME TO payments_legacy_reconcile_idx;
+
+-- 부모 테이블 인덱스는 기존 인덱스와 같은 정의라 ATTACH 시 기존 인덱스가 그대로 파티션 인덱스로 붙는다
+CREATE TABLE payments (
+    id                       BIGINT         NOT NULL,
+    payment_id               VARCHAR(255),
+    order_number             VARCHAR(255),
+    amount                   NUMERIC(38, 2),
+    status                   VARCHAR(255),
+    payment_method           VARCHAR(255),
+    payment_gateway_response VARCHAR(255),
+    created_at               TIMESTAMP(6)   NOT NULL,
+    updated_at               TIMESTAMP(6),
+    source                   VARCHAR(255),
+    attempt_count            INTEGER        NOT NULL DEFAULT 0,
+    next_attempt_at          TIMESTAMP,
+    CONSTRAINT payments_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT ux_payments_payment_id_created_at UNIQUE (payment_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX ix_payments_order_number_status ON payments (order_number, status);
+CREATE INDEX ix_payments_created_at_id ON payments (created_at, id);
+CREATE INDEX ix_payments_status_created_at_id ON payments (status, created_at, id);
+CREATE INDEX ix_payments_reconcile ON payments (id) WHERE status IN ('PENDING', 'PROCESSING');
+
+-- 보관 파티션: 조회 API 의 결제 ID/주문번호 조회에 필요한 인덱스만 유지
+CREATE TABLE payments_archive (
+    id                       BIGINT         NOT NULL,
+    payment_id               VARCHAR(255),
+    order_number             VARCHAR(255),
+    amount                   NUMERIC(38, 2),
+    status                   VARCHAR(255),
+    payment_method           VARCHAR(255),
+    payment_gateway_response VARCHAR(255),
+    created_at               TIMESTAMP(6)   NOT NULL,
+    updated_at               TIMESTAMP(6),
+    source                   VARCHAR(255),
+    attempt_count            INTEGER        NOT NULL DEFAULT 0,
+    next_attempt_at          TIMESTAMP,
+    CONSTRAINT payments_archive_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT ux_payments_archive_payment_id_created_at UNIQUE (payment_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX ix_payments_archive_order_number_status ON payments_archive (order_number, status);
+
+-- 기존 데이터를 첫 파티션으로 붙이고 이번 달 이후 3개월치 월 파티션을 만든다 (이후는 스케줄러가 유지)
+DO $$
+DECLARE
+    cutover TIMESTAMP := date_trunc('month', now()) + INTERVAL '1 month';
+    month_start TIMESTAMP;
+BEGIN
+    EXECUTE format('ALTER TABLE payments ATTACH PARTITION payments_legacy FOR VALUES FROM (MINVALUE) TO (%L)', cutover);
+
+    FOR i IN 0..2 LOOP
+        month_start := cutover + make_interval(months => i);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF payments FOR VALUES FROM (%L) TO (%L)',
+                       'payments_p' || to_char(month_start, 'YYYYMM'), month_start, month_start + INTERVAL '1 month');
+    END LOOP;
+END $$;
@@ -0,0 +1,5 @@
+-- 낙관적 잠금 버전 (Payment.version). 상수 기본값이라 기존 파티션은 다시 쓰지 않음 (메타데이터만 변경)
+-- 보관 파티션도 같은 컬럼을 가져야 DETACH 한 파티션을 ATTACH 할 수 있으므로 함께 추가
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE payments_archive ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,33 @@
+-- 결제 환불 (부분 환불 포함). payments 는 기본 키가 (id, created_at) 인 파티션 테이블이라 외래 키 대신 payment_id 로 연결
+CREATE SEQUENCE IF NOT EXISTS payment_refunds_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS payment_refunds (
+    id               BIGINT PRIMARY KEY,
+    refund_id        VARCHAR(255)   NOT NULL,
+    payment_id       VARCHAR(255)   NOT NULL,
+    order_number     VARCHAR(255),
+    payment_method   VARCHAR(255)   NOT NULL,
+    amount           NUMERIC(38, 2) NOT NULL,
+    reason           VARCHAR(255),
+    status           VARCHAR(255)   NOT NULL,
+    gateway_response VARCHAR(255),
+    created_at       TIMESTAMP(6)   NOT NULL,
+    updated_at       TIMESTAMP(6)   NOT NULL,
+    settled_at       TIMESTAMP(6),
+    version          BIGINT         NOT NULL DEFAULT 0,
+    CONSTRAINT ux_payment_refunds_refund_id UNIQUE (refund_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_payment_refunds_payment_id ON payment_refunds (payment_id);
+
+-- 정산 스캔은 미정산 환불만 결제 수단별 id 순으로 훑음
+CREATE INDEX IF NOT EXISTS ix_payment_refunds_settlement ON payment_refunds (payment_method, id)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+-- 결제별 환불 완료 금액과 정산 대기 금액 (Payment.refundedAmount / pendingRefundAmount)
+-- 상수 기본값이라 기존 파티션은 다시 쓰지 않음. 보관 파티션도 ATTACH 할 수 있도록 같은 컬럼을 추가
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS refunded_amount NUMERIC(38, 2) NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS pending_refund_amount NUMERIC(38, 2) NOT NULL DEFAULT 0;
+
+ALTER TABLE payments_archive ADD COLUMN IF NOT EXISTS refunded_amount NUMERIC(38, 2) NOT NULL DEFAULT 0;
+ALTER TABLE payments_archive ADD COLUMN IF NOT EXISTS pending_refund_amount NUMERIC(38, 2) NOT NULL DEFAULT 0;
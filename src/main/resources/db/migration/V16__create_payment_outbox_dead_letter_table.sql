@@ -0,0 +1,17 @@
+-- 릴레이가 읽을 수 없는 아웃박스 행을 옮겨 두는 테이블 (id 는 payment_outbox 의 id 그대로)
+CREATE TABLE IF NOT EXISTS payment_outbox_dead_letter (
+    id          BIGINT PRIMARY KEY,
+    topic       VARCHAR(255)  NOT NULL,
+    message_key VARCHAR(255),
+    event_type  VARCHAR(255)  NOT NULL,
+    payload     VARCHAR(4000) NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL,
+    failed_at   TIMESTAMP(6)  NOT NULL,
+    error       VARCHAR(1000)
+);
+
+-- event_type 은 클래스 이름 대신 논리 이름으로 저장 (OutboxEventTypes). 아직 발행되지 않은 행도 바꿔 둠
+UPDATE payment_outbox SET event_type = 'PaymentCompleted'
+    WHERE event_type = 'com.example.paymentservice.event.PaymentCompletedEvent';
+UPDATE payment_outbox SET event_type = 'RefundCompleted'
+    WHERE event_type = 'com.example.paymentservice.event.RefundCompletedEvent';
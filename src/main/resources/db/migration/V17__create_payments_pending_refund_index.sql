@@ -0,0 +1,4 @@
+-- 파티션 보관 전 검사(PaymentPartitionMaintenance)는 정산 대기 환불이 남은 결제를 찾으므로 부분 인덱스로 충분
+-- 대부분의 결제는 pending_refund_amount = 0 이라 인덱스가 작다. 파티션 테이블은 CONCURRENTLY 를 쓸 수 없어
+-- 생성 중 각 파티션에 쓰기가 막히므로 트래픽이 적은 시간에 배포한다. 보관된 파티션에서는 hot 전용 인덱스로 지워진다
+CREATE INDEX IF NOT EXISTS ix_payments_pending_refund ON payments (id) WHERE pending_refund_amount > 0;
@@ -0,0 +1,13 @@
+-- 기존 운영 스키마 (ddl-auto 로 생성되던 payments 테이블)
+-- 이미 테이블이 있는 DB 는 baseline-on-migrate 로 이 버전을 건너뜀
+CREATE TABLE IF NOT EXISTS payments (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    payment_id               VARCHAR(255),
+    order_number             VARCHAR(255),
+    amount                   NUMERIC(38, 2),
+    status                   VARCHAR(255),
+    payment_method           VARCHAR(255),
+    payment_gateway_response VARCHAR(255),
+    created_at               TIMESTAMP(6),
+    updated_at               TIMESTAMP(6)
+);
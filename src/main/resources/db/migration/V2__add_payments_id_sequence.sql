@@ -0,0 +1,5 @@
+-- 배치 insert 를 위한 시퀀스 (Payment.id allocationSize = 50 과 increment 를 맞춤)
+CREATE SEQUENCE IF NOT EXISTS payments_seq INCREMENT BY 50;
+
+-- pooled optimizer 는 nextval 을 블록의 상한으로 사용하므로 기존 최대 id 보다 allocationSize 만큼 앞에서 시작
+SELECT setval('payments_seq', COALESCE((SELECT MAX(id) FROM payments), 0) + 50, false);
@@ -0,0 +1,11 @@
+-- 결제 이벤트 트랜잭셔널 아웃박스
+CREATE SEQUENCE IF NOT EXISTS payment_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS payment_outbox (
+    id          BIGINT PRIMARY KEY,
+    topic       VARCHAR(255)  NOT NULL,
+    message_key VARCHAR(255),
+    event_type  VARCHAR(255)  NOT NULL,
+    payload     VARCHAR(4000) NOT NULL,
+    created_at  TIMESTAMP(6)  NOT NULL
+);
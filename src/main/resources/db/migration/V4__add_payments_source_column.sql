@@ -0,0 +1,4 @@
+-- 결제 생성 경로 (API / ORDER_EVENT). 기존 행은 생성 경로를 알 수 없으므로 API 로 간주
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS source VARCHAR(255);
+
+UPDATE payments SET source = 'API' WHERE source IS NULL;
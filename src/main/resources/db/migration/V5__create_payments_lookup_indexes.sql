@@ -0,0 +1,7 @@
+-- 운영 테이블 잠금을 피하기 위해 CONCURRENTLY 로 생성 (Flyway 가 트랜잭션 밖에서 실행)
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_payments_payment_id ON payments (payment_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_order_number_status ON payments (order_number, status);
+
+-- order-created 이벤트로 생성되는 결제는 주문번호당 하나 (insert-on-conflict 의 충돌 대상)
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_payments_order_number_event ON payments (order_number) WHERE source = 'ORDER_EVENT';
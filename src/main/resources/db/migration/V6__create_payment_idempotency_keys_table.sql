@@ -0,0 +1,11 @@
+-- POST /api/payments 의 Idempotency-Key 저장소
+CREATE TABLE IF NOT EXISTS payment_idempotency_keys (
+    idempotency_key  VARCHAR(255)  PRIMARY KEY,
+    request_hash     VARCHAR(64)   NOT NULL,
+    payment_id       VARCHAR(255),
+    response_payload VARCHAR(4000),
+    created_at       TIMESTAMP(6)  NOT NULL,
+    updated_at       TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_payment_idempotency_keys_created_at ON payment_idempotency_keys (created_at);
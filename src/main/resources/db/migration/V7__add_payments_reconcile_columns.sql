@@ -0,0 +1,4 @@
+-- 재처리 시도 횟수와 다음 시도 가능 시각 (PaymentReconciler 의 결제별 지수 백오프)
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS attempt_count INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
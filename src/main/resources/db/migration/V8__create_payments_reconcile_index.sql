@@ -0,0 +1,2 @@
+-- 재처리 스캔은 미완료 결제만 id 순으로 훑으므로 부분 인덱스로 충분 (CONCURRENTLY 라 V7 과 분리)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payments_reconcile ON payments (id) WHERE status IN ('PENDING', 'PROCESSING');
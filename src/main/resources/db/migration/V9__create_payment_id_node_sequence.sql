@@ -0,0 +1,2 @@
+-- 결제 ID 생성기 노드 ID 할당용 (인스턴스 기동 시 nextval % 1024)
+CREATE SEQUENCE IF NOT EXISTS payment_id_node_seq;
@@ -0,0 +1,203 @@
+package com.example.paymentservice.admission;
+
+import com.example.paymentservice.gateway.GatewayUnavailableAction;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private CircuitBreaker circuitBreaker;
+	private Bulkhead bulkhead;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		circuitBreaker = CircuitBreaker.ofDefaults("paymentGateway");
+		bulkhead = Bulkhead.of("paymentGateway", BulkheadConfig.custom()
+				.maxConcurrentCalls(1)
+				.maxWaitDuration(Duration.ZERO)
+				.build());
+	}
+
+	@Test
+	void admitsPaymentWithinLimitAndReleasesPermit() throws Exception {
+		AdmissionControlFilter filter = filter(1, GatewayUnavailableAction.FAIL);
+
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		filter.doFilter(post("/api/payments"), first, new MockFilterChain());
+		MockHttpServletResponse second = new MockHttpServletResponse();
+		filter.doFilter(post("/api/payments"), second, new MockFilterChain());
+
+		assertThat(first.getStatus()).isEqualTo(200);
+		assertThat(second.getStatus()).isEqualTo(200);
+		assertThat(meterRegistry.get("payment.admission.in-flight").gauge().value()).isZero();
+	}
+
+	@Test
+	void shedsWith429WhenConcurrencyLimitReached() throws Exception {
+		AdmissionControlFilter filter = filter(1, GatewayUnavailableAction.FAIL);
+		CountDownLatch admitted = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+
+		FilterChain blockingChain = (request, response) -> {
+			admitted.countDown();
+			try {
+				finish.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		Thread holder = Thread.ofVirtual().start(() -> {
+			try {
+				filter.doFilter(post("/api/payments"), new MockHttpServletResponse(), blockingChain);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		filter.doFilter(post("/api/payments"), rejected, new MockFilterChain());
+
+		finish.countDown();
+		holder.join();
+
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader("Retry-After")).isNotNull();
+		assertThat(meterRegistry.get("payment.admission.rejected").tag("reason", "concurrency").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	@Test
+	void shedsWith503WhenCircuitOpen() throws Exception {
+		AdmissionControlFilter filter = filter(4, GatewayUnavailableAction.FAIL);
+		circuitBreaker.transitionToOpenState();
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(post("/api/payments"), response, new MockFilterChain());
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(meterRegistry.get("payment.admission.rejected").tag("reason", "gateway").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	@Test
+	void leavePendingAdmitsWhileCircuitOpen() throws Exception {
+		AdmissionControlFilter filter = filter(4, GatewayUnavailableAction.LEAVE_PENDING);
+		circuitBreaker.transitionToOpenState();
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(post("/api/payments"), response, new MockFilterChain());
+
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void readsAreNotThrottled() throws Exception {
+		AdmissionControlFilter filter = filter(1, GatewayUnavailableAction.FAIL);
+		circuitBreaker.transitionToOpenState();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/payments/PMT-1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void onlyPaymentCreationEndpointsAreThrottled() throws Exception {
+		AdmissionControlFilter filter = filter(1, GatewayUnavailableAction.FAIL);
+		circuitBreaker.transitionToOpenState();
+
+		for (String uri : new String[]{"/api/payments/PMT-1/refunds", "/api/payments/stats/rebuild"}) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(post(uri), response, new MockFilterChain());
+			assertThat(response.getStatus()).as(uri).isEqualTo(200);
+		}
+		for (String uri : new String[]{"/api/payments", "/api/payments/async", "/api/payments/bulk"}) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(post(uri), response, new MockFilterChain());
+			assertThat(response.getStatus()).as(uri).isEqualTo(503);
+		}
+	}
+
+	// 경로는 컨텍스트 경로를 뺀 애플리케이션 내 경로로 비교하고 끝의 / 는 무시
+	@Test
+	void paymentCreationPathsMatchBehindContextPathAndWithTrailingSlash() throws Exception {
+		AdmissionControlFilter filter = filter(1, GatewayUnavailableAction.FAIL);
+		circuitBreaker.transitionToOpenState();
+
+		MockHttpServletRequest underContextPath = post("/payment-service/api/payments");
+		underContextPath.setContextPath("/payment-service");
+		MockHttpServletRequest refundUnderContextPath = post("/payment-service/api/payments/PMT-1/refunds");
+		refundUnderContextPath.setContextPath("/payment-service");
+
+		for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+				underContextPath, post("/api/payments/"), post("/api/payments/async/"), post("/api/payments/bulk/")}) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(request, response, new MockFilterChain());
+			assertThat(response.getStatus()).as(request.getRequestURI()).isEqualTo(503);
+		}
+
+		MockHttpServletResponse refund = new MockHttpServletResponse();
+		filter.doFilter(refundUnderContextPath, refund, new MockFilterChain());
+		assertThat(refund.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void refundsDoNotConsumePaymentPermits() throws Exception {
+		AdmissionControlFilter filter = filter(1, GatewayUnavailableAction.FAIL);
+		CountDownLatch admitted = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+
+		// 환불 요청이 처리 중이어도 결제 생성은 한도 안에서 받아들임
+		FilterChain blockingChain = (request, response) -> {
+			admitted.countDown();
+			try {
+				finish.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		Thread refund = Thread.ofVirtual().start(() -> {
+			try {
+				filter.doFilter(post("/api/payments/PMT-1/refunds"), new MockHttpServletResponse(), blockingChain);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+
+		MockHttpServletResponse payment = new MockHttpServletResponse();
+		filter.doFilter(post("/api/payments"), payment, new MockFilterChain());
+
+		finish.countDown();
+		refund.join();
+
+		assertThat(payment.getStatus()).isEqualTo(200);
+		assertThat(meterRegistry.get("payment.admission.in-flight").gauge().value()).isZero();
+	}
+
+	private AdmissionControlFilter filter(int maxConcurrentPayments, GatewayUnavailableAction action) {
+		return new AdmissionControlFilter(maxConcurrentPayments, action, circuitBreaker, bulkhead, meterRegistry);
+	}
+
+	private static MockHttpServletRequest post(String uri) {
+		return new MockHttpServletRequest("POST", uri);
+	}
+}
@@ -0,0 +1,133 @@
+package com.example.paymentservice.cache;
+
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// 결제 변경은 커밋된 경우에만 캐시를 무효화하고 다른 레플리카로 전파
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class PaymentResponseCacheTest {
+
+	@Autowired
+	private PaymentResponseCache cache;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@MockitoBean
+	private CacheInvalidationBroadcaster broadcaster;
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("payment.refund.settlement.enabled", () -> "false");
+	}
+
+	@Test
+	void committedUpdateEvictsCachedResponses() {
+		Payment payment = savedPayment();
+		assertThat(get(payment).getStatus()).isEqualTo(PaymentStatus.PENDING);
+		assertThat(getByOrder(payment)).extracting(PaymentResponse::getStatus).containsExactly(PaymentStatus.PENDING);
+		int primed = loads.get();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			paymentRepository.findByPaymentId(payment.getPaymentId()).orElseThrow().transitionTo(PaymentStatus.PROCESSING);
+			paymentRepository.flush();
+			// 커밋 전에는 다른 요청이 커밋되지 않은 상태를 보지 않도록 이전 응답이 남아 있음
+			assertThat(get(payment).getStatus()).isEqualTo(PaymentStatus.PENDING);
+			assertThat(loads.get()).isEqualTo(primed);
+			verify(broadcaster, never()).broadcast(any(), any());
+		});
+
+		assertThat(get(payment).getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+		assertThat(getByOrder(payment)).extracting(PaymentResponse::getStatus).containsExactly(PaymentStatus.PROCESSING);
+		assertThat(loads.get()).isEqualTo(primed + 2);
+		verify(broadcaster).broadcast(payment.getPaymentId(), payment.getOrderNumber());
+	}
+
+	@Test
+	void rolledBackUpdateKeepsCachedResponses() {
+		Payment payment = savedPayment();
+		get(payment);
+		getByOrder(payment);
+		int primed = loads.get();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			paymentRepository.findByPaymentId(payment.getPaymentId()).orElseThrow().transitionTo(PaymentStatus.PROCESSING);
+			paymentRepository.flush();
+			status.setRollbackOnly();
+		});
+
+		assertThat(get(payment).getStatus()).isEqualTo(PaymentStatus.PENDING);
+		assertThat(getByOrder(payment)).extracting(PaymentResponse::getStatus).containsExactly(PaymentStatus.PENDING);
+		assertThat(loads.get()).isEqualTo(primed);
+		assertThat(paymentRepository.findByPaymentId(payment.getPaymentId()).orElseThrow().getStatus())
+				.isEqualTo(PaymentStatus.PENDING);
+		verify(broadcaster, never()).broadcast(any(), any());
+	}
+
+	// 저장 커밋으로 인한 무효화/전파는 준비 단계이므로 기록에서 지움
+	private Payment savedPayment() {
+		Payment payment = new Payment("PMT-CACHE-" + UUID.randomUUID());
+		payment.setOrderNumber("ORD-CACHE-" + UUID.randomUUID());
+		payment.setAmount(new BigDecimal("10000.00"));
+		payment.setPaymentMethod("CARD");
+		Payment saved = paymentRepository.save(payment);
+		clearInvocations(broadcaster);
+		return saved;
+	}
+
+	private PaymentResponse get(Payment payment) {
+		return cache.getByPaymentId(payment.getPaymentId(), paymentId -> {
+			loads.incrementAndGet();
+			return response(paymentRepository.findByPaymentId(paymentId).orElseThrow());
+		});
+	}
+
+	private List<PaymentResponse> getByOrder(Payment payment) {
+		return cache.getByOrderNumber(payment.getOrderNumber(), orderNumber -> {
+			loads.incrementAndGet();
+			return paymentRepository.findSummariesByOrderNumber(orderNumber).stream()
+					.map(summary -> response(paymentRepository.findByPaymentId(summary.getPaymentId()).orElseThrow()))
+					.toList();
+		});
+	}
+
+	private static PaymentResponse response(Payment payment) {
+		PaymentResponse response = new PaymentResponse();
+		response.setPaymentId(payment.getPaymentId());
+		response.setOrderNumber(payment.getOrderNumber());
+		response.setAmount(payment.getAmount());
+		response.setStatus(payment.getStatus());
+		response.setPaymentMethod(payment.getPaymentMethod());
+		return response;
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.paymentservice.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicroBatcherTest {
+
+	private final Queue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+	private MicroBatcher<Integer, Integer> batcher;
+
+	@AfterEach
+	void tearDown() {
+		batcher.shutdown();
+	}
+
+	@Test
+	void burstIsCoalescedUpToMaxBatchSize() throws Exception {
+		batcher = new MicroBatcher<>("test", 10, Duration.ofMillis(50), this::doubled);
+
+		List<CompletableFuture<Integer>> results = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			results.add(batcher.submit(i));
+		}
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(results.get(i).get(1, TimeUnit.SECONDS)).isEqualTo(i * 2);
+		}
+		assertThat(batchSizes).allMatch(size -> size <= 10);
+		assertThat(batchSizes.size()).isLessThan(20);
+	}
+
+	@Test
+	void sparseRequestsAreSentWithoutWaitingForTheWindow() throws Exception {
+		batcher = new MicroBatcher<>("test", 10, Duration.ofMillis(200), this::doubled);
+
+		// 요청 간격이 최대 대기 시간보다 길면 모아 봐야 합쳐질 요청이 없으므로 바로 보냄
+		for (int i = 0; i < 3; i++) {
+			long started = System.nanoTime();
+			assertThat(batcher.submit(i).get(1, TimeUnit.SECONDS)).isEqualTo(i * 2);
+			assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(150));
+			assertThat(batcher.currentWindow()).isZero();
+			Thread.sleep(300);
+		}
+		assertThat(batchSizes).containsOnly(1);
+	}
+
+	@Test
+	void failedBatchFailsEveryRequestInIt() {
+		batcher = new MicroBatcher<>("test", 10, Duration.ofMillis(50),
+				batch -> CompletableFuture.failedFuture(new IllegalStateException("gateway down")));
+
+		CompletableFuture<Integer> first = batcher.submit(1);
+		CompletableFuture<Integer> second = batcher.submit(2);
+
+		assertThatThrownBy(() -> first.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasRootCauseMessage("gateway down");
+		assertThatThrownBy(() -> second.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasRootCauseMessage("gateway down");
+	}
+
+	private CompletableFuture<List<Integer>> doubled(List<Integer> batch) {
+		batchSizes.add(batch.size());
+		return CompletableFuture.completedFuture(batch.stream().map(i -> i * 2).toList());
+	}
+}
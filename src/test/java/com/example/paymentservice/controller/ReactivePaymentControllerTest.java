@@ -0,0 +1,113 @@
+package com.example.paymentservice.controller;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.service.BulkPaymentService;
+import com.example.paymentservice.service.IdempotencyService;
+import com.example.paymentservice.service.PaymentSearchService;
+import com.example.paymentservice.service.ReactivePaymentService;
+import com.example.paymentservice.stats.PaymentStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactivePaymentController.class)
+class ReactivePaymentControllerTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@MockitoBean
+	private ReactivePaymentService paymentService;
+
+	@MockitoBean
+	private BulkPaymentService bulkPaymentService;
+
+	@MockitoBean
+	private IdempotencyService idempotencyService;
+
+	@MockitoBean
+	private PaymentSearchService paymentSearchService;
+
+	@MockitoBean
+	private PaymentStatsService paymentStatsService;
+
+	@Test
+	void processPaymentReturnsCreated() {
+		when(paymentService.processPayment(any(PaymentRequest.class)))
+				.thenReturn(Mono.just(response("PMT-1", "ORDER-1", PaymentStatus.COMPLETED)));
+
+		webTestClient.post().uri("/api/payments")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"orderNumber\":\"ORDER-1\",\"amount\":10000.00,\"paymentMethod\":\"CARD\"}")
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody()
+				.jsonPath("$.paymentId").isEqualTo("PMT-1")
+				.jsonPath("$.status").isEqualTo("COMPLETED");
+
+		verify(idempotencyService, never()).execute(any(), any());
+	}
+
+	@Test
+	void invalidRequestIsRejected() {
+		webTestClient.post().uri("/api/payments")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"orderNumber\":\"\",\"amount\":0,\"paymentMethod\":\"CARD\"}")
+				.exchange()
+				.expectStatus().isBadRequest();
+
+		verify(paymentService, never()).processPayment(any());
+	}
+
+	@Test
+	void asyncPaymentReturnsAcceptedWithLocation() {
+		when(paymentService.processPaymentAsync(any(PaymentRequest.class)))
+				.thenReturn(Mono.just(response("PMT-2", "ORDER-2", PaymentStatus.PROCESSING)));
+
+		webTestClient.post().uri("/api/payments/async")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"orderNumber\":\"ORDER-2\",\"amount\":500.00,\"paymentMethod\":\"CARD\"}")
+				.exchange()
+				.expectStatus().isAccepted()
+				.expectHeader().location("/api/payments/PMT-2")
+				.expectBody()
+				.jsonPath("$.status").isEqualTo("PROCESSING");
+	}
+
+	@Test
+	void getPaymentsByOrderNumber() {
+		when(paymentService.getPaymentsByOrderNumber("ORDER-3"))
+				.thenReturn(Mono.just(List.of(response("PMT-3", "ORDER-3", PaymentStatus.FAILED))));
+
+		webTestClient.get().uri("/api/payments/order/{orderNumber}", "ORDER-3")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$[0].paymentId").isEqualTo("PMT-3")
+				.jsonPath("$[0].status").isEqualTo("FAILED");
+	}
+
+	private static PaymentResponse response(String paymentId, String orderNumber, PaymentStatus status) {
+		PaymentResponse response = new PaymentResponse();
+		response.setPaymentId(paymentId);
+		response.setOrderNumber(orderNumber);
+		response.setAmount(new BigDecimal("10000.00"));
+		response.setStatus(status);
+		response.setPaymentMethod("CARD");
+		return response;
+	}
+}
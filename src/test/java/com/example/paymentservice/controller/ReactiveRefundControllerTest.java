@@ -0,0 +1,99 @@
+package com.example.paymentservice.controller;
+
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.dto.RefundResponse;
+import com.example.paymentservice.model.RefundStatus;
+import com.example.paymentservice.service.IdempotencyService;
+import com.example.paymentservice.service.RefundService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveRefundController.class)
+class ReactiveRefundControllerTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@MockitoBean
+	private RefundService refundService;
+
+	@MockitoBean
+	private IdempotencyService idempotencyService;
+
+	@Test
+	void refundRequestReturnsAcceptedWithLocation() {
+		when(refundService.requestRefund(eq("PMT-1"), any(RefundRequest.class)))
+				.thenReturn(response("RFD-1", "PMT-1", RefundStatus.PENDING));
+
+		webTestClient.post().uri("/api/payments/{paymentId}/refunds", "PMT-1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"amount\":1000.00,\"reason\":\"customer request\"}")
+				.exchange()
+				.expectStatus().isAccepted()
+				.expectHeader().location("/api/payments/refunds/RFD-1")
+				.expectBody()
+				.jsonPath("$.status").isEqualTo("PENDING");
+
+		verify(idempotencyService, never()).executeRefund(any(), any(), any(), any());
+	}
+
+	@Test
+	void refundRequestWithIdempotencyKeyGoesThroughIdempotencyService() {
+		when(idempotencyService.executeRefund(eq("PMT-2"), eq("refund-key"), any(RefundRequest.class), any()))
+				.thenReturn(response("RFD-2", "PMT-2", RefundStatus.PENDING));
+
+		webTestClient.post().uri("/api/payments/{paymentId}/refunds", "PMT-2")
+				.header("Idempotency-Key", "refund-key")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"amount\":1000.00}")
+				.exchange()
+				.expectStatus().isAccepted()
+				.expectHeader().location("/api/payments/refunds/RFD-2");
+	}
+
+	@Test
+	void invalidRefundRequestIsRejected() {
+		webTestClient.post().uri("/api/payments/{paymentId}/refunds", "PMT-3")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"amount\":0}")
+				.exchange()
+				.expectStatus().isBadRequest();
+
+		verify(refundService, never()).requestRefund(any(), any());
+	}
+
+	@Test
+	void getRefundsByPayment() {
+		when(refundService.getRefunds("PMT-4")).thenReturn(List.of(response("RFD-4", "PMT-4", RefundStatus.COMPLETED)));
+
+		webTestClient.get().uri("/api/payments/{paymentId}/refunds", "PMT-4")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$[0].refundId").isEqualTo("RFD-4")
+				.jsonPath("$[0].status").isEqualTo("COMPLETED");
+	}
+
+	private static RefundResponse response(String refundId, String paymentId, RefundStatus status) {
+		RefundResponse response = new RefundResponse();
+		response.setRefundId(refundId);
+		response.setPaymentId(paymentId);
+		response.setOrderNumber("ORDER-" + paymentId);
+		response.setAmount(new BigDecimal("1000.00"));
+		response.setStatus(status);
+		return response;
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.paymentservice.event.codec;
+
+import com.example.paymentservice.event.OrderCreatedEvent;
+import com.example.paymentservice.event.PaymentCacheInvalidationEvent;
+import com.example.paymentservice.event.PaymentCompletedEvent;
+import com.example.paymentservice.event.RefundCompletedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecRegistryTest {
+
+	private static final String TOPIC = "payment-completed-topic";
+
+	private final EventCodecRegistry registry = EventCodecRegistry.standard();
+
+	@Test
+	void roundTripsAllRegisteredEvents() {
+		LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 30, 15, 123_456_789);
+
+		OrderCreatedEvent order = (OrderCreatedEvent) registry.decode(registry.encode(
+				new OrderCreatedEvent("ORD-1", "customer@example.com", new BigDecimal("-12.340"), createdAt, "CARD")));
+		assertThat(order.getOrderNumber()).isEqualTo("ORD-1");
+		assertThat(order.getCustomerEmail()).isEqualTo("customer@example.com");
+		assertThat(order.getTotalAmount()).isEqualTo(new BigDecimal("-12.340"));
+		assertThat(order.getCreatedAt()).isEqualTo(createdAt);
+		assertThat(order.getPaymentMethod()).isEqualTo("CARD");
+
+		PaymentCompletedEvent completed = (PaymentCompletedEvent) registry.decode(registry.encode(
+				new PaymentCompletedEvent("PMT-1", "ORD-1", new BigDecimal("125000.00"), "COMPLETED", createdAt)));
+		assertThat(completed.getPaymentId()).isEqualTo("PMT-1");
+		assertThat(completed.getAmount()).isEqualTo(new BigDecimal("125000.00"));
+		assertThat(completed.getStatus()).isEqualTo("COMPLETED");
+		assertThat(completed.getCompletedAt()).isEqualTo(createdAt);
+
+		PaymentCacheInvalidationEvent invalidation = (PaymentCacheInvalidationEvent) registry.decode(registry.encode(
+				new PaymentCacheInvalidationEvent("replica-1", "PMT-1", "ORD-1")));
+		assertThat(invalidation.getOriginId()).isEqualTo("replica-1");
+		assertThat(invalidation.getPaymentId()).isEqualTo("PMT-1");
+		assertThat(invalidation.getOrderNumber()).isEqualTo("ORD-1");
+
+		RefundCompletedEvent refunded = (RefundCompletedEvent) registry.decode(registry.encode(
+				new RefundCompletedEvent("RFD-1", "PMT-1", "ORD-1", new BigDecimal("25000.00"), new BigDecimal("125000.00"),
+						"REFUNDED", createdAt)));
+		assertThat(refunded.getRefundId()).isEqualTo("RFD-1");
+		assertThat(refunded.getPaymentId()).isEqualTo("PMT-1");
+		assertThat(refunded.getAmount()).isEqualTo(new BigDecimal("25000.00"));
+		assertThat(refunded.getRefundedAmount()).isEqualTo(new BigDecimal("125000.00"));
+		assertThat(refunded.getPaymentStatus()).isEqualTo("REFUNDED");
+		assertThat(refunded.getCompletedAt()).isEqualTo(createdAt);
+	}
+
+	@Test
+	void absentFieldsStayNull() {
+		PaymentCompletedEvent decoded = (PaymentCompletedEvent) registry.decode(registry.encode(
+				new PaymentCompletedEvent("PMT-2", null, null, "FAILED", null)));
+
+		assertThat(decoded.getPaymentId()).isEqualTo("PMT-2");
+		assertThat(decoded.getOrderNumber()).isNull();
+		assertThat(decoded.getAmount()).isNull();
+		assertThat(decoded.getStatus()).isEqualTo("FAILED");
+		assertThat(decoded.getCompletedAt()).isNull();
+	}
+
+	@Test
+	void deserializerReadsJsonAndBinaryFromSameTopic() {
+		PaymentCompletedEvent event = new PaymentCompletedEvent("PMT-3", "ORD-3", new BigDecimal("500.00"), "COMPLETED",
+				LocalDateTime.of(2025, 1, 1, 0, 0));
+
+		PaymentEventSerializer jsonSerializer = new PaymentEventSerializer(registry, EventFormat.JSON);
+		jsonSerializer.configure(Map.of(), false);
+		Headers jsonHeaders = new RecordHeaders();
+		byte[] json = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+
+		PaymentEventSerializer binarySerializer = new PaymentEventSerializer(registry, EventFormat.BINARY);
+		Headers binaryHeaders = new RecordHeaders();
+		byte[] binary = binarySerializer.serialize(TOPIC, binaryHeaders, event);
+
+		assertThat(EventCodecRegistry.isBinary(json)).isFalse();
+		assertThat(EventCodecRegistry.isBinary(binary)).isTrue();
+		assertThat(binary.length).isLessThan(json.length / 2);
+		assertThat(binaryHeaders.toArray()).isEmpty();
+
+		PaymentEventDeserializer deserializer = new PaymentEventDeserializer(registry);
+		deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.example.paymentservice.event"), false);
+
+		PaymentCompletedEvent fromJson = (PaymentCompletedEvent) deserializer.deserialize(TOPIC, jsonHeaders, json);
+		PaymentCompletedEvent fromBinary = (PaymentCompletedEvent) deserializer.deserialize(TOPIC, binaryHeaders, binary);
+		assertThat(fromBinary).usingRecursiveComparison().isEqualTo(fromJson);
+	}
+
+	@Test
+	void unknownSchemaIsRejected() {
+		byte[] payload = new BinaryEventWriter(8).writeByte(EventCodecRegistry.MAGIC).writeVarInt(99).writeVarInt(1).toByteArray();
+
+		assertThatThrownBy(() -> registry.decode(payload))
+				.isInstanceOf(SerializationException.class)
+				.hasMessageContaining("99");
+	}
+
+	@Test
+	void truncatedPayloadIsRejected() {
+		byte[] payload = registry.encode(new PaymentCacheInvalidationEvent("replica-1", "PMT-1", "ORD-1"));
+
+		assertThatThrownBy(() -> registry.decode(Arrays.copyOf(payload, payload.length - 3)))
+				.isInstanceOf(SerializationException.class);
+	}
+
+	@Test
+	void corruptDecimalScaleIsRejected() {
+		byte[] payload = new BinaryEventWriter(16).writeSignedVarLong(Long.MAX_VALUE).writeBytes(new byte[]{1}).toByteArray();
+
+		assertThatThrownBy(() -> new BinaryEventReader(payload, 0).readDecimal())
+				.isInstanceOf(SerializationException.class)
+				.hasMessageContaining("scale");
+	}
+}
@@ -0,0 +1,212 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.concurrency.MicroBatcher;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.Refund;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentGatewayTest {
+
+	private StubPaymentGateway stub;
+	private CircuitBreaker circuitBreaker;
+	private PaymentGateway paymentGateway;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		stub = StubPaymentGateway.start();
+
+		WebClient webClient = WebClient.builder()
+				.baseUrl(stub.baseUrl())
+				.clientConnector(new ReactorClientHttpConnector(
+						HttpClient.create().responseTimeout(Duration.ofMillis(300))))
+				.build();
+
+		circuitBreaker = CircuitBreaker.of("paymentGateway", CircuitBreakerConfig.custom()
+				.slidingWindowSize(4)
+				.minimumNumberOfCalls(4)
+				.failureRateThreshold(50)
+				.waitDurationInOpenState(Duration.ofMinutes(1))
+				.recordException(PaymentGateway::isGatewayFault)
+				.build());
+		Bulkhead bulkhead = Bulkhead.of("paymentGateway", BulkheadConfig.custom()
+				.maxConcurrentCalls(10)
+				.maxWaitDuration(Duration.ZERO)
+				.build());
+		Retry retry = Retry.of("paymentGateway", RetryConfig.custom()
+				.maxAttempts(3)
+				.intervalFunction(IntervalFunction.ofExponentialRandomBackoff(Duration.ofMillis(10), 2.0, 0.5))
+				.retryOnException(PaymentGateway::isSafeToRetry)
+				.build());
+
+		paymentGateway = new PaymentGateway(webClient, bulkhead, circuitBreaker, retry, "test-api-key", 2000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.close();
+	}
+
+	@Test
+	void approvesThroughGateway() {
+		GatewayAuthorizationResponse response = paymentGateway.authorize(payment()).block();
+
+		assertThat(response.isApproved()).isTrue();
+		assertThat(response.getTransactionId()).startsWith("TX-");
+		assertThat(stub.requestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void retriesServiceUnavailable() {
+		stub.enqueueStatuses(503, 503);
+
+		GatewayAuthorizationResponse response = paymentGateway.authorize(payment()).block();
+
+		assertThat(response.isApproved()).isTrue();
+		assertThat(stub.requestCount()).isEqualTo(3);
+	}
+
+	@Test
+	void doesNotRetryServerError() {
+		stub.enqueueStatuses(500);
+
+		assertThatThrownBy(() -> paymentGateway.authorize(payment()).block());
+		assertThat(stub.requestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void responseTimeoutIsNotRetried() {
+		stub.setLatency(Duration.ofSeconds(1));
+
+		assertThatThrownBy(() -> paymentGateway.authorize(payment()).block());
+		assertThat(stub.requestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void openCircuitFailsFastWithoutCallingGateway() {
+		stub.setDefaultStatus(500);
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> paymentGateway.authorize(payment()).block());
+		}
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		int callsBeforeOpen = stub.requestCount();
+
+		GatewayAuthorizationResponse response = paymentGateway.authorize(payment()).block();
+
+		assertThat(response.isApproved()).isFalse();
+		assertThat(response.isUnavailable()).isTrue();
+		assertThat(stub.requestCount()).isEqualTo(callsBeforeOpen);
+	}
+
+	@Test
+	void clientErrorsDoNotOpenCircuit() {
+		stub.setDefaultStatus(400);
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> paymentGateway.authorize(payment()).block());
+		}
+
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void batchResultsAreMatchedToPaymentsByPaymentId() {
+		List<Payment> payments = List.of(payment(), payment(), payment());
+
+		List<GatewayAuthorizationResponse> results = paymentGateway.authorizeBatch(payments).block();
+
+		// 스텁은 결과를 역순으로 돌려줌
+		assertThat(results).extracting(GatewayAuthorizationResponse::getPaymentId)
+				.containsExactlyElementsOf(payments.stream().map(Payment::getPaymentId).toList());
+		assertThat(results).allMatch(GatewayAuthorizationResponse::isApproved);
+		assertThat(stub.requestCount()).isEqualTo(1);
+	}
+
+	@Test
+	void refundBatchResultsAreMatchedToRefundsByRefundId() {
+		Payment payment = payment();
+		List<Refund> refunds = List.of(
+				new Refund("RFD-1", payment, new BigDecimal("1000"), "damaged"),
+				new Refund("RFD-2", payment, new BigDecimal("2000"), null),
+				new Refund("RFD-3", payment, new BigDecimal("3000"), null));
+
+		List<GatewayRefundResponse> results = paymentGateway.refundBatch("CARD", refunds).block();
+
+		assertThat(results).extracting(GatewayRefundResponse::getRefundId).containsExactly("RFD-1", "RFD-2", "RFD-3");
+		assertThat(results).allMatch(GatewayRefundResponse::isApproved);
+		assertThat(stub.batchSizes()).containsExactly(3);
+	}
+
+	@Test
+	void refundBatchIsDeferredWhenCircuitIsOpen() {
+		circuitBreaker.transitionToOpenState();
+		Payment payment = payment();
+
+		List<GatewayRefundResponse> results = paymentGateway.refundBatch("CARD",
+				List.of(new Refund("RFD-1", payment, new BigDecimal("1000"), null))).block();
+
+		assertThat(results).singleElement().satisfies(result -> {
+			assertThat(result.isUnavailable()).isTrue();
+			assertThat(result.getRefundId()).isEqualTo("RFD-1");
+		});
+		assertThat(stub.requestCount()).isZero();
+	}
+
+	@Test
+	void concurrentAuthorizationsAreCoalescedIntoBatchCalls() throws Exception {
+		stub.setLatency(Duration.ofMillis(20));
+		MicroBatcher<Payment, GatewayAuthorizationResponse> batcher = new MicroBatcher<>("test-gateway-batch", 50,
+				Duration.ofMillis(20), batch -> paymentGateway.authorizeBatch(batch).toFuture());
+		ExecutorService callers = Executors.newFixedThreadPool(32);
+		try {
+			List<Payment> payments = IntStream.range(0, 400).mapToObj(i -> payment()).toList();
+			List<Future<GatewayAuthorizationResponse>> responses = new ArrayList<>();
+			for (Payment payment : payments) {
+				responses.add(callers.submit(() -> batcher.submit(payment).get(5, TimeUnit.SECONDS)));
+			}
+
+			for (int i = 0; i < payments.size(); i++) {
+				GatewayAuthorizationResponse response = responses.get(i).get(10, TimeUnit.SECONDS);
+				assertThat(response.getPaymentId()).isEqualTo(payments.get(i).getPaymentId());
+				assertThat(response.isApproved()).isTrue();
+			}
+			assertThat(stub.batchSizes()).allMatch(size -> size <= 50);
+			assertThat(stub.batchSizes().stream().mapToInt(Integer::intValue).sum()).isEqualTo(400);
+			assertThat(stub.requestCount()).isLessThan(100);
+		} finally {
+			callers.shutdownNow();
+			batcher.shutdown();
+		}
+	}
+
+	private Payment payment() {
+		Payment payment = new Payment("PMT-" + System.nanoTime());
+		payment.setOrderNumber("ORD-" + System.nanoTime());
+		payment.setAmount(new BigDecimal("10000"));
+		payment.setPaymentMethod("CARD");
+		return payment;
+	}
+}
@@ -0,0 +1,238 @@
+package com.example.paymentservice.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 로컬 결제 게이트웨이. POST /v1/payments/authorize, POST /v1/payments/authorize/batch 에 승인 응답을,
+ * POST /v1/refunds/batch 에 환불 응답을 돌려주며, 응답 지연, 실패 상태 코드, 무작위 실패/거절 비율을 테스트에서 조절할 수 있다.
+ * 배치 응답은 결과를 요청의 역순으로 돌려준다 (클라이언트가 paymentId / refundId 로 맞추는지 확인).
+ */
+public class StubPaymentGateway implements AutoCloseable {
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final Queue<Integer> queuedStatuses = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private final Queue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+	private final Queue<String> idempotencyKeys = new ConcurrentLinkedQueue<>();
+	private final Queue<RefundBatch> refundBatches = new ConcurrentLinkedQueue<>();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private volatile Duration latency = Duration.ZERO;
+	private volatile int defaultStatus = 200;
+	private volatile double failureRate;
+	private volatile double declineRate;
+
+	private StubPaymentGateway(HttpServer server) {
+		this.server = server;
+		this.server.createContext("/v1/payments/authorize", this::handleAuthorize);
+		this.server.createContext("/v1/payments/authorize/batch", this::handleAuthorizeBatch);
+		this.server.createContext("/v1/refunds/batch", this::handleRefundBatch);
+		this.server.setExecutor(executor);
+		this.server.start();
+	}
+
+	public static StubPaymentGateway start() throws IOException {
+		return new StubPaymentGateway(HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0));
+	}
+
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public void setLatency(Duration latency) {
+		this.latency = latency;
+	}
+
+	// 큐에 넣은 상태 코드를 먼저 소진한 뒤 기본 상태 코드로 응답
+	public void enqueueStatuses(int... statuses) {
+		for (int status : statuses) {
+			queuedStatuses.add(status);
+		}
+	}
+
+	public void setDefaultStatus(int defaultStatus) {
+		this.defaultStatus = defaultStatus;
+	}
+
+	// 요청의 failureRate 비율만큼 500 으로 응답
+	public void setFailureRate(double failureRate) {
+		this.failureRate = failureRate;
+	}
+
+	// 정상 응답 중 declineRate 비율만큼 승인 거절 (approved=false)
+	public void setDeclineRate(double declineRate) {
+		this.declineRate = declineRate;
+	}
+
+	public int requestCount() {
+		return requestCount.get();
+	}
+
+	// 배치 요청마다 담긴 결제 수
+	public List<Integer> batchSizes() {
+		return List.copyOf(batchSizes);
+	}
+
+	// 단건 승인 요청의 Idempotency-Key 헤더 (요청 순서)
+	public List<String> idempotencyKeys() {
+		return List.copyOf(idempotencyKeys);
+	}
+
+	// 배치 환불 요청 (요청 순서)
+	public List<RefundBatch> refundBatches() {
+		return List.copyOf(refundBatches);
+	}
+
+	private void handleAuthorize(HttpExchange exchange) throws IOException {
+		requestCount.incrementAndGet();
+		String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+		if (idempotencyKey != null) {
+			idempotencyKeys.add(idempotencyKey);
+		}
+		try (InputStream body = exchange.getRequestBody()) {
+			body.readAllBytes();
+		}
+
+		int status = nextStatus();
+		byte[] response;
+		if (status != 200) {
+			response = "{\"message\":\"stub gateway error\"}".getBytes(StandardCharsets.UTF_8);
+		} else {
+			response = objectMapper.writeValueAsBytes(authorization(null));
+		}
+		respond(exchange, status, response);
+	}
+
+	private void handleAuthorizeBatch(HttpExchange exchange) throws IOException {
+		requestCount.incrementAndGet();
+		JsonNode payments;
+		try (InputStream body = exchange.getRequestBody()) {
+			payments = objectMapper.readTree(body).path("payments");
+		}
+		batchSizes.add(payments.size());
+
+		int status = nextStatus();
+		byte[] response;
+		if (status != 200) {
+			response = "{\"message\":\"stub gateway error\"}".getBytes(StandardCharsets.UTF_8);
+		} else {
+			List<Map<String, Object>> results = new ArrayList<>();
+			for (JsonNode payment : payments) {
+				results.add(0, authorization(payment.path("paymentId").asText()));
+			}
+			response = objectMapper.writeValueAsBytes(Map.of("results", results));
+		}
+		respond(exchange, status, response);
+	}
+
+	private void handleRefundBatch(HttpExchange exchange) throws IOException {
+		requestCount.incrementAndGet();
+		JsonNode request;
+		try (InputStream body = exchange.getRequestBody()) {
+			request = objectMapper.readTree(body);
+		}
+		JsonNode refunds = request.path("refunds");
+		batchSizes.add(refunds.size());
+		List<String> refundIds = new ArrayList<>();
+		refunds.forEach(refund -> refundIds.add(refund.path("refundId").asText()));
+		refundBatches.add(new RefundBatch(request.path("paymentMethod").asText(), refundIds));
+
+		int status = nextStatus();
+		byte[] response;
+		if (status != 200) {
+			response = "{\"message\":\"stub gateway error\"}".getBytes(StandardCharsets.UTF_8);
+		} else {
+			List<Map<String, Object>> results = new ArrayList<>();
+			for (JsonNode refund : refunds) {
+				results.add(0, refund(refund.path("refundId").asText()));
+			}
+			response = objectMapper.writeValueAsBytes(Map.of("results", results));
+		}
+		respond(exchange, status, response);
+	}
+
+	private int nextStatus() {
+		if (!latency.isZero()) {
+			try {
+				Thread.sleep(latency.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		Integer queued = queuedStatuses.poll();
+		int status = queued != null ? queued : defaultStatus;
+		if (queued == null && status == 200 && failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+			status = 500;
+		}
+		return status;
+	}
+
+	private Map<String, Object> authorization(String paymentId) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		if (paymentId != null) {
+			result.put("paymentId", paymentId);
+		}
+		if (declineRate > 0 && ThreadLocalRandom.current().nextDouble() < declineRate) {
+			result.put("approved", false);
+			result.put("message", "Payment gateway declined the transaction");
+		} else {
+			result.put("approved", true);
+			result.put("transactionId", "TX-" + UUID.randomUUID());
+			result.put("message", "Payment processed successfully");
+		}
+		return result;
+	}
+
+	private Map<String, Object> refund(String refundId) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("refundId", refundId);
+		if (declineRate > 0 && ThreadLocalRandom.current().nextDouble() < declineRate) {
+			result.put("approved", false);
+			result.put("message", "Payment gateway declined the refund");
+		} else {
+			result.put("approved", true);
+			result.put("transactionId", "RX-" + UUID.randomUUID());
+			result.put("message", "Refund processed successfully");
+		}
+		return result;
+	}
+
+	private static void respond(HttpExchange exchange, int status, byte[] response) throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, response.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(response);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	public record RefundBatch(String paymentMethod, List<String> refundIds) {
+	}
+}
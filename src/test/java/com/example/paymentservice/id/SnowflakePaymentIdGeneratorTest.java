@@ -0,0 +1,93 @@
+package com.example.paymentservice.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakePaymentIdGeneratorTest {
+
+	@Test
+	void idsAreFixedWidthAndSortInGenerationOrder() {
+		SnowflakePaymentIdGenerator generator = new SnowflakePaymentIdGenerator(7);
+
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			ids.add(generator.nextId());
+		}
+
+		assertThat(ids).allSatisfy(id -> assertThat(id).hasSize(17).startsWith("PMT-"));
+		assertThat(ids).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	void sequenceOverflowAndClockRollbackStayUnique() {
+		// 시계가 멈췄다가 뒤로 가도 ID 는 계속 증가
+		AtomicLong clock = new AtomicLong(SnowflakePaymentIdGenerator.EPOCH_MILLIS + 1_000);
+		SnowflakePaymentIdGenerator generator = new SnowflakePaymentIdGenerator(1, clock::get);
+
+		long previous = generator.nextLong();
+		for (int i = 0; i < 10_000; i++) {
+			if (i == 5_000) {
+				clock.addAndGet(-500);
+			}
+			long next = generator.nextLong();
+			assertThat(next).isGreaterThan(previous);
+			previous = next;
+		}
+	}
+
+	@Test
+	void timestampCanBeRecoveredFromId() {
+		long now = SnowflakePaymentIdGenerator.EPOCH_MILLIS + 123_456_789L;
+		SnowflakePaymentIdGenerator generator = new SnowflakePaymentIdGenerator(SnowflakePaymentIdGenerator.MAX_NODE_ID, () -> now);
+
+		assertThat(SnowflakePaymentIdGenerator.timestampOf(generator.nextId())).contains(Instant.ofEpochMilli(now));
+		assertThat(SnowflakePaymentIdGenerator.timestampOf("PMT-1A2B3C4D")).isEmpty();
+		assertThat(SnowflakePaymentIdGenerator.timestampOf("PMT-0000000000ILU")).isEmpty();
+	}
+
+	@Test
+	void differentNodesNeverCollide() throws Exception {
+		AtomicLong clock = new AtomicLong(SnowflakePaymentIdGenerator.EPOCH_MILLIS + 1_000);
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int node = 0; node < 2; node++) {
+				SnowflakePaymentIdGenerator generator = new SnowflakePaymentIdGenerator(node, clock::get);
+				for (int thread = 0; thread < 2; thread++) {
+					futures.add(executor.submit(() -> {
+						for (int i = 0; i < 20_000; i++) {
+							ids.add(generator.nextId());
+						}
+					}));
+				}
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(ids).hasSize(80_000);
+	}
+
+	@Test
+	void rejectsOutOfRangeNodeId() {
+		assertThatThrownBy(() -> new SnowflakePaymentIdGenerator(SnowflakePaymentIdGenerator.MAX_NODE_ID + 1))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,294 @@
+package com.example.paymentservice.loadtest;
+
+import com.example.paymentservice.event.OrderCreatedEvent;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.loadtest.StageTimingConfiguration.OrderEventLatencyTracker;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 오프라인 부하 테스트: 임베디드 Kafka + H2(또는 로컬 Postgres) + 스텁 게이트웨이.
+ * POST /api/payments 와 order-created-topic 을 지정한 속도(open-loop)로 동시에 구동하고,
+ * 단계별 p50/p99/p999 를 출력하며 HdrHistogram 파일(build/loadtest/*.hgrm, *.hlog)로 남긴다.
+ * <p>
+ * 실행 예: ./gradlew loadTest -Dloadtest.api.rate=200 -Dloadtest.order-event.rate=500 -Dloadtest.duration-seconds=60
+ * <p>
+ * 플랫폼 스레드와 가상 스레드 비교: -Dloadtest.virtual-threads=false 와 true 로 각각 실행하면
+ * 결과가 build/loadtest/platform, build/loadtest/virtual 에 따로 남는다.
+ * 입장 제어로 거절된 요청(429/503)은 오류가 아니라 shed 로 따로 센다.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(StageTimingConfiguration.class)
+@EmbeddedKafka(partitions = 3, topics = {"order-created-topic", "payment-completed-topic"},
+		bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class PaymentLoadTest {
+
+	private static final int API_RATE = Integer.getInteger("loadtest.api.rate", 100);
+	private static final int ORDER_EVENT_RATE = Integer.getInteger("loadtest.order-event.rate", 200);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+	private static final long GATEWAY_LATENCY_MS = Long.getLong("loadtest.gateway.latency-ms", 50);
+	private static final double GATEWAY_FAILURE_RATE = Double.parseDouble(System.getProperty("loadtest.gateway.failure-rate", "0"));
+	private static final double GATEWAY_DECLINE_RATE = Double.parseDouble(System.getProperty("loadtest.gateway.decline-rate", "0.1"));
+	private static final boolean VIRTUAL_THREADS = Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "false"));
+	private static final File REPORT_DIR = new File(System.getProperty("loadtest.report-dir", "build/loadtest"),
+			VIRTUAL_THREADS ? "virtual" : "platform");
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmbeddedKafkaBroker embeddedKafka;
+
+	@Autowired
+	private StageTimings stageTimings;
+
+	@Autowired
+	private OrderEventLatencyTracker orderEventLatencyTracker;
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.executor(Executors.newFixedThreadPool(32))
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	@DynamicPropertySource
+	static void loadTestProperties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.kafka.order-created.batch-enabled", () -> System.getProperty("loadtest.batch-enabled", "false"));
+		registry.add("payment.kafka.listener.concurrency", () -> System.getProperty("loadtest.listener-concurrency", "3"));
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("spring.threads.virtual.enabled", () -> String.valueOf(VIRTUAL_THREADS));
+		registry.add("payment.admission.enabled", () -> System.getProperty("loadtest.admission.enabled", "true"));
+		registry.add("payment.admission.max-concurrent-payments", () -> System.getProperty("loadtest.admission.max-concurrent", "16"));
+		registry.add("spring.jpa.show-sql", () -> "false");
+		registry.add("logging.level.root", () -> "WARN");
+
+		// -Dloadtest.postgres.url 지정 시 H2 대신 로컬 Postgres 사용 (Flyway 로 스키마 생성)
+		String postgresUrl = System.getProperty("loadtest.postgres.url");
+		if (postgresUrl != null) {
+			registry.add("spring.datasource.url", () -> postgresUrl);
+			registry.add("spring.datasource.username", () -> System.getProperty("loadtest.postgres.user", "paymentuser"));
+			registry.add("spring.datasource.password", () -> System.getProperty("loadtest.postgres.password", "paymentpassword"));
+			registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+			registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+			registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+			registry.add("spring.flyway.enabled", () -> "true");
+		}
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	@Test
+	void sustainedPaymentLoad() throws Exception {
+		KafkaTemplate<String, Object> producer = orderEventProducer();
+		try {
+			// 워밍업 (JIT, 커넥션 풀, 컨슈머 파티션 할당) 후 기록 초기화
+			runPhase(producer, Math.max(1, WARMUP_SECONDS));
+			stageTimings.drain();
+
+			long start = System.nanoTime();
+			PhaseResult result = runPhase(producer, DURATION_SECONDS);
+			double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+			report(stageTimings.drain(), elapsedSeconds, result);
+
+			assertThat(result.apiErrors()).isZero();
+			assertThat(orderEventLatencyTracker.pending()).isZero();
+		} finally {
+			producer.destroy();
+		}
+	}
+
+	private PhaseResult runPhase(KafkaTemplate<String, Object> producer, int seconds) throws Exception {
+		String runId = UUID.randomUUID().toString().substring(0, 8);
+		AtomicLong apiErrors = new AtomicLong();
+		AtomicLong apiShed = new AtomicLong();
+
+		ExecutorService drivers = Executors.newFixedThreadPool(2);
+		try {
+			CompletableFuture<Integer> api = CompletableFuture.supplyAsync(() -> drive(API_RATE, seconds, StageTimings.API,
+					intended -> postPayment("LOAD-API-" + runId + "-" + intended, apiErrors, apiShed)), drivers);
+			CompletableFuture<Integer> orderEvents = CompletableFuture.supplyAsync(() -> drive(ORDER_EVENT_RATE, seconds, null,
+					intended -> sendOrderCreated(producer, "LOAD-EVT-" + runId + "-" + intended, intended)), drivers);
+
+			int apiRequests = api.get();
+			int orderEventsSent = orderEvents.get();
+
+			// 이미 보낸 이벤트가 모두 처리될 때까지 대기
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(30, seconds));
+			while (orderEventLatencyTracker.pending() > 0 && System.nanoTime() < deadline) {
+				Thread.sleep(100);
+			}
+			return new PhaseResult(apiRequests, orderEventsSent, apiErrors.get(), apiShed.get());
+		} finally {
+			drivers.shutdownNow();
+		}
+	}
+
+	/**
+	 * 일정 간격으로 요청을 시작하는 open-loop 구동. 지연 시간은 "시작했어야 할 시각" 기준으로 기록해
+	 * 서버가 느려질 때 요청이 밀리는 효과(coordinated omission)를 숨기지 않는다.
+	 */
+	private int drive(int ratePerSecond, int seconds, String stage, LongFunction<CompletableFuture<?>> send) {
+		if (ratePerSecond <= 0) {
+			return 0;
+		}
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+		int total = ratePerSecond * seconds;
+		long start = System.nanoTime();
+		List<CompletableFuture<?>> inFlight = new ArrayList<>(total);
+
+		for (int i = 0; i < total; i++) {
+			long intended = start + i * intervalNanos;
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			CompletableFuture<?> future = send.apply(intended);
+			if (stage != null) {
+				future = future.whenComplete((value, error) -> stageTimings.record(stage, System.nanoTime() - intended));
+			}
+			inFlight.add(future);
+		}
+
+		CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+				.orTimeout(2L * seconds + 30, TimeUnit.SECONDS)
+				.exceptionally(error -> null)
+				.join();
+		return total;
+	}
+
+	private CompletableFuture<?> postPayment(String orderNumber, AtomicLong errors, AtomicLong shed) {
+		String body = "{\"orderNumber\":\"" + orderNumber + "\",\"amount\":10000.00,\"paymentMethod\":\"CARD\"}";
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/payments"))
+				.header("Content-Type", "application/json")
+				.timeout(Duration.ofSeconds(30))
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.whenComplete((response, error) -> {
+					if (error != null) {
+						errors.incrementAndGet();
+					} else if (response.statusCode() == 429 || response.statusCode() == 503) {
+						shed.incrementAndGet();
+					} else if (response.statusCode() >= 400) {
+						errors.incrementAndGet();
+					}
+				});
+	}
+
+	private CompletableFuture<?> sendOrderCreated(KafkaTemplate<String, Object> producer, String orderNumber, long intended) {
+		orderEventLatencyTracker.markSent(orderNumber, intended);
+		OrderCreatedEvent event = new OrderCreatedEvent(orderNumber, "load@example.com",
+				new BigDecimal("10000.00"), LocalDateTime.now(), "CARD");
+		return producer.send("order-created-topic", orderNumber, event);
+	}
+
+	// 애플리케이션의 KafkaTemplate 은 publish 단계로 계측되므로 부하 생성용 프로듀서는 별도로 둔다
+	private KafkaTemplate<String, Object> orderEventProducer() {
+		Map<String, Object> props = KafkaTestUtils.producerProps(embeddedKafka);
+		props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+		props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+		return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+	}
+
+	private void report(Map<String, Histogram> histograms, double elapsedSeconds, PhaseResult result) throws Exception {
+		REPORT_DIR.mkdirs();
+
+		System.out.printf("%nload test (%s threads): api %d req/s, order-event %d evt/s, %ds, gateway %dms (failure %.0f%%, decline %.0f%%)%n",
+				VIRTUAL_THREADS ? "virtual" : "platform", API_RATE, ORDER_EVENT_RATE, DURATION_SECONDS, GATEWAY_LATENCY_MS,
+				GATEWAY_FAILURE_RATE * 100, GATEWAY_DECLINE_RATE * 100);
+		System.out.printf("sent: api %d (errors %d, shed %d), order-event %d%n",
+				result.apiRequests(), result.apiErrors(), result.apiShed(), result.orderEvents());
+		System.out.printf("%-24s %10s %10s %10s %10s %10s %10s%n",
+				"stage", "count", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			Histogram histogram = entry.getValue();
+			System.out.printf("%-24s %10d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+					entry.getKey(),
+					histogram.getTotalCount(),
+					histogram.getTotalCount() / elapsedSeconds,
+					histogram.getValueAtPercentile(50) / 1000.0,
+					histogram.getValueAtPercentile(99) / 1000.0,
+					histogram.getValueAtPercentile(99.9) / 1000.0,
+					histogram.getMaxValue() / 1000.0);
+
+			// .hgrm: HdrHistogram 플로터용 백분위 분포 (ms), .hlog: 원본 히스토그램 (릴리스 간 비교용)
+			try (PrintStream out = new PrintStream(new File(REPORT_DIR, entry.getKey() + ".hgrm"))) {
+				histogram.outputPercentileDistribution(out, 1000.0);
+			}
+			try (PrintStream out = new PrintStream(new File(REPORT_DIR, entry.getKey() + ".hlog"))) {
+				HistogramLogWriter writer = new HistogramLogWriter(out);
+				writer.outputLogFormatVersion();
+				writer.outputLegend();
+				writer.outputIntervalHistogram(histogram);
+			}
+		}
+		System.out.printf("histograms written to %s%n", REPORT_DIR.getAbsolutePath());
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			StubPaymentGateway gateway = StubPaymentGateway.start();
+			gateway.setLatency(Duration.ofMillis(GATEWAY_LATENCY_MS));
+			gateway.setFailureRate(GATEWAY_FAILURE_RATE);
+			gateway.setDeclineRate(GATEWAY_DECLINE_RATE);
+			return gateway;
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+
+	private record PhaseResult(int apiRequests, int orderEvents, long apiErrors, long apiShed) {
+	}
+}
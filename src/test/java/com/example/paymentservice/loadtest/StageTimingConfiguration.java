@@ -0,0 +1,129 @@
+package com.example.paymentservice.loadtest;
+
+import com.example.paymentservice.event.PaymentChangedEvent;
+import com.example.paymentservice.gateway.PaymentGateway;
+import com.example.paymentservice.repository.PaymentJdbcRepository;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 부하 테스트용 계측. 애플리케이션 코드를 바꾸지 않고 빈을 프록시로 감싸 단계별 시간을 기록한다.
+ * <ul>
+ *     <li>repository: PaymentRepository / PaymentJdbcRepository 호출</li>
+ *     <li>commit: 트랜잭션 커밋 (지연된 insert/update flush 포함)</li>
+ *     <li>gateway: PaymentGateway.authorize 구독부터 완료까지 (재시도 포함)</li>
+ *     <li>publish: KafkaTemplate.send 부터 브로커 ack 까지</li>
+ * </ul>
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StageTimingConfiguration {
+
+	@Bean
+	public static StageTimings stageTimings() {
+		return new StageTimings();
+	}
+
+	@Bean
+	public static BeanPostProcessor stageTimingPostProcessor(StageTimings stageTimings) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof PaymentRepository || bean instanceof PaymentJdbcRepository) {
+					return instrument(bean, timing(stageTimings, StageTimings.REPOSITORY, null));
+				}
+				if (bean instanceof PaymentGateway) {
+					return instrument(bean, timing(stageTimings, StageTimings.GATEWAY, "authorize"));
+				}
+				if (bean instanceof KafkaTemplate) {
+					return instrument(bean, timing(stageTimings, StageTimings.PUBLISH, "send"));
+				}
+				if (bean instanceof PlatformTransactionManager) {
+					return instrument(bean, timing(stageTimings, StageTimings.COMMIT, "commit"));
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	public OrderEventLatencyTracker orderEventLatencyTracker(StageTimings stageTimings) {
+		return new OrderEventLatencyTracker(stageTimings);
+	}
+
+	private static Object instrument(Object bean, MethodInterceptor interceptor) {
+		if (bean instanceof Advised advised && !advised.isFrozen()) {
+			advised.addAdvice(0, interceptor);
+			return bean;
+		}
+		ProxyFactory factory = new ProxyFactory(bean);
+		factory.setProxyTargetClass(true);
+		factory.addAdvice(interceptor);
+		return factory.getProxy();
+	}
+
+	// methodName 이 null 이면 모든 메서드, Mono/CompletableFuture 는 완료 시점까지 측정
+	private static MethodInterceptor timing(StageTimings stageTimings, String stage, String methodName) {
+		return invocation -> {
+			if (methodName != null && !invocation.getMethod().getName().equals(methodName)) {
+				return invocation.proceed();
+			}
+
+			long start = System.nanoTime();
+			Object result = invocation.proceed();
+			if (result instanceof Mono<?> mono) {
+				return Mono.defer(() -> {
+					long subscribed = System.nanoTime();
+					return mono.doFinally(signal -> stageTimings.record(stage, System.nanoTime() - subscribed));
+				});
+			}
+			if (result instanceof CompletableFuture<?> future) {
+				future.whenComplete((value, error) -> stageTimings.record(stage, System.nanoTime() - start));
+				return future;
+			}
+			stageTimings.record(stage, System.nanoTime() - start);
+			return result;
+		};
+	}
+
+	/**
+	 * order-created 이벤트 전송 시각부터 해당 주문의 결제가 커밋될 때까지의 지연 시간.
+	 */
+	public static class OrderEventLatencyTracker {
+
+		private final StageTimings stageTimings;
+		private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+
+		OrderEventLatencyTracker(StageTimings stageTimings) {
+			this.stageTimings = stageTimings;
+		}
+
+		public void markSent(String orderNumber, long intendedNanos) {
+			sentAt.put(orderNumber, intendedNanos);
+		}
+
+		public int pending() {
+			return sentAt.size();
+		}
+
+		@TransactionalEventListener(fallbackExecution = true)
+		public void onPaymentChanged(PaymentChangedEvent event) {
+			Long start = sentAt.remove(event.getOrderNumber());
+			if (start != null) {
+				stageTimings.record(StageTimings.ORDER_EVENT, System.nanoTime() - start);
+			}
+		}
+	}
+}
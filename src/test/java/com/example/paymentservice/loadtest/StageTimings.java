@@ -0,0 +1,36 @@
+package com.example.paymentservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단계별 지연 시간 기록 (마이크로초 단위 HdrHistogram). 여러 스레드에서 동시에 기록해도 안전하다.
+ */
+public class StageTimings {
+
+	public static final String REPOSITORY = "repository";
+	public static final String COMMIT = "commit";
+	public static final String GATEWAY = "gateway";
+	public static final String PUBLISH = "publish";
+	public static final String API = "api-end-to-end";
+	public static final String ORDER_EVENT = "order-event-end-to-end";
+
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+	public void record(String stage, long elapsedNanos) {
+		recorders.computeIfAbsent(stage, key -> new Recorder(3))
+				.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+	}
+
+	// 지금까지 기록된 값을 꺼내고 기록을 비움 (워밍업 이후 호출)
+	public Map<String, Histogram> drain() {
+		Map<String, Histogram> histograms = new TreeMap<>();
+		recorders.forEach((stage, recorder) -> histograms.put(stage, recorder.getIntervalHistogram()));
+		return histograms;
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.paymentservice.model;
+
+import com.example.paymentservice.exception.IllegalPaymentTransitionException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentStatusTest {
+
+	@Test
+	void transitionTableFollowsThePaymentLifecycle() {
+		assertThat(PaymentStatus.PENDING.canTransitionTo(PaymentStatus.PROCESSING)).isTrue();
+		assertThat(PaymentStatus.PROCESSING.canTransitionTo(PaymentStatus.COMPLETED)).isTrue();
+		assertThat(PaymentStatus.PROCESSING.canTransitionTo(PaymentStatus.PENDING)).isTrue();
+		assertThat(PaymentStatus.COMPLETED.canTransitionTo(PaymentStatus.REFUNDED)).isTrue();
+
+		assertThat(PaymentStatus.PENDING.canTransitionTo(PaymentStatus.COMPLETED)).isFalse();
+		assertThat(PaymentStatus.COMPLETED.canTransitionTo(PaymentStatus.FAILED)).isFalse();
+		assertThat(PaymentStatus.FAILED.canTransitionTo(PaymentStatus.COMPLETED)).isFalse();
+		assertThat(PaymentStatus.REFUNDED.canTransitionTo(PaymentStatus.COMPLETED)).isFalse();
+
+		assertThat(PaymentStatus.FAILED.isTerminal()).isTrue();
+		assertThat(PaymentStatus.REFUNDED.isTerminal()).isTrue();
+		assertThat(PaymentStatus.CANCELLED.isTerminal()).isTrue();
+		assertThat(PaymentStatus.COMPLETED.isTerminal()).isFalse();
+	}
+
+	@Test
+	void illegalTransitionLeavesThePaymentUntouched() {
+		Payment payment = new Payment("PMT-0000000000001");
+		payment.transitionTo(PaymentStatus.PROCESSING);
+		payment.markAsFailed("declined");
+		LocalDateTime updatedAt = payment.getUpdatedAt();
+
+		assertThatThrownBy(payment::markAsCompleted)
+				.isInstanceOf(IllegalPaymentTransitionException.class)
+				.hasMessageContaining("FAILED to COMPLETED");
+		assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+		assertThat(payment.getUpdatedAt()).isEqualTo(updatedAt);
+	}
+
+	@Test
+	void sameStateTransitionIsIdempotent() {
+		Payment payment = new Payment("PMT-0000000000002");
+
+		assertThat(payment.transitionTo(PaymentStatus.PROCESSING)).isTrue();
+		// 재처리기의 재점유나 같은 게이트웨이 결과의 중복 반영
+		assertThat(payment.transitionTo(PaymentStatus.PROCESSING)).isFalse();
+		assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+	}
+
+	@Test
+	void partialRefundsKeepPaymentCompletedUntilFullyRefunded() {
+		Payment payment = new Payment("PMT-0000000000003");
+		payment.setAmount(new BigDecimal("10000"));
+		payment.transitionTo(PaymentStatus.PROCESSING);
+		payment.markAsCompleted();
+
+		payment.reserveRefund(new BigDecimal("4000"));
+		payment.reserveRefund(new BigDecimal("6000"));
+		// 정산 대기 금액까지 포함해 결제 금액을 넘을 수 없음
+		assertThatThrownBy(() -> payment.reserveRefund(new BigDecimal("1")))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		payment.settleRefund(new BigDecimal("4000"));
+		payment.releaseRefund(new BigDecimal("6000"));
+		assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(payment.getRefundableAmount()).isEqualByComparingTo("6000");
+
+		payment.reserveRefund(new BigDecimal("6000"));
+		payment.settleRefund(new BigDecimal("6000"));
+		assertThat(payment.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+		assertThat(payment.getRefundedAmount()).isEqualByComparingTo("10000");
+		assertThatThrownBy(() -> payment.reserveRefund(new BigDecimal("1")))
+				.isInstanceOf(IllegalPaymentTransitionException.class);
+	}
+}
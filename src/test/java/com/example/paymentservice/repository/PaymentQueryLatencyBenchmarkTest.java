@@ -0,0 +1,124 @@
+package com.example.paymentservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 대용량(기본 1천만 행) payments 테이블에서 조회 쿼리 지연 측정 - 실제 PostgreSQL 필요
+// ./gradlew benchmarkTest -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/paymentdb -Dbenchmark.rows=10000000
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+class PaymentQueryLatencyBenchmarkTest {
+
+	private static final String URL = System.getProperty("benchmark.postgres.url");
+	private static final String USER = System.getProperty("benchmark.postgres.user", "paymentuser");
+	private static final String PASSWORD = System.getProperty("benchmark.postgres.password", "paymentpassword");
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+	private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 2_000);
+	private static final int SEED_CHUNK = 1_000_000;
+
+	private static final String SUMMARY_COLUMNS = "payment_id, order_number, amount, status, payment_method, created_at, updated_at";
+
+	@Test
+	void lookupLatencyOnSeededTable() throws Exception {
+		Flyway.configure().dataSource(URL, USER, PASSWORD).baselineOnMigrate(true).load().migrate();
+
+		try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD)) {
+			seed(connection);
+
+			measure(connection, "findByPaymentId (entity)",
+					"SELECT * FROM payments WHERE payment_id = ?", PaymentQueryLatencyBenchmarkTest::paymentId);
+			measure(connection, "findSummaryByPaymentId",
+					"SELECT " + SUMMARY_COLUMNS + " FROM payments WHERE payment_id = ?", PaymentQueryLatencyBenchmarkTest::paymentId);
+			measure(connection, "findSummariesByOrderNumber",
+					"SELECT " + SUMMARY_COLUMNS + " FROM payments WHERE order_number = ?", PaymentQueryLatencyBenchmarkTest::orderNumber);
+
+			explain(connection, "SELECT " + SUMMARY_COLUMNS + " FROM payments WHERE payment_id = '" + paymentId(ROWS / 2) + "'");
+			explain(connection, "SELECT " + SUMMARY_COLUMNS + " FROM payments WHERE order_number = '" + orderNumber(ROWS / 2) + "'");
+		}
+	}
+
+	private static void seed(Connection connection) throws Exception {
+		int existing;
+		try (Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("SELECT count(*) FROM payments WHERE source = 'API' AND payment_id LIKE 'BENCH-%'")) {
+			rs.next();
+			existing = rs.getInt(1);
+		}
+
+		String insert = """
+				INSERT INTO payments (id, payment_id, order_number, amount, status, payment_method, source,
+				                      payment_gateway_response, created_at, updated_at)
+				SELECT nextval('payments_seq'),
+				       'BENCH-' || lpad(g::text, 10, '0'),
+				       'BENCH-ORD-' || g,
+				       (g % 100000) / 100.0,
+				       (ARRAY['PENDING', 'PROCESSING', 'COMPLETED', 'FAILED'])[1 + g % 4],
+				       (ARRAY['CARD', 'BANK_TRANSFER', 'VIRTUAL_ACCOUNT'])[1 + g % 3],
+				       'API',
+				       'Payment processed successfully',
+				       now() - make_interval(secs => g),
+				       now() - make_interval(secs => g)
+				FROM generate_series(?, ?) AS g
+				""";
+
+		connection.setAutoCommit(true);
+		try (PreparedStatement statement = connection.prepareStatement(insert)) {
+			for (int from = existing; from < ROWS; from += SEED_CHUNK) {
+				statement.setInt(1, from);
+				statement.setInt(2, Math.min(from + SEED_CHUNK, ROWS) - 1);
+				statement.executeUpdate();
+				System.out.printf("seeded %,d / %,d rows%n", Math.min(from + SEED_CHUNK, ROWS), ROWS);
+			}
+		}
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("ANALYZE payments");
+		}
+	}
+
+	private static void measure(Connection connection, String name, String sql, IntFunction<String> key) throws Exception {
+		long[] nanos = new long[LOOKUPS];
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < LOOKUPS; i++) {
+				statement.setString(1, key.apply(ThreadLocalRandom.current().nextInt(ROWS)));
+				long start = System.nanoTime();
+				try (ResultSet rs = statement.executeQuery()) {
+					assertThat(rs.next()).isTrue();
+				}
+				nanos[i] = System.nanoTime() - start;
+			}
+		}
+		Arrays.sort(nanos);
+		System.out.printf("%-28s rows=%,d p50=%.3fms p99=%.3fms max=%.3fms%n", name, ROWS,
+				nanos[LOOKUPS / 2] / 1e6, nanos[(int) (LOOKUPS * 0.99)] / 1e6, nanos[LOOKUPS - 1] / 1e6);
+	}
+
+	private static void explain(Connection connection, String sql) throws Exception {
+		try (Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+			while (rs.next()) {
+				System.out.println("  " + rs.getString(1));
+			}
+		}
+	}
+
+	private static String paymentId(int index) {
+		return String.format("BENCH-%010d", index);
+	}
+
+	private static String orderNumber(int index) {
+		return "BENCH-ORD-" + index;
+	}
+}
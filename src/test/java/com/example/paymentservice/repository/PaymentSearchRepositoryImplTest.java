@@ -0,0 +1,204 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.PaymentSearchCriteria;
+import com.example.paymentservice.dto.PaymentSearchPage;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.service.PaymentSearchService;
+import com.example.paymentservice.service.PaymentSearchService.ExportFormat;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 키셋 검색과 내보내기 스트림. 테스트마다 고유한 결제 수단으로 조건을 걸어 다른 테스트의 결제와 섞이지 않게 한다
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class PaymentSearchRepositoryImplTest {
+
+	// 마이크로초까지 있는 시각 (커서가 초 이하 정밀도를 잃으면 같은 초의 결제를 건너뜀)
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 9, 0, 0, 123_456_000);
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentSearchService paymentSearchService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("payment.refund.settlement.enabled", () -> "false");
+	}
+
+	// createdAt 이 같은 결제는 id 순서로 이어지고, 페이지 경계가 동률 가운데 있어도 빠지거나 겹치지 않음
+	@Test
+	void keysetPagesBreakCreatedAtTiesById() {
+		String method = paymentMethod();
+		List<String> expected = save(method, T0, T0.plusSeconds(1), T0.plusSeconds(1), T0.plusSeconds(1), T0.plusSeconds(2));
+
+		List<String> visited = new ArrayList<>();
+		LocalDateTime afterCreatedAt = null;
+		Long afterId = null;
+		List<Payment> page;
+		do {
+			page = paymentRepository.searchAfter(criteria(method), afterCreatedAt, afterId, 2);
+			page.forEach(payment -> visited.add(payment.getPaymentId()));
+			if (!page.isEmpty()) {
+				afterCreatedAt = page.get(page.size() - 1).getCreatedAt();
+				afterId = page.get(page.size() - 1).getId();
+			}
+		} while (page.size() == 2);
+
+		assertThat(visited).containsExactlyElementsOf(expected);
+	}
+
+	// 서비스의 불투명 커서를 그대로 돌려주며 끝까지 읽으면 모든 결제를 한 번씩 순서대로 방문
+	@Test
+	void cursorRoundTripsVisitEveryPaymentOnce() {
+		String method = paymentMethod();
+		List<String> expected = save(method, T0, T0, T0.plusNanos(1_000), T0.plusNanos(1_000), T0.plusMinutes(1));
+
+		List<String> visited = new ArrayList<>();
+		List<String> cursors = new ArrayList<>();
+		String cursor = null;
+		do {
+			PaymentSearchPage page = paymentSearchService.search(criteria(method), cursor, 2);
+			page.getItems().forEach(item -> visited.add(item.getPaymentId()));
+			cursor = page.getNextCursor();
+			cursors.add(cursor);
+		} while (cursor != null);
+
+		assertThat(visited).containsExactlyElementsOf(expected);
+		assertThat(cursors).hasSize(3).endsWith((String) null);
+	}
+
+	@Test
+	void filtersAreAppliedBeforePaging() {
+		String method = paymentMethod();
+		List<String> saved = save(method, T0, T0.plusHours(1), T0.plusHours(2), T0.plusHours(3));
+		markCompleted(saved.get(1), saved.get(2), saved.get(3));
+
+		PaymentSearchCriteria criteria = criteria(method);
+		criteria.setStatus(PaymentStatus.COMPLETED);
+		criteria.setCreatedFrom(T0.plusHours(1));
+		criteria.setCreatedTo(T0.plusHours(3));
+		PaymentSearchPage page = paymentSearchService.search(criteria, null, 10);
+
+		assertThat(page.getItems()).extracting(PaymentResponse::getPaymentId).containsExactly(saved.get(1), saved.get(2));
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThatThrownBy(() -> paymentSearchService.search(criteria(paymentMethod()), "not-a-cursor", 10))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+	}
+
+	// 내보내기 스트림은 검색과 같은 순서이며, 읽은 엔티티는 바로 detach 되어 영속성 컨텍스트에 쌓이지 않음
+	@Test
+	void exportStreamIsOrderedAndDetachesRows() {
+		String method = paymentMethod();
+		List<String> saved = save(method, T0.plusSeconds(5), T0, T0, T0.plusSeconds(1));
+
+		List<String> streamed = transactionTemplate.execute(status -> {
+			try (Stream<Payment> payments = paymentRepository.streamForExport(criteria(method), 2)) {
+				return payments.peek(payment -> assertThat(entityManager.contains(payment)).isFalse())
+						.map(Payment::getPaymentId)
+						.toList();
+			}
+		});
+
+		assertThat(streamed).containsExactly(saved.get(1), saved.get(2), saved.get(3), saved.get(0));
+	}
+
+	@Test
+	void exportStreamRequiresCallerTransaction() {
+		assertThatThrownBy(() -> paymentRepository.streamForExport(criteria(paymentMethod()), 2))
+				.isInstanceOf(IllegalTransactionStateException.class);
+	}
+
+	@Test
+	void exportWritesNdjsonAndCsvInSearchOrder() {
+		String method = paymentMethod();
+		List<String> saved = save(method, T0.plusSeconds(1), T0);
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		paymentSearchService.export(criteria(method), ExportFormat.NDJSON, ndjson);
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		paymentSearchService.export(criteria(method), ExportFormat.CSV, csv);
+
+		List<String> jsonLines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(jsonLines).hasSize(2);
+		assertThat(jsonLines.get(0)).contains("\"paymentId\":\"" + saved.get(1) + "\"");
+		assertThat(jsonLines.get(1)).contains("\"paymentId\":\"" + saved.get(0) + "\"");
+
+		List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(csvLines).hasSize(3);
+		assertThat(csvLines.get(0)).isEqualTo("paymentId,orderNumber,amount,status,paymentMethod,createdAt,updatedAt");
+		assertThat(csvLines.get(1)).startsWith(saved.get(1) + ",");
+		assertThat(csvLines.get(2)).startsWith(saved.get(0) + ",");
+	}
+
+	// 주어진 createdAt 으로 저장하고 결제 ID 를 저장 순서대로 반환 (id 도 저장 순서대로 증가하므로 createdAt 동률은 저장 순서)
+	private List<String> save(String paymentMethod, LocalDateTime... createdAts) {
+		List<Payment> payments = new ArrayList<>();
+		for (LocalDateTime createdAt : createdAts) {
+			Payment payment = new Payment("PMT-SEARCH-" + UUID.randomUUID());
+			payment.setOrderNumber("ORD-SEARCH-" + UUID.randomUUID());
+			payment.setAmount(new BigDecimal("10000.00"));
+			payment.setPaymentMethod(paymentMethod);
+			payment.setCreatedAt(createdAt);
+			payment.setUpdatedAt(createdAt);
+			payments.add(payment);
+		}
+		return paymentRepository.saveAll(payments).stream().map(Payment::getPaymentId).toList();
+	}
+
+	private void markCompleted(String... paymentIds) {
+		for (String paymentId : paymentIds) {
+			Payment payment = paymentRepository.findByPaymentId(paymentId).orElseThrow();
+			payment.restoreStatus(PaymentStatus.COMPLETED);
+			paymentRepository.save(payment);
+		}
+	}
+
+	private static PaymentSearchCriteria criteria(String paymentMethod) {
+		PaymentSearchCriteria criteria = new PaymentSearchCriteria();
+		criteria.setPaymentMethod(paymentMethod);
+		return criteria;
+	}
+
+	private static String paymentMethod() {
+		return "CARD-" + UUID.randomUUID();
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentSource;
+import com.example.paymentservice.model.PaymentStatus;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// reactive 프로필의 R2DBC SQL 을 Flyway 로 만든 실제 Postgres 스키마(파티션 테이블, 시퀀스)에 대해 검증
+@Testcontainers(disabledWithoutDocker = true)
+class ReactivePaymentRepositoryTest {
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static DatabaseClient databaseClient;
+
+	private ReactivePaymentRepository repository;
+
+	@BeforeAll
+	static void migrate() {
+		Flyway.configure()
+				.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+				.load()
+				.migrate();
+		databaseClient = DatabaseClient.create(ConnectionFactories.get(ConnectionFactoryOptions.builder()
+				.option(ConnectionFactoryOptions.DRIVER, "postgresql")
+				.option(ConnectionFactoryOptions.HOST, postgres.getHost())
+				.option(ConnectionFactoryOptions.PORT, postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+				.option(ConnectionFactoryOptions.DATABASE, postgres.getDatabaseName())
+				.option(ConnectionFactoryOptions.USER, postgres.getUsername())
+				.option(ConnectionFactoryOptions.PASSWORD, postgres.getPassword())
+				.build()));
+	}
+
+	@BeforeEach
+	void setUp() {
+		repository = new ReactivePaymentRepository(databaseClient);
+	}
+
+	@Test
+	void insertAssignsIdAndReadsBackAllColumns() {
+		Payment payment = processingPayment("ORD-R2DBC-1");
+
+		Payment inserted = repository.insert(payment).block();
+
+		assertThat(inserted.getId()).isNotNull();
+		assertThat(inserted.getVersion()).isZero();
+
+		Payment loaded = repository.findByPaymentId(payment.getPaymentId()).block();
+		assertThat(loaded.getId()).isEqualTo(inserted.getId());
+		assertThat(loaded.getOrderNumber()).isEqualTo("ORD-R2DBC-1");
+		assertThat(loaded.getAmount()).isEqualByComparingTo("125000.00");
+		assertThat(loaded.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+		assertThat(loaded.getPaymentMethod()).isEqualTo("CARD");
+		assertThat(loaded.getSource()).isEqualTo(PaymentSource.API);
+		assertThat(loaded.getAttemptCount()).isZero();
+		assertThat(loaded.getPaymentGatewayResponse()).isNull();
+		assertThat(loaded.getNextAttemptAt()).isNull();
+		assertThat(loaded.getCreatedAt()).isEqualTo(payment.getCreatedAt().truncatedTo(ChronoUnit.MICROS));
+		assertThat(loaded.getVersion()).isZero();
+
+		assertThat(repository.findByOrderNumber("ORD-R2DBC-1").map(Payment::getPaymentId).collectList().block())
+				.containsExactly(payment.getPaymentId());
+		assertThat(repository.findById(inserted.getId()).block().getPaymentId()).isEqualTo(payment.getPaymentId());
+	}
+
+	@Test
+	void updateWritesStatusAndBumpsVersion() {
+		Payment payment = repository.insert(processingPayment("ORD-R2DBC-2")).block();
+
+		payment.transitionTo(PaymentStatus.COMPLETED);
+		payment.setPaymentGatewayResponse("APPROVED");
+		repository.update(payment).block();
+
+		assertThat(payment.getVersion()).isEqualTo(1L);
+		Payment loaded = repository.findById(payment.getId()).block();
+		assertThat(loaded.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(loaded.getPaymentGatewayResponse()).isEqualTo("APPROVED");
+		assertThat(loaded.getVersion()).isEqualTo(1L);
+	}
+
+	@Test
+	void staleVersionUpdateIsRejectedAndLeavesRowUnchanged() {
+		Payment inserted = repository.insert(processingPayment("ORD-R2DBC-3")).block();
+		Payment first = repository.findById(inserted.getId()).block();
+		Payment stale = repository.findById(inserted.getId()).block();
+
+		first.transitionTo(PaymentStatus.COMPLETED);
+		repository.update(first).block();
+
+		stale.transitionTo(PaymentStatus.FAILED);
+		assertThatThrownBy(() -> repository.update(stale).block())
+				.isInstanceOf(OptimisticLockingFailureException.class);
+
+		Payment loaded = repository.findById(inserted.getId()).block();
+		assertThat(loaded.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(loaded.getVersion()).isEqualTo(1L);
+	}
+
+	@Test
+	void findReturnsEmptyForUnknownPayment() {
+		assertThat(repository.findByPaymentId("missing-" + UUID.randomUUID()).blockOptional()).isEmpty();
+	}
+
+	private static Payment processingPayment(String orderNumber) {
+		Payment payment = new Payment(UUID.randomUUID().toString());
+		payment.setOrderNumber(orderNumber);
+		payment.setAmount(new BigDecimal("125000.00"));
+		payment.setPaymentMethod("CARD");
+		payment.transitionTo(PaymentStatus.PROCESSING);
+		return payment;
+	}
+}
@@ -0,0 +1,138 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.controller.PaymentController;
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.model.PaymentStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class BulkPaymentServiceTest {
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+	private static final int MAX_ITEMS = 3;
+
+	@Autowired
+	private BulkPaymentService bulkPaymentService;
+
+	@Autowired
+	private PaymentController paymentController;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.bulk.max-items", () -> String.valueOf(MAX_ITEMS));
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("payment.refund.settlement.enabled", () -> "false");
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	// 끝나지 않는 본문도 max-items + 1 번째 항목에서 거절되어야 함 (전체를 읽으면 시간 안에 끝나지 않음)
+	@Test
+	void ndjsonBodyIsRejectedAtFirstItemOverLimit() {
+		InputStream body = endless("", "{\"orderNumber\":\"ORD-BULK\",\"amount\":1000.00,\"paymentMethod\":\"CARD\"}\n");
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+				assertThatThrownBy(() -> paymentController.processPaymentsBulkNdjson(body))
+						.isInstanceOfSatisfying(ResponseStatusException.class,
+								e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST)));
+	}
+
+	@Test
+	void jsonArrayBodyIsRejectedAtFirstItemOverLimit() {
+		InputStream body = endless("[", "{\"orderNumber\":\"ORD-BULK\",\"amount\":1000.00,\"paymentMethod\":\"CARD\"},");
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+				assertThatThrownBy(() -> paymentController.processPaymentsBulk(body))
+						.isInstanceOfSatisfying(ResponseStatusException.class,
+								e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST)));
+	}
+
+	// reactive 입력은 max-items + 1 개까지만 요청하고 구독을 취소
+	@Test
+	void streamedRequestsStopAtFirstItemOverLimit() {
+		AtomicInteger emitted = new AtomicInteger();
+		Flux<PaymentRequest> requests = Flux.generate(sink -> sink.next(request("ORD-BULK-" + emitted.incrementAndGet())));
+
+		assertThatThrownBy(() -> bulkPaymentService.processPayments(requests).blockLast(Duration.ofSeconds(10)))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+		assertThat(emitted.get()).isEqualTo(MAX_ITEMS + 1);
+	}
+
+	// 한 항목의 게이트웨이 오류는 그 항목만 FAILED 로 끝내고 나머지는 승인됨
+	@Test
+	void failingItemDoesNotAffectOtherItems() {
+		GATEWAY.enqueueStatuses(400);
+
+		List<PaymentResponse> responses = bulkPaymentService.processPayments(List.of(
+						request("ORD-BULK-" + UUID.randomUUID()),
+						request("ORD-BULK-" + UUID.randomUUID()),
+						request("ORD-BULK-" + UUID.randomUUID())))
+				.collectList()
+				.block(Duration.ofSeconds(30));
+
+		assertThat(responses).hasSize(3);
+		assertThat(responses).extracting(PaymentResponse::getStatus)
+				.containsExactlyInAnyOrder(PaymentStatus.FAILED, PaymentStatus.COMPLETED, PaymentStatus.COMPLETED);
+	}
+
+	private static InputStream endless(String prefix, String item) {
+		byte[] head = prefix.getBytes(StandardCharsets.UTF_8);
+		byte[] repeated = item.getBytes(StandardCharsets.UTF_8);
+		return new InputStream() {
+			private long position;
+
+			@Override
+			public int read() {
+				long index = position++;
+				return index < head.length ? head[(int) index] : repeated[(int) ((index - head.length) % repeated.length)];
+			}
+		};
+	}
+
+	private static PaymentRequest request(String orderNumber) {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber(orderNumber);
+		request.setAmount(new BigDecimal("1000.00"));
+		request.setPaymentMethod("CARD");
+		return request;
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			return StubPaymentGateway.start();
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.model.IdempotencyRecord;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.PaymentSummary;
+import com.example.paymentservice.repository.IdempotencyRecordRepository;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class IdempotencyServiceTest {
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	// 최종 상태 트랜잭션 안의 아웃박스 기록을 실패시켜 "게이트웨이 승인 후 커밋 실패" 를 재현
+	@MockitoSpyBean
+	private PaymentEventOutbox paymentEventOutbox;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("payment.refund.settlement.enabled", () -> "false");
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	@Test
+	void repeatedKeyReplaysStoredResponseWithoutCallingGateway() {
+		String orderNumber = "ORD-IDEM-" + UUID.randomUUID();
+		String key = UUID.randomUUID().toString();
+
+		PaymentResponse first = idempotencyService.execute(key, request(orderNumber, "125000.00"));
+		int gatewayCalls = GATEWAY.requestCount();
+		PaymentResponse retry = idempotencyService.execute(key, request(orderNumber, "125000"));
+
+		assertThat(first.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(retry.getPaymentId()).isEqualTo(first.getPaymentId());
+		assertThat(retry.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(GATEWAY.requestCount()).isEqualTo(gatewayCalls);
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber)).hasSize(1);
+
+		IdempotencyRecord record = idempotencyRecordRepository.findById(key).orElseThrow();
+		assertThat(record.isCompleted()).isTrue();
+		assertThat(record.getPaymentId()).isEqualTo(first.getPaymentId());
+	}
+
+	@Test
+	void reusedKeyWithDifferentRequestIsRejected() {
+		String orderNumber = "ORD-IDEM-" + UUID.randomUUID();
+		String key = UUID.randomUUID().toString();
+		idempotencyService.execute(key, request(orderNumber, "125000.00"));
+
+		assertThatThrownBy(() -> idempotencyService.execute(key, request(orderNumber, "99000.00")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber)).hasSize(1);
+	}
+
+	@Test
+	void concurrentDuplicatesAreAuthorizedOnce() throws Exception {
+		String orderNumber = "ORD-IDEM-" + UUID.randomUUID();
+		String key = UUID.randomUUID().toString();
+		int gatewayCalls = GATEWAY.requestCount();
+		GATEWAY.setLatency(Duration.ofMillis(300));
+		try {
+			CompletableFuture<PaymentResponse> first = CompletableFuture.supplyAsync(() ->
+					idempotencyService.execute(key, request(orderNumber, "125000.00")));
+			CompletableFuture<PaymentResponse> second = CompletableFuture.supplyAsync(() ->
+					idempotencyService.execute(key, request(orderNumber, "125000.00")));
+
+			assertThat(second.get(10, TimeUnit.SECONDS).getPaymentId())
+					.isEqualTo(first.get(10, TimeUnit.SECONDS).getPaymentId());
+		} finally {
+			GATEWAY.setLatency(Duration.ZERO);
+		}
+
+		assertThat(GATEWAY.requestCount()).isEqualTo(gatewayCalls + 1);
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber))
+				.extracting(PaymentSummary::getStatus)
+				.containsExactly(PaymentStatus.COMPLETED);
+	}
+
+	// 승인 후 최종 상태 커밋이 실패하면 키는 결제에 묶인 채 남고, 재시도는 같은 결제 ID(게이트웨이 멱등 키)로 이어서 처리
+	@Test
+	void failureAfterGatewayApprovalIsResumedWithSamePayment() {
+		String orderNumber = "ORD-IDEM-" + UUID.randomUUID();
+		String key = UUID.randomUUID().toString();
+		doThrow(new DataAccessResourceFailureException("outbox unavailable"))
+				.doCallRealMethod()
+				.when(paymentEventOutbox).append(any(), any(), any());
+
+		assertThatThrownBy(() -> idempotencyService.execute(key, request(orderNumber, "125000.00")))
+				.isInstanceOf(DataAccessResourceFailureException.class);
+
+		IdempotencyRecord claimed = idempotencyRecordRepository.findById(key).orElseThrow();
+		assertThat(claimed.isCompleted()).isFalse();
+		assertThat(claimed.getPaymentId()).isNotNull();
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber))
+				.extracting(PaymentSummary::getStatus)
+				.containsExactly(PaymentStatus.PROCESSING);
+
+		PaymentResponse retry = idempotencyService.execute(key, request(orderNumber, "125000.00"));
+
+		assertThat(retry.getPaymentId()).isEqualTo(claimed.getPaymentId());
+		assertThat(retry.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber))
+				.extracting(PaymentSummary::getStatus)
+				.containsExactly(PaymentStatus.COMPLETED);
+		assertThat(GATEWAY.idempotencyKeys())
+				.filteredOn(claimed.getPaymentId()::equals)
+				.hasSize(2);
+		assertThat(idempotencyRecordRepository.findById(key).orElseThrow().isCompleted()).isTrue();
+	}
+
+	private static PaymentRequest request(String orderNumber, String amount) {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber(orderNumber);
+		request.setAmount(new BigDecimal(amount));
+		request.setPaymentMethod("CARD");
+		return request;
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			return StubPaymentGateway.start();
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.event.OrderCreatedEvent;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// order-created-topic 처리량 비교: 레코드 단위 처리 vs 배치 처리
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "order-created-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class OrderCreatedEventBatchBenchmarkTest {
+
+	private static final int EVENTS = Integer.getInteger("benchmark.events", 5000);
+	private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch-size", 500);
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Test
+	void compareBatchAndPerRecordThroughput() {
+		// 워밍업
+		runPerRecord(events("WARMUP-SINGLE", 500));
+		runBatch(events("WARMUP-BATCH", 500));
+
+		List<OrderCreatedEvent> singleEvents = events("SINGLE", EVENTS);
+		List<OrderCreatedEvent> batchEvents = events("BATCH", EVENTS);
+
+		double perRecord = runPerRecord(singleEvents);
+		double batch = runBatch(batchEvents);
+
+		System.out.printf("order-created per-record : %,.0f events/sec%n", perRecord);
+		System.out.printf("order-created batch(%d) : %,.0f events/sec (x%.1f)%n", BATCH_SIZE, batch, batch / perRecord);
+
+		assertThat(paymentRepository.findExistingOrderNumbers(orderNumbers(singleEvents))).hasSize(EVENTS);
+		assertThat(paymentRepository.findExistingOrderNumbers(orderNumbers(batchEvents))).hasSize(EVENTS);
+	}
+
+	private double runPerRecord(List<OrderCreatedEvent> events) {
+		long start = System.nanoTime();
+		for (OrderCreatedEvent event : events) {
+			paymentService.handleOrderCreatedEvent(event);
+		}
+		return eventsPerSecond(events.size(), System.nanoTime() - start);
+	}
+
+	private double runBatch(List<OrderCreatedEvent> events) {
+		long start = System.nanoTime();
+		for (int from = 0; from < events.size(); from += BATCH_SIZE) {
+			paymentService.handleOrderCreatedEvents(events.subList(from, Math.min(from + BATCH_SIZE, events.size())));
+		}
+		return eventsPerSecond(events.size(), System.nanoTime() - start);
+	}
+
+	private static double eventsPerSecond(int count, long elapsedNanos) {
+		return count / (elapsedNanos / 1_000_000_000.0);
+	}
+
+	private static List<OrderCreatedEvent> events(String prefix, int count) {
+		String runId = UUID.randomUUID().toString().substring(0, 8);
+		List<OrderCreatedEvent> events = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			events.add(new OrderCreatedEvent(prefix + "-" + runId + "-" + i, "bench@example.com",
+					new BigDecimal("10000.00"), LocalDateTime.now(), "CARD"));
+		}
+		return events;
+	}
+
+	private static Set<String> orderNumbers(List<OrderCreatedEvent> events) {
+		return events.stream().map(OrderCreatedEvent::getOrderNumber).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,95 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.event.OrderCreatedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class OrderCreatedEventBatchListenerTest {
+
+	private final PaymentService paymentService = mock(PaymentService.class);
+
+	@Test
+	void recordsWithoutValueAreSkipped() {
+		OrderCreatedEventBatchListener listener = new OrderCreatedEventBatchListener(paymentService, 0, false);
+		OrderCreatedEvent first = event("ORD-1");
+		OrderCreatedEvent second = event("ORD-2");
+
+		listener.onOrderCreatedEvents(List.of(record(0, first), record(1, null), record(2, second)));
+
+		verify(paymentService).handleOrderCreatedEvents(List.of(first, second));
+	}
+
+	// 실패한 이벤트의 레코드 인덱스를 보고하고, 그 앞의 이벤트는 커밋된 상태로 남김
+	@Test
+	void failingRecordIsReportedByIndex() {
+		OrderCreatedEventBatchListener listener = new OrderCreatedEventBatchListener(paymentService, 0, false);
+		List<List<OrderCreatedEvent>> committed = failOn("ORD-BAD");
+		OrderCreatedEvent first = event("ORD-1");
+
+		assertThatThrownBy(() -> listener.onOrderCreatedEvents(
+				List.of(record(0, first), record(1, null), record(2, event("ORD-BAD")), record(3, event("ORD-3")))))
+				.isInstanceOfSatisfying(BatchListenerFailedException.class, e -> assertThat(e.getIndex()).isEqualTo(2));
+
+		assertThat(committed).containsExactly(List.of(first));
+	}
+
+	// lane 마다 자기 하위 배치를 따로 커밋하므로 한 lane 의 실패가 다른 lane 의 이벤트를 되돌리지 않음
+	@Test
+	void failureInOneLaneDoesNotRollBackOtherLanes() {
+		OrderCreatedEventBatchListener listener = new OrderCreatedEventBatchListener(paymentService, 4, false);
+		List<List<OrderCreatedEvent>> committed = failOn("ORD-BAD");
+		List<ConsumerRecord<String, OrderCreatedEvent>> records = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			records.add(record(i, event(i == 7 ? "ORD-BAD" : "ORD-" + i)));
+		}
+
+		try {
+			assertThatThrownBy(() -> listener.onOrderCreatedEvents(records))
+					.isInstanceOfSatisfying(BatchListenerFailedException.class, e -> assertThat(e.getIndex()).isEqualTo(7));
+		} finally {
+			listener.shutdown();
+		}
+
+		// 실패한 lane 에서 ORD-BAD 뒤에 있던 이벤트만 재전달을 기다림
+		List<String> committedOrders = committed.stream().flatMap(List::stream).map(OrderCreatedEvent::getOrderNumber).toList();
+		assertThat(committedOrders).doesNotContain("ORD-BAD").contains("ORD-0", "ORD-1", "ORD-2", "ORD-3", "ORD-4", "ORD-5", "ORD-6");
+		assertThat(committedOrders).hasSizeGreaterThan(7);
+	}
+
+	private List<List<OrderCreatedEvent>> failOn(String orderNumber) {
+		List<List<OrderCreatedEvent>> committed = new ArrayList<>();
+		doAnswer(invocation -> {
+			List<OrderCreatedEvent> events = invocation.getArgument(0);
+			if (events.stream().anyMatch(e -> orderNumber.equals(e.getOrderNumber()))) {
+				throw new IllegalStateException("cannot handle " + orderNumber);
+			}
+			synchronized (committed) {
+				committed.add(List.copyOf(events));
+			}
+			return null;
+		}).when(paymentService).handleOrderCreatedEvents(anyList());
+		return committed;
+	}
+
+	private static ConsumerRecord<String, OrderCreatedEvent> record(long offset, OrderCreatedEvent event) {
+		return new ConsumerRecord<>("order-created-topic", 0, offset, event != null ? event.getOrderNumber() : null, event);
+	}
+
+	private static OrderCreatedEvent event(String orderNumber) {
+		return new OrderCreatedEvent(orderNumber, "customer@example.com", new BigDecimal("10000.00"),
+				LocalDateTime.now(), "CARD");
+	}
+}
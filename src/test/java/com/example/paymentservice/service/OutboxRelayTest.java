@@ -0,0 +1,140 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.event.PaymentCompletedEvent;
+import com.example.paymentservice.event.RefundCompletedEvent;
+import com.example.paymentservice.metrics.OrderNumberBaggage;
+import com.example.paymentservice.model.OutboxDeadLetter;
+import com.example.paymentservice.model.OutboxEvent;
+import com.example.paymentservice.repository.OutboxDeadLetterRepository;
+import com.example.paymentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private OutboxEventRepository outboxEventRepository;
+	private OutboxDeadLetterRepository outboxDeadLetterRepository;
+	private KafkaTemplate<String, Object> kafkaTemplate;
+	private PlatformTransactionManager transactionManager;
+	private TransactionStatus transaction;
+	private OutboxRelay relay;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		outboxEventRepository = mock(OutboxEventRepository.class);
+		outboxDeadLetterRepository = mock(OutboxDeadLetterRepository.class);
+		kafkaTemplate = mock(KafkaTemplate.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		transaction = mock(TransactionStatus.class);
+		when(transactionManager.getTransaction(any())).thenReturn(transaction);
+
+		relay = new OutboxRelay(outboxEventRepository, outboxDeadLetterRepository, kafkaTemplate,
+				new TransactionTemplate(transactionManager), objectMapper,
+				new OrderNumberBaggage(mock(ObjectProvider.class)), meterRegistry);
+		ReflectionTestUtils.setField(relay, "batchSize", 200);
+		ReflectionTestUtils.setField(relay, "sendTimeoutMs", 5000L);
+	}
+
+	// V16 이전에 클래스 이름으로 기록된 행도 발행
+	@Test
+	void batchIsDeletedAfterAllSendsAreAcked() throws Exception {
+		OutboxEvent payment = row(1L, "ORD-RELAY-1", "PaymentCompleted", objectMapper.writeValueAsString(paymentCompleted("ORD-RELAY-1")));
+		OutboxEvent refund = row(2L, "ORD-RELAY-2", RefundCompletedEvent.class.getName(),
+				objectMapper.writeValueAsString(refundCompleted("ORD-RELAY-2")));
+		when(outboxEventRepository.lockNextBatch(200)).thenReturn(List.of(payment, refund));
+		when(kafkaTemplate.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		relay.relay();
+
+		InOrder order = inOrder(kafkaTemplate, outboxEventRepository, transactionManager);
+		order.verify(kafkaTemplate).send(eq("payment-completed-topic"), eq("ORD-RELAY-1"), isA(PaymentCompletedEvent.class));
+		order.verify(kafkaTemplate).send(eq("payment-completed-topic"), eq("ORD-RELAY-2"), isA(RefundCompletedEvent.class));
+		order.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+		order.verify(transactionManager).commit(transaction);
+	}
+
+	@Test
+	void failedSendRollsBackBatch() throws Exception {
+		OutboxEvent payment = row(1L, "ORD-RELAY-3", "PaymentCompleted", objectMapper.writeValueAsString(paymentCompleted("ORD-RELAY-3")));
+		when(outboxEventRepository.lockNextBatch(200)).thenReturn(List.of(payment));
+		when(kafkaTemplate.send(any(), any(), any())).thenReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")));
+
+		relay.relay();
+
+		verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+		verify(transactionManager).rollback(transaction);
+		verify(transactionManager, never()).commit(any());
+	}
+
+	// 읽을 수 없는 행은 배치 맨 앞에 있어도 나머지 발행을 막지 않고 dead-letter 로 옮겨짐
+	@Test
+	void unreadableRowsAreMovedToDeadLetter() throws Exception {
+		OutboxEvent unknownType = row(1L, "ORD-RELAY-4", "com.example.paymentservice.event.RemovedEvent", "{}");
+		OutboxEvent brokenPayload = row(2L, "ORD-RELAY-4", "PaymentCompleted", "{not json");
+		OutboxEvent payment = row(3L, "ORD-RELAY-4", "PaymentCompleted", objectMapper.writeValueAsString(paymentCompleted("ORD-RELAY-4")));
+		when(outboxEventRepository.lockNextBatch(200)).thenReturn(List.of(unknownType, brokenPayload, payment));
+		when(kafkaTemplate.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		relay.relay();
+
+		verify(kafkaTemplate, times(1)).send(any(), any(), any());
+		verify(kafkaTemplate).send(eq("payment-completed-topic"), eq("ORD-RELAY-4"), isA(PaymentCompletedEvent.class));
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<OutboxDeadLetter>> deadLetters = ArgumentCaptor.forClass(List.class);
+		verify(outboxDeadLetterRepository).saveAll(deadLetters.capture());
+		assertThat(deadLetters.getValue()).extracting(OutboxDeadLetter::getId).containsExactly(1L, 2L);
+		assertThat(deadLetters.getValue()).extracting(OutboxDeadLetter::getError).allSatisfy(error -> assertThat(error).isNotBlank());
+		verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+		verify(transactionManager).commit(transaction);
+		assertThat(meterRegistry.counter("payment.outbox.dead.letter").count()).isEqualTo(2.0);
+	}
+
+	private static OutboxEvent row(Long id, String orderNumber, String eventType, String payload) {
+		OutboxEvent event = new OutboxEvent("payment-completed-topic", orderNumber, eventType, payload);
+		event.setId(id);
+		return event;
+	}
+
+	private static PaymentCompletedEvent paymentCompleted(String orderNumber) {
+		return new PaymentCompletedEvent("PMT-" + orderNumber, orderNumber, new BigDecimal("10000.00"), "COMPLETED",
+				LocalDateTime.now());
+	}
+
+	private static RefundCompletedEvent refundCompleted(String orderNumber) {
+		return new RefundCompletedEvent("RFD-" + orderNumber, "PMT-" + orderNumber, orderNumber, new BigDecimal("5000.00"),
+				new BigDecimal("5000.00"), "COMPLETED", LocalDateTime.now());
+	}
+}
@@ -0,0 +1,109 @@
+package com.example.paymentservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 실제 파티션 테이블(V13)에서 월 파티션 생성과 보관 이동, 미완료 결제/환불이 남은 파티션의 보류를 확인
+@Testcontainers(disabledWithoutDocker = true)
+class PaymentPartitionMaintenancePostgresTest {
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+	private static JdbcTemplate jdbcTemplate;
+	private static DataSourceTransactionManager transactionManager;
+
+	private PaymentPartitionMaintenance maintenance;
+
+	@BeforeAll
+	static void migrate() {
+		Flyway.configure()
+				.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+				.load()
+				.migrate();
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionManager = new DataSourceTransactionManager(dataSource);
+	}
+
+	@BeforeEach
+	void setUp() {
+		maintenance = new PaymentPartitionMaintenance(jdbcTemplate, transactionManager, mock(TaskScheduler.class),
+				new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(maintenance, "premakeMonths", 3);
+		ReflectionTestUtils.setField(maintenance, "hotMonths", 3);
+		ReflectionTestUtils.setField(maintenance, "lockTimeoutMs", 2000L);
+		ReflectionTestUtils.setField(maintenance, "archiveTablespace", "");
+	}
+
+	// V13 은 다음 달부터 3개월치를 만들므로 premake-months 를 늘리면 그 뒤 달이 이어서 붙는다
+	@Test
+	void futurePartitionsArePremade() {
+		ReflectionTestUtils.setField(maintenance, "premakeMonths", 5);
+
+		maintenance.maintain();
+
+		LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+		assertThat(partitions("payments")).contains(
+				"payments_p" + thisMonth.plusMonths(4).format(PARTITION_SUFFIX),
+				"payments_p" + thisMonth.plusMonths(5).format(PARTITION_SUFFIX));
+	}
+
+	// payments_legacy 는 다음 달 1일까지라 hot-months=-1 이면 그것만 보관 대상
+	@Test
+	void coldPartitionIsArchivedOnlyAfterPaymentsAndRefundsSettle() {
+		ReflectionTestUtils.setField(maintenance, "hotMonths", -1);
+		jdbcTemplate.update("""
+				INSERT INTO payments (id, payment_id, order_number, amount, status, payment_method, created_at, updated_at,
+				                      source, pending_refund_amount)
+				VALUES (1, 'PMT-PARTITION-1', 'ORD-PARTITION-1', 10000.00, 'PROCESSING', 'CARD', ?, ?, 'API', 0)
+				""", LocalDateTime.now(), LocalDateTime.now());
+
+		maintenance.maintain();
+		assertThat(partitions("payments")).contains("payments_legacy");
+
+		jdbcTemplate.update("UPDATE payments SET status = 'COMPLETED', pending_refund_amount = 5000.00 WHERE id = 1");
+		maintenance.maintain();
+		assertThat(partitions("payments")).contains("payments_legacy");
+
+		jdbcTemplate.update("UPDATE payments SET pending_refund_amount = 0, refunded_amount = 5000.00 WHERE id = 1");
+		maintenance.maintain();
+		assertThat(partitions("payments")).doesNotContain("payments_legacy");
+		assertThat(partitions("payments_archive")).containsExactly("payments_legacy");
+		assertThat(jdbcTemplate.queryForObject("SELECT status FROM payments_archive WHERE id = 1", String.class))
+				.isEqualTo("COMPLETED");
+		// hot 전용 부분 인덱스(ix_payments_reconcile, ix_payments_pending_refund)는 보관 파티션에서 지워짐
+		assertThat(jdbcTemplate.queryForList("SELECT indexdef FROM pg_indexes WHERE tablename = 'payments_legacy'", String.class))
+				.noneMatch(definition -> definition.contains(" WHERE "));
+	}
+
+	private static List<String> partitions(String parent) {
+		return jdbcTemplate.queryForList("""
+				SELECT c.relname FROM pg_inherits i
+				JOIN pg_class c ON c.oid = i.inhrelid
+				JOIN pg_class p ON p.oid = i.inhparent
+				WHERE p.relname = ?
+				""", String.class, parent);
+	}
+}
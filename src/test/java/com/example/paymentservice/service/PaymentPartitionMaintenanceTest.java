@@ -0,0 +1,64 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.service.PaymentPartitionMaintenance.Partition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PaymentPartitionMaintenanceTest {
+
+	@Test
+	void monthlyBoundRoundTripsThroughPgGetExpr() {
+		Partition partition = Partition.parse("payments_p202603",
+				"FOR VALUES FROM ('2026-03-01 00:00:00') TO ('2026-04-01 00:00:00')");
+
+		assertThat(partition.from()).isEqualTo(LocalDateTime.of(2026, 3, 1, 0, 0));
+		assertThat(partition.to()).isEqualTo(LocalDateTime.of(2026, 4, 1, 0, 0));
+		assertThat(partition.bound()).isEqualTo("FROM ('2026-03-01 00:00:00') TO ('2026-04-01 00:00:00')");
+		assertThat(partition.checkExpression())
+				.isEqualTo("created_at >= '2026-03-01 00:00:00' AND created_at < '2026-04-01 00:00:00'");
+	}
+
+	@Test
+	void legacyPartitionStartsAtMinValue() {
+		// V13 에서 기존 테이블을 붙인 파티션
+		Partition partition = Partition.parse("payments_legacy",
+				"FOR VALUES FROM (MINVALUE) TO ('2025-11-01 00:00:00')");
+
+		assertThat(partition.from()).isNull();
+		assertThat(partition.bound()).isEqualTo("FROM (MINVALUE) TO ('2025-11-01 00:00:00')");
+		assertThat(partition.checkExpression()).isEqualTo("created_at IS NOT NULL AND created_at < '2025-11-01 00:00:00'");
+	}
+
+	@Test
+	void unexpectedBoundIsRejected() {
+		assertThatThrownBy(() -> Partition.parse("payments_default", "DEFAULT"))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	// 기동 시 관리 작업은 스케줄러에 넘기기만 하고 기동 스레드에서 DB 를 건드리지 않음
+	@Test
+	void startupMaintenanceRunsOnScheduler() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		PaymentPartitionMaintenance maintenance = new PaymentPartitionMaintenance(jdbcTemplate,
+				mock(PlatformTransactionManager.class), taskScheduler, new SimpleMeterRegistry());
+
+		maintenance.onApplicationReady();
+
+		verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+		verifyNoInteractions(jdbcTemplate);
+	}
+}
@@ -0,0 +1,195 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 재처리 엔진 (payment.reconciliation.enabled=true, 스케줄 실행은 미루고 reconcile() 을 직접 호출)
+// 결제는 게이트웨이 승인까지 마친 뒤 JDBC 로 오래된 PENDING / 멈춘 PROCESSING 상태를 만든다
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class PaymentReconcilerTest {
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+
+	@Autowired
+	private PaymentReconciler reconciler;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.reconciliation.enabled", () -> "true");
+		registry.add("payment.reconciliation.initial-delay-ms", () -> "3600000");
+		registry.add("payment.reconciliation.poll-interval-ms", () -> "3600000");
+		registry.add("payment.reconciliation.initial-backoff-seconds", () -> "30");
+		registry.add("payment.reconciliation.max-backoff-seconds", () -> "3600");
+		registry.add("payment.reconciliation.max-attempts", () -> "8");
+		registry.add("payment.refund.settlement.enabled", () -> "false");
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	// 오래된 PENDING 과 멈춘 PROCESSING 은 결제 ID 를 멱등 키로 게이트웨이에 다시 보내 완료, 방금 바뀐 PENDING 은 그대로
+	@Test
+	void stalePaymentsAreRedrivenWithPaymentIdAsIdempotencyKey() {
+		String stalePending = completedPayment();
+		String staleProcessing = completedPayment();
+		String freshPending = completedPayment();
+		markStale(stalePending, PaymentStatus.PENDING, 0, null);
+		markStale(staleProcessing, PaymentStatus.PROCESSING, 0, null);
+		jdbcTemplate.update("UPDATE payments SET status = 'PENDING', updated_at = ? WHERE payment_id = ?",
+				LocalDateTime.now(), freshPending);
+
+		reconciler.reconcile();
+
+		for (String paymentId : new String[] {stalePending, staleProcessing}) {
+			Payment payment = payment(paymentId);
+			assertThat(payment.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+			assertThat(payment.getAttemptCount()).isEqualTo(1);
+			assertThat(gatewayCalls(paymentId)).isEqualTo(2);
+		}
+		assertThat(payment(freshPending).getStatus()).isEqualTo(PaymentStatus.PENDING);
+		assertThat(payment(freshPending).getAttemptCount()).isZero();
+		assertThat(gatewayCalls(freshPending)).isEqualTo(1);
+	}
+
+	// 다른 인스턴스가 점유하고 죽은 결제 (next_attempt_at 리스가 남아 있음) 는 리스가 끝난 뒤에만 인수
+	@Test
+	void leasedPaymentIsRedrivenOnlyAfterItsLeaseExpires() {
+		String paymentId = completedPayment();
+		markStale(paymentId, PaymentStatus.PROCESSING, 1, LocalDateTime.now().plusMinutes(10));
+
+		reconciler.reconcile();
+
+		assertThat(payment(paymentId).getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+		assertThat(payment(paymentId).getAttemptCount()).isEqualTo(1);
+		assertThat(gatewayCalls(paymentId)).isEqualTo(1);
+
+		jdbcTemplate.update("UPDATE payments SET next_attempt_at = ? WHERE payment_id = ?",
+				LocalDateTime.now().minusSeconds(1), paymentId);
+		reconciler.reconcile();
+
+		assertThat(payment(paymentId).getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(payment(paymentId).getAttemptCount()).isEqualTo(2);
+		assertThat(gatewayCalls(paymentId)).isEqualTo(2);
+	}
+
+	// 게이트웨이 호출이 진행 중인 동안 겹쳐 실행된 재처리는 점유(리스)된 결제를 다시 보내지 않음
+	@Test
+	void overlappingRunsRedriveEachPaymentOnce() throws Exception {
+		String paymentId = completedPayment();
+		markStale(paymentId, PaymentStatus.PROCESSING, 0, null);
+		GATEWAY.setLatency(Duration.ofMillis(500));
+		try {
+			CompletableFuture<Void> first = CompletableFuture.runAsync(reconciler::reconcile);
+			CompletableFuture<Void> second = CompletableFuture.runAsync(reconciler::reconcile);
+			CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS);
+		} finally {
+			GATEWAY.setLatency(Duration.ZERO);
+		}
+
+		assertThat(payment(paymentId).getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(payment(paymentId).getAttemptCount()).isEqualTo(1);
+		assertThat(gatewayCalls(paymentId)).isEqualTo(2);
+	}
+
+	// 점유 시 다음 시도 시각은 initial-backoff x 2^(attempt-1), max-backoff 로 제한
+	@Test
+	void claimSchedulesNextAttemptWithExponentialBackoff() {
+		String thirdAttempt = completedPayment();
+		String lastAttempt = completedPayment();
+		markStale(thirdAttempt, PaymentStatus.PROCESSING, 2, null);
+		markStale(lastAttempt, PaymentStatus.PROCESSING, 7, null);
+
+		LocalDateTime before = LocalDateTime.now();
+		reconciler.reconcile();
+		LocalDateTime after = LocalDateTime.now();
+
+		assertThat(payment(thirdAttempt).getAttemptCount()).isEqualTo(3);
+		assertThat(payment(thirdAttempt).getNextAttemptAt())
+				.isBetween(before.plusSeconds(120), after.plusSeconds(120));
+		assertThat(payment(lastAttempt).getAttemptCount()).isEqualTo(8);
+		assertThat(payment(lastAttempt).getNextAttemptAt())
+				.isBetween(before.plusSeconds(3600), after.plusSeconds(3600));
+	}
+
+	// max-attempts 를 다 쓴 결제는 게이트웨이에 보내지 않고 FAILED 로 종료
+	@Test
+	void exhaustedPaymentIsFailedWithoutCallingGateway() {
+		String paymentId = completedPayment();
+		markStale(paymentId, PaymentStatus.PENDING, 8, null);
+
+		reconciler.reconcile();
+
+		assertThat(payment(paymentId).getStatus()).isEqualTo(PaymentStatus.FAILED);
+		assertThat(payment(paymentId).getPaymentGatewayResponse()).contains("gave up after 8 attempts");
+		assertThat(gatewayCalls(paymentId)).isEqualTo(1);
+	}
+
+	private String completedPayment() {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber("ORD-RECONCILE-" + UUID.randomUUID());
+		request.setAmount(new BigDecimal("125000.00"));
+		request.setPaymentMethod("CARD");
+		PaymentResponse response = paymentService.processPayment(request);
+		assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		return response.getPaymentId();
+	}
+
+	// 한 시간 전에 마지막으로 바뀐 것처럼 표시 (pending/processing-stale-seconds 보다 오래됨)
+	private void markStale(String paymentId, PaymentStatus status, int attemptCount, LocalDateTime nextAttemptAt) {
+		jdbcTemplate.update("UPDATE payments SET status = ?, updated_at = ?, attempt_count = ?, next_attempt_at = ? WHERE payment_id = ?",
+				status.name(), LocalDateTime.now().minusHours(1), attemptCount, nextAttemptAt, paymentId);
+	}
+
+	private Payment payment(String paymentId) {
+		return paymentRepository.findByPaymentId(paymentId).orElseThrow();
+	}
+
+	// 최초 승인을 포함해 결제 ID 를 멱등 키로 보낸 단건 승인 요청 수
+	private static long gatewayCalls(String paymentId) {
+		return GATEWAY.idempotencyKeys().stream().filter(paymentId::equals).count();
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			return StubPaymentGateway.start();
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.dto.RefundResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.PaymentSummary;
+import com.example.paymentservice.model.RefundStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class PaymentServiceTest {
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private RefundService refundService;
+
+	@Autowired
+	private PaymentStateMachine paymentStateMachine;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("payment.refund.settlement.enabled", () -> "false");
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	// 동기 결제의 최종 상태 저장과 같은 주문의 환불 예약은 같은 주문 shard 에서 차례로 실행된다
+	@Test
+	void syncPaymentAndRefundOnSameOrderAreSerialized() throws Exception {
+		String orderNumber = "ORD-SERIAL-" + UUID.randomUUID();
+		PaymentResponse completed = paymentService.processPayment(request(orderNumber));
+		assertThat(completed.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+
+		// 주문 shard 를 점유해 두고 두 요청을 동시에 보냄
+		CountDownLatch shardBusy = new CountDownLatch(1);
+		CompletableFuture<Object> blocker = paymentStateMachine.execute(orderNumber, () -> {
+			await(shardBusy);
+			return null;
+		});
+		CompletableFuture<PaymentResponse> payment = CompletableFuture.supplyAsync(() -> paymentService.processPayment(request(orderNumber)));
+		CompletableFuture<RefundResponse> refund = CompletableFuture.supplyAsync(() -> refundService.requestRefund(completed.getPaymentId(), refundRequest("1000.00")));
+
+		// PROCESSING insert 는 커밋됐지만 최종 상태와 환불 예약은 shard 를 기다림
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (paymentRepository.findSummariesByOrderNumber(orderNumber).size() < 2) {
+			assertThat(System.nanoTime()).as("second payment was not inserted").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+		Thread.sleep(200);
+		assertThat(payment).isNotDone();
+		assertThat(refund).isNotDone();
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber))
+				.extracting(PaymentSummary::getStatus)
+				.containsExactlyInAnyOrder(PaymentStatus.COMPLETED, PaymentStatus.PROCESSING);
+		Payment refunded = paymentRepository.findByPaymentId(completed.getPaymentId()).orElseThrow();
+		assertThat(refunded.getPendingRefundAmount()).isEqualByComparingTo("0");
+
+		shardBusy.countDown();
+		blocker.get(10, TimeUnit.SECONDS);
+
+		assertThat(payment.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(refund.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(RefundStatus.PENDING);
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber))
+				.extracting(PaymentSummary::getStatus)
+				.containsOnly(PaymentStatus.COMPLETED);
+		assertThat(paymentRepository.findByPaymentId(completed.getPaymentId()).orElseThrow().getPendingRefundAmount())
+				.isEqualByComparingTo("1000.00");
+	}
+
+	// 비동기 결제는 PROCESSING 커밋 직후 응답하고, 게이트웨이 결과는 응답 이후에 반영된다
+	@Test
+	void asyncPaymentIsAcceptedBeforeGatewayResponds() throws Exception {
+		String orderNumber = "ORD-ASYNC-" + UUID.randomUUID();
+		GATEWAY.setLatency(Duration.ofMillis(1500));
+		try {
+			PaymentResponse accepted = paymentService.processPaymentAsync(request(orderNumber)).block(Duration.ofSeconds(10));
+
+			assertThat(accepted.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+			assertThat(statusOf(accepted.getPaymentId())).isEqualTo(PaymentStatus.PROCESSING);
+
+			awaitStatus(accepted.getPaymentId(), PaymentStatus.COMPLETED);
+			assertThat(GATEWAY.idempotencyKeys()).contains(accepted.getPaymentId());
+		} finally {
+			GATEWAY.setLatency(Duration.ZERO);
+		}
+	}
+
+	// 응답 이후 게이트웨이가 거절하면 최종 상태는 FAILED 로 반영
+	@Test
+	void declinedAsyncPaymentIsFailedAfterAcceptance() {
+		String orderNumber = "ORD-ASYNC-" + UUID.randomUUID();
+		GATEWAY.setDeclineRate(1.0);
+		try {
+			PaymentResponse accepted = paymentService.processPaymentAsync(request(orderNumber)).block(Duration.ofSeconds(10));
+
+			assertThat(accepted.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+			awaitStatus(accepted.getPaymentId(), PaymentStatus.FAILED);
+		} finally {
+			GATEWAY.setDeclineRate(0);
+		}
+	}
+
+	// POST /api/payments/async 는 게이트웨이 응답을 기다리지 않고 202 + Location 으로 응답
+	@Test
+	void asyncEndpointReturnsAcceptedBeforeGatewayResult() throws Exception {
+		String orderNumber = "ORD-ASYNC-" + UUID.randomUUID();
+		GATEWAY.setLatency(Duration.ofMillis(1500));
+		try {
+			MvcResult started = mockMvc.perform(post("/api/payments/async")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"orderNumber\":\"" + orderNumber + "\",\"amount\":125000.00,\"paymentMethod\":\"CARD\"}"))
+					.andReturn();
+			assertThat(started.getRequest().isAsyncStarted()).isTrue();
+			MvcResult accepted = mockMvc.perform(asyncDispatch(started))
+					.andExpect(status().isAccepted())
+					.andExpect(jsonPath("$.status").value("PROCESSING"))
+					.andReturn();
+
+			PaymentSummary payment = paymentRepository.findSummariesByOrderNumber(orderNumber).get(0);
+			assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PROCESSING);
+			assertThat(accepted.getResponse().getHeader("Location")).isEqualTo("/api/payments/" + payment.getPaymentId());
+
+			awaitStatus(payment.getPaymentId(), PaymentStatus.COMPLETED);
+		} finally {
+			GATEWAY.setLatency(Duration.ZERO);
+		}
+	}
+
+	private PaymentStatus statusOf(String paymentId) {
+		return paymentRepository.findByPaymentId(paymentId).orElseThrow().getStatus();
+	}
+
+	private void awaitStatus(String paymentId, PaymentStatus expected) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (statusOf(paymentId) != expected) {
+			assertThat(System.nanoTime()).as("payment %s did not reach %s", paymentId, expected).isLessThan(deadline);
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private static PaymentRequest request(String orderNumber) {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber(orderNumber);
+		request.setAmount(new BigDecimal("125000.00"));
+		request.setPaymentMethod("CARD");
+		return request;
+	}
+
+	private static RefundRequest refundRequest(String amount) {
+		RefundRequest request = new RefundRequest();
+		request.setAmount(new BigDecimal(amount));
+		request.setReason("test");
+		return request;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			return StubPaymentGateway.start();
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.PaymentSummary;
+import com.example.paymentservice.repository.PaymentJdbcRepository;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+// 그룹 커밋 모드 (payment.group-commit.enabled=true)
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class PaymentStatusGroupCommitterTest {
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@MockitoSpyBean
+	private PaymentJdbcRepository paymentJdbcRepository;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.group-commit.enabled", () -> "true");
+		registry.add("payment.reconciliation.enabled", () -> "false");
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	@Test
+	void finalStatusIsCommittedByGroupWriter() {
+		String orderNumber = "ORD-GROUP-" + UUID.randomUUID();
+
+		PaymentResponse response = paymentService.processPayment(request(orderNumber));
+
+		assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber))
+				.extracting(PaymentSummary::getStatus)
+				.containsExactly(PaymentStatus.COMPLETED);
+	}
+
+	// 그룹 트랜잭션이 롤백되면 메모리에서 완료된 결제를 응답하지 않고 오류를 전파 (행은 PROCESSING 으로 남아 재처리 대상)
+	@Test
+	void failedGroupCommitIsNotReportedAsCompleted() {
+		String orderNumber = "ORD-GROUP-" + UUID.randomUUID();
+		doThrow(new DataAccessResourceFailureException("database unavailable"))
+				.when(paymentJdbcRepository).updateFinalStatuses(anyList());
+
+		assertThatThrownBy(() -> paymentService.processPayment(request(orderNumber)))
+				.isInstanceOf(DataAccessResourceFailureException.class);
+
+		assertThat(paymentRepository.findSummariesByOrderNumber(orderNumber))
+				.extracting(PaymentSummary::getStatus)
+				.containsExactly(PaymentStatus.PROCESSING);
+	}
+
+	private static PaymentRequest request(String orderNumber) {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber(orderNumber);
+		request.setAmount(new BigDecimal("125000.00"));
+		request.setPaymentMethod("CARD");
+		return request;
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			return StubPaymentGateway.start();
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+}
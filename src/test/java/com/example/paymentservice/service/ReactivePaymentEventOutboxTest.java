@@ -0,0 +1,114 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.event.PaymentCompletedEvent;
+import com.example.paymentservice.service.ReactivePaymentEventOutbox.PendingEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// reactive 아웃박스: 기록한 행은 Kafka ack 후에만 지워지고, 전송이 실패하면 릴레이가 재전송하도록 남는다
+@Testcontainers(disabledWithoutDocker = true)
+class ReactivePaymentEventOutboxTest {
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static DatabaseClient databaseClient;
+
+	private KafkaTemplate<String, Object> kafkaTemplate;
+	private ReactivePaymentEventOutbox outbox;
+
+	@BeforeAll
+	static void migrate() {
+		Flyway.configure()
+				.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+				.load()
+				.migrate();
+		databaseClient = DatabaseClient.create(ConnectionFactories.get(ConnectionFactoryOptions.builder()
+				.option(ConnectionFactoryOptions.DRIVER, "postgresql")
+				.option(ConnectionFactoryOptions.HOST, postgres.getHost())
+				.option(ConnectionFactoryOptions.PORT, postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+				.option(ConnectionFactoryOptions.DATABASE, postgres.getDatabaseName())
+				.option(ConnectionFactoryOptions.USER, postgres.getUsername())
+				.option(ConnectionFactoryOptions.PASSWORD, postgres.getPassword())
+				.build()));
+	}
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		kafkaTemplate = mock(KafkaTemplate.class);
+		outbox = new ReactivePaymentEventOutbox(databaseClient, kafkaTemplate, new ObjectMapper());
+		ReflectionTestUtils.setField(outbox, "sendTimeoutMs", 5000L);
+	}
+
+	@Test
+	void appendWritesRowWithSerializedPayload() {
+		PendingEvent pending = outbox.append("payment-completed-topic", "ORD-OUTBOX-1", event("ORD-OUTBOX-1")).block();
+
+		assertThat(pending.id()).isNotNull();
+		Map<String, Object> row = databaseClient.sql("SELECT topic, message_key, event_type, payload FROM payment_outbox WHERE id = :id")
+				.bind("id", pending.id())
+				.fetch()
+				.one()
+				.block();
+		assertThat(row).containsEntry("topic", "payment-completed-topic").containsEntry("message_key", "ORD-OUTBOX-1")
+				.containsEntry("event_type", "PaymentCompleted");
+		assertThat((String) row.get("payload")).contains("\"orderNumber\":\"ORD-OUTBOX-1\"");
+	}
+
+	@Test
+	void publishDeletesRowAfterKafkaAck() {
+		when(kafkaTemplate.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+		PendingEvent pending = outbox.append("payment-completed-topic", "ORD-OUTBOX-2", event("ORD-OUTBOX-2")).block();
+
+		outbox.publish(pending).block();
+
+		verify(kafkaTemplate).send(eq("payment-completed-topic"), eq("ORD-OUTBOX-2"), eq(pending.event()));
+		assertThat(outboxRows(pending.id())).isZero();
+	}
+
+	@Test
+	void failedSendLeavesRowForRelay() {
+		when(kafkaTemplate.send(any(), any(), any())).thenReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")));
+		PendingEvent pending = outbox.append("payment-completed-topic", "ORD-OUTBOX-3", event("ORD-OUTBOX-3")).block();
+
+		outbox.publish(pending).block();
+
+		assertThat(outboxRows(pending.id())).isEqualTo(1L);
+	}
+
+	private static PaymentCompletedEvent event(String orderNumber) {
+		return new PaymentCompletedEvent("PMT-" + orderNumber, orderNumber, new BigDecimal("10000.00"), "COMPLETED", null);
+	}
+
+	private static long outboxRows(Long id) {
+		return databaseClient.sql("SELECT count(*) AS n FROM payment_outbox WHERE id = :id")
+				.bind("id", id)
+				.map(row -> row.get("n", Long.class))
+				.one()
+				.block();
+	}
+}
@@ -0,0 +1,156 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.dto.RefundResponse;
+import com.example.paymentservice.exception.PaymentNotFoundException;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.PaymentSummary;
+import com.example.paymentservice.repository.PaymentArchiveRepository;
+import com.example.paymentservice.repository.PaymentRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class RefundServiceTest {
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private RefundService refundService;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	// test 프로필은 파티셔닝이 꺼져 있어 보관 저장소가 없으므로 대역으로 등록
+	@MockitoBean
+	private PaymentArchiveRepository paymentArchiveRepository;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("payment.refund.settlement.enabled", () -> "false");
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	@Test
+	void repeatedIdempotencyKeyReturnsOriginalRefund() {
+		String paymentId = completedPayment();
+		RefundRequest request = refundRequest("1000.00");
+
+		RefundResponse first = refund(paymentId, "refund-key-1", request);
+		RefundResponse retry = refund(paymentId, "refund-key-1", refundRequest("1000"));
+
+		assertThat(retry.getRefundId()).isEqualTo(first.getRefundId());
+		assertThat(refundService.getRefunds(paymentId)).hasSize(1);
+		assertThat(paymentRepository.findByPaymentId(paymentId).orElseThrow().getPendingRefundAmount())
+				.isEqualByComparingTo("1000.00");
+	}
+
+	@Test
+	void idempotencyKeyIsScopedToPayment() {
+		String firstPayment = completedPayment();
+		String secondPayment = completedPayment();
+
+		RefundResponse first = refund(firstPayment, "shared-key", refundRequest("500.00"));
+		RefundResponse second = refund(secondPayment, "shared-key", refundRequest("500.00"));
+
+		assertThat(second.getRefundId()).isNotEqualTo(first.getRefundId());
+		assertThat(second.getPaymentId()).isEqualTo(secondPayment);
+	}
+
+	@Test
+	void reusedIdempotencyKeyWithDifferentRequestIsRejected() {
+		String paymentId = completedPayment();
+		refund(paymentId, "refund-key-2", refundRequest("1000.00"));
+
+		assertThatThrownBy(() -> refund(paymentId, "refund-key-2", refundRequest("2000.00")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+		assertThat(refundService.getRefunds(paymentId)).hasSize(1);
+	}
+
+	@Test
+	void archivedPaymentIsRejectedAsOutsideRefundWindow() {
+		when(paymentArchiveRepository.findSummaryByPaymentId(eq("PMT-ARCHIVED"), any()))
+				.thenReturn(Optional.of(mock(PaymentSummary.class)));
+
+		assertThatThrownBy(() -> refundService.requestRefund("PMT-ARCHIVED", refundRequest("1000.00")))
+				.isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+					assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+					assertThat(e.getReason()).contains("archived");
+				});
+	}
+
+	@Test
+	void unknownPaymentIsNotFound() {
+		assertThatThrownBy(() -> refundService.requestRefund("PMT-MISSING", refundRequest("1000.00")))
+				.isInstanceOf(PaymentNotFoundException.class);
+	}
+
+	// RefundController 와 같은 호출
+	private RefundResponse refund(String paymentId, String key, RefundRequest request) {
+		return idempotencyService.executeRefund(paymentId, key, request,
+				complete -> refundService.requestRefund(paymentId, request, complete));
+	}
+
+	private String completedPayment() {
+		PaymentRequest request = new PaymentRequest();
+		request.setOrderNumber("ORD-REFUND-" + UUID.randomUUID());
+		request.setAmount(new BigDecimal("125000.00"));
+		request.setPaymentMethod("CARD");
+		PaymentResponse response = paymentService.processPayment(request);
+		assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+		return response.getPaymentId();
+	}
+
+	private static RefundRequest refundRequest(String amount) {
+		RefundRequest request = new RefundRequest();
+		request.setAmount(new BigDecimal(amount));
+		request.setReason("customer request");
+		return request;
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			return StubPaymentGateway.start();
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+}
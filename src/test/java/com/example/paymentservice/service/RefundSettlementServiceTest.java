@@ -0,0 +1,270 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequest;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.dto.RefundRequest;
+import com.example.paymentservice.event.RefundCompletedEvent;
+import com.example.paymentservice.gateway.GatewayRefundResponse;
+import com.example.paymentservice.gateway.StubPaymentGateway;
+import com.example.paymentservice.gateway.StubPaymentGateway.RefundBatch;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.model.Refund;
+import com.example.paymentservice.model.RefundStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.example.paymentservice.repository.RefundRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// 정산 엔진 (payment.refund.settlement.enabled=true, 스케줄 실행은 끄고 settle() 을 직접 호출)
+// 테스트마다 고유한 결제 수단을 써서 다른 테스트가 남긴 환불과 청크가 섞이지 않게 한다
+@SpringBootTest
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 1, topics = "payment-completed-topic", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class RefundSettlementServiceTest {
+
+	private static final StubPaymentGateway GATEWAY = startGateway();
+
+	@Autowired
+	private RefundSettlementService settlementService;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private RefundService refundService;
+
+	@Autowired
+	private RefundRepository refundRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	// 커밋된 트랜잭션에서 아웃박스에 기록된 환불 완료 이벤트 (롤백된 기록은 세지 않음)
+	@MockitoSpyBean
+	private PaymentEventOutbox paymentEventOutbox;
+
+	private final Queue<String> committedRefundEvents = new ConcurrentLinkedQueue<>();
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("payment.gateway.base-url", GATEWAY::baseUrl);
+		registry.add("payment.reconciliation.enabled", () -> "false");
+		registry.add("payment.refund.settlement.enabled", () -> "true");
+		registry.add("payment.refund.settlement.cron", () -> "-");
+		registry.add("payment.refund.settlement.batch-size", () -> "2");
+	}
+
+	@AfterAll
+	static void stopGateway() {
+		GATEWAY.close();
+	}
+
+	@BeforeEach
+	void recordCommittedRefundEvents() {
+		doAnswer(invocation -> {
+			if (invocation.getArgument(2) instanceof RefundCompletedEvent event) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						committedRefundEvents.add(event.getRefundId());
+					}
+				});
+			}
+			return invocation.callRealMethod();
+		}).when(paymentEventOutbox).append(any(), any(), any());
+	}
+
+	// 결제 수단마다 id 순서로 batch-size 청크를 나눠 게이트웨이 배치 환불 한 번씩 보냄
+	@Test
+	void refundsAreSettledInChunksPerPaymentMethod() {
+		String card = "CARD-" + UUID.randomUUID();
+		String transfer = "TRANSFER-" + UUID.randomUUID();
+		List<String> cardRefunds = List.of(refund(card, "1000.00"), refund(card, "2000.00"), refund(card, "3000.00"));
+		List<String> transferRefunds = List.of(refund(transfer, "1000.00"), refund(transfer, "1000.00"));
+
+		settlementService.settle();
+
+		assertThat(batchesFor(card)).extracting(RefundBatch::refundIds)
+				.containsExactlyInAnyOrder(cardRefunds.subList(0, 2), cardRefunds.subList(2, 3));
+		assertThat(batchesFor(transfer)).extracting(RefundBatch::refundIds)
+				.containsExactly(transferRefunds);
+		for (String refundId : concat(cardRefunds, transferRefunds)) {
+			Refund refund = refundRepository.findByRefundId(refundId).orElseThrow();
+			assertThat(refund.getStatus()).isEqualTo(RefundStatus.COMPLETED);
+			assertThat(paymentRepository.findByPaymentId(refund.getPaymentId()).orElseThrow().getRefundedAmount())
+					.isEqualByComparingTo(refund.getAmount());
+		}
+		assertThat(committedRefundEvents).containsExactlyInAnyOrderElementsOf(concat(cardRefunds, transferRefunds));
+	}
+
+	// 다른 레플리카가 잠근 환불은 건너뛰고, 잠금이 풀린 뒤 다음 정산에서 처리
+	@Test
+	void lockedRefundIsSkipped() throws Exception {
+		String method = "CARD-" + UUID.randomUUID();
+		String first = refund(method, "1000.00");
+		String second = refund(method, "1000.00");
+		String locked = refund(method, "1000.00");
+
+		CountDownLatch lockHeld = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> lockHolder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.queryForObject("SELECT id FROM payment_refunds WHERE refund_id = ? FOR UPDATE", Long.class, locked);
+			lockHeld.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		try {
+			assertThat(lockHeld.await(10, TimeUnit.SECONDS)).isTrue();
+			settlementService.settle();
+		} finally {
+			release.countDown();
+			lockHolder.get(10, TimeUnit.SECONDS);
+		}
+
+		assertThat(status(first)).isEqualTo(RefundStatus.COMPLETED);
+		assertThat(status(second)).isEqualTo(RefundStatus.COMPLETED);
+		assertThat(status(locked)).isEqualTo(RefundStatus.PENDING);
+		assertThat(batchesFor(method)).flatExtracting(RefundBatch::refundIds).doesNotContain(locked);
+
+		settlementService.settle();
+
+		assertThat(status(locked)).isEqualTo(RefundStatus.COMPLETED);
+	}
+
+	// 점유가 오래된 PROCESSING 은 다시 점유해 보내고, 다른 실행이 방금 점유한 PROCESSING 은 건드리지 않음
+	@Test
+	void staleProcessingRefundIsTakenOver() {
+		String method = "CARD-" + UUID.randomUUID();
+		String stale = refund(method, "1000.00");
+		String inFlight = refund(method, "1000.00");
+		markProcessing(stale, LocalDateTime.now().minusHours(1));
+		markProcessing(inFlight, LocalDateTime.now());
+
+		settlementService.settle();
+
+		assertThat(status(stale)).isEqualTo(RefundStatus.COMPLETED);
+		assertThat(status(inFlight)).isEqualTo(RefundStatus.PROCESSING);
+		assertThat(batchesFor(method)).extracting(RefundBatch::refundIds).containsExactly(List.of(stale));
+	}
+
+	// 청크의 한 결제가 그사이 다른 경로로 바뀌어 한 트랜잭션 반영이 롤백되면 환불마다 주문 shard 에서 다시 반영:
+	// 나머지 환불은 완료되고, 반영할 수 없는 환불만 PROCESSING 으로 남음
+	@Test
+	void conflictingChunkFallsBackToPerRefundShard() {
+		String method = "CARD-" + UUID.randomUUID();
+		String partial = refund(method, "1000.00");
+		String full = refund(method, "125000.00");
+		String conflictingPayment = refundRepository.findByRefundId(full).orElseThrow().getPaymentId();
+		// 전액 환불은 REFUNDED 로 전이하는데, FAILED 에서는 허용되지 않음
+		jdbcTemplate.update("UPDATE payments SET status = 'FAILED' WHERE payment_id = ?", conflictingPayment);
+
+		settlementService.settle();
+
+		assertThat(status(partial)).isEqualTo(RefundStatus.COMPLETED);
+		assertThat(status(full)).isEqualTo(RefundStatus.PROCESSING);
+		assertThat(paymentRepository.findByPaymentId(conflictingPayment).orElseThrow().getRefundedAmount())
+				.isEqualByComparingTo("0");
+		assertThat(committedRefundEvents).containsExactly(partial);
+	}
+
+	// 점유를 빼앗긴 실행의 늦은 결과, 재실행은 이미 반영된 환불을 다시 반영하지 않음 (완료 이벤트 한 번)
+	@Test
+	void refundCompletedEventIsAppendedExactlyOnce() {
+		String method = "CARD-" + UUID.randomUUID();
+		String refundId = refund(method, "125000.00");
+		markProcessing(refundId, LocalDateTime.now().minusHours(1));
+		Refund claimedByStalledRun = refundRepository.findByRefundId(refundId).orElseThrow();
+
+		settlementService.settle();
+		settlementService.settle();
+		int lateResults = settlementService.applyResults(List.of(claimedByStalledRun),
+				List.of(new GatewayRefundResponse(refundId, true, "RX-" + UUID.randomUUID(), "Refund processed successfully")));
+
+		assertThat(lateResults).isZero();
+		assertThat(status(refundId)).isEqualTo(RefundStatus.COMPLETED);
+		String paymentId = claimedByStalledRun.getPaymentId();
+		assertThat(paymentRepository.findByPaymentId(paymentId).orElseThrow().getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+		assertThat(paymentRepository.findByPaymentId(paymentId).orElseThrow().getRefundedAmount())
+				.isEqualByComparingTo("125000.00");
+		assertThat(batchesFor(method)).hasSize(1);
+		assertThat(committedRefundEvents).containsExactly(refundId);
+	}
+
+	private String refund(String paymentMethod, String amount) {
+		PaymentRequest payment = new PaymentRequest();
+		payment.setOrderNumber("ORD-SETTLE-" + UUID.randomUUID());
+		payment.setAmount(new BigDecimal("125000.00"));
+		payment.setPaymentMethod(paymentMethod);
+		PaymentResponse completed = paymentService.processPayment(payment);
+		assertThat(completed.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+
+		RefundRequest request = new RefundRequest();
+		request.setAmount(new BigDecimal(amount));
+		request.setReason("customer request");
+		return refundService.requestRefund(completed.getPaymentId(), request).getRefundId();
+	}
+
+	// 다른 실행이 claimedAt 시각에 점유한 것처럼 표시
+	private void markProcessing(String refundId, LocalDateTime claimedAt) {
+		jdbcTemplate.update("UPDATE payment_refunds SET status = 'PROCESSING', updated_at = ? WHERE refund_id = ?",
+				claimedAt, refundId);
+	}
+
+	private RefundStatus status(String refundId) {
+		return refundRepository.findByRefundId(refundId).orElseThrow().getStatus();
+	}
+
+	private static List<RefundBatch> batchesFor(String paymentMethod) {
+		return GATEWAY.refundBatches().stream()
+				.filter(batch -> batch.paymentMethod().equals(paymentMethod))
+				.toList();
+	}
+
+	private static List<String> concat(List<String> first, List<String> second) {
+		return Stream.concat(first.stream(), second.stream()).toList();
+	}
+
+	private static StubPaymentGateway startGateway() {
+		try {
+			return StubPaymentGateway.start();
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start stub payment gateway", e);
+		}
+	}
+}
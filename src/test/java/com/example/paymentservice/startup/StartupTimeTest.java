@@ -0,0 +1,190 @@
+package com.example.paymentservice.startup;
+
+import com.example.paymentservice.PaymentserviceApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기동 시간(time-to-ready) 측정: 모드마다 새 JVM 으로 애플리케이션(test 프로필, H2)을 띄우고
+ * 프로세스 시작부터 /actuator/health/readiness 가 200 을 돌려줄 때까지의 시간을 잰다.
+ * <p>
+ * 실행 예: ./gradlew startupTest -Dstartup.runs=5 -Dstartup.max-ready-ms=15000
+ * <p>
+ * 모드: default(기본), lazy(지연 초기화 + Kafka 리스너 지연 시작), lazy+cds(+ 학습 실행으로 만든 CDS 아카이브).
+ * 결과는 build/startup/startup-times.csv 에 누적 기록되고, 각 실행의 로그는 build/startup/*.log 에 남는다.
+ * -Dstartup.max-ready-ms 를 지정하면 가장 빠른 모드의 중앙값이 그 안에 들어오는지 검증한다.
+ */
+@Tag("startup")
+class StartupTimeTest {
+
+	private static final int RUNS = Integer.getInteger("startup.runs", 3);
+	private static final long MAX_READY_MS = Long.getLong("startup.max-ready-ms", 0);
+	private static final Duration READY_TIMEOUT = Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 120));
+	private static final File REPORT_DIR = new File(System.getProperty("startup.report-dir", "build/startup"));
+	private static final String VERSION = System.getProperty("startup.version", "dev");
+	private static final String CLASSPATH = System.getProperty("startup.classpath", System.getProperty("java.class.path"));
+	private static final String CONFIG = System.getProperty("startup.config");
+
+	private static final List<String> FAST_START = List.of(
+			"--spring.main.lazy-initialization=true",
+			"--payment.kafka.listener.deferred-startup=true");
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(1))
+			.build();
+
+	@Test
+	void measureTimeToReady() throws Exception {
+		Files.createDirectories(REPORT_DIR.toPath());
+		Path archive = REPORT_DIR.toPath().resolve("startup.jsa");
+
+		List<Mode> modes = new ArrayList<>();
+		modes.add(new Mode("default", List.of(), List.of()));
+		modes.add(new Mode("lazy", List.of(), FAST_START));
+		if (trainCdsArchive(archive)) {
+			modes.add(new Mode("lazy+cds", List.of("-XX:SharedArchiveFile=" + archive), FAST_START));
+		} else {
+			System.out.println("CDS archive was not created, skipping lazy+cds (see build/startup/cds-training.log)");
+		}
+
+		long best = Long.MAX_VALUE;
+		try (PrintStream csv = csvReport()) {
+			for (Mode mode : modes) {
+				List<Long> readyMillis = new ArrayList<>(RUNS);
+				for (int run = 1; run <= RUNS; run++) {
+					readyMillis.add(measureReadyMillis(mode, run));
+				}
+				readyMillis.sort(null);
+				long median = readyMillis.get(readyMillis.size() / 2);
+				best = Math.min(best, median);
+
+				System.out.printf("startup %-9s : median %,6d ms  (min %,d / max %,d, %d runs)%n",
+						mode.name(), median, readyMillis.get(0), readyMillis.get(readyMillis.size() - 1), RUNS);
+				csv.printf("%s,%s,%s,%d,%d,%d,%d%n", LocalDateTime.now(), VERSION, mode.name(),
+						median, readyMillis.get(0), readyMillis.get(readyMillis.size() - 1), RUNS);
+			}
+		}
+
+		if (MAX_READY_MS > 0) {
+			assertThat(best).as("fastest median time-to-ready (ms)").isLessThanOrEqualTo(MAX_READY_MS);
+		}
+	}
+
+	// 프로세스 시작부터 readiness 200 까지 (JVM 기동 포함)
+	private long measureReadyMillis(Mode mode, int run) throws Exception {
+		int port = freePort();
+		File log = new File(REPORT_DIR, mode.name().replace('+', '-') + "-" + run + ".log");
+
+		long start = System.nanoTime();
+		Process process = launch(mode.jvmOptions(), application(port, mode.applicationArgs()), log);
+		try {
+			long deadline = start + READY_TIMEOUT.toNanos();
+			while (!isReady(port)) {
+				assertThat(process.isAlive()).as("application exited before ready, see " + log).isTrue();
+				assertThat(System.nanoTime()).as("not ready within " + READY_TIMEOUT + ", see " + log).isLessThan(deadline);
+				Thread.sleep(10);
+			}
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+	}
+
+	// 컨텍스트 refresh 까지만 띄우고 종료하면서 로드된 클래스를 아카이브에 기록
+	private boolean trainCdsArchive(Path archive) throws Exception {
+		Files.deleteIfExists(archive);
+		List<String> jvmOptions = List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh");
+		Process process = launch(jvmOptions, application(freePort(), FAST_START), new File(REPORT_DIR, "cds-training.log"));
+		if (!process.waitFor(READY_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+			process.destroyForcibly();
+			return false;
+		}
+		return Files.exists(archive);
+	}
+
+	private Process launch(List<String> jvmOptions, List<String> applicationArgs, File log) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmOptions);
+		command.add("-cp");
+		command.add(CLASSPATH);
+		command.add(PaymentserviceApplication.class.getName());
+		command.addAll(applicationArgs);
+
+		return new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(log)
+				.start();
+	}
+
+	private static List<String> application(int port, List<String> modeArgs) {
+		List<String> args = new ArrayList<>();
+		args.add("--spring.profiles.active=test");
+		if (CONFIG != null) {
+			args.add("--spring.config.additional-location=file:" + CONFIG);
+		}
+		args.add("--server.port=" + port);
+		args.add("--spring.jpa.show-sql=false");
+		args.add("--logging.level.root=WARN");
+		// 준비 이후의 백그라운드 작업은 측정 대상이 아님
+		args.add("--payment.reconciliation.enabled=false");
+		args.addAll(modeArgs);
+		return args;
+	}
+
+	private boolean isReady(int port) {
+		try {
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+					.timeout(Duration.ofSeconds(1))
+					.GET()
+					.build();
+			return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+		} catch (IOException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static PrintStream csvReport() throws IOException {
+		Path csv = REPORT_DIR.toPath().resolve("startup-times.csv");
+		boolean header = !Files.exists(csv);
+		PrintStream out = new PrintStream(Files.newOutputStream(csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+		if (header) {
+			out.println("measured_at,version,mode,median_ms,min_ms,max_ms,runs");
+		}
+		return out;
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private record Mode(String name, List<String> jvmOptions, List<String> applicationArgs) {
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.paymentservice.stats;
+
+import com.example.paymentservice.event.PaymentChangedEvent;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.PaymentStatsRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentStatsAggregatorTest {
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 10, 42, 7);
+	private static final LocalDateTime BUCKET = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+	private PaymentStatsRollupRepository repository;
+	private SimpleMeterRegistry meterRegistry;
+	private PaymentStatsAggregator aggregator;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(PaymentStatsRollupRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		aggregator = new PaymentStatsAggregator(repository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+				meterRegistry);
+		when(repository.addDelta(any(), anyString(), anyString(), anyLong(), any(), any())).thenReturn(1);
+	}
+
+	@Test
+	void transitionsMoveCountAndAmountBetweenStatusBuckets() {
+		aggregator.onPaymentChanged(changed(null, PaymentStatus.PROCESSING, "10.50"));
+		aggregator.onPaymentChanged(changed(PaymentStatus.PROCESSING, PaymentStatus.COMPLETED, "10.50"));
+		aggregator.onPaymentChanged(changed(null, PaymentStatus.PROCESSING, "3"));
+
+		aggregator.flush();
+
+		verify(repository).addDelta(eq(BUCKET), eq("PROCESSING"), eq("CARD"), eq(1L), eq(new BigDecimal("3.00")), any());
+		verify(repository).addDelta(eq(BUCKET), eq("COMPLETED"), eq("CARD"), eq(1L), eq(new BigDecimal("10.50")), any());
+	}
+
+	@Test
+	void nothingIsWrittenWhenTransitionsCancelOut() {
+		aggregator.onPaymentChanged(changed(null, PaymentStatus.PENDING, "100"));
+		aggregator.onPaymentChanged(changed(PaymentStatus.PENDING, PaymentStatus.PENDING, "100"));
+		aggregator.flush();
+		verify(repository, times(1)).addDelta(eq(BUCKET), eq("PENDING"), eq("CARD"), eq(1L), any(), any());
+
+		aggregator.flush();
+
+		verify(repository, times(1)).addDelta(any(), anyString(), anyString(), anyLong(), any(), any());
+		verify(repository, never()).insertIfAbsent(any(), anyString(), anyString(), anyLong(), any(), any());
+	}
+
+	@Test
+	void missingBucketRowIsInserted() {
+		when(repository.addDelta(any(), anyString(), anyString(), anyLong(), any(), any())).thenReturn(0);
+		when(repository.insertIfAbsent(any(), anyString(), anyString(), anyLong(), any(), any())).thenReturn(1);
+
+		aggregator.onPaymentChanged(changed(null, PaymentStatus.FAILED, "99.99"));
+		aggregator.flush();
+
+		verify(repository).insertIfAbsent(eq(BUCKET), eq("FAILED"), eq("CARD"), eq(1L), eq(new BigDecimal("99.99")), any());
+	}
+
+	@Test
+	void pendingDeltasAreFlushedOnShutdown() {
+		aggregator.onPaymentChanged(changed(null, PaymentStatus.COMPLETED, "42.00"));
+
+		aggregator.flushOnShutdown();
+
+		verify(repository).addDelta(eq(BUCKET), eq("COMPLETED"), eq("CARD"), eq(1L), eq(new BigDecimal("42.00")), any());
+	}
+
+	@Test
+	void failedFlushKeepsDeltasForNextCycle() {
+		when(repository.addDelta(any(), anyString(), anyString(), anyLong(), any(), any()))
+				.thenThrow(new IllegalStateException("database unavailable"))
+				.thenReturn(1);
+
+		aggregator.onPaymentChanged(changed(null, PaymentStatus.COMPLETED, "20.00"));
+		aggregator.flush();
+		aggregator.flush();
+
+		verify(repository, times(2)).addDelta(eq(BUCKET), eq("COMPLETED"), eq("CARD"), eq(1L), eq(new BigDecimal("20.00")), any());
+		assertThat(meterRegistry.get("payment.stats.flush.failures").counter().count()).isEqualTo(1.0);
+	}
+
+	private static PaymentChangedEvent changed(PaymentStatus previous, PaymentStatus status, String amount) {
+		return new PaymentChangedEvent("PMT-1", "ORDER-1", previous, status, new BigDecimal(amount), "CARD", CREATED_AT);
+	}
+}